@@ -10,6 +10,15 @@ repositories {
     mavenCentral()
 }
 
+// Benchmarks JMH en src/jmh/java; usan las clases de main pero no forman parte del jar ni de los tests
+val jmh: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[jmh.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[jmh.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
 dependencies {
     // Lombok
     compileOnly("org.projectlombok:lombok:1.18.30")
@@ -20,12 +29,52 @@ dependencies {
     testImplementation("org.junit.jupiter:junit-jupiter")
     testCompileOnly("org.projectlombok:lombok:1.18.30")
     testAnnotationProcessor("org.projectlombok:lombok:1.18.30")
+    
+    // Benchmarks
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
 }
 
 application {
     mainClass.set("org.example.Main")
+    // Vector API (incubadora) para los kernels columnares de caso1; sin este flag se usa la versión escalar
+    applicationDefaultJvmArgs = listOf("--add-modules=jdk.incubator.vector")
+}
+
+tasks.withType<JavaCompile> {
+    options.compilerArgs.add("--add-modules=jdk.incubator.vector")
 }
 
 tasks.test {
     useJUnitPlatform()
+    jvmArgs("--add-modules=jdk.incubator.vector")
+}
+
+// ./gradlew jmh corre todos los benchmarks con perfilado de GC; -PjmhArgs="..." reemplaza los argumentos
+// de JMH, por ejemplo -PjmhArgs="AlumnoService -p tamanio=1000 -prof gc"
+tasks.register<JavaExec>("jmh") {
+    description = "Ejecuta los benchmarks JMH de los servicios."
+    group = "verification"
+    classpath = jmh.runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    val resultados = layout.buildDirectory.file("reports/jmh/resultados.json")
+    val argumentos = providers.gradleProperty("jmhArgs").orElse("-prof gc")
+    argumentProviders.add(CommandLineArgumentProvider {
+        argumentos.get().split(" ").filter { it.isNotBlank() } +
+                listOf("-rf", "json", "-rff", resultados.get().asFile.absolutePath)
+    })
+    doFirst { resultados.get().asFile.parentFile.mkdirs() }
+}
+
+// ./gradlew cargaReportes compara la latencia de lotes de consultas con un hilo por consulta y con el
+// motor de reportes; -PcargaArgs="clientes lotes consultas tamanio" cambia la carga
+tasks.register<JavaExec>("cargaReportes") {
+    description = "Mide p50/p99 de lotes de consultas con hilos de plataforma y con hilos virtuales."
+    group = "verification"
+    classpath = jmh.runtimeClasspath
+    mainClass.set("org.example.comun.CargaReportes")
+    jvmArgs("--add-modules=jdk.incubator.vector")
+    argumentProviders.add(CommandLineArgumentProvider {
+        providers.gradleProperty("cargaArgs").orElse("").get().split(" ").filter { it.isNotBlank() }
+    })
 }
\ No newline at end of file
@@ -0,0 +1,152 @@
+package org.example.caso1.alumnos;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.example.comun.DatosSinteticos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks de {@link AlumnoService} sobre listas y sobre las estructuras indexadas.
+ * Cada benchmark corre con el servicio en modo secuencial y paralelo; los terminados en
+ * {@code Paralelo} miden además las variantes explícitamente paralelas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector", "-Xms4g", "-Xmx4g"})
+public class AlumnoServiceBenchmark {
+    
+    /** Alumnos generados para cada tamaño. */
+    @State(Scope.Benchmark)
+    public static class Datos {
+        
+        @Param({"1000", "100000", "10000000"})
+        public int tamanio;
+        
+        /** Estrategia del servicio: {@code secuencial} o {@code paralelo} sobre el pool común. */
+        @Param({"secuencial", "paralelo"})
+        public String modo;
+        
+        public AlumnoService service;
+        public List<Alumno> alumnos;
+        
+        @Setup(Level.Trial)
+        public void preparar() {
+            alumnos = DatosSinteticos.alumnos(tamanio);
+            service = new AlumnoService(DatosSinteticos.estrategia(modo));
+        }
+    }
+    
+    /** Repositorio y tabla columnar construidos a partir de los mismos alumnos. */
+    @State(Scope.Benchmark)
+    public static class Indices {
+        
+        public AlumnoRepository repositorio;
+        public AlumnoTable tabla;
+        
+        @Setup(Level.Trial)
+        public void preparar(Datos datos) {
+            repositorio = new AlumnoRepository(datos.alumnos);
+            tabla = AlumnoTable.desde(datos.alumnos);
+        }
+    }
+    
+    @Benchmark
+    public List<String> obtenerAprobadosOrdenados(Datos datos) {
+        return datos.service.obtenerAprobadosOrdenados(datos.alumnos);
+    }
+    
+    @Benchmark
+    public double calcularPromedioGeneral(Datos datos) {
+        return datos.service.calcularPromedioGeneral(datos.alumnos);
+    }
+    
+    @Benchmark
+    public Map<String, List<Alumno>> agruparPorCurso(Datos datos) {
+        return datos.service.agruparPorCurso(datos.alumnos);
+    }
+    
+    @Benchmark
+    public List<Alumno> obtenerTop3Promedios(Datos datos) {
+        return datos.service.obtenerTop3Promedios(datos.alumnos);
+    }
+    
+    @Benchmark
+    public List<Alumno> obtenerTop100(Datos datos) {
+        return datos.service.obtenerTop(datos.alumnos, 100, AlumnoService.POR_NOTA_DESCENDENTE);
+    }
+    
+    @Benchmark
+    public HistogramaNotas histogramaNotas(Datos datos) {
+        return datos.alumnos.stream().collect(datos.service.histogramaNotas());
+    }
+    
+    @Benchmark
+    public HistogramaNotas histogramaNotasParalelo(Datos datos) {
+        return datos.alumnos.parallelStream().collect(datos.service.histogramaNotas());
+    }
+    
+    @Benchmark
+    public Map<String, HistogramaNotas> calcularHistogramasPorCurso(Datos datos) {
+        return datos.service.calcularHistogramasPorCurso(datos.alumnos);
+    }
+    
+    @Benchmark
+    public Map<String, Double> calcularPercentilPorCurso(Datos datos) {
+        return datos.service.calcularPercentilPorCurso(datos.alumnos, 90);
+    }
+    
+    @Benchmark
+    public List<String> obtenerAprobadosOrdenadosRepositorio(Datos datos, Indices indices) {
+        return datos.service.obtenerAprobadosOrdenados(indices.repositorio);
+    }
+    
+    @Benchmark
+    public double calcularPromedioGeneralRepositorio(Datos datos, Indices indices) {
+        return datos.service.calcularPromedioGeneral(indices.repositorio);
+    }
+    
+    @Benchmark
+    public Map<String, List<Alumno>> agruparPorCursoRepositorio(Datos datos, Indices indices) {
+        return datos.service.agruparPorCurso(indices.repositorio);
+    }
+    
+    @Benchmark
+    public List<String> obtenerAprobadosOrdenadosTabla(Datos datos, Indices indices) {
+        return datos.service.obtenerAprobadosOrdenados(indices.tabla);
+    }
+    
+    @Benchmark
+    public double calcularPromedioGeneralTabla(Datos datos, Indices indices) {
+        return datos.service.calcularPromedioGeneral(indices.tabla);
+    }
+    
+    @Benchmark
+    public int contarAprobadosTabla(Datos datos, Indices indices) {
+        return datos.service.contarAprobados(indices.tabla);
+    }
+    
+    @Benchmark
+    public Map<String, List<Alumno>> agruparPorCursoTabla(Datos datos, Indices indices) {
+        return datos.service.agruparPorCurso(indices.tabla);
+    }
+    
+    @Benchmark
+    public List<Alumno> obtenerTop3PromediosTabla(Datos datos, Indices indices) {
+        return datos.service.obtenerTop3Promedios(indices.tabla);
+    }
+}
@@ -0,0 +1,203 @@
+package org.example.caso2.productos;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.example.comun.DatosSinteticos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks de {@link ProductoService} sobre listas, índices y el catálogo binario.
+ * Cada benchmark corre con el servicio en modo secuencial y paralelo; los terminados en
+ * {@code Paralelo} miden además las variantes explícitamente paralelas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector", "-Xms4g", "-Xmx4g"})
+public class ProductoServiceBenchmark {
+    
+    /** Productos generados para cada tamaño. */
+    @State(Scope.Benchmark)
+    public static class Datos {
+        
+        @Param({"1000", "100000", "10000000"})
+        public int tamanio;
+        
+        /** Estrategia del servicio: {@code secuencial} o {@code paralelo} sobre el pool común. */
+        @Param({"secuencial", "paralelo"})
+        public String modo;
+        
+        public ProductoService service;
+        public List<Producto> productos;
+        
+        @Setup(Level.Trial)
+        public void preparar() {
+            productos = DatosSinteticos.productos(tamanio);
+            service = new ProductoService(DatosSinteticos.estrategia(modo));
+        }
+    }
+    
+    /** Índice de precios e inventario construidos a partir de los mismos productos. */
+    @State(Scope.Benchmark)
+    public static class Indices {
+        
+        public PrecioIndex precios;
+        public InventarioStock inventario;
+        
+        @Setup(Level.Trial)
+        public void preparar(Datos datos) {
+            precios = PrecioIndex.desde(datos.productos);
+            inventario = InventarioStock.desde(datos.productos);
+        }
+    }
+    
+    /** Los mismos productos escritos en un catálogo binario temporal. */
+    @State(Scope.Benchmark)
+    public static class Catalogo {
+        
+        public Path archivo;
+        public CatalogoBinario catalogo;
+        
+        @Setup(Level.Trial)
+        public void preparar(Datos datos) throws IOException {
+            archivo = Files.createTempFile("catalogo", ".bin");
+            CatalogoBinario.escribir(datos.productos, archivo);
+            catalogo = CatalogoBinario.abrir(archivo);
+        }
+        
+        @TearDown(Level.Trial)
+        public void liberar() throws IOException {
+            catalogo = null;
+            Files.deleteIfExists(archivo);
+        }
+    }
+    
+    @Benchmark
+    public List<Producto> listarProductosCarosOrdenados(Datos datos) {
+        return datos.service.listarProductosCarosOrdenados(datos.productos);
+    }
+    
+    @Benchmark
+    public List<Producto> ordenarProductosCarosPrimeraPagina(Datos datos) {
+        return datos.service.ordenarProductosCaros(datos.productos, ProductoService.UMBRAL_PRODUCTO_CARO)
+                .pagina(0, 20);
+    }
+    
+    @Benchmark
+    public Map<String, Integer> calcularStockPorCategoria(Datos datos) {
+        return datos.service.calcularStockPorCategoria(datos.productos);
+    }
+    
+    @Benchmark
+    public Map<String, Long> calcularStockTotalPorCategoria(Datos datos) {
+        return datos.service.calcularStockTotalPorCategoria(datos.productos);
+    }
+    
+    @Benchmark
+    public String generarReporteProductos(Datos datos) {
+        return datos.service.generarReporteProductos(datos.productos);
+    }
+    
+    @Benchmark
+    public Writer generarReporteProductosWriter(Datos datos) throws IOException {
+        Writer salida = Writer.nullWriter();
+        datos.service.generarReporteProductos(datos.productos, salida);
+        return salida;
+    }
+    
+    @Benchmark
+    public OutputStream generarReporteProductosOutputStream(Datos datos) throws IOException {
+        OutputStream salida = OutputStream.nullOutputStream();
+        datos.service.generarReporteProductos(datos.productos, salida);
+        return salida;
+    }
+    
+    @Benchmark
+    public WritableByteChannel generarReporteProductosCanal(Datos datos) throws IOException {
+        WritableByteChannel canal = Channels.newChannel(OutputStream.nullOutputStream());
+        datos.service.generarReporteProductos(datos.productos, canal);
+        return canal;
+    }
+    
+    @Benchmark
+    public double calcularPrecioPromedioGeneral(Datos datos) {
+        return datos.service.calcularPrecioPromedioGeneral(datos.productos);
+    }
+    
+    @Benchmark
+    public Map<String, Double> calcularPrecioPromedioPorCategoria(Datos datos) {
+        return datos.service.calcularPrecioPromedioPorCategoria(datos.productos);
+    }
+    
+    @Benchmark
+    public CategoriaStats calcularEstadisticasPorCategoria(Datos datos) {
+        return datos.service.calcularEstadisticasPorCategoria(datos.productos);
+    }
+    
+    @Benchmark
+    public CategoriaStats calcularEstadisticasPorCategoriaParalelo(Datos datos) {
+        return CategoriaStats.calcularEnParalelo(datos.productos);
+    }
+    
+    @Benchmark
+    public List<Producto> listarProductosCarosOrdenadosIndice(Datos datos, Indices indices) {
+        return datos.service.listarProductosCarosOrdenados(indices.precios);
+    }
+    
+    @Benchmark
+    public List<Producto> listarProductosPorRangoDePrecioIndice(Datos datos, Indices indices) {
+        return datos.service.listarProductosPorRangoDePrecio(indices.precios, 200, 300, 0, 50);
+    }
+    
+    @Benchmark
+    public Map<String, Long> calcularStockPorCategoriaInventario(Datos datos, Indices indices) {
+        return datos.service.calcularStockPorCategoria(indices.inventario);
+    }
+    
+    @Benchmark
+    public List<Producto> listarProductosCarosOrdenadosCatalogo(Datos datos, Catalogo catalogo) {
+        return datos.service.listarProductosCarosOrdenados(catalogo.catalogo);
+    }
+    
+    @Benchmark
+    public Map<String, Integer> calcularStockPorCategoriaCatalogo(Datos datos, Catalogo catalogo) {
+        return datos.service.calcularStockPorCategoria(catalogo.catalogo);
+    }
+    
+    @Benchmark
+    public String generarReporteProductosCatalogo(Datos datos, Catalogo catalogo) {
+        return datos.service.generarReporteProductos(catalogo.catalogo);
+    }
+    
+    @Benchmark
+    public double calcularPrecioPromedioGeneralCatalogo(Datos datos, Catalogo catalogo) {
+        return datos.service.calcularPrecioPromedioGeneral(catalogo.catalogo);
+    }
+    
+    @Benchmark
+    public Map<String, Double> calcularPrecioPromedioPorCategoriaCatalogo(Datos datos, Catalogo catalogo) {
+        return datos.service.calcularPrecioPromedioPorCategoria(catalogo.catalogo);
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.caso3.libros;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.example.comun.DatosSinteticos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks de {@link LibroService} sobre el catálogo por precio y el índice de búsqueda.
+ * Van aparte de {@link LibroServiceBenchmark} porque el índice de búsqueda ocupa cerca de
+ * 1,4 KB por libro: con diez millones de libros no entra en el heap del fork, así que
+ * solo se miden los tamaños chico y mediano.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector", "-Xms4g", "-Xmx4g"})
+public class LibroIndicesBenchmark {
+    
+    /** Libros, catálogo e índice de búsqueda generados para cada tamaño. */
+    @State(Scope.Benchmark)
+    public static class Datos {
+        
+        @Param({"1000", "100000"})
+        public int tamanio;
+        
+        /** Estrategia del servicio: {@code secuencial} o {@code paralelo} sobre el pool común. */
+        @Param({"secuencial", "paralelo"})
+        public String modo;
+        
+        public LibroService service;
+        public LibroCatalog catalogo;
+        public LibroSearchIndex busqueda;
+        
+        @Setup(Level.Trial)
+        public void preparar() {
+            List<Libro> libros = DatosSinteticos.libros(tamanio);
+            service = new LibroService(DatosSinteticos.estrategia(modo));
+            catalogo = LibroCatalog.desde(libros);
+            busqueda = LibroSearchIndex.desde(libros);
+        }
+    }
+    
+    @Benchmark
+    public Optional<Libro> obtenerLibroMasCaroCatalogo(Datos datos) {
+        return datos.service.obtenerLibroMasCaro(datos.catalogo);
+    }
+    
+    @Benchmark
+    public List<Libro> obtenerLibrosMasCarosCatalogo(Datos datos) {
+        return datos.service.obtenerLibrosMasCaros(datos.catalogo, 20);
+    }
+    
+    @Benchmark
+    public List<Libro> buscarLibrosPorPrefijo(Datos datos) {
+        return datos.service.buscarLibrosPorPrefijo(datos.busqueda, "som", 20);
+    }
+    
+    @Benchmark
+    public List<Libro> buscarLibrosPorTexto(Datos datos) {
+        return datos.service.buscarLibrosPorTexto(datos.busqueda, "ria bos", 20);
+    }
+}
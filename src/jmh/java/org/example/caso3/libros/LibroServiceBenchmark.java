@@ -0,0 +1,107 @@
+package org.example.caso3.libros;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.example.comun.DatosSinteticos;
+import org.example.comun.OrdenamientoExterno;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks de {@link LibroService} sobre listas. Los que usan el catálogo por precio y el
+ * índice de búsqueda están en {@link LibroIndicesBenchmark}.
+ * Cada benchmark corre con el servicio en modo secuencial y paralelo; los terminados en
+ * {@code Paralelo} miden además las variantes explícitamente paralelas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector", "-Xms4g", "-Xmx4g"})
+public class LibroServiceBenchmark {
+    
+    /** Libros generados para cada tamaño. */
+    @State(Scope.Benchmark)
+    public static class Datos {
+        
+        @Param({"1000", "100000", "10000000"})
+        public int tamanio;
+        
+        /** Estrategia del servicio: {@code secuencial} o {@code paralelo} sobre el pool común. */
+        @Param({"secuencial", "paralelo"})
+        public String modo;
+        
+        public LibroService service;
+        public List<Libro> libros;
+        
+        @Setup(Level.Trial)
+        public void preparar() {
+            libros = DatosSinteticos.libros(tamanio);
+            service = new LibroService(DatosSinteticos.estrategia(modo));
+        }
+    }
+    
+    @Benchmark
+    public List<String> listarTitulosLibrosLargos(Datos datos) {
+        return datos.service.listarTitulosLibrosLargos(datos.libros);
+    }
+    
+    @Benchmark
+    public void listarTitulosLibrosLargosStream(Datos datos, Blackhole agujero) throws IOException {
+        try (OrdenamientoExterno.IteradorOrdenado titulos = datos.service.listarTitulosLibrosLargos(datos.libros.stream())) {
+            titulos.forEachRemaining(agujero::consume);
+        }
+    }
+    
+    @Benchmark
+    public void listarTitulosLibrosLargosExterno(Datos datos, Blackhole agujero) throws IOException {
+        // Presupuesto chico para forzar tramos en disco aun con pocos datos
+        OrdenamientoExterno ordenamiento = new OrdenamientoExterno(1024 * 1024,
+                Path.of(System.getProperty("java.io.tmpdir")));
+        try (OrdenamientoExterno.IteradorOrdenado titulos =
+                     datos.service.listarTitulosLibrosLargos(datos.libros.iterator(), ordenamiento)) {
+            titulos.forEachRemaining(agujero::consume);
+        }
+    }
+    
+    @Benchmark
+    public double calcularPromedioPaginas(Datos datos) {
+        return datos.service.calcularPromedioPaginas(datos.libros);
+    }
+    
+    @Benchmark
+    public Map<String, Long> contarLibrosPorAutor(Datos datos) {
+        return datos.service.contarLibrosPorAutor(datos.libros);
+    }
+    
+    @Benchmark
+    public Map<String, Long> contarLibrosPorAutorParalelo(Datos datos) {
+        return datos.service.contarLibrosPorAutorEnParalelo(datos.libros);
+    }
+    
+    @Benchmark
+    public Optional<Libro> obtenerLibroMasCaro(Datos datos) {
+        return datos.service.obtenerLibroMasCaro(datos.libros);
+    }
+    
+    @Benchmark
+    public Optional<Libro> obtenerLibroMasCaroParalelo(Datos datos) {
+        return datos.service.obtenerLibroMasCaroEnParalelo(datos.libros);
+    }
+}
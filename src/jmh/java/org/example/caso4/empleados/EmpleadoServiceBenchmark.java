@@ -0,0 +1,126 @@
+package org.example.caso4.empleados;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.example.comun.DatosSinteticos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks de {@link EmpleadoService} sobre listas, el índice por edad y el ledger en memoria.
+ * Cada benchmark corre con el servicio en modo secuencial y paralelo; los terminados en
+ * {@code Paralelo} miden además las variantes explícitamente paralelas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector", "-Xms4g", "-Xmx4g"})
+public class EmpleadoServiceBenchmark {
+    
+    /** Empleados generados para cada tamaño. */
+    @State(Scope.Benchmark)
+    public static class Datos {
+        
+        @Param({"1000", "100000", "10000000"})
+        public int tamanio;
+        
+        /** Estrategia del servicio: {@code secuencial} o {@code paralelo} sobre el pool común. */
+        @Param({"secuencial", "paralelo"})
+        public String modo;
+        
+        public EmpleadoService service;
+        public List<Empleado> empleados;
+        
+        @Setup(Level.Trial)
+        public void preparar() {
+            empleados = DatosSinteticos.empleados(tamanio);
+            service = new EmpleadoService(DatosSinteticos.estrategia(modo));
+        }
+    }
+    
+    /** Índice por edad y ledger en memoria con los mismos empleados. */
+    @State(Scope.Benchmark)
+    public static class Indices {
+        
+        public EdadIndex edades;
+        public EmpleadoLedger ledger;
+        
+        @Setup(Level.Trial)
+        public void preparar(Datos datos) throws IOException {
+            edades = EdadIndex.desde(datos.empleados);
+            ledger = new EmpleadoLedger();
+            for (Empleado empleado : datos.empleados) {
+                ledger.aplicar(EventoEmpleado.Contratacion.de(empleado));
+            }
+        }
+    }
+    
+    @Benchmark
+    public List<Empleado> listarEmpleadosSalarioAlto(Datos datos) {
+        return datos.service.listarEmpleadosSalarioAlto(datos.empleados);
+    }
+    
+    @Benchmark
+    public List<Empleado> ordenarEmpleadosSalarioAltoPrimeraPagina(Datos datos) {
+        return datos.service.ordenarEmpleadosSalarioAlto(datos.empleados).pagina(0, 20);
+    }
+    
+    @Benchmark
+    public double calcularSalarioPromedio(Datos datos) {
+        return datos.service.calcularSalarioPromedio(datos.empleados);
+    }
+    
+    @Benchmark
+    public Map<String, Double> calcularSalariosPorDepartamento(Datos datos) {
+        return datos.service.calcularSalariosPorDepartamento(datos.empleados);
+    }
+    
+    @Benchmark
+    public Map<String, Double> calcularSalariosPorDepartamentoParalelo(Datos datos) {
+        return datos.service.calcularSalariosPorDepartamentoEnParalelo(datos.empleados);
+    }
+    
+    @Benchmark
+    public Map<String, Long> calcularSalariosPorDepartamentoEnCentavos(Datos datos) {
+        return datos.service.calcularSalariosPorDepartamentoEnCentavos(datos.empleados);
+    }
+    
+    @Benchmark
+    public List<String> obtenerEmpleadosMasJovenes(Datos datos) {
+        return datos.service.obtenerEmpleadosMasJovenes(datos.empleados);
+    }
+    
+    @Benchmark
+    public Map<String, Double> calcularSalariosPorDepartamentoLedger(Datos datos, Indices indices) {
+        return datos.service.calcularSalariosPorDepartamento(indices.ledger);
+    }
+    
+    @Benchmark
+    public List<String> obtenerEmpleadosMasJovenesIndice(Datos datos, Indices indices) {
+        return datos.service.obtenerEmpleadosMasJovenes(indices.edades, 20);
+    }
+    
+    @Benchmark
+    public List<String> obtenerEmpleadosMayoresIndice(Datos datos, Indices indices) {
+        return datos.service.obtenerEmpleadosMayores(indices.edades, 20);
+    }
+    
+    @Benchmark
+    public List<Empleado> listarEmpleadosPorRangoDeEdadIndice(Datos datos, Indices indices) {
+        return datos.service.listarEmpleadosPorRangoDeEdad(indices.edades, 30, 31);
+    }
+}
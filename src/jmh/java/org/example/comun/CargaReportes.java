@@ -0,0 +1,168 @@
+package org.example.comun;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.example.caso1.alumnos.Alumno;
+import org.example.caso1.alumnos.AlumnoService;
+import org.example.caso2.productos.Producto;
+import org.example.caso2.productos.ProductoService;
+import org.example.caso3.libros.Libro;
+import org.example.caso3.libros.LibroService;
+import org.example.caso4.empleados.Empleado;
+import org.example.caso4.empleados.EmpleadoService;
+import org.example.comun.MotorReportes.Consulta;
+
+/**
+ * Generador de carga local para el motor de reportes. Varios clientes piden lotes de consultas
+ * chicas a los cuatro servicios y se mide la latencia de cada lote (p50, p99 y máxima) con dos
+ * enfoques: un hilo de plataforma por consulta, como hasta ahora, y {@link MotorReportes}.
+ * El motor se mide dos veces: con las claves del catálogo, donde también evita cálculos
+ * repetidos, y con una clave única por consulta, que compara solo hilos virtuales contra
+ * hilos de plataforma.
+ * 
+ * <p>Argumentos opcionales, en orden: clientes, lotes por cliente, consultas por lote y tamaño
+ * de los datos. Por defecto 32, 200, 8 y 10000.
+ */
+public final class CargaReportes {
+    
+    private static final Duration PLAZO = Duration.ofSeconds(30);
+    
+    private enum Enfoque {
+        HILO_POR_CONSULTA,
+        MOTOR,
+        MOTOR_CLAVES_UNICAS
+    }
+    
+    private final List<Consulta<?>> catalogo = new ArrayList<>();
+    
+    private CargaReportes(int tamanio) {
+        List<Alumno> alumnos = DatosSinteticos.alumnos(tamanio);
+        List<Producto> productos = DatosSinteticos.productos(tamanio);
+        List<Libro> libros = DatosSinteticos.libros(tamanio);
+        List<Empleado> empleados = DatosSinteticos.empleados(tamanio);
+        AlumnoService alumnoService = new AlumnoService();
+        ProductoService productoService = new ProductoService();
+        LibroService libroService = new LibroService();
+        EmpleadoService empleadoService = new EmpleadoService();
+        
+        catalogo.add(new Consulta<>("alumnos.promedio", () -> alumnoService.calcularPromedioGeneral(alumnos)));
+        catalogo.add(new Consulta<>("alumnos.top3", () -> alumnoService.obtenerTop3Promedios(alumnos)));
+        catalogo.add(new Consulta<>("alumnos.percentil90", () -> alumnoService.calcularPercentilPorCurso(alumnos, 90)));
+        catalogo.add(new Consulta<>("productos.stock", () -> productoService.calcularStockPorCategoria(productos)));
+        catalogo.add(new Consulta<>("productos.precioPromedio",
+                () -> productoService.calcularPrecioPromedioPorCategoria(productos)));
+        catalogo.add(new Consulta<>("libros.porAutor", () -> libroService.contarLibrosPorAutor(libros)));
+        catalogo.add(new Consulta<>("libros.masCaro", () -> libroService.obtenerLibroMasCaro(libros)));
+        catalogo.add(new Consulta<>("libros.promedioPaginas", () -> libroService.calcularPromedioPaginas(libros)));
+        catalogo.add(new Consulta<>("empleados.porDepartamento",
+                () -> empleadoService.calcularSalariosPorDepartamento(empleados)));
+        catalogo.add(new Consulta<>("empleados.promedio", () -> empleadoService.calcularSalarioPromedio(empleados)));
+    }
+    
+    public static void main(String[] args) throws Exception {
+        int clientes = argumento(args, 0, 32);
+        int lotesPorCliente = argumento(args, 1, 200);
+        int consultasPorLote = argumento(args, 2, 8);
+        int tamanio = argumento(args, 3, 10_000);
+        CargaReportes carga = new CargaReportes(tamanio);
+        
+        System.out.printf(Locale.ROOT, "%d clientes x %d lotes de %d consultas sobre %d elementos%n",
+                clientes, lotesPorCliente, consultasPorLote, tamanio);
+        // Una primera pasada de cada enfoque calienta el JIT y no se informa
+        carga.medir(Enfoque.HILO_POR_CONSULTA, clientes, lotesPorCliente / 4, consultasPorLote);
+        carga.medir(Enfoque.MOTOR, clientes, lotesPorCliente / 4, consultasPorLote);
+        carga.medir(Enfoque.MOTOR_CLAVES_UNICAS, clientes, lotesPorCliente / 4, consultasPorLote);
+        for (Enfoque enfoque : Enfoque.values()) {
+            long[] latencias = carga.medir(enfoque, clientes, lotesPorCliente, consultasPorLote);
+            System.out.printf(Locale.ROOT, "%-20s p50 %8.2f ms   p99 %8.2f ms   max %8.2f ms%n", enfoque,
+                    percentil(latencias, 50) / 1e6, percentil(latencias, 99) / 1e6,
+                    latencias[latencias.length - 1] / 1e6);
+        }
+    }
+    
+    /**
+     * Corre la carga con un enfoque y devuelve las latencias de los lotes, ordenadas.
+     */
+    private long[] medir(Enfoque enfoque, int clientes, int lotesPorCliente, int consultasPorLote) throws Exception {
+        long[] latencias = new long[clientes * lotesPorCliente];
+        try (MotorReportes motor = new MotorReportes();
+             ExecutorService hilosClientes = Executors.newFixedThreadPool(clientes)) {
+            List<Future<?>> pendientes = new ArrayList<>();
+            for (int cliente = 0; cliente < clientes; cliente++) {
+                int primero = cliente * lotesPorCliente;
+                SplittableRandom random = new SplittableRandom(DatosSinteticos.SEMILLA + cliente);
+                pendientes.add(hilosClientes.submit(() -> {
+                    for (int i = 0; i < lotesPorCliente; i++) {
+                        List<Consulta<?>> lote = armarLote(random, consultasPorLote);
+                        long inicio = System.nanoTime();
+                        switch (enfoque) {
+                            case HILO_POR_CONSULTA -> ejecutarConHilos(lote);
+                            case MOTOR -> motor.ejecutar(lote, PLAZO);
+                            case MOTOR_CLAVES_UNICAS -> motor.ejecutar(conClavesUnicas(lote, primero + i), PLAZO);
+                        }
+                        latencias[primero + i] = System.nanoTime() - inicio;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> pendiente : pendientes) {
+                pendiente.get();
+            }
+        }
+        Arrays.sort(latencias);
+        return latencias;
+    }
+    
+    private List<Consulta<?>> armarLote(SplittableRandom random, int consultasPorLote) {
+        List<Consulta<?>> lote = new ArrayList<>(consultasPorLote);
+        for (int i = 0; i < consultasPorLote; i++) {
+            lote.add(catalogo.get(random.nextInt(catalogo.size())));
+        }
+        return lote;
+    }
+    
+    /**
+     * Copia el lote con una clave distinta por consulta, para que el motor no comparta cálculos
+     * entre lotes ni dentro del mismo lote.
+     */
+    private static List<Consulta<?>> conClavesUnicas(List<Consulta<?>> lote, int numeroLote) {
+        List<Consulta<?>> unicas = new ArrayList<>(lote.size());
+        for (int i = 0; i < lote.size(); i++) {
+            Consulta<?> consulta = lote.get(i);
+            unicas.add(new Consulta<>(consulta.clave() + "#" + numeroLote + "." + i, consulta.calculo()));
+        }
+        return unicas;
+    }
+    
+    /**
+     * Enfoque actual: un hilo de plataforma por consulta, esperando a que terminen todos.
+     */
+    private static void ejecutarConHilos(List<Consulta<?>> lote) throws InterruptedException {
+        List<Thread> hilos = new ArrayList<>(lote.size());
+        for (Consulta<?> consulta : lote) {
+            Thread hilo = new Thread(consulta.calculo()::get);
+            hilo.start();
+            hilos.add(hilo);
+        }
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+    }
+    
+    private static long percentil(long[] ordenadas, double p) {
+        int indice = (int) Math.ceil(p / 100 * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, Math.min(ordenadas.length - 1, indice))];
+    }
+    
+    private static int argumento(String[] args, int posicion, int porDefecto) {
+        return args.length > posicion ? Integer.parseInt(args[posicion]) : porDefecto;
+    }
+}
@@ -0,0 +1,144 @@
+package org.example.comun;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.example.caso1.alumnos.Alumno;
+import org.example.caso2.productos.Producto;
+import org.example.caso3.libros.Libro;
+import org.example.caso4.empleados.Empleado;
+
+/**
+ * Generador de datos sintéticos y configuración común para los benchmarks. Usa una semilla fija, así que la misma
+ * cantidad produce siempre los mismos datos y las corridas se pueden comparar entre sí.
+ * 
+ * <p>Los campos categóricos (curso, categoría, autor, departamento) salen de conjuntos chicos
+ * como en los datos reales; los montos tienen como mucho dos decimales.
+ */
+public final class DatosSinteticos {
+    
+    /** Semilla usada por todos los generadores. */
+    public static final long SEMILLA = 42;
+    
+    private static final String[] CURSOS = {
+            "Matemática", "Física", "Química", "Historia", "Geografía",
+            "Literatura", "Inglés", "Programación", "Biología", "Arte"
+    };
+    
+    private static final String[] CATEGORIAS = {
+            "Electrónica", "Hogar", "Deportes", "Libros", "Juguetes", "Ropa", "Calzado", "Jardín",
+            "Música", "Oficina", "Mascotas", "Salud", "Belleza", "Automotor", "Alimentos", "Bebidas"
+    };
+    
+    private static final String[] DEPARTAMENTOS = {
+            "IT", "Ventas", "RRHH", "Finanzas", "Marketing", "Legales",
+            "Compras", "Logística", "Soporte", "Producción", "Calidad", "Dirección"
+    };
+    
+    private static final String[] PALABRAS = {
+            "sombra", "viento", "ciudad", "jardín", "memoria", "río", "noche", "fuego", "camino", "espejo",
+            "tiempo", "silencio", "mar", "piedra", "luz", "invierno", "puerta", "sueño", "historia", "bosque"
+    };
+    
+    /** Cantidad máxima de autores distintos, para que la cardinalidad no crezca con los datos. */
+    private static final int MAXIMO_AUTORES = 50_000;
+    
+    private DatosSinteticos() {
+    }
+    
+    /**
+     * Devuelve la estrategia de ejecución de los servicios para un modo de benchmark.
+     * 
+     * @param modo {@code secuencial} o {@code paralelo}
+     * @return estrategia correspondiente
+     */
+    public static EstrategiaEjecucion estrategia(String modo) {
+        return switch (modo) {
+            case "secuencial" -> EstrategiaEjecucion.secuencial();
+            case "paralelo" -> EstrategiaEjecucion.paralela();
+            default -> throw new IllegalArgumentException("Modo desconocido: " + modo);
+        };
+    }
+    
+    /**
+     * Genera alumnos con notas entre 0 y 10.
+     * 
+     * @param cantidad cantidad de alumnos
+     * @return lista de alumnos
+     */
+    public static List<Alumno> alumnos(int cantidad) {
+        SplittableRandom random = new SplittableRandom(SEMILLA);
+        List<Alumno> alumnos = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            alumnos.add(Alumno.builder()
+                    .nombre("Alumno " + i)
+                    .nota(random.nextInt(1_001) / 100.0)
+                    .curso(CURSOS[random.nextInt(CURSOS.length)])
+                    .build());
+        }
+        return alumnos;
+    }
+    
+    /**
+     * Genera productos con precios entre 1 y 1000 y stock entre 0 y 500.
+     * 
+     * @param cantidad cantidad de productos
+     * @return lista de productos
+     */
+    public static List<Producto> productos(int cantidad) {
+        SplittableRandom random = new SplittableRandom(SEMILLA);
+        List<Producto> productos = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            productos.add(Producto.builder()
+                    .nombre("Producto " + i)
+                    .categoria(CATEGORIAS[random.nextInt(CATEGORIAS.length)])
+                    .precio(random.nextInt(100, 100_001) / 100.0)
+                    .stock(random.nextInt(501))
+                    .build());
+        }
+        return productos;
+    }
+    
+    /**
+     * Genera libros con títulos de dos palabras, entre 50 y 1000 páginas.
+     * 
+     * @param cantidad cantidad de libros
+     * @return lista de libros
+     */
+    public static List<Libro> libros(int cantidad) {
+        SplittableRandom random = new SplittableRandom(SEMILLA);
+        int autores = Math.max(1, Math.min(MAXIMO_AUTORES, cantidad / 10));
+        List<Libro> libros = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            libros.add(Libro.builder()
+                    .titulo(PALABRAS[random.nextInt(PALABRAS.length)] + " "
+                            + PALABRAS[random.nextInt(PALABRAS.length)] + " " + i)
+                    .autor("Autor " + random.nextInt(autores))
+                    .paginas(random.nextInt(50, 1_001))
+                    .precio(random.nextInt(500, 20_001) / 100.0)
+                    .build());
+        }
+        return libros;
+    }
+    
+    /**
+     * Genera empleados con salarios entre 1000 y 6000 y edades entre 18 y 65.
+     * 
+     * @param cantidad cantidad de empleados
+     * @return lista de empleados
+     */
+    public static List<Empleado> empleados(int cantidad) {
+        SplittableRandom random = new SplittableRandom(SEMILLA);
+        List<Empleado> empleados = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            empleados.add(Empleado.builder()
+                    .nombre("Empleado " + i)
+                    .departamento(DEPARTAMENTOS[random.nextInt(DEPARTAMENTOS.length)])
+                    .salario(random.nextInt(100_000, 600_001) / 100.0)
+                    .edad(random.nextInt(18, 66))
+                    .build());
+        }
+        return empleados;
+    }
+}
@@ -1,21 +1,64 @@
 package org.example.caso1.alumnos;
 
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import org.example.comun.Diccionario;
 
 /**
  * Clase que representa un alumno con su información académica.
  * Usa Lombok para generar automáticamente getters, setters, toString, equals y hashCode.
+ * El curso se guarda como la instancia canónica de {@link #CURSOS}, tanto desde el
+ * constructor y el builder como desde el setter, para no repetir copias del mismo texto,
+ * junto con su id en el diccionario para agrupar sin buscar la cadena.
  */
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
-@Builder
 public class Alumno {
+    
+    /** Diccionario compartido de cursos. */
+    public static final Diccionario CURSOS = new Diccionario();
+    
     private String nombre;
     private double nota;
     private String curso;
+    
+    /** Id del curso en {@link #CURSOS}, o {@link Diccionario#SIN_ID} si no tiene curso. */
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private int cursoId = Diccionario.SIN_ID;
+    
+    /**
+     * Crea un alumno con todos sus datos; también lo usa el builder.
+     * 
+     * @param nombre nombre del alumno
+     * @param nota nota del alumno
+     * @param curso curso del alumno
+     */
+    @Builder
+    public Alumno(String nombre, double nota, String curso) {
+        this.nombre = nombre;
+        this.nota = nota;
+        asignarCurso(curso);
+    }
+    
+    /**
+     * Cambia el curso, guardando la instancia canónica y su id.
+     * 
+     * @param curso curso nuevo
+     */
+    public void setCurso(String curso) {
+        asignarCurso(curso);
+    }
+    
+    private void asignarCurso(String curso) {
+        this.cursoId = curso == null ? Diccionario.SIN_ID : CURSOS.id(curso);
+        this.curso = curso == null ? null : CURSOS.valor(cursoId);
+    }
 }
-
@@ -0,0 +1,45 @@
+package org.example.caso1.alumnos;
+
+import org.example.comun.FilaCsv;
+import org.example.comun.IngestaCsv;
+
+/**
+ * Formato CSV de alumnos: una fila de encabezado y las columnas
+ * {@code nombre}, {@code nota}, {@code curso}, en ese orden, separadas por coma.
+ */
+public final class AlumnoCsv {
+    
+    /** Encabezado del archivo. */
+    public static final String ENCABEZADO = "nombre,nota,curso";
+    
+    private static final IngestaCsv<Alumno> INGESTA = IngestaCsv.de(AlumnoCsv::decodificar);
+    
+    private AlumnoCsv() {
+    }
+    
+    /**
+     * Devuelve la ingesta de alumnos con los tamaños por defecto;
+     * se puede ajustar con sus métodos {@code con...}.
+     * 
+     * @return ingesta de alumnos
+     */
+    public static IngestaCsv<Alumno> ingesta() {
+        return INGESTA;
+    }
+    
+    /**
+     * Arma un alumno a partir de una fila.
+     * 
+     * @param fila fila del archivo
+     * @return alumno de la fila
+     * @throws IllegalArgumentException si la fila no tiene 3 campos o un número no es válido
+     */
+    public static Alumno decodificar(FilaCsv fila) {
+        fila.exigirCampos(3);
+        return Alumno.builder()
+                .nombre(fila.texto(0))
+                .nota(fila.decimal(1))
+                .curso(fila.categoria(2, Alumno.CURSOS))
+                .build();
+    }
+}
@@ -0,0 +1,356 @@
+package org.example.caso1.alumnos;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Repositorio vivo de alumnos que mantiene actualizados de forma incremental
+ * la agrupación por curso, las sumas y cantidades de notas y el conjunto de aprobados.
+ * 
+ * <p>Los alumnos se identifican por nombre. Las escrituras toman un lock exclusivo y
+ * actualizan solo el curso afectado; las lecturas devuelven vistas inmutables que se
+ * reconstruyen únicamente cuando hubo cambios, por lo que siempre son consistentes.
+ * El repositorio copia los alumnos al guardarlos y al devolverlos, así que cambiar un alumno
+ * desde afuera no altera las sumas ni los índices.
+ * Las sumas de notas son compensadas, así que no acumulan error de redondeo por más
+ * actualizaciones que reciban.
+ */
+public final class AlumnoRepository {
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Alumno> porNombre = new HashMap<>();
+    private final Map<String, Curso> cursos = new LinkedHashMap<>();
+    private final AprobadosIndex aprobados = new AprobadosIndex();
+    private final SumaCompensada sumaNotas = new SumaCompensada();
+    
+    private volatile Map<String, List<Alumno>> vistaGrupos;
+    private volatile List<String> vistaAprobados;
+    
+    /**
+     * Crea un repositorio vacío.
+     */
+    public AlumnoRepository() {
+    }
+    
+    /**
+     * Crea un repositorio cargado con los alumnos indicados.
+     * 
+     * @param alumnos alumnos iniciales
+     * @throws IllegalArgumentException si hay dos alumnos con el mismo nombre, que el
+     *                                  repositorio no podría distinguir
+     */
+    public AlumnoRepository(Collection<Alumno> alumnos) {
+        for (Alumno alumno : alumnos) {
+            if (guardar(alumno) != null) {
+                throw new IllegalArgumentException("Hay más de un alumno con el nombre " + alumno.getNombre());
+            }
+        }
+    }
+    
+    /**
+     * Agrega un alumno, o lo reemplaza si ya existía uno con el mismo nombre.
+     * El repositorio guarda su propia copia del alumno.
+     * 
+     * @param alumno alumno a agregar
+     */
+    public void agregar(Alumno alumno) {
+        guardar(alumno);
+    }
+    
+    private Alumno guardar(Alumno alumno) {
+        Alumno copia = copiar(alumno);
+        lock.writeLock().lock();
+        try {
+            Alumno anterior = porNombre.put(copia.getNombre(), copia);
+            if (anterior != null) {
+                desindexar(anterior);
+            }
+            indexar(copia);
+            return anterior;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Elimina al alumno con el nombre indicado.
+     * 
+     * @param nombre nombre del alumno
+     * @return true si el alumno existía
+     */
+    public boolean eliminar(String nombre) {
+        lock.writeLock().lock();
+        try {
+            Alumno anterior = porNombre.remove(nombre);
+            if (anterior == null) {
+                return false;
+            }
+            desindexar(anterior);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Cambia la nota de un alumno manteniendo su curso y su posición dentro del curso.
+     * 
+     * @param nombre nombre del alumno
+     * @param nota nueva nota
+     * @return true si el alumno existía
+     */
+    public boolean actualizarNota(String nombre, double nota) {
+        lock.writeLock().lock();
+        try {
+            Alumno anterior = porNombre.get(nombre);
+            if (anterior == null) {
+                return false;
+            }
+            Alumno actualizado = new Alumno(nombre, nota, anterior.getCurso());
+            porNombre.put(nombre, actualizado);
+            
+            Curso curso = cursos.get(anterior.getCurso());
+            curso.alumnos.put(nombre, actualizado);
+            curso.sumaNotas.sumar(nota);
+            curso.sumaNotas.sumar(-anterior.getNota());
+            curso.vista = null;
+            sumaNotas.sumar(nota);
+            sumaNotas.sumar(-anterior.getNota());
+            
+            registrarAprobado(actualizado);
+            vistaGrupos = null;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Busca un alumno por nombre.
+     * 
+     * @param nombre nombre del alumno
+     * @return Optional con una copia del alumno, o empty si no existe
+     */
+    public Optional<Alumno> buscar(String nombre) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(porNombre.get(nombre)).map(AlumnoRepository::copiar);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Devuelve la cantidad de alumnos del repositorio.
+     * 
+     * @return cantidad de alumnos
+     */
+    public int cantidad() {
+        lock.readLock().lock();
+        try {
+            return porNombre.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Devuelve la agrupación por curso. Si no hubo cambios desde la última lectura
+     * se devuelve la misma vista; si los hubo, solo se copian los cursos modificados.
+     * 
+     * @return mapa inmutable con curso como clave y lista de copias de los alumnos como valor
+     */
+    public Map<String, List<Alumno>> agruparPorCurso() {
+        Map<String, List<Alumno>> vista = vistaGrupos;
+        if (vista != null) {
+            return vista;
+        }
+        lock.readLock().lock();
+        try {
+            Map<String, List<Alumno>> grupos = new HashMap<>();
+            for (Map.Entry<String, Curso> entrada : cursos.entrySet()) {
+                grupos.put(entrada.getKey(), entrada.getValue().vista());
+            }
+            vista = Collections.unmodifiableMap(grupos);
+            vistaGrupos = vista;
+            return vista;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Calcula el promedio general a partir de la suma y cantidad mantenidas.
+     * 
+     * @return promedio de notas, o 0.0 si el repositorio está vacío
+     */
+    public double calcularPromedioGeneral() {
+        lock.readLock().lock();
+        try {
+            return porNombre.isEmpty() ? 0.0 : sumaNotas.valor() / porNombre.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Calcula el promedio de notas de un curso a partir de la suma y cantidad mantenidas.
+     * 
+     * @param curso nombre del curso
+     * @return promedio del curso, o 0.0 si el curso no existe
+     */
+    public double calcularPromedioCurso(String curso) {
+        lock.readLock().lock();
+        try {
+            Curso datos = cursos.get(curso);
+            return datos == null ? 0.0 : datos.sumaNotas.valor() / datos.alumnos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Devuelve los nombres de los aprobados en mayúsculas y ordenados alfabéticamente.
+     * 
+     * @return lista inmutable de nombres ordenados
+     */
+    public List<String> obtenerAprobadosOrdenados() {
+        List<String> vista = vistaAprobados;
+        if (vista != null) {
+            return vista;
+        }
+        lock.readLock().lock();
+        try {
+            vista = Collections.unmodifiableList(aprobados.todos());
+            vistaAprobados = vista;
+            return vista;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Devuelve una página de aprobados ordenados sin materializar la lista completa.
+     * 
+     * @param desde posición del primer nombre de la página
+     * @param cantidad tamaño máximo de la página
+     * @return nombres en mayúsculas de la página
+     */
+    public List<String> obtenerAprobadosPagina(int desde, int cantidad) {
+        lock.readLock().lock();
+        try {
+            return aprobados.pagina(desde, cantidad);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Devuelve los aprobados cuyo nombre en mayúsculas está en [desde, hasta).
+     * 
+     * @param desde cota inferior inclusiva
+     * @param hasta cota superior exclusiva
+     * @return nombres en mayúsculas ordenados dentro del rango
+     */
+    public List<String> obtenerAprobadosEntre(String desde, String hasta) {
+        lock.readLock().lock();
+        try {
+            return aprobados.rango(desde, hasta);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void indexar(Alumno alumno) {
+        Curso curso = cursos.computeIfAbsent(alumno.getCurso(), clave -> new Curso());
+        curso.alumnos.put(alumno.getNombre(), alumno);
+        curso.sumaNotas.sumar(alumno.getNota());
+        curso.vista = null;
+        sumaNotas.sumar(alumno.getNota());
+        registrarAprobado(alumno);
+        vistaGrupos = null;
+    }
+    
+    private void desindexar(Alumno alumno) {
+        Curso curso = cursos.get(alumno.getCurso());
+        curso.alumnos.remove(alumno.getNombre());
+        if (curso.alumnos.isEmpty()) {
+            cursos.remove(alumno.getCurso());
+        } else {
+            curso.sumaNotas.sumar(-alumno.getNota());
+            curso.vista = null;
+        }
+        sumaNotas.sumar(-alumno.getNota());
+        if (porNombre.isEmpty()) {
+            sumaNotas.reiniciar();
+        }
+        if (aprobados.quitar(alumno.getNombre())) {
+            vistaAprobados = null;
+        }
+        vistaGrupos = null;
+    }
+    
+    private static Alumno copiar(Alumno alumno) {
+        return new Alumno(alumno.getNombre(), alumno.getNota(), alumno.getCurso());
+    }
+    
+    private void registrarAprobado(Alumno alumno) {
+        if (aprobados.registrar(alumno)) {
+            vistaAprobados = null;
+        }
+    }
+    
+    /**
+     * Estado mantenido de un curso: sus alumnos en orden de alta y la suma de notas.
+     */
+    private static final class Curso {
+        private final LinkedHashMap<String, Alumno> alumnos = new LinkedHashMap<>();
+        private final SumaCompensada sumaNotas = new SumaCompensada();
+        private volatile List<Alumno> vista;
+        
+        private List<Alumno> vista() {
+            List<Alumno> actual = vista;
+            if (actual == null) {
+                // Copias, para que la vista compartida entre lectores no exponga el estado interno
+                actual = alumnos.values().stream().map(AlumnoRepository::copiar).toList();
+                vista = actual;
+            }
+            return actual;
+        }
+    }
+    
+    /**
+     * Suma compensada (Neumaier) que admite restar valores ya sumados: el error de redondeo
+     * de cada operación se guarda aparte en lugar de acumularse en la suma.
+     */
+    private static final class SumaCompensada {
+        private double suma;
+        private double compensacion;
+        
+        private void sumar(double valor) {
+            double nueva = suma + valor;
+            if (Math.abs(suma) >= Math.abs(valor)) {
+                compensacion += (suma - nueva) + valor;
+            } else {
+                compensacion += (valor - nueva) + suma;
+            }
+            suma = nueva;
+        }
+        
+        private double valor() {
+            return suma + compensacion;
+        }
+        
+        private void reiniciar() {
+            suma = 0.0;
+            compensacion = 0.0;
+        }
+    }
+}
@@ -1,32 +1,66 @@
 package org.example.caso1.alumnos;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
 
+import org.example.comun.EstrategiaEjecucion;
+import org.example.comun.TopK;
+
 /**
  * Servicio que implementa operaciones funcionales sobre colecciones de alumnos.
  * Aplica el patrón de programación funcional usando Streams de Java.
+ * Las consultas sobre listas corren según la {@link EstrategiaEjecucion} del servicio.
  */
 public class AlumnoService {
     
+    /** Orden por nota de mayor a menor, usado para los rankings. */
+    public static final Comparator<Alumno> POR_NOTA_DESCENDENTE =
+            Comparator.comparingDouble(Alumno::getNota).reversed();
+    
+    private final EstrategiaEjecucion estrategia;
+    
+    /**
+     * Crea el servicio con ejecución secuencial.
+     */
+    public AlumnoService() {
+        this(EstrategiaEjecucion.secuencial());
+    }
+    
+    /**
+     * Crea el servicio con la estrategia de ejecución indicada.
+     * 
+     * @param estrategia estrategia para las consultas sobre listas
+     */
+    public AlumnoService(EstrategiaEjecucion estrategia) {
+        this.estrategia = estrategia;
+    }
+    
     /**
      * Obtiene los nombres de alumnos aprobados (nota >= 7) en mayúsculas y ordenados alfabéticamente.
+     * Las mayúsculas no dependen del locale por defecto de la JVM.
      * 
      * @param alumnos lista de alumnos a procesar
      * @return lista de nombres en mayúsculas ordenados
      */
     public List<String> obtenerAprobadosOrdenados(List<Alumno> alumnos) {
-        return alumnos.stream()
-                .filter(alumno -> alumno.getNota() >= 7.0)
-                .map(alumno -> alumno.getNombre().toUpperCase())
+        return estrategia.ejecutar(alumnos, stream -> stream
+                .filter(alumno -> AprobadosIndex.aprueba(alumno.getNota()))
+                .map(alumno -> AprobadosIndex.clave(alumno.getNombre()))
                 .sorted()
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
     
     /**
      * Calcula el promedio general de todas las notas.
+     * Siempre suma en secuencial: sumar {@code double} en paralelo puede cambiar los últimos decimales.
      * 
      * @param alumnos lista de alumnos
      * @return promedio de notas, o 0.0 si la lista está vacía
@@ -39,14 +73,28 @@ public class AlumnoService {
     }
     
     /**
-     * Agrupa los alumnos por curso.
+     * Calcula el promedio general de las notas de un archivo CSV (ver {@link AlumnoCsv}) leyéndolo
+     * por bloques, sin cargarlo entero. Suma en el orden del archivo con la misma suma compensada,
+     * así que da lo mismo que {@link #calcularPromedioGeneral(List)} sobre la lista.
+     * 
+     * @param archivo archivo CSV de alumnos
+     * @return promedio de notas, o 0.0 si el archivo no tiene alumnos
+     * @throws IOException si falla la lectura o una fila no es válida
+     */
+    public double calcularPromedioGeneral(Path archivo) throws IOException {
+        return AlumnoCsv.ingesta().recolectar(archivo, Collectors.summarizingDouble(Alumno::getNota)).getAverage();
+    }
+    
+    /**
+     * Agrupa los alumnos por curso, con las listas en un arreglo indexado por el id del curso
+     * en {@link Alumno#CURSOS}.
      * 
      * @param alumnos lista de alumnos
      * @return mapa con curso como clave y lista de alumnos como valor
      */
     public Map<String, List<Alumno>> agruparPorCurso(List<Alumno> alumnos) {
-        return alumnos.stream()
-                .collect(Collectors.groupingBy(Alumno::getCurso));
+        return estrategia.ejecutar(alumnos, stream -> stream
+                .collect(Alumno.CURSOS.agrupandoPorId(Alumno::getCursoId, Collectors.toList())));
     }
     
     /**
@@ -56,10 +104,213 @@ public class AlumnoService {
      * @return lista con los 3 alumnos de mejor nota
      */
     public List<Alumno> obtenerTop3Promedios(List<Alumno> alumnos) {
-        return alumnos.stream()
-                .sorted(Comparator.comparingDouble(Alumno::getNota).reversed())
-                .limit(3)
-                .collect(Collectors.toList());
+        return obtenerTop(alumnos, 3, POR_NOTA_DESCENDENTE);
+    }
+    
+    /**
+     * Obtiene los K primeros alumnos según el comparador indicado.
+     * Usa un montículo acotado de tamaño K (paralelo por bloques si la estrategia lo permite)
+     * y ante empates conserva el orden original de la lista.
+     * 
+     * @param alumnos lista de alumnos
+     * @param k cantidad de alumnos a devolver
+     * @param orden comparador que define quiénes van primero
+     * @return lista con a lo sumo K alumnos ordenados según el comparador
+     */
+    public List<Alumno> obtenerTop(List<Alumno> alumnos, int k, Comparator<? super Alumno> orden) {
+        TopK<Alumno> topK = new TopK<>(k, orden, estrategia.umbral());
+        return estrategia.enPool(() -> topK.seleccionar(alumnos));
+    }
+    
+    /**
+     * Obtiene los aprobados ordenados desde un repositorio vivo, sin recorrer los alumnos.
+     * 
+     * @param repositorio repositorio de alumnos mantenido incrementalmente
+     * @return lista de nombres en mayúsculas ordenados
+     */
+    public List<String> obtenerAprobadosOrdenados(AlumnoRepository repositorio) {
+        return repositorio.obtenerAprobadosOrdenados();
+    }
+    
+    /**
+     * Calcula el promedio general desde un repositorio vivo usando la suma y cantidad mantenidas.
+     * 
+     * @param repositorio repositorio de alumnos mantenido incrementalmente
+     * @return promedio de notas, o 0.0 si el repositorio está vacío
+     */
+    public double calcularPromedioGeneral(AlumnoRepository repositorio) {
+        return repositorio.calcularPromedioGeneral();
+    }
+    
+    /**
+     * Agrupa los alumnos por curso desde un repositorio vivo, reutilizando la agrupación mantenida.
+     * 
+     * @param repositorio repositorio de alumnos mantenido incrementalmente
+     * @return mapa con curso como clave y lista de alumnos como valor
+     */
+    public Map<String, List<Alumno>> agruparPorCurso(AlumnoRepository repositorio) {
+        return repositorio.agruparPorCurso();
+    }
+    
+    /**
+     * Obtiene los aprobados ordenados desde una tabla columnar; el filtro por nota
+     * recorre solo la columna de notas (vectorizado si la Vector API está disponible).
+     * 
+     * @param tabla alumnos en formato columnar
+     * @return lista de nombres en mayúsculas ordenados
+     */
+    public List<String> obtenerAprobadosOrdenados(AlumnoTable tabla) {
+        int[] filas = new int[tabla.tamanio()];
+        int cantidad = NotasKernel.ACTIVO.filtrarMayoresOIguales(tabla.columnaNotas(), 7.0, filas);
+        String[] nombres = new String[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            nombres[i] = AprobadosIndex.clave(tabla.nombre(filas[i]));
+        }
+        Arrays.sort(nombres);
+        return new ArrayList<>(Arrays.asList(nombres));
+    }
+    
+    /**
+     * Calcula el promedio general desde una tabla columnar sumando la columna de notas.
+     * La suma es compensada y da lo mismo con o sin Vector API y en cualquier CPU, pero reparte
+     * las notas en carriles, así que puede diferir en el último decimal de
+     * {@link #calcularPromedioGeneral(List)} sobre los mismos alumnos.
+     * 
+     * @param tabla alumnos en formato columnar
+     * @return promedio de notas, o 0.0 si la tabla está vacía
+     */
+    public double calcularPromedioGeneral(AlumnoTable tabla) {
+        if (tabla.tamanio() == 0) {
+            return 0.0;
+        }
+        return NotasKernel.ACTIVO.sumar(tabla.columnaNotas()) / tabla.tamanio();
+    }
+    
+    /**
+     * Cuenta los aprobados (nota >= 7) de una tabla columnar sin materializar alumnos.
+     * 
+     * @param tabla alumnos en formato columnar
+     * @return cantidad de aprobados
+     */
+    public int contarAprobados(AlumnoTable tabla) {
+        return NotasKernel.ACTIVO.contarMayoresOIguales(tabla.columnaNotas(), 7.0);
+    }
+    
+    /**
+     * Agrupa los alumnos de una tabla columnar por curso usando los ids del diccionario
+     * como índice de arreglo en lugar de hashear el nombre del curso en cada fila.
+     * 
+     * @param tabla alumnos en formato columnar
+     * @return mapa con curso como clave y lista de alumnos como valor
+     */
+    public Map<String, List<Alumno>> agruparPorCurso(AlumnoTable tabla) {
+        int[] cursoIds = tabla.columnaCursos();
+        int[] conteos = new int[tabla.cantidadCursos()];
+        for (int id : cursoIds) {
+            conteos[id]++;
+        }
+        List<List<Alumno>> grupos = new ArrayList<>(conteos.length);
+        for (int conteo : conteos) {
+            grupos.add(new ArrayList<>(conteo));
+        }
+        for (int fila = 0; fila < cursoIds.length; fila++) {
+            grupos.get(cursoIds[fila]).add(tabla.fila(fila));
+        }
+        Map<String, List<Alumno>> resultado = new HashMap<>();
+        for (int id = 0; id < conteos.length; id++) {
+            resultado.put(tabla.curso(id), grupos.get(id));
+        }
+        return resultado;
+    }
+    
+    /**
+     * Obtiene los 3 alumnos con mejores notas de una tabla columnar, en una sola pasada por
+     * la columna de notas sin encajar números de fila, y materializando únicamente las filas
+     * elegidas. Ante notas iguales queda primero la fila anterior.
+     * 
+     * @param tabla alumnos en formato columnar
+     * @return lista con los 3 alumnos de mejor nota
+     */
+    public List<Alumno> obtenerTop3Promedios(AlumnoTable tabla) {
+        double[] notas = tabla.columnaNotas();
+        int primera = -1;
+        int segunda = -1;
+        int tercera = -1;
+        for (int fila = 0; fila < notas.length; fila++) {
+            double nota = notas[fila];
+            // Solo desplaza con una nota estrictamente mayor, así los empates conservan la fila anterior
+            if (primera < 0 || Double.compare(nota, notas[primera]) > 0) {
+                tercera = segunda;
+                segunda = primera;
+                primera = fila;
+            } else if (segunda < 0 || Double.compare(nota, notas[segunda]) > 0) {
+                tercera = segunda;
+                segunda = fila;
+            } else if (tercera < 0 || Double.compare(nota, notas[tercera]) > 0) {
+                tercera = fila;
+            }
+        }
+        List<Alumno> resultado = new ArrayList<>(3);
+        for (int fila : new int[] {primera, segunda, tercera}) {
+            if (fila >= 0) {
+                resultado.add(tabla.fila(fila));
+            }
+        }
+        return resultado;
+    }
+    
+    /**
+     * Collector que arma un histograma de notas en una sola pasada y sin ordenar.
+     * Los histogramas parciales se combinan, así que funciona con streams paralelos.
+     * 
+     * @return collector de alumnos a histograma de notas
+     */
+    public Collector<Alumno, HistogramaNotas, HistogramaNotas> histogramaNotas() {
+        return Collector.of(
+                HistogramaNotas::new,
+                (histograma, alumno) -> histograma.agregar(alumno.getNota()),
+                HistogramaNotas::combinar,
+                Collector.Characteristics.IDENTITY_FINISH,
+                Collector.Characteristics.UNORDERED
+        );
+    }
+    
+    /**
+     * Arma un histograma de notas por curso, indexado por el id del curso en {@link Alumno#CURSOS};
+     * en paralelo cada hilo arma histogramas parciales que después se combinan.
+     * 
+     * @param alumnos lista de alumnos
+     * @return mapa con curso como clave y su histograma de notas como valor
+     */
+    public Map<String, HistogramaNotas> calcularHistogramasPorCurso(List<Alumno> alumnos) {
+        return estrategia.ejecutar(alumnos, stream -> stream
+                .collect(Alumno.CURSOS.agrupandoPorId(Alumno::getCursoId, histogramaNotas())));
+    }
+    
+    /**
+     * Arma un histograma de notas por curso desde un archivo CSV leído por bloques; la memoria
+     * depende de la cantidad de cursos y no de la de alumnos.
+     * 
+     * @param archivo archivo CSV de alumnos
+     * @return mapa con curso como clave y su histograma de notas como valor
+     * @throws IOException si falla la lectura o una fila no es válida
+     */
+    public Map<String, HistogramaNotas> calcularHistogramasPorCurso(Path archivo) throws IOException {
+        return AlumnoCsv.ingesta().recolectar(archivo,
+                Alumno.CURSOS.agrupandoPorId(Alumno::getCursoId, histogramaNotas()));
+    }
+    
+    /**
+     * Calcula un percentil exacto de las notas de cada curso sin ordenar las listas.
+     * 
+     * @param alumnos lista de alumnos
+     * @param p percentil entre 0 y 100 (50 es la mediana, 90 el p90)
+     * @return mapa con curso como clave y el percentil como valor
+     */
+    public Map<String, Double> calcularPercentilPorCurso(List<Alumno> alumnos, double p) {
+        Map<String, Double> percentiles = new HashMap<>();
+        calcularHistogramasPorCurso(alumnos)
+                .forEach((curso, histograma) -> percentiles.put(curso, histograma.percentil(p)));
+        return percentiles;
     }
 }
-
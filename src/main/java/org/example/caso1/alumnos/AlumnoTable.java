@@ -0,0 +1,146 @@
+package org.example.caso1.alumnos;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Representación columnar (struct-of-arrays) de una lista de alumnos.
+ * Guarda las notas en un {@code double[]} contiguo, el curso codificado como id entero
+ * contra un diccionario y los nombres en su propia columna, de modo que los recorridos
+ * sobre notas no necesitan seguir referencias a objetos.
+ * 
+ * <p>Es inmutable: se construye una vez a partir de una lista con {@link #desde(List)}.
+ */
+public final class AlumnoTable {
+    
+    private final String[] nombres;
+    private final double[] notas;
+    private final int[] cursoIds;
+    private final String[] diccionarioCursos;
+    
+    private AlumnoTable(String[] nombres, double[] notas, int[] cursoIds, String[] diccionarioCursos) {
+        this.nombres = nombres;
+        this.notas = notas;
+        this.cursoIds = cursoIds;
+        this.diccionarioCursos = diccionarioCursos;
+    }
+    
+    /**
+     * Convierte una lista de alumnos a formato columnar, codificando los cursos
+     * en el orden en que aparecen por primera vez.
+     * 
+     * @param alumnos lista de alumnos
+     * @return tabla columnar con los mismos alumnos en el mismo orden
+     */
+    public static AlumnoTable desde(List<Alumno> alumnos) {
+        int tamanio = alumnos.size();
+        String[] nombres = new String[tamanio];
+        double[] notas = new double[tamanio];
+        int[] cursoIds = new int[tamanio];
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> diccionario = new ArrayList<>();
+        
+        int i = 0;
+        for (Alumno alumno : alumnos) {
+            nombres[i] = alumno.getNombre();
+            notas[i] = alumno.getNota();
+            cursoIds[i] = ids.computeIfAbsent(alumno.getCurso(), curso -> {
+                diccionario.add(curso);
+                return diccionario.size() - 1;
+            });
+            i++;
+        }
+        return new AlumnoTable(nombres, notas, cursoIds, diccionario.toArray(new String[0]));
+    }
+    
+    /**
+     * Devuelve la cantidad de filas de la tabla.
+     * 
+     * @return cantidad de alumnos
+     */
+    public int tamanio() {
+        return notas.length;
+    }
+    
+    /**
+     * Devuelve la cantidad de cursos distintos del diccionario.
+     * 
+     * @return cantidad de cursos
+     */
+    public int cantidadCursos() {
+        return diccionarioCursos.length;
+    }
+    
+    /**
+     * Devuelve el nombre del alumno de una fila.
+     * 
+     * @param fila índice de la fila
+     * @return nombre del alumno
+     */
+    public String nombre(int fila) {
+        return nombres[fila];
+    }
+    
+    /**
+     * Devuelve la nota del alumno de una fila.
+     * 
+     * @param fila índice de la fila
+     * @return nota del alumno
+     */
+    public double nota(int fila) {
+        return notas[fila];
+    }
+    
+    /**
+     * Devuelve el id de curso codificado de una fila.
+     * 
+     * @param fila índice de la fila
+     * @return id del curso en el diccionario
+     */
+    public int cursoId(int fila) {
+        return cursoIds[fila];
+    }
+    
+    /**
+     * Traduce un id de curso a su nombre.
+     * 
+     * @param cursoId id del diccionario
+     * @return nombre del curso
+     */
+    public String curso(int cursoId) {
+        return diccionarioCursos[cursoId];
+    }
+    
+    /**
+     * Reconstruye el alumno de una fila.
+     * 
+     * @param fila índice de la fila
+     * @return nuevo alumno con los datos de la fila
+     */
+    public Alumno fila(int fila) {
+        return new Alumno(nombres[fila], notas[fila], diccionarioCursos[cursoIds[fila]]);
+    }
+    
+    /**
+     * Reconstruye la lista de alumnos en el orden original.
+     * 
+     * @return lista de alumnos
+     */
+    public List<Alumno> aLista() {
+        List<Alumno> alumnos = new ArrayList<>(notas.length);
+        for (int i = 0; i < notas.length; i++) {
+            alumnos.add(fila(i));
+        }
+        return alumnos;
+    }
+    
+    double[] columnaNotas() {
+        return notas;
+    }
+    
+    int[] columnaCursos() {
+        return cursoIds;
+    }
+}
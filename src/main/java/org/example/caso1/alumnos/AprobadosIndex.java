@@ -0,0 +1,170 @@
+package org.example.caso1.alumnos;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Índice ordenado de alumnos aprobados (nota >= 7) que guarda una sola vez el nombre
+ * en mayúsculas de cada uno. Las altas, bajas y cambios de nota cuestan O(log n) y
+ * las lecturas por página o por rango no necesitan materializar la lista completa.
+ * 
+ * <p>Las mayúsculas se calculan con {@link Locale#ROOT} para que el resultado no dependa
+ * del locale por defecto de la JVM. No es thread-safe: quien lo comparta debe sincronizarlo,
+ * como hace {@link AlumnoRepository}.
+ */
+public class AprobadosIndex {
+    
+    /** Nota mínima para considerar aprobado a un alumno. */
+    public static final double NOTA_APROBACION = 7.0;
+    
+    /** Locale usado para pasar los nombres a mayúsculas. */
+    public static final Locale LOCALE_CLAVES = Locale.ROOT;
+    
+    private static final Comparator<Entrada> ORDEN = Comparator
+            .comparing(Entrada::clave)
+            .thenComparing(Entrada::nombre);
+    
+    private final NavigableSet<Entrada> entradas = new TreeSet<>(ORDEN);
+    private final Map<String, Entrada> porNombre = new HashMap<>();
+    
+    /**
+     * Pasa un nombre a la forma en mayúsculas usada como clave de orden.
+     * 
+     * @param nombre nombre del alumno
+     * @return nombre en mayúsculas independiente del locale de la JVM
+     */
+    public static String clave(String nombre) {
+        return nombre.toUpperCase(LOCALE_CLAVES);
+    }
+    
+    /**
+     * Indica si una nota alcanza para aprobar.
+     * 
+     * @param nota nota del alumno
+     * @return true si la nota es mayor o igual a {@link #NOTA_APROBACION}
+     */
+    public static boolean aprueba(double nota) {
+        return nota >= NOTA_APROBACION;
+    }
+    
+    /**
+     * Registra el estado actual de un alumno: lo agrega si aprueba y no estaba,
+     * y lo quita si estaba y ya no aprueba. Si la nota no cruza el umbral no hace nada.
+     * 
+     * @param alumno alumno con su nota actual
+     * @return true si el índice cambió
+     */
+    public boolean registrar(Alumno alumno) {
+        boolean presente = porNombre.containsKey(alumno.getNombre());
+        if (aprueba(alumno.getNota()) && !presente) {
+            Entrada entrada = new Entrada(clave(alumno.getNombre()), alumno.getNombre());
+            porNombre.put(entrada.nombre(), entrada);
+            entradas.add(entrada);
+            return true;
+        }
+        return !aprueba(alumno.getNota()) && presente && quitar(alumno.getNombre());
+    }
+    
+    /**
+     * Quita a un alumno del índice, si estaba.
+     * 
+     * @param nombre nombre del alumno
+     * @return true si el alumno estaba en el índice
+     */
+    public boolean quitar(String nombre) {
+        Entrada entrada = porNombre.remove(nombre);
+        return entrada != null && entradas.remove(entrada);
+    }
+    
+    /**
+     * Devuelve la cantidad de aprobados indexados.
+     * 
+     * @return cantidad de aprobados
+     */
+    public int cantidad() {
+        return entradas.size();
+    }
+    
+    /**
+     * Devuelve todos los nombres de aprobados en mayúsculas y ordenados.
+     * 
+     * @return lista de nombres ordenados
+     */
+    public List<String> todos() {
+        return copiar(entradas.iterator(), Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Devuelve una página de nombres ordenados saltando los primeros {@code desde}.
+     * Cuesta O(desde + cantidad); para recorrer páginas sucesivas conviene {@link #siguientes}.
+     * 
+     * @param desde posición del primer nombre de la página
+     * @param cantidad tamaño máximo de la página
+     * @return nombres de la página
+     */
+    public List<String> pagina(int desde, int cantidad) {
+        if (desde < 0 || cantidad < 0) {
+            throw new IllegalArgumentException("desde y cantidad no pueden ser negativos");
+        }
+        Iterator<Entrada> iterador = entradas.iterator();
+        for (int i = 0; i < desde && iterador.hasNext(); i++) {
+            iterador.next();
+        }
+        return copiar(iterador, cantidad);
+    }
+    
+    /**
+     * Devuelve hasta {@code cantidad} nombres estrictamente posteriores a {@code despuesDe}
+     * en O(log n + cantidad). Pasando el último nombre de una página se obtiene la siguiente.
+     * Si hay nombres que coinciden en mayúsculas con el de corte, todos quedan del lado anterior.
+     * 
+     * @param despuesDe último nombre ya leído, o null para empezar desde el principio
+     * @param cantidad tamaño máximo de la página
+     * @return nombres siguientes
+     */
+    public List<String> siguientes(String despuesDe, int cantidad) {
+        if (despuesDe == null) {
+            return copiar(entradas.iterator(), cantidad);
+        }
+        // Entrada centinela mayor que cualquier entrada con la misma clave
+        Entrada cota = new Entrada(clave(despuesDe), String.valueOf(Character.MAX_VALUE));
+        return copiar(entradas.tailSet(cota, false).iterator(), cantidad);
+    }
+    
+    /**
+     * Devuelve los nombres cuya clave en mayúsculas está en [desde, hasta).
+     * Por ejemplo, {@code rango("M", "Q")} devuelve los nombres que empiezan con M a P.
+     * 
+     * @param desde cota inferior inclusiva (se compara en mayúsculas)
+     * @param hasta cota superior exclusiva (se compara en mayúsculas)
+     * @return nombres ordenados dentro del rango
+     */
+    public List<String> rango(String desde, String hasta) {
+        Entrada inferior = new Entrada(clave(desde), "");
+        Entrada superior = new Entrada(clave(hasta), "");
+        if (ORDEN.compare(inferior, superior) >= 0) {
+            return new ArrayList<>();
+        }
+        return copiar(entradas.subSet(inferior, true, superior, false).iterator(), Integer.MAX_VALUE);
+    }
+    
+    private static List<String> copiar(Iterator<Entrada> iterador, int cantidad) {
+        List<String> nombres = new ArrayList<>();
+        while (nombres.size() < cantidad && iterador.hasNext()) {
+            nombres.add(iterador.next().clave());
+        }
+        return nombres;
+    }
+    
+    /**
+     * Entrada del índice: clave en mayúsculas precalculada y nombre original para desempatar.
+     */
+    private record Entrada(String clave, String nombre) {}
+}
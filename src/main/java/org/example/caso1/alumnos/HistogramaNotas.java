@@ -0,0 +1,123 @@
+package org.example.caso1.alumnos;
+
+/**
+ * Histograma de notas de 0 a 10 con un casillero por centésima.
+ * Se llena en una sola pasada, sin ordenar, y dos histogramas se pueden combinar,
+ * por lo que sirve como acumulador de un {@code Collector} paralelo.
+ * 
+ * <p>Las notas se redondean a dos decimales, así que medianas y percentiles son exactos
+ * para notas expresadas con hasta dos decimales.
+ */
+public class HistogramaNotas {
+    
+    /** Nota mínima admitida. */
+    public static final double NOTA_MINIMA = 0.0;
+    
+    /** Nota máxima admitida. */
+    public static final double NOTA_MAXIMA = 10.0;
+    
+    private static final int ESCALA = 100;
+    private static final int CASILLEROS = (int) (NOTA_MAXIMA * ESCALA) + 1;
+    
+    private final long[] conteos = new long[CASILLEROS];
+    private long cantidad;
+    
+    /**
+     * Registra una nota en el histograma.
+     * 
+     * @param nota nota entre 0 y 10
+     * @throws IllegalArgumentException si la nota está fuera de rango
+     */
+    public void agregar(double nota) {
+        if (!(nota >= NOTA_MINIMA && nota <= NOTA_MAXIMA)) {
+            throw new IllegalArgumentException("Nota fuera de rango [0, 10]: " + nota);
+        }
+        conteos[(int) Math.round(nota * ESCALA)]++;
+        cantidad++;
+    }
+    
+    /**
+     * Suma a este histograma los conteos de otro.
+     * 
+     * @param otro histograma a combinar
+     * @return este mismo histograma, para usarlo como combinador
+     */
+    public HistogramaNotas combinar(HistogramaNotas otro) {
+        for (int i = 0; i < CASILLEROS; i++) {
+            conteos[i] += otro.conteos[i];
+        }
+        cantidad += otro.cantidad;
+        return this;
+    }
+    
+    /**
+     * Devuelve la cantidad de notas registradas.
+     * 
+     * @return cantidad de notas
+     */
+    public long cantidad() {
+        return cantidad;
+    }
+    
+    /**
+     * Calcula la mediana; con cantidad par es el promedio de los dos valores centrales.
+     * 
+     * @return mediana, o 0.0 si no hay notas
+     */
+    public double mediana() {
+        return percentil(50);
+    }
+    
+    /**
+     * Calcula un percentil interpolando linealmente entre los dos valores vecinos
+     * (mismo criterio que la interpolación por defecto de NumPy).
+     * 
+     * @param p percentil entre 0 y 100
+     * @return valor del percentil, o 0.0 si no hay notas
+     */
+    public double percentil(double p) {
+        if (!(p >= 0 && p <= 100)) {
+            throw new IllegalArgumentException("Percentil fuera de rango [0, 100]: " + p);
+        }
+        if (cantidad == 0) {
+            return 0.0;
+        }
+        double rango = (cantidad - 1) * (p / 100.0);
+        long inferior = (long) Math.floor(rango);
+        double fraccion = rango - inferior;
+        double valorInferior = valorEnPosicion(inferior);
+        if (fraccion == 0.0) {
+            return valorInferior;
+        }
+        double valorSuperior = valorEnPosicion(inferior + 1);
+        return valorInferior + (valorSuperior - valorInferior) * fraccion;
+    }
+    
+    /**
+     * Devuelve la distribución por nota entera: el casillero {@code i} cuenta las notas
+     * en [i, i + 1), salvo el último que también incluye el 10.
+     * 
+     * @return arreglo de 10 conteos
+     */
+    public long[] distribucion() {
+        long[] distribucion = new long[(int) NOTA_MAXIMA];
+        for (int i = 0; i < CASILLEROS; i++) {
+            distribucion[Math.min(i / ESCALA, distribucion.length - 1)] += conteos[i];
+        }
+        return distribucion;
+    }
+    
+    /**
+     * Busca la nota que ocupa la posición indicada si las notas estuvieran ordenadas.
+     */
+    private double valorEnPosicion(long posicion) {
+        long acumulado = 0;
+        for (int i = 0; i < CASILLEROS; i++) {
+            acumulado += conteos[i];
+            if (acumulado > posicion) {
+                return (double) i / ESCALA;
+            }
+        }
+        throw new IllegalStateException("Posición fuera del histograma: " + posicion);
+    }
+}
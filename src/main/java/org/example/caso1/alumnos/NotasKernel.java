@@ -0,0 +1,101 @@
+package org.example.caso1.alumnos;
+
+/**
+ * Operaciones de bajo nivel sobre la columna de notas de una {@link AlumnoTable}.
+ * Hay una implementación vectorial (Vector API) y otra escalar; {@link #ACTIVO}
+ * elige la vectorial solo si el módulo {@code jdk.incubator.vector} está cargado.
+ */
+interface NotasKernel {
+    
+    /** Propiedad de sistema que fuerza la implementación escalar. */
+    String PROPIEDAD_DESHABILITAR = "alumnos.vector.deshabilitado";
+    
+    NotasKernel ACTIVO = elegir();
+    
+    /**
+     * Carriles de la suma. Es fijo, y no el ancho de vector de la CPU, para que las dos
+     * implementaciones repartan las notas igual y den el mismo resultado en cualquier máquina.
+     */
+    int CARRILES_SUMA = 4;
+    
+    /**
+     * Suma las notas con una suma compensada (Neumaier) en cada uno de {@link #CARRILES_SUMA}
+     * carriles: la nota {@code i} va al carril {@code i % CARRILES_SUMA}, salvo el resto final
+     * que no completa una vuelta. Los carriles se combinan siempre en el mismo orden, así que el
+     * resultado es idéntico bit a bit entre implementaciones, aunque no necesariamente igual al
+     * de sumar en secuencial.
+     * 
+     * @param notas columna de notas
+     * @return suma de todas las notas
+     */
+    double sumar(double[] notas);
+    
+    /**
+     * Cuenta las notas mayores o iguales al umbral.
+     * 
+     * @param notas columna de notas
+     * @param umbral nota mínima
+     * @return cantidad de notas que cumplen
+     */
+    int contarMayoresOIguales(double[] notas, double umbral);
+    
+    /**
+     * Escribe en {@code destino} las filas cuya nota es mayor o igual al umbral, en orden.
+     * 
+     * @param notas columna de notas
+     * @param umbral nota mínima
+     * @param destino arreglo con al menos {@code notas.length} posiciones
+     * @return cantidad de filas escritas
+     */
+    int filtrarMayoresOIguales(double[] notas, double umbral, int[] destino);
+    
+    /**
+     * Combina los carriles de {@link #sumar}, en orden, y le suma las notas del resto final
+     * desde {@code desde}, con la misma compensación.
+     * 
+     * @param sumas suma de cada carril
+     * @param compensaciones error acumulado de cada carril
+     * @param notas columna de notas
+     * @param desde primera nota que no entró en los carriles
+     * @return suma total
+     */
+    static double combinarCarriles(double[] sumas, double[] compensaciones, double[] notas, int desde) {
+        double suma = 0.0;
+        double compensacion = 0.0;
+        for (int carril = 0; carril < CARRILES_SUMA; carril++) {
+            double total = suma + sumas[carril];
+            compensacion += error(suma, sumas[carril], total) + compensaciones[carril];
+            suma = total;
+        }
+        for (int i = desde; i < notas.length; i++) {
+            double total = suma + notas[i];
+            compensacion += error(suma, notas[i], total);
+            suma = total;
+        }
+        return suma + compensacion;
+    }
+    
+    /**
+     * Error de redondeo de {@code suma = a + b}, según Neumaier.
+     * 
+     * @param a primer sumando
+     * @param b segundo sumando
+     * @param suma {@code a + b} redondeado
+     * @return lo que se perdió al redondear
+     */
+    static double error(double a, double b, double suma) {
+        return Math.abs(a) >= Math.abs(b) ? (a - suma) + b : (b - suma) + a;
+    }
+    
+    private static NotasKernel elegir() {
+        if (!Boolean.getBoolean(PROPIEDAD_DESHABILITAR)
+                && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return new NotasKernelVectorial();
+            } catch (LinkageError e) {
+                // El módulo está pero no se puede usar: seguimos con la versión escalar
+            }
+        }
+        return new NotasKernelEscalar();
+    }
+}
@@ -0,0 +1,45 @@
+package org.example.caso1.alumnos;
+
+/**
+ * Implementación escalar de {@link NotasKernel}, usada cuando la Vector API no está disponible.
+ */
+final class NotasKernelEscalar implements NotasKernel {
+    
+    @Override
+    public double sumar(double[] notas) {
+        double[] sumas = new double[CARRILES_SUMA];
+        double[] compensaciones = new double[CARRILES_SUMA];
+        int limite = notas.length - notas.length % CARRILES_SUMA;
+        for (int i = 0; i < limite; i += CARRILES_SUMA) {
+            for (int carril = 0; carril < CARRILES_SUMA; carril++) {
+                double nota = notas[i + carril];
+                double total = sumas[carril] + nota;
+                compensaciones[carril] += NotasKernel.error(sumas[carril], nota, total);
+                sumas[carril] = total;
+            }
+        }
+        return NotasKernel.combinarCarriles(sumas, compensaciones, notas, limite);
+    }
+    
+    @Override
+    public int contarMayoresOIguales(double[] notas, double umbral) {
+        int cantidad = 0;
+        for (double nota : notas) {
+            if (nota >= umbral) {
+                cantidad++;
+            }
+        }
+        return cantidad;
+    }
+    
+    @Override
+    public int filtrarMayoresOIguales(double[] notas, double umbral, int[] destino) {
+        int cantidad = 0;
+        for (int i = 0; i < notas.length; i++) {
+            if (notas[i] >= umbral) {
+                destino[cantidad++] = i;
+            }
+        }
+        return cantidad;
+    }
+}
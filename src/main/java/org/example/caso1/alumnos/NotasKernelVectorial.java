@@ -0,0 +1,76 @@
+package org.example.caso1.alumnos;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Implementación de {@link NotasKernel} con la Vector API (incubadora) del JDK.
+ * Procesa tantas notas por iteración como carriles tenga la especie preferida
+ * de la CPU y termina el resto del arreglo con un bucle escalar. La suma usa en cambio
+ * un ancho fijo, para dar lo mismo que la implementación escalar.
+ */
+final class NotasKernelVectorial implements NotasKernel {
+    
+    private static final VectorSpecies<Double> ESPECIE = DoubleVector.SPECIES_PREFERRED;
+    /** Especie de la suma, con {@link #CARRILES_SUMA} carriles en cualquier CPU. */
+    private static final VectorSpecies<Double> ESPECIE_SUMA = DoubleVector.SPECIES_256;
+    
+    @Override
+    public double sumar(double[] notas) {
+        int limite = ESPECIE_SUMA.loopBound(notas.length);
+        DoubleVector sumas = DoubleVector.zero(ESPECIE_SUMA);
+        DoubleVector compensaciones = DoubleVector.zero(ESPECIE_SUMA);
+        for (int i = 0; i < limite; i += CARRILES_SUMA) {
+            DoubleVector nota = DoubleVector.fromArray(ESPECIE_SUMA, notas, i);
+            DoubleVector total = sumas.add(nota);
+            // Las mismas operaciones que NotasKernel.error, carril por carril
+            VectorMask<Double> sumaMayor = sumas.abs().compare(VectorOperators.GE, nota.abs());
+            DoubleVector error = nota.sub(total).add(sumas).blend(sumas.sub(total).add(nota), sumaMayor);
+            compensaciones = compensaciones.add(error);
+            sumas = total;
+        }
+        return NotasKernel.combinarCarriles(sumas.toArray(), compensaciones.toArray(), notas, limite);
+    }
+    
+    @Override
+    public int contarMayoresOIguales(double[] notas, double umbral) {
+        int limite = ESPECIE.loopBound(notas.length);
+        int cantidad = 0;
+        int i = 0;
+        for (; i < limite; i += ESPECIE.length()) {
+            cantidad += DoubleVector.fromArray(ESPECIE, notas, i)
+                    .compare(VectorOperators.GE, umbral)
+                    .trueCount();
+        }
+        for (; i < notas.length; i++) {
+            if (notas[i] >= umbral) {
+                cantidad++;
+            }
+        }
+        return cantidad;
+    }
+    
+    @Override
+    public int filtrarMayoresOIguales(double[] notas, double umbral, int[] destino) {
+        int limite = ESPECIE.loopBound(notas.length);
+        int cantidad = 0;
+        int i = 0;
+        for (; i < limite; i += ESPECIE.length()) {
+            VectorMask<Double> mascara = DoubleVector.fromArray(ESPECIE, notas, i)
+                    .compare(VectorOperators.GE, umbral);
+            long bits = mascara.toLong();
+            while (bits != 0) {
+                destino[cantidad++] = i + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+        for (; i < notas.length; i++) {
+            if (notas[i] >= umbral) {
+                destino[cantidad++] = i;
+            }
+        }
+        return cantidad;
+    }
+}
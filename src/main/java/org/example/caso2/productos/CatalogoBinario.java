@@ -0,0 +1,380 @@
+package org.example.caso2.productos;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Catálogo de productos en un archivo binario de layout fijo, leído mediante
+ * {@link FileChannel#map}. Permite operar sobre millones de productos sin construir
+ * un objeto {@link Producto} por fila: los precios, stocks y categorías se leen
+ * directamente de columnas primitivas del archivo mapeado.
+ * 
+ * <p>Formato (little-endian, secciones alineadas a 8 bytes):
+ * <pre>
+ * cabecera:   int magia, int versión, long cantidad, int cantidadCategorias, int reservado,
+ *             long desplazamiento de cada sección (categorías, precios, stocks,
+ *             ids de categoría, desplazamientos de nombres, nombres)
+ * categorías: por cada una, int longitud + bytes UTF-8
+ * precios:    double[cantidad]
+ * stocks:     int[cantidad]
+ * ids:        int[cantidad], índice en el diccionario de categorías
+ * nombres:    long[cantidad + 1] con el inicio de cada nombre en el heap de strings
+ * heap:       bytes UTF-8 de todos los nombres, uno detrás de otro
+ * </pre>
+ * Cada sección se mapea por separado, así que ninguna puede superar los 2 GB.
+ */
+public final class CatalogoBinario {
+    
+    private static final int MAGIA = 0x50434154;
+    private static final int VERSION = 1;
+    private static final int SECCIONES = 6;
+    private static final int TAMANIO_CABECERA = 24 + SECCIONES * 8;
+    private static final int TAMANIO_BLOQUE_ESCRITURA = 1 << 16;
+    
+    private final int cantidad;
+    private final String[] categorias;
+    private final ByteBuffer precios;
+    private final ByteBuffer stocks;
+    private final ByteBuffer categoriaIds;
+    private final ByteBuffer desplazamientosNombres;
+    private final ByteBuffer nombres;
+    
+    private CatalogoBinario(int cantidad, String[] categorias, ByteBuffer precios, ByteBuffer stocks,
+                            ByteBuffer categoriaIds, ByteBuffer desplazamientosNombres, ByteBuffer nombres) {
+        this.cantidad = cantidad;
+        this.categorias = categorias;
+        this.precios = precios;
+        this.stocks = stocks;
+        this.categoriaIds = categoriaIds;
+        this.desplazamientosNombres = desplazamientosNombres;
+        this.nombres = nombres;
+    }
+    
+    /**
+     * Escribe los productos en el formato binario del catálogo.
+     * 
+     * @param productos productos a escribir
+     * @param archivo ruta del archivo a crear o reemplazar
+     * @throws IOException si falla la escritura
+     */
+    public static void escribir(List<Producto> productos, Path archivo) throws IOException {
+        Map<String, Integer> ids = new HashMap<>();
+        List<byte[]> diccionario = new ArrayList<>();
+        long tamanioCategorias = 0;
+        long tamanioNombres = 0;
+        for (Producto producto : productos) {
+            if (!ids.containsKey(producto.getCategoria())) {
+                byte[] bytes = producto.getCategoria().getBytes(StandardCharsets.UTF_8);
+                ids.put(producto.getCategoria(), diccionario.size());
+                diccionario.add(bytes);
+                tamanioCategorias += 4 + bytes.length;
+            }
+            tamanioNombres += producto.getNombre().getBytes(StandardCharsets.UTF_8).length;
+        }
+        
+        long cantidad = productos.size();
+        long[] desplazamientos = new long[SECCIONES];
+        desplazamientos[0] = TAMANIO_CABECERA;
+        desplazamientos[1] = alinear(desplazamientos[0] + tamanioCategorias);
+        desplazamientos[2] = alinear(desplazamientos[1] + cantidad * 8);
+        desplazamientos[3] = alinear(desplazamientos[2] + cantidad * 4);
+        desplazamientos[4] = alinear(desplazamientos[3] + cantidad * 4);
+        desplazamientos[5] = alinear(desplazamientos[4] + (cantidad + 1) * 8);
+        
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            Salida salida = new Salida(canal);
+            salida.ponerInt(MAGIA).ponerInt(VERSION).ponerLong(cantidad)
+                    .ponerInt(diccionario.size()).ponerInt(0);
+            for (long desplazamiento : desplazamientos) {
+                salida.ponerLong(desplazamiento);
+            }
+            for (byte[] categoria : diccionario) {
+                salida.ponerInt(categoria.length).ponerBytes(categoria);
+            }
+            salida.rellenarHasta(desplazamientos[1]);
+            for (Producto producto : productos) {
+                salida.ponerDouble(producto.getPrecio());
+            }
+            salida.rellenarHasta(desplazamientos[2]);
+            for (Producto producto : productos) {
+                salida.ponerInt(producto.getStock());
+            }
+            salida.rellenarHasta(desplazamientos[3]);
+            for (Producto producto : productos) {
+                salida.ponerInt(ids.get(producto.getCategoria()));
+            }
+            salida.rellenarHasta(desplazamientos[4]);
+            long inicio = 0;
+            for (Producto producto : productos) {
+                salida.ponerLong(inicio);
+                inicio += producto.getNombre().getBytes(StandardCharsets.UTF_8).length;
+            }
+            salida.ponerLong(tamanioNombres);
+            salida.rellenarHasta(desplazamientos[5]);
+            for (Producto producto : productos) {
+                salida.ponerBytes(producto.getNombre().getBytes(StandardCharsets.UTF_8));
+            }
+            salida.vaciar();
+        }
+    }
+    
+    /**
+     * Abre un catálogo binario mapeando sus secciones en memoria.
+     * El archivo se puede cerrar o borrar después; el mapeo sigue siendo válido.
+     * 
+     * @param archivo ruta del catálogo
+     * @return catálogo mapeado
+     * @throws IOException si el archivo no se puede leer o no tiene el formato esperado
+     */
+    public static CatalogoBinario abrir(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            ByteBuffer cabecera = mapear(canal, 0, TAMANIO_CABECERA);
+            if (cabecera.getInt(0) != MAGIA || cabecera.getInt(4) != VERSION) {
+                throw new IOException("El archivo no es un catálogo binario de productos: " + archivo);
+            }
+            long cantidadLarga = cabecera.getLong(8);
+            if (cantidadLarga > Integer.MAX_VALUE) {
+                throw new IOException("El catálogo tiene demasiados productos: " + cantidadLarga);
+            }
+            int cantidad = (int) cantidadLarga;
+            int cantidadCategorias = cabecera.getInt(16);
+            long[] desplazamientos = new long[SECCIONES];
+            for (int i = 0; i < SECCIONES; i++) {
+                desplazamientos[i] = cabecera.getLong(24 + i * 8);
+            }
+            
+            ByteBuffer diccionario = mapear(canal, desplazamientos[0], desplazamientos[1] - desplazamientos[0]);
+            String[] categorias = new String[cantidadCategorias];
+            int posicion = 0;
+            for (int i = 0; i < cantidadCategorias; i++) {
+                int longitud = diccionario.getInt(posicion);
+                byte[] bytes = new byte[longitud];
+                diccionario.get(posicion + 4, bytes);
+                categorias[i] = new String(bytes, StandardCharsets.UTF_8);
+                posicion += 4 + longitud;
+            }
+            
+            ByteBuffer desplazamientosNombres = mapear(canal, desplazamientos[4], (cantidad + 1L) * 8);
+            return new CatalogoBinario(
+                    cantidad,
+                    categorias,
+                    mapear(canal, desplazamientos[1], cantidad * 8L),
+                    mapear(canal, desplazamientos[2], cantidad * 4L),
+                    mapear(canal, desplazamientos[3], cantidad * 4L),
+                    desplazamientosNombres,
+                    mapear(canal, desplazamientos[5], desplazamientosNombres.getLong(cantidad * 8))
+            );
+        }
+    }
+    
+    /**
+     * Devuelve la cantidad de productos del catálogo.
+     * 
+     * @return cantidad de productos
+     */
+    public int tamanio() {
+        return cantidad;
+    }
+    
+    /**
+     * Devuelve la cantidad de categorías del diccionario.
+     * 
+     * @return cantidad de categorías
+     */
+    public int cantidadCategorias() {
+        return categorias.length;
+    }
+    
+    /**
+     * Traduce un id de categoría a su nombre.
+     * 
+     * @param categoriaId id del diccionario
+     * @return nombre de la categoría
+     */
+    public String categoria(int categoriaId) {
+        return categorias[categoriaId];
+    }
+    
+    /**
+     * Lee el precio de una fila directamente del archivo mapeado.
+     * 
+     * @param fila índice del producto
+     * @return precio del producto
+     */
+    public double precio(int fila) {
+        return precios.getDouble(fila * 8);
+    }
+    
+    /**
+     * Lee el stock de una fila directamente del archivo mapeado.
+     * 
+     * @param fila índice del producto
+     * @return stock del producto
+     */
+    public int stock(int fila) {
+        return stocks.getInt(fila * 4);
+    }
+    
+    /**
+     * Lee el id de categoría de una fila directamente del archivo mapeado.
+     * 
+     * @param fila índice del producto
+     * @return id de la categoría en el diccionario
+     */
+    public int categoriaId(int fila) {
+        return categoriaIds.getInt(fila * 4);
+    }
+    
+    /**
+     * Decodifica el nombre de una fila. Crea un String, así que conviene usarlo
+     * solo para las filas que se van a devolver.
+     * 
+     * @param fila índice del producto
+     * @return nombre del producto
+     */
+    public String nombre(int fila) {
+        int inicio = inicioNombre(fila);
+        byte[] bytes = new byte[inicioNombre(fila + 1) - inicio];
+        nombres.get(inicio, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Construye el producto de una fila.
+     * 
+     * @param fila índice del producto
+     * @return nuevo producto con los datos de la fila
+     */
+    public Producto producto(int fila) {
+        return new Producto(nombre(fila), categoria(categoriaId(fila)), precio(fila), stock(fila));
+    }
+    
+    /**
+     * Agrega los bytes UTF-8 del nombre de una fila a un arreglo, sin decodificarlos.
+     * 
+     * @param fila índice del producto
+     * @param destino arreglo de destino
+     * @param posicion posición inicial en el destino
+     * @return posición siguiente al último byte copiado
+     */
+    int copiarNombre(int fila, byte[] destino, int posicion) {
+        int inicio = inicioNombre(fila);
+        int longitud = inicioNombre(fila + 1) - inicio;
+        nombres.get(inicio, destino, posicion, longitud);
+        return posicion + longitud;
+    }
+    
+    /**
+     * Copia un tramo de los bytes UTF-8 del nombre de una fila, para volcar nombres más
+     * largos que el arreglo de destino.
+     * 
+     * @param fila índice del producto
+     * @param desde primer byte del nombre a copiar
+     * @param destino arreglo de destino
+     * @param posicion posición inicial en el destino
+     * @param longitud cantidad de bytes a copiar
+     */
+    void copiarNombre(int fila, int desde, byte[] destino, int posicion, int longitud) {
+        nombres.get(inicioNombre(fila) + desde, destino, posicion, longitud);
+    }
+    
+    /**
+     * Devuelve la longitud en bytes UTF-8 del nombre de una fila.
+     * 
+     * @param fila índice del producto
+     * @return longitud del nombre
+     */
+    int longitudNombre(int fila) {
+        return inicioNombre(fila + 1) - inicioNombre(fila);
+    }
+    
+    private int inicioNombre(int fila) {
+        return (int) desplazamientosNombres.getLong(fila * 8);
+    }
+    
+    private static ByteBuffer mapear(FileChannel canal, long desde, long longitud) throws IOException {
+        if (longitud > Integer.MAX_VALUE) {
+            throw new IOException("Sección del catálogo mayor a 2 GB: " + longitud + " bytes");
+        }
+        return canal.map(FileChannel.MapMode.READ_ONLY, desde, longitud).order(ByteOrder.LITTLE_ENDIAN);
+    }
+    
+    private static long alinear(long desplazamiento) {
+        return (desplazamiento + 7) & ~7L;
+    }
+    
+    /**
+     * Escritura secuencial little-endian sobre un canal a través de un bloque reutilizable.
+     */
+    private static final class Salida {
+        private final FileChannel canal;
+        private final ByteBuffer bloque = ByteBuffer.allocateDirect(TAMANIO_BLOQUE_ESCRITURA)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        private long escritos;
+        
+        private Salida(FileChannel canal) {
+            this.canal = canal;
+        }
+        
+        private Salida ponerInt(int valor) throws IOException {
+            asegurar(4);
+            bloque.putInt(valor);
+            return this;
+        }
+        
+        private Salida ponerLong(long valor) throws IOException {
+            asegurar(8);
+            bloque.putLong(valor);
+            return this;
+        }
+        
+        private Salida ponerDouble(double valor) throws IOException {
+            asegurar(8);
+            bloque.putDouble(valor);
+            return this;
+        }
+        
+        private Salida ponerBytes(byte[] bytes) throws IOException {
+            for (int desde = 0; desde < bytes.length; ) {
+                if (!bloque.hasRemaining()) {
+                    vaciar();
+                }
+                int longitud = Math.min(bytes.length - desde, bloque.remaining());
+                bloque.put(bytes, desde, longitud);
+                desde += longitud;
+            }
+            return this;
+        }
+        
+        private void rellenarHasta(long desplazamiento) throws IOException {
+            while (escritos + bloque.position() < desplazamiento) {
+                asegurar(1);
+                bloque.put((byte) 0);
+            }
+        }
+        
+        private void asegurar(int bytes) throws IOException {
+            if (bloque.remaining() < bytes) {
+                vaciar();
+            }
+        }
+        
+        private void vaciar() throws IOException {
+            bloque.flip();
+            while (bloque.hasRemaining()) {
+                escritos += canal.write(bloque);
+            }
+            bloque.clear();
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package org.example.caso2.productos;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collector;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Estadísticas de productos por categoría calculadas en una sola pasada:
+ * stock total, cantidad de productos y suma, mínimo, máximo y promedio de precios,
+ * además de los mismos valores para el catálogo completo.
+ * 
+ * <p>Los acumuladores son primitivos y se pueden combinar, así que el cálculo funciona
+ * con streams paralelos. Las sumas de precios usan la misma suma compensada que
+ * {@code Collectors.averagingDouble}, por lo que los promedios coinciden con los de siempre.
+ */
+public final class CategoriaStats {
+    
+    private final Map<String, Estadisticas> porCategoria = new HashMap<>();
+    @Getter
+    private final Estadisticas general = new Estadisticas();
+    
+    private CategoriaStats() {
+    }
+    
+    /**
+     * Calcula las estadísticas recorriendo la lista una sola vez.
+     * 
+     * @param productos lista de productos
+     * @return estadísticas por categoría y generales
+     */
+    public static CategoriaStats calcular(List<Producto> productos) {
+        CategoriaStats stats = new CategoriaStats();
+        for (Producto producto : productos) {
+            stats.agregar(producto);
+        }
+        return stats;
+    }
+    
+    /**
+     * Calcula las estadísticas con un stream paralelo, combinando los acumuladores parciales.
+     * 
+     * @param productos lista de productos
+     * @return estadísticas por categoría y generales
+     */
+    public static CategoriaStats calcularEnParalelo(List<Producto> productos) {
+        return productos.parallelStream().collect(collector());
+    }
+    
+    /**
+     * Calcula las estadísticas leyendo las columnas de un catálogo binario mapeado,
+     * sin crear un objeto por producto. Acumula por id de categoría en un arreglo.
+     * 
+     * @param catalogo catálogo binario
+     * @return estadísticas por categoría y generales
+     */
+    public static CategoriaStats calcular(CatalogoBinario catalogo) {
+        Estadisticas[] porId = new Estadisticas[catalogo.cantidadCategorias()];
+        for (int id = 0; id < porId.length; id++) {
+            porId[id] = new Estadisticas();
+        }
+        CategoriaStats stats = new CategoriaStats();
+        for (int fila = 0; fila < catalogo.tamanio(); fila++) {
+            double precio = catalogo.precio(fila);
+            int stock = catalogo.stock(fila);
+            porId[catalogo.categoriaId(fila)].agregar(precio, stock);
+            stats.general.agregar(precio, stock);
+        }
+        for (int id = 0; id < porId.length; id++) {
+            if (porId[id].cantidad > 0) {
+                stats.porCategoria.put(catalogo.categoria(id), porId[id]);
+            }
+        }
+        return stats;
+    }
+    
+    /**
+     * Collector que acumula las estadísticas; admite ejecución paralela.
+     * 
+     * @return collector de productos a estadísticas
+     */
+    public static Collector<Producto, CategoriaStats, CategoriaStats> collector() {
+        return Collector.of(
+                CategoriaStats::new,
+                CategoriaStats::agregar,
+                CategoriaStats::combinar,
+                Collector.Characteristics.IDENTITY_FINISH,
+                Collector.Characteristics.UNORDERED
+        );
+    }
+    
+    /**
+     * Devuelve las estadísticas de cada categoría.
+     * 
+     * @return mapa inmutable con categoría y sus estadísticas
+     */
+    public Map<String, Estadisticas> getPorCategoria() {
+        return Collections.unmodifiableMap(porCategoria);
+    }
+    
+    /**
+     * Vista con el stock total de cada categoría, con la misma semántica {@code int}
+     * que {@code Collectors.summingInt}.
+     * 
+     * @return mapa con categoría y stock total
+     */
+    public Map<String, Integer> stockPorCategoria() {
+        Map<String, Integer> stock = new HashMap<>();
+        porCategoria.forEach((categoria, estadisticas) -> stock.put(categoria, (int) estadisticas.stockTotal));
+        return stock;
+    }
+    
+    /**
+     * Vista con el precio promedio de cada categoría.
+     * 
+     * @return mapa con categoría y precio promedio
+     */
+    public Map<String, Double> precioPromedioPorCategoria() {
+        Map<String, Double> promedios = new HashMap<>();
+        porCategoria.forEach((categoria, estadisticas) -> promedios.put(categoria, estadisticas.getPrecioPromedio()));
+        return promedios;
+    }
+    
+    /**
+     * Devuelve el precio promedio de todo el catálogo.
+     * 
+     * @return precio promedio, o 0.0 si no hay productos
+     */
+    public double getPrecioPromedioGeneral() {
+        return general.getPrecioPromedio();
+    }
+    
+    private void agregar(Producto producto) {
+        String categoria = Objects.requireNonNull(producto.getCategoria(), "La categoría no puede ser null");
+        porCategoria.computeIfAbsent(categoria, clave -> new Estadisticas())
+                .agregar(producto.getPrecio(), producto.getStock());
+        general.agregar(producto.getPrecio(), producto.getStock());
+    }
+    
+    private CategoriaStats combinar(CategoriaStats otro) {
+        otro.porCategoria.forEach((categoria, estadisticas) ->
+                porCategoria.merge(categoria, estadisticas, Estadisticas::combinar));
+        general.combinar(otro.general);
+        return this;
+    }
+    
+    /**
+     * Acumulador primitivo de un grupo de productos.
+     */
+    @Getter
+    public static final class Estadisticas {
+        private long cantidad;
+        private long stockTotal;
+        private double precioMinimo = Double.POSITIVE_INFINITY;
+        private double precioMaximo = Double.NEGATIVE_INFINITY;
+        /** Parte alta de la suma compensada (Kahan) de precios. */
+        @Getter(AccessLevel.NONE)
+        private double sumaAlta;
+        /** Compensación acumulada de la suma de precios. */
+        @Getter(AccessLevel.NONE)
+        private double compensacion;
+        /** Suma simple, solo para recuperar infinitos como hace {@code Collectors}. */
+        @Getter(AccessLevel.NONE)
+        private double sumaSimple;
+        
+        private void agregar(double precio, int stock) {
+            cantidad++;
+            stockTotal += stock;
+            precioMinimo = Math.min(precioMinimo, precio);
+            precioMaximo = Math.max(precioMaximo, precio);
+            sumarCompensado(precio);
+            sumaSimple += precio;
+        }
+        
+        private Estadisticas combinar(Estadisticas otra) {
+            cantidad += otra.cantidad;
+            stockTotal += otra.stockTotal;
+            precioMinimo = Math.min(precioMinimo, otra.precioMinimo);
+            precioMaximo = Math.max(precioMaximo, otra.precioMaximo);
+            sumarCompensado(otra.sumaAlta);
+            sumarCompensado(-otra.compensacion);
+            sumaSimple += otra.sumaSimple;
+            return this;
+        }
+        
+        private void sumarCompensado(double valor) {
+            double ajustado = valor - compensacion;
+            double suma = sumaAlta + ajustado;
+            compensacion = (suma - sumaAlta) - ajustado;
+            sumaAlta = suma;
+        }
+        
+        /**
+         * Devuelve la suma de precios del grupo.
+         * 
+         * @return suma compensada de precios
+         */
+        public double getSumaPrecios() {
+            double suma = sumaAlta - compensacion;
+            return Double.isNaN(suma) && Double.isInfinite(sumaSimple) ? sumaSimple : suma;
+        }
+        
+        /**
+         * Devuelve el precio promedio del grupo.
+         * 
+         * @return precio promedio, o 0.0 si el grupo está vacío
+         */
+        public double getPrecioPromedio() {
+            return cantidad == 0 ? 0.0 : getSumaPrecios() / cantidad;
+        }
+    }
+}
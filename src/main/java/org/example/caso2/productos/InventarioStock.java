@@ -0,0 +1,114 @@
+package org.example.caso2.productos;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Inventario vivo de stock por producto y por categoría.
+ * Los movimientos de stock se aplican concurrentemente sobre contadores {@link LongAdder},
+ * que reparten la contención entre celdas, y las lecturas suman los contadores sin tomar locks
+ * ni recorrer la lista de productos.
+ * 
+ * <p>Los totales son {@code long}, así que no desbordan como {@code Collectors.summingInt}.
+ * Las lecturas de varias categorías son débilmente consistentes: pueden reflejar solo
+ * una parte de los movimientos que se están aplicando en ese momento.
+ */
+public class InventarioStock {
+    
+    private final ConcurrentHashMap<String, LongAdder> porCategoria = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Contador> porProducto = new ConcurrentHashMap<>();
+    
+    /**
+     * Crea un inventario con el stock actual de los productos indicados.
+     * 
+     * @param productos productos iniciales
+     * @return inventario cargado
+     */
+    public static InventarioStock desde(Collection<Producto> productos) {
+        InventarioStock inventario = new InventarioStock();
+        productos.forEach(inventario::registrar);
+        return inventario;
+    }
+    
+    /**
+     * Registra un producto con su stock actual. Si ya había un producto con el mismo
+     * nombre, su stock se suma al existente.
+     * 
+     * @param producto producto a registrar
+     * @throws IllegalArgumentException si el nombre ya estaba registrado en otra categoría
+     */
+    public void registrar(Producto producto) {
+        Contador contador = porProducto.computeIfAbsent(producto.getNombre(), nombre -> new Contador(
+                producto.getCategoria(),
+                new LongAdder(),
+                porCategoria.computeIfAbsent(producto.getCategoria(), categoria -> new LongAdder())));
+        if (!contador.categoria().equals(producto.getCategoria())) {
+            throw new IllegalArgumentException("El producto " + producto.getNombre()
+                    + " ya está registrado en la categoría " + contador.categoria());
+        }
+        contador.sumar(producto.getStock());
+    }
+    
+    /**
+     * Aplica un movimiento de stock a un producto y a su categoría.
+     * 
+     * @param nombreProducto nombre del producto
+     * @param delta unidades a sumar (negativo para egresos)
+     * @throws IllegalArgumentException si el producto no está registrado
+     */
+    public void aplicarDelta(String nombreProducto, long delta) {
+        Contador contador = porProducto.get(nombreProducto);
+        if (contador == null) {
+            throw new IllegalArgumentException("Producto no registrado: " + nombreProducto);
+        }
+        contador.sumar(delta);
+    }
+    
+    /**
+     * Devuelve el stock actual de un producto.
+     * 
+     * @param nombreProducto nombre del producto
+     * @return stock del producto, o 0 si no está registrado
+     */
+    public long stockDeProducto(String nombreProducto) {
+        Contador contador = porProducto.get(nombreProducto);
+        return contador == null ? 0 : contador.stock().sum();
+    }
+    
+    /**
+     * Devuelve el stock actual de una categoría.
+     * 
+     * @param categoria nombre de la categoría
+     * @return stock total de la categoría, o 0 si no existe
+     */
+    public long stockDeCategoria(String categoria) {
+        LongAdder stock = porCategoria.get(categoria);
+        return stock == null ? 0 : stock.sum();
+    }
+    
+    /**
+     * Devuelve el stock total de cada categoría sin bloquear a quienes aplican movimientos.
+     * 
+     * @return mapa con categoría y stock total
+     */
+    public Map<String, Long> stockPorCategoria() {
+        Map<String, Long> stock = new HashMap<>();
+        porCategoria.forEach((categoria, total) -> stock.put(categoria, total.sum()));
+        return stock;
+    }
+    
+    /**
+     * Contador de un producto con la referencia al contador de su categoría,
+     * para aplicar un movimiento sin volver a buscar la categoría.
+     */
+    private record Contador(String categoria, LongAdder stock, LongAdder stockCategoria) {
+        
+        private void sumar(long delta) {
+            stock.add(delta);
+            stockCategoria.add(delta);
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package org.example.caso2.productos;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Índice de productos ordenado por precio descendente, guardado como una lista de bloques
+ * de arreglos primitivos ordenados, al estilo de las hojas de un B-tree. Responde "productos
+ * con precio en (a, b], de mayor a menor" en O(log n + k) y admite altas, bajas y cambios de
+ * precio moviendo a lo sumo un bloque.
+ * 
+ * <p>Ante precios iguales conserva el orden de alta, igual que el ordenamiento estable
+ * de {@link ProductoService#listarProductosCarosOrdenados(List)}. Los productos se
+ * identifican por referencia, y la misma instancia puede estar varias veces, igual que en
+ * una lista. Para cambiar un precio hay que usar {@link #actualizarPrecio} y no el setter
+ * del producto. No es thread-safe.
+ */
+public class PrecioIndex {
+    
+    /** Capacidad de cada bloque; un bloque lleno se parte en dos mitades. */
+    private static final int CAPACIDAD_BLOQUE = 256;
+    
+    private final List<Bloque> bloques = new ArrayList<>();
+    private final Map<Producto, Altas> porProducto = new IdentityHashMap<>();
+    private long siguienteSecuencia;
+    private int tamanio;
+    
+    /**
+     * Crea un índice con los productos indicados, respetando su orden para los empates.
+     * Ordena una sola vez y llena los bloques de corrido, sin insertar de a uno.
+     * 
+     * @param productos productos a indexar
+     * @return índice cargado
+     */
+    public static PrecioIndex desde(Collection<Producto> productos) {
+        PrecioIndex indice = new PrecioIndex();
+        List<Carga> cargas = new ArrayList<>(productos.size());
+        for (Producto producto : productos) {
+            long secuencia = indice.siguienteSecuencia++;
+            double precio = normalizar(producto.getPrecio());
+            indice.registrarAlta(producto, precio, secuencia);
+            cargas.add(new Carga(precio, secuencia, producto));
+        }
+        // El ordenamiento es estable, así que los empates quedan por secuencia
+        cargas.sort(Comparator.comparingDouble(Carga::precio).reversed());
+        // Los bloques quedan a tres cuartos para que las altas posteriores no partan enseguida
+        int porBloque = CAPACIDAD_BLOQUE * 3 / 4;
+        Bloque bloque = null;
+        for (Carga carga : cargas) {
+            if (bloque == null || bloque.tamanio == porBloque) {
+                bloque = new Bloque();
+                indice.bloques.add(bloque);
+            }
+            bloque.insertar(bloque.tamanio, carga.precio(), carga.secuencia(), carga.producto());
+        }
+        indice.tamanio = cargas.size();
+        return indice;
+    }
+    
+    /**
+     * Agrega un producto al índice. Si la instancia ya estaba, se agrega otra aparición
+     * con el precio indexado, que va después de las anteriores ante empates.
+     * 
+     * @param producto producto a agregar
+     */
+    public void agregar(Producto producto) {
+        Altas altas = porProducto.get(producto);
+        double precio = altas != null ? altas.precio : normalizar(producto.getPrecio());
+        long secuencia = siguienteSecuencia++;
+        registrarAlta(producto, precio, secuencia);
+        insertar(precio, secuencia, producto);
+    }
+    
+    /**
+     * Quita la última aparición agregada de un producto.
+     * 
+     * @param producto producto a quitar
+     * @return true si el producto estaba indexado
+     */
+    public boolean quitar(Producto producto) {
+        Altas altas = porProducto.get(producto);
+        if (altas == null) {
+            return false;
+        }
+        long secuencia = altas.secuencias[--altas.cantidad];
+        if (altas.cantidad == 0) {
+            porProducto.remove(producto);
+        }
+        eliminar(altas.precio, secuencia);
+        return true;
+    }
+    
+    /**
+     * Cambia el precio de un producto indexado y reubica todas sus apariciones.
+     * Conserva su orden de alta para los desempates.
+     * 
+     * @param producto producto indexado
+     * @param precio nuevo precio
+     * @return true si el producto estaba indexado
+     */
+    public boolean actualizarPrecio(Producto producto, double precio) {
+        Altas altas = porProducto.get(producto);
+        if (altas == null) {
+            return false;
+        }
+        double nuevo = normalizar(precio);
+        for (int i = 0; i < altas.cantidad; i++) {
+            eliminar(altas.precio, altas.secuencias[i]);
+            insertar(nuevo, altas.secuencias[i], producto);
+        }
+        altas.precio = nuevo;
+        producto.setPrecio(precio);
+        return true;
+    }
+    
+    /**
+     * Devuelve la cantidad de productos indexados, contando cada aparición.
+     * 
+     * @return cantidad de productos
+     */
+    public int tamanio() {
+        return tamanio;
+    }
+    
+    /**
+     * Lista los productos con precio mayor al umbral, de mayor a menor precio.
+     * 
+     * @param umbral precio mínimo exclusivo
+     * @return productos ordenados por precio descendente
+     */
+    public List<Producto> listarMayoresA(double umbral) {
+        return listarEntre(umbral, Double.POSITIVE_INFINITY);
+    }
+    
+    /**
+     * Lista los productos con precio en (desdeExclusivo, hastaInclusivo], de mayor a menor.
+     * 
+     * @param desdeExclusivo precio mínimo exclusivo
+     * @param hastaInclusivo precio máximo inclusivo
+     * @return productos ordenados por precio descendente
+     */
+    public List<Producto> listarEntre(double desdeExclusivo, double hastaInclusivo) {
+        return pagina(desdeExclusivo, hastaInclusivo, 0, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Devuelve una página del rango (desdeExclusivo, hastaInclusivo] ordenado de mayor a menor.
+     * Los productos salteados se cuentan por bloque, sin recorrerlos uno por uno.
+     * 
+     * @param desdeExclusivo precio mínimo exclusivo
+     * @param hastaInclusivo precio máximo inclusivo
+     * @param desde cantidad de productos a saltear dentro del rango
+     * @param cantidad tamaño máximo de la página
+     * @return productos de la página
+     */
+    public List<Producto> pagina(double desdeExclusivo, double hastaInclusivo, int desde, int cantidad) {
+        if (desde < 0 || cantidad < 0) {
+            throw new IllegalArgumentException("desde y cantidad no pueden ser negativos");
+        }
+        List<Producto> resultado = new ArrayList<>();
+        if (!(desdeExclusivo < hastaInclusivo) || bloques.isEmpty()) {
+            return resultado;
+        }
+        // La cota usa la secuencia mínima para quedar antes de cualquier entrada de su mismo precio
+        double superior = normalizar(hastaInclusivo);
+        int numeroBloque = bloqueDe(superior, Long.MIN_VALUE);
+        int posicion = bloques.get(numeroBloque).buscar(superior, Long.MIN_VALUE);
+        // Saltear de más no es un problema: lo que sigue al rango tampoco está en el rango
+        int saltear = desde;
+        while (saltear > 0 && numeroBloque < bloques.size()) {
+            int disponibles = bloques.get(numeroBloque).tamanio - posicion;
+            if (saltear < disponibles) {
+                posicion += saltear;
+                saltear = 0;
+            } else {
+                saltear -= disponibles;
+                numeroBloque++;
+                posicion = 0;
+            }
+        }
+        for (; numeroBloque < bloques.size() && resultado.size() < cantidad; numeroBloque++, posicion = 0) {
+            Bloque bloque = bloques.get(numeroBloque);
+            for (; posicion < bloque.tamanio && resultado.size() < cantidad; posicion++) {
+                if (!(bloque.precios[posicion] > desdeExclusivo)) {
+                    return resultado;
+                }
+                resultado.add(bloque.productos[posicion]);
+            }
+        }
+        return resultado;
+    }
+    
+    private void registrarAlta(Producto producto, double precio, long secuencia) {
+        porProducto.computeIfAbsent(producto, clave -> new Altas(precio)).agregar(secuencia);
+    }
+    
+    private void insertar(double precio, long secuencia, Producto producto) {
+        if (bloques.isEmpty()) {
+            bloques.add(new Bloque());
+        }
+        int numeroBloque = bloqueDe(precio, secuencia);
+        Bloque bloque = bloques.get(numeroBloque);
+        int posicion = bloque.buscar(precio, secuencia);
+        if (bloque.tamanio == CAPACIDAD_BLOQUE) {
+            Bloque segundaMitad = bloque.partir();
+            bloques.add(numeroBloque + 1, segundaMitad);
+            if (posicion > bloque.tamanio) {
+                posicion -= bloque.tamanio;
+                bloque = segundaMitad;
+            }
+        }
+        bloque.insertar(posicion, precio, secuencia, producto);
+        tamanio++;
+    }
+    
+    private void eliminar(double precio, long secuencia) {
+        int numeroBloque = bloqueDe(precio, secuencia);
+        Bloque bloque = bloques.get(numeroBloque);
+        bloque.quitar(bloque.buscar(precio, secuencia));
+        if (bloque.tamanio == 0) {
+            bloques.remove(numeroBloque);
+        }
+        tamanio--;
+    }
+    
+    /**
+     * Devuelve el primer bloque cuya última entrada no va antes que la clave, o el último
+     * bloque si la clave va después de todo. El índice no puede estar vacío.
+     */
+    private int bloqueDe(double precio, long secuencia) {
+        int bajo = 0;
+        int alto = bloques.size() - 1;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            Bloque bloque = bloques.get(medio);
+            int ultima = bloque.tamanio - 1;
+            if (comparar(bloque.precios[ultima], bloque.secuencias[ultima], precio, secuencia) < 0) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+    
+    /**
+     * Orden del índice: precio descendente y, ante empate, secuencia de alta ascendente.
+     */
+    private static int comparar(double precioA, long secuenciaA, double precioB, long secuenciaB) {
+        int porPrecio = Double.compare(precioB, precioA);
+        return porPrecio != 0 ? porPrecio : Long.compare(secuenciaA, secuenciaB);
+    }
+    
+    /**
+     * Convierte -0.0 en 0.0, para que el orden de {@link Double#compare} coincida con {@code <=}.
+     */
+    private static double normalizar(double precio) {
+        return precio + 0.0;
+    }
+    
+    /**
+     * Tramo ordenado del índice en arreglos paralelos. El precio se guarda copiado, para que
+     * el orden no cambie si alguien modifica el producto por fuera.
+     */
+    private static final class Bloque {
+        private final double[] precios = new double[CAPACIDAD_BLOQUE];
+        private final long[] secuencias = new long[CAPACIDAD_BLOQUE];
+        private final Producto[] productos = new Producto[CAPACIDAD_BLOQUE];
+        private int tamanio;
+        
+        /**
+         * Devuelve la posición de la primera entrada que no va antes que la clave.
+         */
+        private int buscar(double precio, long secuencia) {
+            int bajo = 0;
+            int alto = tamanio;
+            while (bajo < alto) {
+                int medio = (bajo + alto) >>> 1;
+                if (comparar(precios[medio], secuencias[medio], precio, secuencia) < 0) {
+                    bajo = medio + 1;
+                } else {
+                    alto = medio;
+                }
+            }
+            return bajo;
+        }
+        
+        private void insertar(int posicion, double precio, long secuencia, Producto producto) {
+            int mover = tamanio - posicion;
+            System.arraycopy(precios, posicion, precios, posicion + 1, mover);
+            System.arraycopy(secuencias, posicion, secuencias, posicion + 1, mover);
+            System.arraycopy(productos, posicion, productos, posicion + 1, mover);
+            precios[posicion] = precio;
+            secuencias[posicion] = secuencia;
+            productos[posicion] = producto;
+            tamanio++;
+        }
+        
+        private void quitar(int posicion) {
+            int mover = tamanio - posicion - 1;
+            System.arraycopy(precios, posicion + 1, precios, posicion, mover);
+            System.arraycopy(secuencias, posicion + 1, secuencias, posicion, mover);
+            System.arraycopy(productos, posicion + 1, productos, posicion, mover);
+            productos[--tamanio] = null;
+        }
+        
+        /**
+         * Pasa la segunda mitad de este bloque a uno nuevo.
+         */
+        private Bloque partir() {
+            Bloque nuevo = new Bloque();
+            int mitad = tamanio / 2;
+            nuevo.tamanio = tamanio - mitad;
+            System.arraycopy(precios, mitad, nuevo.precios, 0, nuevo.tamanio);
+            System.arraycopy(secuencias, mitad, nuevo.secuencias, 0, nuevo.tamanio);
+            System.arraycopy(productos, mitad, nuevo.productos, 0, nuevo.tamanio);
+            Arrays.fill(productos, mitad, tamanio, null);
+            tamanio = mitad;
+            return nuevo;
+        }
+    }
+    
+    /**
+     * Precio indexado de un producto y las secuencias de cada una de sus apariciones.
+     */
+    private static final class Altas {
+        private double precio;
+        private long[] secuencias = new long[1];
+        private int cantidad;
+        
+        private Altas(double precio) {
+            this.precio = precio;
+        }
+        
+        private void agregar(long secuencia) {
+            if (cantidad == secuencias.length) {
+                secuencias = Arrays.copyOf(secuencias, cantidad * 2);
+            }
+            secuencias[cantidad++] = secuencia;
+        }
+    }
+    
+    /**
+     * Entrada de la carga inicial, antes de ordenar.
+     */
+    private record Carga(double precio, long secuencia, Producto producto) {}
+}
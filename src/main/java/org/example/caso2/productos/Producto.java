@@ -1,22 +1,52 @@
 package org.example.caso2.productos;
 
-import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import org.example.comun.Diccionario;
+
 /**
  * Clase que representa un producto de inventario.
  * Usa Lombok para generar automáticamente código boilerplate.
+ * La categoría se guarda como la instancia canónica de {@link #CATEGORIAS}, tanto desde el
+ * constructor y el builder como desde el setter, para no repetir copias del mismo texto.
  */
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
-@Builder
 public class Producto {
+    
+    /** Diccionario compartido de categorías. */
+    public static final Diccionario CATEGORIAS = new Diccionario();
+    
     private String nombre;
     private String categoria;
     private double precio;
     private int stock;
+    
+    /**
+     * Crea un producto con todos sus datos; también lo usa el builder.
+     * 
+     * @param nombre nombre del producto
+     * @param categoria categoría del producto
+     * @param precio precio unitario
+     * @param stock unidades en stock
+     */
+    @Builder
+    public Producto(String nombre, String categoria, double precio, int stock) {
+        this.nombre = nombre;
+        this.categoria = CATEGORIAS.canonico(categoria);
+        this.precio = precio;
+        this.stock = stock;
+    }
+    
+    /**
+     * Cambia la categoría, guardando la instancia canónica.
+     * 
+     * @param categoria categoría nueva
+     */
+    public void setCategoria(String categoria) {
+        this.categoria = CATEGORIAS.canonico(categoria);
+    }
 }
 
@@ -0,0 +1,46 @@
+package org.example.caso2.productos;
+
+import org.example.comun.FilaCsv;
+import org.example.comun.IngestaCsv;
+
+/**
+ * Formato CSV de productos: una fila de encabezado y las columnas
+ * {@code nombre}, {@code categoria}, {@code precio}, {@code stock}, en ese orden, separadas por coma.
+ */
+public final class ProductoCsv {
+    
+    /** Encabezado del archivo. */
+    public static final String ENCABEZADO = "nombre,categoria,precio,stock";
+    
+    private static final IngestaCsv<Producto> INGESTA = IngestaCsv.de(ProductoCsv::decodificar);
+    
+    private ProductoCsv() {
+    }
+    
+    /**
+     * Devuelve la ingesta de productos con los tamaños por defecto;
+     * se puede ajustar con sus métodos {@code con...}.
+     * 
+     * @return ingesta de productos
+     */
+    public static IngestaCsv<Producto> ingesta() {
+        return INGESTA;
+    }
+    
+    /**
+     * Arma un producto a partir de una fila.
+     * 
+     * @param fila fila del archivo
+     * @return producto de la fila
+     * @throws IllegalArgumentException si la fila no tiene 4 campos o un número no es válido
+     */
+    public static Producto decodificar(FilaCsv fila) {
+        fila.exigirCampos(4);
+        return Producto.builder()
+                .nombre(fila.texto(0))
+                .categoria(fila.categoria(1, Producto.CATEGORIAS))
+                .precio(fila.decimal(2))
+                .stock(fila.entero(3))
+                .build();
+    }
+}
@@ -1,16 +1,65 @@
 package org.example.caso2.productos;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.example.comun.CacheResultados;
+import org.example.comun.DatosVersionados;
+import org.example.comun.EstrategiaEjecucion;
+import org.example.comun.FormatoDouble;
+import org.example.comun.OrdenIncremental;
+
 /**
  * Servicio que implementa operaciones funcionales sobre productos.
  * Demuestra el uso de Streams para generar reportes y estadísticas.
+ * Las consultas sobre listas corren según la {@link EstrategiaEjecucion} del servicio.
  */
 public class ProductoService {
     
+    /** Precio a partir del cual (exclusivo) un producto se considera caro. */
+    public static final double UMBRAL_PRODUCTO_CARO = 100;
+    
+    private final EstrategiaEjecucion estrategia;
+    private final CacheResultados cache;
+    
+    /**
+     * Crea el servicio con ejecución secuencial.
+     */
+    public ProductoService() {
+        this(EstrategiaEjecucion.secuencial());
+    }
+    
+    /**
+     * Crea el servicio con la estrategia de ejecución indicada.
+     * 
+     * @param estrategia estrategia para las consultas sobre listas
+     */
+    public ProductoService(EstrategiaEjecucion estrategia) {
+        this(estrategia, CacheResultados.sinCache());
+    }
+    
+    /**
+     * Crea el servicio con la estrategia de ejecución y la cache de resultados indicadas.
+     * La cache solo se usa en las consultas sobre {@link DatosVersionados}.
+     * 
+     * @param estrategia estrategia para las consultas sobre listas
+     * @param cache cache para los resultados de las consultas sobre datos versionados
+     */
+    public ProductoService(EstrategiaEjecucion estrategia, CacheResultados cache) {
+        this.estrategia = estrategia;
+        this.cache = cache;
+    }
+    
     /**
      * Lista productos con precio mayor a 100, ordenados por precio descendente.
      * 
@@ -18,10 +67,62 @@ public class ProductoService {
      * @return lista de productos caros ordenados de mayor a menor precio
      */
     public List<Producto> listarProductosCarosOrdenados(List<Producto> productos) {
-        return productos.stream()
-                .filter(producto -> producto.getPrecio() > 100)
+        return listarProductosCarosOrdenados(productos, UMBRAL_PRODUCTO_CARO);
+    }
+    
+    /**
+     * Lista productos con precio mayor al umbral indicado, ordenados por precio descendente.
+     * 
+     * @param productos lista de productos
+     * @param umbral precio mínimo exclusivo
+     * @return lista de productos ordenados de mayor a menor precio
+     */
+    public List<Producto> listarProductosCarosOrdenados(List<Producto> productos, double umbral) {
+        return estrategia.ejecutar(productos, stream -> stream
+                .filter(producto -> producto.getPrecio() > umbral)
                 .sorted(Comparator.comparingDouble(Producto::getPrecio).reversed())
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
+    }
+    
+    /**
+     * Versión perezosa de {@link #listarProductosCarosOrdenados(List, double)}: filtra en O(n)
+     * y ordena solo las páginas que se piden, con el mismo orden y desempate que la lista completa.
+     * 
+     * @param productos lista de productos
+     * @param umbral precio mínimo exclusivo
+     * @return productos con precio mayor al umbral de mayor a menor precio, calculado a demanda
+     */
+    public OrdenIncremental<Producto> ordenarProductosCaros(List<Producto> productos, double umbral) {
+        List<Producto> candidatos = estrategia.ejecutar(productos, stream -> stream
+                .filter(producto -> producto.getPrecio() > umbral)
+                .collect(Collectors.toList()));
+        return OrdenIncremental.de(candidatos, Comparator.comparingDouble(Producto::getPrecio).reversed());
+    }
+    
+    /**
+     * Lista productos con precio mayor a 100 desde un índice de precios mantenido,
+     * en O(log n + k) sin recorrer el catálogo.
+     * 
+     * @param indice índice de precios
+     * @return lista de productos caros ordenados de mayor a menor precio
+     */
+    public List<Producto> listarProductosCarosOrdenados(PrecioIndex indice) {
+        return indice.listarMayoresA(UMBRAL_PRODUCTO_CARO);
+    }
+    
+    /**
+     * Lista una página de productos con precio en (desde, hasta] desde un índice de precios.
+     * 
+     * @param indice índice de precios
+     * @param desdePrecio precio mínimo exclusivo
+     * @param hastaPrecio precio máximo inclusivo
+     * @param desde cantidad de productos a saltear
+     * @param cantidad tamaño máximo de la página
+     * @return productos de la página ordenados de mayor a menor precio
+     */
+    public List<Producto> listarProductosPorRangoDePrecio(PrecioIndex indice, double desdePrecio,
+                                                          double hastaPrecio, int desde, int cantidad) {
+        return indice.pagina(desdePrecio, hastaPrecio, desde, cantidad);
     }
     
     /**
@@ -31,11 +132,65 @@ public class ProductoService {
      * @return mapa con categoría y stock total
      */
     public Map<String, Integer> calcularStockPorCategoria(List<Producto> productos) {
-        return productos.stream()
-                .collect(Collectors.groupingBy(
-                        Producto::getCategoria,
-                        Collectors.summingInt(Producto::getStock)
-                ));
+        return calcularStock(productos).stockPorCategoria();
+    }
+    
+    /**
+     * Calcula el stock total de cada categoría desde un archivo CSV (ver {@link ProductoCsv})
+     * leído por bloques, sin cargarlo entero.
+     * 
+     * @param archivo archivo CSV de productos
+     * @return mapa con categoría y stock total
+     * @throws IOException si falla la lectura o una fila no es válida
+     */
+    public Map<String, Integer> calcularStockPorCategoria(Path archivo) throws IOException {
+        return ProductoCsv.ingesta().recolectar(archivo, CategoriaStats.collector()).stockPorCategoria();
+    }
+    
+    /**
+     * Calcula el stock total de cada categoría sobre datos versionados, reutilizando el
+     * resultado de la cache del servicio mientras los productos no cambien.
+     * 
+     * @param productos productos versionados
+     * @return mapa de solo lectura con categoría y stock total
+     */
+    public Map<String, Integer> calcularStockPorCategoria(DatosVersionados<Producto> productos) {
+        return cache.obtener("productos.stockPorCategoria", productos,
+                () -> Map.copyOf(calcularStockPorCategoria(productos.vista())));
+    }
+    
+    /**
+     * Calcula el stock total de cada categoría acumulando en {@code long},
+     * para catálogos cuyo stock no entra en un {@code int}.
+     * 
+     * @param productos lista de productos
+     * @return mapa con categoría y stock total
+     */
+    public Map<String, Long> calcularStockTotalPorCategoria(List<Producto> productos) {
+        Map<String, Long> stock = new HashMap<>();
+        calcularStock(productos).getPorCategoria()
+                .forEach((categoria, estadisticas) -> stock.put(categoria, estadisticas.getStockTotal()));
+        return stock;
+    }
+    
+    /**
+     * Calcula las estadísticas de las que se leen los stocks; el stock es una suma entera,
+     * así que se puede calcular en paralelo sin cambiar el resultado.
+     */
+    private CategoriaStats calcularStock(List<Producto> productos) {
+        return estrategia.elegir(productos.size(),
+                () -> CategoriaStats.calcular(productos),
+                () -> CategoriaStats.calcularEnParalelo(productos));
+    }
+    
+    /**
+     * Lee el stock total de cada categoría desde un inventario vivo, sin locks ni recorrer productos.
+     * 
+     * @param inventario inventario con los contadores de stock
+     * @return mapa con categoría y stock total
+     */
+    public Map<String, Long> calcularStockPorCategoria(InventarioStock inventario) {
+        return inventario.stockPorCategoria();
     }
     
     /**
@@ -46,9 +201,43 @@ public class ProductoService {
      * @return String con formato "NombreProducto1;Precio1;NombreProducto2;Precio2..."
      */
     public String generarReporteProductos(List<Producto> productos) {
-        return productos.stream()
+        return estrategia.ejecutar(productos, stream -> stream
                 .map(producto -> producto.getNombre() + ";" + producto.getPrecio())
-                .collect(Collectors.joining(";"));
+                .collect(Collectors.joining(";")));
+    }
+    
+    /**
+     * Escribe el mismo reporte que {@link #generarReporteProductos(List)} directamente en un
+     * Writer, por bloques, sin armar el String completo en memoria.
+     * 
+     * @param productos lista de productos
+     * @param salida writer de destino (no se cierra)
+     * @throws IOException si falla la escritura
+     */
+    public void generarReporteProductos(List<Producto> productos, Writer salida) throws IOException {
+        new ReporteProductosWriter().escribir(productos, salida);
+    }
+    
+    /**
+     * Escribe el reporte codificado en UTF-8 directamente en un OutputStream, por bloques.
+     * 
+     * @param productos lista de productos
+     * @param salida stream de destino (no se cierra)
+     * @throws IOException si falla la escritura
+     */
+    public void generarReporteProductos(List<Producto> productos, OutputStream salida) throws IOException {
+        new ReporteProductosWriter().escribir(productos, salida);
+    }
+    
+    /**
+     * Escribe el reporte codificado en UTF-8 en un canal NIO, por bloques.
+     * 
+     * @param productos lista de productos
+     * @param canal canal de destino (no se cierra)
+     * @throws IOException si falla la escritura
+     */
+    public void generarReporteProductos(List<Producto> productos, WritableByteChannel canal) throws IOException {
+        new ReporteProductosWriter().escribir(productos, canal);
     }
     
     /**
@@ -58,10 +247,7 @@ public class ProductoService {
      * @return precio promedio, o 0.0 si la lista está vacía
      */
     public double calcularPrecioPromedioGeneral(List<Producto> productos) {
-        return productos.stream()
-                .mapToDouble(Producto::getPrecio)
-                .average()
-                .orElse(0.0);
+        return CategoriaStats.calcular(productos).getPrecioPromedioGeneral();
     }
     
     /**
@@ -71,11 +257,149 @@ public class ProductoService {
      * @return mapa con categoría y precio promedio
      */
     public Map<String, Double> calcularPrecioPromedioPorCategoria(List<Producto> productos) {
-        return productos.stream()
-                .collect(Collectors.groupingBy(
-                        Producto::getCategoria,
-                        Collectors.averagingDouble(Producto::getPrecio)
-                ));
+        return CategoriaStats.calcular(productos).precioPromedioPorCategoria();
+    }
+    
+    /**
+     * Calcula en una sola pasada el stock, la cantidad de productos y la suma, mínimo,
+     * máximo y promedio de precios por categoría y del catálogo completo.
+     * Conviene usarlo cuando se necesitan varias de estas métricas a la vez.
+     * 
+     * @param productos lista de productos
+     * @return estadísticas por categoría y generales
+     */
+    public CategoriaStats calcularEstadisticasPorCategoria(List<Producto> productos) {
+        return CategoriaStats.calcular(productos);
+    }
+    
+    /**
+     * Lista productos con precio mayor a 100 leyendo un catálogo binario mapeado.
+     * Solo se construyen objetos para los productos devueltos.
+     * 
+     * @param catalogo catálogo binario
+     * @return lista de productos caros ordenados de mayor a menor precio
+     */
+    public List<Producto> listarProductosCarosOrdenados(CatalogoBinario catalogo) {
+        int[] filas = new int[catalogo.tamanio()];
+        int cantidad = 0;
+        for (int fila = 0; fila < catalogo.tamanio(); fila++) {
+            if (catalogo.precio(fila) > UMBRAL_PRODUCTO_CARO) {
+                filas[cantidad++] = fila;
+            }
+        }
+        ordenarPorPrecioDescendente(catalogo, filas, new int[cantidad], 0, cantidad);
+        List<Producto> resultado = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            resultado.add(catalogo.producto(filas[i]));
+        }
+        return resultado;
+    }
+    
+    /**
+     * Calcula el stock total por categoría desde un catálogo binario mapeado.
+     * 
+     * @param catalogo catálogo binario
+     * @return mapa con categoría y stock total
+     */
+    public Map<String, Integer> calcularStockPorCategoria(CatalogoBinario catalogo) {
+        return CategoriaStats.calcular(catalogo).stockPorCategoria();
+    }
+    
+    /**
+     * Genera el reporte "nombre;precio" desde un catálogo binario copiando los nombres
+     * ya codificados del archivo, sin decodificar un String por producto. Para catálogos
+     * grandes conviene escribirlo en un stream o canal con las otras sobrecargas.
+     * 
+     * @param catalogo catálogo binario
+     * @return String con el mismo formato que {@link #generarReporteProductos(List)}
+     */
+    public String generarReporteProductos(CatalogoBinario catalogo) {
+        long tamanio = 0;
+        for (int fila = 0; fila < catalogo.tamanio(); fila++) {
+            tamanio += catalogo.longitudNombre(fila) + 2 + FormatoDouble.LONGITUD_MAXIMA;
+        }
+        if (tamanio > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("El reporte del catálogo no entra en un String");
+        }
+        byte[] reporte = new byte[(int) tamanio];
+        int posicion = 0;
+        for (int fila = 0; fila < catalogo.tamanio(); fila++) {
+            if (fila > 0) {
+                reporte[posicion++] = ';';
+            }
+            posicion = catalogo.copiarNombre(fila, reporte, posicion);
+            reporte[posicion++] = ';';
+            posicion = FormatoDouble.escribir(catalogo.precio(fila), reporte, posicion);
+        }
+        return new String(reporte, 0, posicion, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Escribe el reporte de un catálogo binario en un OutputStream por bloques, copiando los
+     * nombres ya codificados del archivo; para catálogos grandes evita armar el String completo.
+     * 
+     * @param catalogo catálogo binario
+     * @param salida stream de destino (no se cierra)
+     * @throws IOException si falla la escritura
+     */
+    public void generarReporteProductos(CatalogoBinario catalogo, OutputStream salida) throws IOException {
+        new ReporteProductosWriter().escribir(catalogo, salida);
+    }
+    
+    /**
+     * Escribe el reporte de un catálogo binario en un canal NIO por bloques, copiando los
+     * nombres ya codificados del archivo; para catálogos grandes evita armar el String completo.
+     * 
+     * @param catalogo catálogo binario
+     * @param canal canal de destino (no se cierra)
+     * @throws IOException si falla la escritura
+     */
+    public void generarReporteProductos(CatalogoBinario catalogo, WritableByteChannel canal) throws IOException {
+        new ReporteProductosWriter().escribir(catalogo, canal);
+    }
+    
+    /**
+     * Calcula el precio promedio general desde un catálogo binario mapeado.
+     * 
+     * @param catalogo catálogo binario
+     * @return precio promedio, o 0.0 si el catálogo está vacío
+     */
+    public double calcularPrecioPromedioGeneral(CatalogoBinario catalogo) {
+        return CategoriaStats.calcular(catalogo).getPrecioPromedioGeneral();
+    }
+    
+    /**
+     * Calcula el precio promedio por categoría desde un catálogo binario mapeado.
+     * 
+     * @param catalogo catálogo binario
+     * @return mapa con categoría y precio promedio
+     */
+    public Map<String, Double> calcularPrecioPromedioPorCategoria(CatalogoBinario catalogo) {
+        return CategoriaStats.calcular(catalogo).precioPromedioPorCategoria();
+    }
+    
+    /**
+     * Ordena filas[desde, hasta) por precio descendente con un merge sort estable,
+     * leyendo los precios del catálogo en lugar de crear objetos para comparar.
+     */
+    private static void ordenarPorPrecioDescendente(CatalogoBinario catalogo, int[] filas, int[] auxiliar,
+                                                    int desde, int hasta) {
+        if (hasta - desde < 2) {
+            return;
+        }
+        int medio = (desde + hasta) >>> 1;
+        ordenarPorPrecioDescendente(catalogo, filas, auxiliar, desde, medio);
+        ordenarPorPrecioDescendente(catalogo, filas, auxiliar, medio, hasta);
+        System.arraycopy(filas, desde, auxiliar, desde, hasta - desde);
+        int izquierda = desde;
+        int derecha = medio;
+        for (int i = desde; i < hasta; i++) {
+            if (derecha >= hasta || (izquierda < medio
+                    && Double.compare(catalogo.precio(auxiliar[izquierda]), catalogo.precio(auxiliar[derecha])) >= 0)) {
+                filas[i] = auxiliar[izquierda++];
+            } else {
+                filas[i] = auxiliar[derecha++];
+            }
+        }
     }
 }
-
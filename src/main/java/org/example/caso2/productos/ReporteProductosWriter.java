@@ -0,0 +1,274 @@
+package org.example.caso2.productos;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+import org.example.comun.FormatoDouble;
+
+/**
+ * Escritor del reporte de productos en formato "nombre;precio;nombre;precio..." que
+ * vuelca la salida por bloques de tamaño fijo en lugar de armar un único String.
+ * La salida es idéntica, byte a byte, a {@link ProductoService#generarReporteProductos(java.util.List)}
+ * codificado en UTF-8.
+ * 
+ * <p>Los precios se formatean con {@link FormatoDouble} sin crear objetos por producto.
+ * Cada instancia reutiliza sus buffers entre llamadas y no es thread-safe. Los buffers son de
+ * heap, y el de caracteres se crea recién la primera vez que se escribe en un {@link Writer}.
+ */
+public class ReporteProductosWriter {
+    
+    /** Tamaño por defecto del bloque que se vuelca al destino. */
+    public static final int TAMANIO_BLOQUE_POR_DEFECTO = 64 * 1024;
+    
+    private static final byte SEPARADOR = ';';
+    
+    private final byte[] bloque;
+    private char[] caracteres;
+    private int posicion;
+    
+    /**
+     * Crea un escritor con el tamaño de bloque por defecto.
+     */
+    public ReporteProductosWriter() {
+        this(TAMANIO_BLOQUE_POR_DEFECTO);
+    }
+    
+    /**
+     * Crea un escritor que vuelca la salida en bloques del tamaño indicado.
+     * 
+     * @param tamanioBloque tamaño en bytes (o caracteres, para {@link Writer}) de cada bloque
+     */
+    public ReporteProductosWriter(int tamanioBloque) {
+        if (tamanioBloque < FormatoDouble.LONGITUD_MAXIMA + 4) {
+            throw new IllegalArgumentException("Tamaño de bloque demasiado chico: " + tamanioBloque);
+        }
+        this.bloque = new byte[tamanioBloque];
+    }
+    
+    /**
+     * Escribe el reporte en un canal NIO, volcando cada bloque con un {@link ByteBuffer} que lo envuelve.
+     * 
+     * @param productos productos a reportar
+     * @param canal canal de destino
+     * @return cantidad de bytes escritos
+     * @throws IOException si falla la escritura
+     */
+    public long escribir(Iterable<Producto> productos, WritableByteChannel canal) throws IOException {
+        return escribirBytes(productos, volcadoA(canal));
+    }
+    
+    /**
+     * Escribe el reporte de un catálogo binario en un canal NIO, copiando los nombres ya
+     * codificados del archivo sin decodificar un String por producto.
+     * 
+     * @param catalogo catálogo binario
+     * @param canal canal de destino
+     * @return cantidad de bytes escritos
+     * @throws IOException si falla la escritura
+     */
+    public long escribir(CatalogoBinario catalogo, WritableByteChannel canal) throws IOException {
+        return escribirBytes(catalogo, volcadoA(canal));
+    }
+    
+    /**
+     * Escribe el reporte de un catálogo binario en un OutputStream, copiando los nombres ya
+     * codificados del archivo. No cierra ni hace flush del stream.
+     * 
+     * @param catalogo catálogo binario
+     * @param salida stream de destino
+     * @return cantidad de bytes escritos
+     * @throws IOException si falla la escritura
+     */
+    public long escribir(CatalogoBinario catalogo, OutputStream salida) throws IOException {
+        return escribirBytes(catalogo, longitud -> salida.write(bloque, 0, longitud));
+    }
+    
+    /**
+     * Escribe el reporte en un OutputStream. No cierra ni hace flush del stream.
+     * 
+     * @param productos productos a reportar
+     * @param salida stream de destino
+     * @return cantidad de bytes escritos
+     * @throws IOException si falla la escritura
+     */
+    public long escribir(Iterable<Producto> productos, OutputStream salida) throws IOException {
+        return escribirBytes(productos, longitud -> salida.write(bloque, 0, longitud));
+    }
+    
+    /**
+     * Escribe el reporte en un Writer. No cierra ni hace flush del writer.
+     * 
+     * @param productos productos a reportar
+     * @param salida writer de destino
+     * @return cantidad de caracteres escritos
+     * @throws IOException si falla la escritura
+     */
+    public long escribir(Iterable<Producto> productos, Writer salida) throws IOException {
+        if (caracteres == null) {
+            caracteres = new char[bloque.length];
+        }
+        long total = 0;
+        posicion = 0;
+        boolean primero = true;
+        for (Producto producto : productos) {
+            if (!primero) {
+                total += ponerCaracter(';', salida);
+            }
+            primero = false;
+            String nombre = String.valueOf(producto.getNombre());
+            for (int desde = 0; desde < nombre.length(); ) {
+                if (posicion == caracteres.length) {
+                    total += vaciar(salida);
+                }
+                int hasta = Math.min(nombre.length(), desde + caracteres.length - posicion);
+                nombre.getChars(desde, hasta, caracteres, posicion);
+                posicion += hasta - desde;
+                desde = hasta;
+            }
+            total += ponerCaracter(';', salida);
+            if (caracteres.length - posicion < FormatoDouble.LONGITUD_MAXIMA) {
+                total += vaciar(salida);
+            }
+            int fin = FormatoDouble.escribir(producto.getPrecio(), bloque, 0);
+            for (int i = 0; i < fin; i++) {
+                caracteres[posicion++] = (char) bloque[i];
+            }
+        }
+        return total + vaciar(salida);
+    }
+    
+    private long escribirBytes(Iterable<Producto> productos, Volcado volcado) throws IOException {
+        long total = 0;
+        posicion = 0;
+        boolean primero = true;
+        for (Producto producto : productos) {
+            if (!primero) {
+                total += ponerByte(SEPARADOR, volcado);
+            }
+            primero = false;
+            total += ponerUtf8(String.valueOf(producto.getNombre()), volcado);
+            total += ponerByte(SEPARADOR, volcado);
+            if (bloque.length - posicion < FormatoDouble.LONGITUD_MAXIMA) {
+                total += vaciar(volcado);
+            }
+            posicion = FormatoDouble.escribir(producto.getPrecio(), bloque, posicion);
+        }
+        return total + vaciar(volcado);
+    }
+    
+    private long escribirBytes(CatalogoBinario catalogo, Volcado volcado) throws IOException {
+        long total = 0;
+        posicion = 0;
+        for (int fila = 0; fila < catalogo.tamanio(); fila++) {
+            if (fila > 0) {
+                total += ponerByte(SEPARADOR, volcado);
+            }
+            total += ponerNombre(catalogo, fila, volcado);
+            total += ponerByte(SEPARADOR, volcado);
+            if (bloque.length - posicion < FormatoDouble.LONGITUD_MAXIMA) {
+                total += vaciar(volcado);
+            }
+            posicion = FormatoDouble.escribir(catalogo.precio(fila), bloque, posicion);
+        }
+        return total + vaciar(volcado);
+    }
+    
+    private long ponerNombre(CatalogoBinario catalogo, int fila, Volcado volcado) throws IOException {
+        long total = 0;
+        int longitud = catalogo.longitudNombre(fila);
+        for (int copiados = 0; copiados < longitud; ) {
+            if (posicion == bloque.length) {
+                total += vaciar(volcado);
+            }
+            int parte = Math.min(longitud - copiados, bloque.length - posicion);
+            catalogo.copiarNombre(fila, copiados, bloque, posicion, parte);
+            posicion += parte;
+            copiados += parte;
+        }
+        return total;
+    }
+    
+    private Volcado volcadoA(WritableByteChannel canal) {
+        return longitud -> {
+            ByteBuffer buffer = ByteBuffer.wrap(bloque, 0, longitud);
+            while (buffer.hasRemaining()) {
+                canal.write(buffer);
+            }
+        };
+    }
+    
+    /**
+     * Codifica el texto en UTF-8 directamente sobre el bloque. Los surrogates sin pareja
+     * se reemplazan por '?', igual que {@code String.getBytes(UTF_8)}.
+     */
+    private long ponerUtf8(String texto, Volcado volcado) throws IOException {
+        long total = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            if (bloque.length - posicion < 4) {
+                total += vaciar(volcado);
+            }
+            char c = texto.charAt(i);
+            if (c < 0x80) {
+                bloque[posicion++] = (byte) c;
+            } else if (c < 0x800) {
+                bloque[posicion++] = (byte) (0xC0 | c >> 6);
+                bloque[posicion++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < texto.length()
+                    && Character.isLowSurrogate(texto.charAt(i + 1))) {
+                int punto = Character.toCodePoint(c, texto.charAt(++i));
+                bloque[posicion++] = (byte) (0xF0 | punto >> 18);
+                bloque[posicion++] = (byte) (0x80 | punto >> 12 & 0x3F);
+                bloque[posicion++] = (byte) (0x80 | punto >> 6 & 0x3F);
+                bloque[posicion++] = (byte) (0x80 | punto & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                bloque[posicion++] = '?';
+            } else {
+                bloque[posicion++] = (byte) (0xE0 | c >> 12);
+                bloque[posicion++] = (byte) (0x80 | c >> 6 & 0x3F);
+                bloque[posicion++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        return total;
+    }
+    
+    private long ponerByte(byte valor, Volcado volcado) throws IOException {
+        long volcados = posicion == bloque.length ? vaciar(volcado) : 0;
+        bloque[posicion++] = valor;
+        return volcados;
+    }
+    
+    private long ponerCaracter(char valor, Writer salida) throws IOException {
+        long volcados = posicion == caracteres.length ? vaciar(salida) : 0;
+        caracteres[posicion++] = valor;
+        return volcados;
+    }
+    
+    private long vaciar(Volcado volcado) throws IOException {
+        int longitud = posicion;
+        if (longitud > 0) {
+            volcado.volcar(longitud);
+            posicion = 0;
+        }
+        return longitud;
+    }
+    
+    private long vaciar(Writer salida) throws IOException {
+        int longitud = posicion;
+        if (longitud > 0) {
+            salida.write(caracteres, 0, longitud);
+            posicion = 0;
+        }
+        return longitud;
+    }
+    
+    /**
+     * Destino de un bloque de bytes ya armado.
+     */
+    @FunctionalInterface
+    private interface Volcado {
+        void volcar(int longitud) throws IOException;
+    }
+}
@@ -0,0 +1,216 @@
+package org.example.caso3.libros;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * Catálogo de libros con un montículo binario indexado por precio.
+ * El libro más caro se consulta en O(1), los N más caros en O(N log N) sin recorrer el
+ * catálogo, y las altas, bajas y cambios de precio cuestan O(log n).
+ * 
+ * <p>Ante precios iguales gana el libro agregado primero, igual que
+ * {@link LibroService#obtenerLibroMasCaro(List)}. Los libros se identifican por referencia;
+ * para cambiar un precio hay que usar {@link #actualizarPrecio}. No es thread-safe.
+ */
+public class LibroCatalog {
+    
+    private static final int CAPACIDAD_INICIAL = 16;
+    
+    private Entrada[] monticulo = new Entrada[CAPACIDAD_INICIAL];
+    private int tamanio;
+    private final Map<Libro, Entrada> porLibro = new IdentityHashMap<>();
+    private long siguienteSecuencia;
+    
+    /**
+     * Crea un catálogo con los libros indicados, respetando su orden para los empates.
+     * 
+     * @param libros libros a cargar
+     * @return catálogo cargado
+     */
+    public static LibroCatalog desde(Collection<Libro> libros) {
+        LibroCatalog catalogo = new LibroCatalog();
+        libros.forEach(catalogo::agregar);
+        return catalogo;
+    }
+    
+    /**
+     * Agrega un libro al catálogo; si ya estaba, no hace nada.
+     * 
+     * @param libro libro a agregar
+     */
+    public void agregar(Libro libro) {
+        if (porLibro.containsKey(libro)) {
+            return;
+        }
+        if (tamanio == monticulo.length) {
+            monticulo = Arrays.copyOf(monticulo, tamanio * 2);
+        }
+        Entrada entrada = new Entrada(libro, libro.getPrecio(), siguienteSecuencia++);
+        porLibro.put(libro, entrada);
+        ubicar(entrada, tamanio++);
+        subir(entrada.posicion);
+    }
+    
+    /**
+     * Quita un libro del catálogo.
+     * 
+     * @param libro libro a quitar
+     * @return true si el libro estaba en el catálogo
+     */
+    public boolean quitar(Libro libro) {
+        Entrada entrada = porLibro.remove(libro);
+        if (entrada == null) {
+            return false;
+        }
+        int posicion = entrada.posicion;
+        Entrada ultima = monticulo[--tamanio];
+        monticulo[tamanio] = null;
+        if (posicion < tamanio) {
+            ubicar(ultima, posicion);
+            reacomodar(posicion);
+        }
+        return true;
+    }
+    
+    /**
+     * Cambia el precio de un libro del catálogo y lo reubica en el montículo.
+     * Conserva su orden de alta para los desempates.
+     * 
+     * @param libro libro del catálogo
+     * @param precio nuevo precio
+     * @return true si el libro estaba en el catálogo
+     */
+    public boolean actualizarPrecio(Libro libro, double precio) {
+        Entrada entrada = porLibro.get(libro);
+        if (entrada == null) {
+            return false;
+        }
+        libro.setPrecio(precio);
+        entrada.precio = precio;
+        reacomodar(entrada.posicion);
+        return true;
+    }
+    
+    /**
+     * Devuelve la cantidad de libros del catálogo.
+     * 
+     * @return cantidad de libros
+     */
+    public int tamanio() {
+        return tamanio;
+    }
+    
+    /**
+     * Devuelve el libro más caro en O(1).
+     * 
+     * @return Optional con el libro más caro, o empty si el catálogo está vacío
+     */
+    public Optional<Libro> obtenerMasCaro() {
+        return tamanio == 0 ? Optional.empty() : Optional.of(monticulo[0].libro);
+    }
+    
+    /**
+     * Devuelve los N libros más caros, de mayor a menor precio. Recorre solo la parte
+     * alta del montículo con una cola auxiliar de candidatos, sin tocar el resto.
+     * 
+     * @param cantidad cantidad de libros a devolver
+     * @return libros más caros ordenados por precio descendente
+     */
+    public List<Libro> obtenerMasCaros(int cantidad) {
+        if (cantidad < 0) {
+            throw new IllegalArgumentException("La cantidad no puede ser negativa: " + cantidad);
+        }
+        int limite = Math.min(cantidad, tamanio);
+        List<Libro> resultado = new ArrayList<>(limite);
+        if (limite == 0) {
+            return resultado;
+        }
+        PriorityQueue<Entrada> candidatos = new PriorityQueue<>(LibroCatalog::comparar);
+        candidatos.add(monticulo[0]);
+        while (resultado.size() < limite) {
+            Entrada mayor = candidatos.poll();
+            resultado.add(mayor.libro);
+            int hijo = 2 * mayor.posicion + 1;
+            if (hijo < tamanio) {
+                candidatos.add(monticulo[hijo]);
+            }
+            if (hijo + 1 < tamanio) {
+                candidatos.add(monticulo[hijo + 1]);
+            }
+        }
+        return resultado;
+    }
+    
+    private void reacomodar(int posicion) {
+        if (!subir(posicion)) {
+            bajar(posicion);
+        }
+    }
+    
+    private boolean subir(int posicion) {
+        Entrada entrada = monticulo[posicion];
+        int inicial = posicion;
+        while (posicion > 0) {
+            int padre = (posicion - 1) / 2;
+            if (comparar(entrada, monticulo[padre]) >= 0) {
+                break;
+            }
+            ubicar(monticulo[padre], posicion);
+            posicion = padre;
+        }
+        ubicar(entrada, posicion);
+        return posicion != inicial;
+    }
+    
+    private void bajar(int posicion) {
+        Entrada entrada = monticulo[posicion];
+        while (2 * posicion + 1 < tamanio) {
+            int hijo = 2 * posicion + 1;
+            if (hijo + 1 < tamanio && comparar(monticulo[hijo + 1], monticulo[hijo]) < 0) {
+                hijo++;
+            }
+            if (comparar(monticulo[hijo], entrada) >= 0) {
+                break;
+            }
+            ubicar(monticulo[hijo], posicion);
+            posicion = hijo;
+        }
+        ubicar(entrada, posicion);
+    }
+    
+    private void ubicar(Entrada entrada, int posicion) {
+        monticulo[posicion] = entrada;
+        entrada.posicion = posicion;
+    }
+    
+    /**
+     * Orden del montículo: primero el precio mayor y, ante empates, el alta más antigua.
+     */
+    private static int comparar(Entrada a, Entrada b) {
+        int porPrecio = Double.compare(b.precio, a.precio);
+        return porPrecio != 0 ? porPrecio : Long.compare(a.secuencia, b.secuencia);
+    }
+    
+    /**
+     * Entrada del montículo con el precio copiado y su posición actual, para reubicar
+     * un libro sin buscarlo.
+     */
+    private static final class Entrada {
+        private final Libro libro;
+        private final long secuencia;
+        private double precio;
+        private int posicion;
+        
+        private Entrada(Libro libro, double precio, long secuencia) {
+            this.libro = libro;
+            this.precio = precio;
+            this.secuencia = secuencia;
+        }
+    }
+}
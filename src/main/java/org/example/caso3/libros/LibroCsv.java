@@ -0,0 +1,46 @@
+package org.example.caso3.libros;
+
+import org.example.comun.FilaCsv;
+import org.example.comun.IngestaCsv;
+
+/**
+ * Formato CSV de libros: una fila de encabezado y las columnas
+ * {@code titulo}, {@code autor}, {@code paginas}, {@code precio}, en ese orden, separadas por coma.
+ */
+public final class LibroCsv {
+    
+    /** Encabezado del archivo. */
+    public static final String ENCABEZADO = "titulo,autor,paginas,precio";
+    
+    private static final IngestaCsv<Libro> INGESTA = IngestaCsv.de(LibroCsv::decodificar);
+    
+    private LibroCsv() {
+    }
+    
+    /**
+     * Devuelve la ingesta de libros con los tamaños por defecto;
+     * se puede ajustar con sus métodos {@code con...}.
+     * 
+     * @return ingesta de libros
+     */
+    public static IngestaCsv<Libro> ingesta() {
+        return INGESTA;
+    }
+    
+    /**
+     * Arma un libro a partir de una fila.
+     * 
+     * @param fila fila del archivo
+     * @return libro de la fila
+     * @throws IllegalArgumentException si la fila no tiene 4 campos o un número no es válido
+     */
+    public static Libro decodificar(FilaCsv fila) {
+        fila.exigirCampos(4);
+        return Libro.builder()
+                .titulo(fila.texto(0))
+                .autor(fila.texto(1))
+                .paginas(fila.entero(2))
+                .precio(fila.decimal(3))
+                .build();
+    }
+}
@@ -0,0 +1,292 @@
+package org.example.caso3.libros;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Índice de búsqueda incremental sobre título y autor de los libros, para autocompletar.
+ * Las búsquedas por prefijo usan mapas ordenados por texto normalizado y las búsquedas
+ * por subcadena usan un índice invertido de trigramas, así que ninguna recorre el catálogo.
+ * 
+ * <p>Las comparaciones no distinguen mayúsculas ({@link Locale#ROOT}). Los resultados salen
+ * ordenados por título, como {@code sorted()} sobre los títulos, y ante títulos iguales por
+ * orden de alta. Los libros se identifican por referencia. No es thread-safe.
+ */
+public class LibroSearchIndex {
+    
+    /** Longitud de los n-gramas del índice invertido. */
+    static final int LONGITUD_NGRAMA = 3;
+    
+    private static final Comparator<Entrada> ORDEN = Comparator
+            .comparing((Entrada entrada) -> entrada.titulo)
+            .thenComparingLong(entrada -> entrada.secuencia);
+    
+    // Estimaciones de memoria por objeto, con referencias comprimidas
+    private static final long BYTES_ENTRADA = 40 + 2 * 24;
+    private static final long BYTES_NODO_ARBOL = 40;
+    private static final long BYTES_CONJUNTO = 48 + 40;
+    private static final long BYTES_CLAVE_NGRAMA = 16 + 32;
+    
+    private final NavigableSet<Entrada> todas = new TreeSet<>(ORDEN);
+    private final Map<Libro, Entrada> porLibro = new IdentityHashMap<>();
+    private final NavigableMap<String, NavigableSet<Entrada>> porTitulo = new TreeMap<>();
+    private final NavigableMap<String, NavigableSet<Entrada>> porAutor = new TreeMap<>();
+    private final Map<Long, NavigableSet<Entrada>> porNgrama = new HashMap<>();
+    private long referenciasNgramas;
+    private long siguienteSecuencia;
+    private long nanosAltas;
+    
+    /**
+     * Crea un índice con los libros indicados.
+     * 
+     * @param libros libros a indexar
+     * @return índice cargado
+     */
+    public static LibroSearchIndex desde(Collection<Libro> libros) {
+        LibroSearchIndex indice = new LibroSearchIndex();
+        libros.forEach(indice::agregar);
+        return indice;
+    }
+    
+    /**
+     * Normaliza un texto para indexarlo o buscarlo.
+     * 
+     * @param texto texto original
+     * @return texto en minúsculas, o cadena vacía si es null
+     */
+    static String normalizar(String texto) {
+        return texto == null ? "" : texto.toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * Agrega un libro al índice; si ya estaba, no hace nada.
+     * 
+     * @param libro libro a agregar
+     */
+    public void agregar(Libro libro) {
+        if (porLibro.containsKey(libro)) {
+            return;
+        }
+        long inicio = System.nanoTime();
+        Entrada entrada = new Entrada(libro, String.valueOf(libro.getTitulo()),
+                normalizar(libro.getTitulo()), normalizar(libro.getAutor()), siguienteSecuencia++);
+        porLibro.put(libro, entrada);
+        todas.add(entrada);
+        porTitulo.computeIfAbsent(entrada.tituloNormalizado, clave -> new TreeSet<>(ORDEN)).add(entrada);
+        porAutor.computeIfAbsent(entrada.autorNormalizado, clave -> new TreeSet<>(ORDEN)).add(entrada);
+        for (long ngrama : entrada.ngramas()) {
+            if (porNgrama.computeIfAbsent(ngrama, clave -> new TreeSet<>(ORDEN)).add(entrada)) {
+                referenciasNgramas++;
+            }
+        }
+        nanosAltas += System.nanoTime() - inicio;
+    }
+    
+    /**
+     * Quita un libro del índice.
+     * 
+     * @param libro libro a quitar
+     * @return true si el libro estaba indexado
+     */
+    public boolean quitar(Libro libro) {
+        Entrada entrada = porLibro.remove(libro);
+        if (entrada == null) {
+            return false;
+        }
+        todas.remove(entrada);
+        quitarDe(porTitulo, entrada.tituloNormalizado, entrada);
+        quitarDe(porAutor, entrada.autorNormalizado, entrada);
+        for (long ngrama : entrada.ngramas()) {
+            if (quitarDe(porNgrama, ngrama, entrada)) {
+                referenciasNgramas--;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Devuelve la cantidad de libros indexados.
+     * 
+     * @return cantidad de libros
+     */
+    public int tamanio() {
+        return todas.size();
+    }
+    
+    /**
+     * Busca libros cuyo título o autor empiezan con el prefijo.
+     * 
+     * @param prefijo texto inicial buscado
+     * @param limite cantidad máxima de resultados
+     * @return libros encontrados, ordenados por título
+     */
+    public List<Libro> buscarPorPrefijo(String prefijo, int limite) {
+        validarLimite(limite);
+        String buscado = normalizar(prefijo);
+        if (buscado.isEmpty()) {
+            return libros(todas, limite);
+        }
+        NavigableSet<Entrada> mejores = new TreeSet<>(ORDEN);
+        juntarPrefijo(porTitulo, buscado, mejores, limite);
+        juntarPrefijo(porAutor, buscado, mejores, limite);
+        return libros(mejores, limite);
+    }
+    
+    /**
+     * Busca libros cuyo título o autor contienen el texto. Con tres o más caracteres recorre
+     * solo la lista del trigrama menos frecuente del texto; con menos, recorre los libros en
+     * orden de título hasta completar el límite.
+     * 
+     * @param texto texto buscado
+     * @param limite cantidad máxima de resultados
+     * @return libros encontrados, ordenados por título
+     */
+    public List<Libro> buscarPorTexto(String texto, int limite) {
+        validarLimite(limite);
+        String buscado = normalizar(texto);
+        NavigableSet<Entrada> candidatos = todas;
+        for (int i = 0; i + LONGITUD_NGRAMA <= buscado.length(); i++) {
+            NavigableSet<Entrada> lista = porNgrama.get(ngrama(buscado, i));
+            if (lista == null) {
+                return new ArrayList<>();
+            }
+            if (lista.size() < candidatos.size()) {
+                candidatos = lista;
+            }
+        }
+        List<Libro> resultado = new ArrayList<>();
+        for (Entrada entrada : candidatos) {
+            if (resultado.size() == limite) {
+                break;
+            }
+            if (entrada.tituloNormalizado.contains(buscado) || entrada.autorNormalizado.contains(buscado)) {
+                resultado.add(entrada.libro);
+            }
+        }
+        return resultado;
+    }
+    
+    /**
+     * Devuelve métricas del índice para dimensionarlo.
+     * 
+     * @return estadísticas actuales del índice
+     */
+    public Estadisticas estadisticas() {
+        long entradasArboles = todas.size() * 2L + porTitulo.size() + porAutor.size() + referenciasNgramas;
+        long bytes = todas.size() * BYTES_ENTRADA
+                + entradasArboles * BYTES_NODO_ARBOL
+                + (porTitulo.size() + porAutor.size() + porNgrama.size()) * BYTES_CONJUNTO
+                + porNgrama.size() * BYTES_CLAVE_NGRAMA;
+        for (Entrada entrada : todas) {
+            bytes += 2L * (entrada.tituloNormalizado.length() + entrada.autorNormalizado.length());
+        }
+        return new Estadisticas(todas.size(), porNgrama.size(), referenciasNgramas, bytes, nanosAltas);
+    }
+    
+    /**
+     * Métricas del índice.
+     * 
+     * @param libros cantidad de libros indexados
+     * @param ngramas cantidad de trigramas distintos
+     * @param referencias cantidad total de referencias en las listas de trigramas
+     * @param bytesEstimados memoria aproximada de las estructuras del índice
+     * @param nanosAltas tiempo acumulado de todas las altas, en nanosegundos
+     */
+    public record Estadisticas(int libros, int ngramas, long referencias, long bytesEstimados, long nanosAltas) {}
+    
+    private static void juntarPrefijo(NavigableMap<String, NavigableSet<Entrada>> mapa, String prefijo,
+                                      NavigableSet<Entrada> mejores, int limite) {
+        for (Map.Entry<String, NavigableSet<Entrada>> grupo : mapa.tailMap(prefijo, true).entrySet()) {
+            if (!grupo.getKey().startsWith(prefijo)) {
+                break;
+            }
+            for (Entrada entrada : grupo.getValue()) {
+                // Solo se guardan los primeros por título; cada grupo ya viene ordenado
+                if (mejores.size() == limite && ORDEN.compare(entrada, mejores.last()) >= 0) {
+                    break;
+                }
+                mejores.add(entrada);
+                if (mejores.size() > limite) {
+                    mejores.pollLast();
+                }
+            }
+        }
+    }
+    
+    private static List<Libro> libros(Collection<Entrada> entradas, int limite) {
+        List<Libro> resultado = new ArrayList<>(Math.min(limite, entradas.size()));
+        for (Entrada entrada : entradas) {
+            if (resultado.size() == limite) {
+                break;
+            }
+            resultado.add(entrada.libro);
+        }
+        return resultado;
+    }
+    
+    private static <K> boolean quitarDe(Map<K, NavigableSet<Entrada>> mapa, K clave, Entrada entrada) {
+        NavigableSet<Entrada> lista = mapa.get(clave);
+        boolean quitado = lista != null && lista.remove(entrada);
+        if (lista != null && lista.isEmpty()) {
+            mapa.remove(clave);
+        }
+        return quitado;
+    }
+    
+    private static void validarLimite(int limite) {
+        if (limite < 0) {
+            throw new IllegalArgumentException("El límite no puede ser negativo: " + limite);
+        }
+    }
+    
+    /**
+     * Empaqueta los tres caracteres que empiezan en la posición indicada en un long.
+     */
+    private static long ngrama(String texto, int desde) {
+        return (long) texto.charAt(desde) << 32 | (long) texto.charAt(desde + 1) << 16 | texto.charAt(desde + 2);
+    }
+    
+    /**
+     * Libro indexado con los textos normalizados copiados, para poder quitarlo aunque el
+     * libro se haya modificado por fuera.
+     */
+    private static final class Entrada {
+        private final Libro libro;
+        private final String titulo;
+        private final String tituloNormalizado;
+        private final String autorNormalizado;
+        private final long secuencia;
+        
+        private Entrada(Libro libro, String titulo, String tituloNormalizado, String autorNormalizado,
+                        long secuencia) {
+            this.libro = libro;
+            this.titulo = titulo;
+            this.tituloNormalizado = tituloNormalizado;
+            this.autorNormalizado = autorNormalizado;
+            this.secuencia = secuencia;
+        }
+        
+        private long[] ngramas() {
+            int enTitulo = Math.max(0, tituloNormalizado.length() - LONGITUD_NGRAMA + 1);
+            int enAutor = Math.max(0, autorNormalizado.length() - LONGITUD_NGRAMA + 1);
+            long[] ngramas = new long[enTitulo + enAutor];
+            for (int i = 0; i < enTitulo; i++) {
+                ngramas[i] = ngrama(tituloNormalizado, i);
+            }
+            for (int i = 0; i < enAutor; i++) {
+                ngramas[enTitulo + i] = ngrama(autorNormalizado, i);
+            }
+            return ngramas;
+        }
+    }
+}
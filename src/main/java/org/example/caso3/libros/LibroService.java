@@ -1,17 +1,63 @@
 package org.example.caso3.libros;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.example.comun.CacheResultados;
+import org.example.comun.ContadorCadenas;
+import org.example.comun.DatosVersionados;
+import org.example.comun.EstrategiaEjecucion;
+import org.example.comun.OrdenamientoExterno;
 
 /**
  * Servicio que implementa operaciones funcionales sobre libros.
  * Demuestra el manejo de promedios, agrupación y valores máximos con Streams.
+ * Las consultas sobre listas corren según la {@link EstrategiaEjecucion} del servicio.
  */
 public class LibroService {
     
+    private final EstrategiaEjecucion estrategia;
+    private final CacheResultados cache;
+    
+    /**
+     * Crea el servicio con ejecución secuencial.
+     */
+    public LibroService() {
+        this(EstrategiaEjecucion.secuencial());
+    }
+    
+    /**
+     * Crea el servicio con la estrategia de ejecución indicada.
+     * 
+     * @param estrategia estrategia para las consultas sobre listas
+     */
+    public LibroService(EstrategiaEjecucion estrategia) {
+        this(estrategia, CacheResultados.sinCache());
+    }
+    
+    /**
+     * Crea el servicio con la estrategia de ejecución y la cache de resultados indicadas.
+     * La cache solo se usa en las consultas sobre {@link DatosVersionados}.
+     * 
+     * @param estrategia estrategia para las consultas sobre listas
+     * @param cache cache para los resultados de las consultas sobre datos versionados
+     */
+    public LibroService(EstrategiaEjecucion estrategia, CacheResultados cache) {
+        this.estrategia = estrategia;
+        this.cache = cache;
+    }
+    
     /**
      * Lista los títulos de libros con más de 300 páginas, ordenados alfabéticamente.
      * 
@@ -19,11 +65,43 @@ public class LibroService {
      * @return lista de títulos ordenados alfabéticamente
      */
     public List<String> listarTitulosLibrosLargos(List<Libro> libros) {
-        return libros.stream()
+        return estrategia.ejecutar(libros, stream -> stream
                 .filter(libro -> libro.getPaginas() > 300)
                 .map(Libro::getTitulo)
                 .sorted()
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
+    }
+    
+    /**
+     * Lista los títulos de libros con más de 300 páginas leyendo la entrada una sola vez,
+     * con un presupuesto de memoria acotado. Si los títulos no entran en el presupuesto,
+     * se ordenan por tramos en archivos temporales y se mezclan al iterar; si entran,
+     * se ordenan en memoria como en {@link #listarTitulosLibrosLargos(List)}.
+     * 
+     * @param libros libros a recorrer
+     * @param ordenamiento ordenador con el presupuesto y el directorio temporal
+     * @return iterador perezoso sobre los títulos ordenados; conviene cerrarlo si no se agota
+     * @throws IOException si falla la escritura de los archivos temporales
+     */
+    public OrdenamientoExterno.IteradorOrdenado listarTitulosLibrosLargos(Iterator<Libro> libros,
+                                                                        OrdenamientoExterno ordenamiento) throws IOException {
+        Iterator<String> titulos = StreamSupport.stream(Spliterators.spliteratorUnknownSize(libros, Spliterator.ORDERED), false)
+                .filter(libro -> libro.getPaginas() > 300)
+                .map(Libro::getTitulo)
+                .iterator();
+        return ordenamiento.ordenar(titulos);
+    }
+    
+    /**
+     * Igual que {@link #listarTitulosLibrosLargos(Iterator, OrdenamientoExterno)} sobre un stream,
+     * con el presupuesto por defecto y el directorio temporal del sistema.
+     * 
+     * @param libros stream de libros; se consume
+     * @return iterador perezoso sobre los títulos ordenados; conviene cerrarlo si no se agota
+     * @throws IOException si falla la escritura de los archivos temporales
+     */
+    public OrdenamientoExterno.IteradorOrdenado listarTitulosLibrosLargos(Stream<Libro> libros) throws IOException {
+        return listarTitulosLibrosLargos(libros.iterator(), new OrdenamientoExterno());
     }
     
     /**
@@ -33,24 +111,74 @@ public class LibroService {
      * @return promedio de páginas, o 0.0 si la lista está vacía
      */
     public double calcularPromedioPaginas(List<Libro> libros) {
-        return libros.stream()
+        // Las páginas se suman como long, así que el promedio no depende de cómo se reparta
+        return estrategia.ejecutar(libros, stream -> stream
                 .mapToInt(Libro::getPaginas)
                 .average()
-                .orElse(0.0);
+                .orElse(0.0));
+    }
+    
+    /**
+     * Calcula el promedio de páginas de un archivo CSV (ver {@link LibroCsv}) leído por bloques.
+     * 
+     * @param archivo archivo CSV de libros
+     * @return promedio de páginas, o 0.0 si el archivo no tiene libros
+     * @throws IOException si falla la lectura o una fila no es válida
+     */
+    public double calcularPromedioPaginas(Path archivo) throws IOException {
+        return LibroCsv.ingesta().recolectar(archivo, Collectors.averagingInt(Libro::getPaginas));
     }
     
     /**
      * Agrupa los libros por autor y cuenta cuántos libros tiene cada uno.
+     * Cuenta sobre un mapa primitivo, sin encajar un {@code Long} por libro, y recién al final
+     * copia los conteos a un mapa modificable.
      * 
      * @param libros lista de libros
      * @return mapa con autor y cantidad de libros
      */
     public Map<String, Long> contarLibrosPorAutor(List<Libro> libros) {
-        return libros.stream()
-                .collect(Collectors.groupingBy(
-                        Libro::getAutor,
-                        Collectors.counting()
-                ));
+        return estrategia.elegir(libros.size(),
+                () -> ContadorCadenas.contar(libros, Libro::getAutor),
+                () -> ContadorCadenas.contarEnParalelo(libros, Libro::getAutor)).aHashMap();
+    }
+    
+    /**
+     * Cuenta los libros por autor sobre datos versionados, reutilizando el resultado de la
+     * cache del servicio mientras los libros no cambien.
+     * 
+     * @param libros libros versionados
+     * @return mapa de solo lectura con autor y cantidad de libros
+     */
+    public Map<String, Long> contarLibrosPorAutor(DatosVersionados<Libro> libros) {
+        return cache.obtener("libros.porAutor", libros, () -> Map.copyOf(contarLibrosPorAutor(libros.vista())));
+    }
+    
+    /**
+     * Cuenta los libros por autor en paralelo, con un contador por bloque que al final
+     * se combinan. Conviene para listas grandes. Corre en el pool de la estrategia, si tiene uno.
+     * 
+     * @param libros lista de libros
+     * @return mapa con autor y cantidad de libros
+     */
+    public Map<String, Long> contarLibrosPorAutorEnParalelo(List<Libro> libros) {
+        return estrategia.enPool(() -> ContadorCadenas.contarEnParalelo(libros, Libro::getAutor)).aHashMap();
+    }
+    
+    /**
+     * Cuenta los libros por autor de un archivo CSV leído por bloques; la memoria depende de la
+     * cantidad de autores y no de la de libros.
+     * 
+     * @param archivo archivo CSV de libros
+     * @return mapa con autor y cantidad de libros
+     * @throws IOException si falla la lectura o una fila no es válida
+     */
+    public Map<String, Long> contarLibrosPorAutor(Path archivo) throws IOException {
+        return LibroCsv.ingesta().recolectar(archivo, Collector.of(
+                ContadorCadenas::new,
+                (contador, libro) -> contador.incrementar(libro.getAutor()),
+                ContadorCadenas::combinar,
+                ContadorCadenas::aHashMap));
     }
     
     /**
@@ -60,8 +188,65 @@ public class LibroService {
      * @return Optional con el libro más caro, o empty si la lista está vacía
      */
     public Optional<Libro> obtenerLibroMasCaro(List<Libro> libros) {
-        return libros.stream()
-                .max(Comparator.comparingDouble(Libro::getPrecio));
+        return estrategia.ejecutar(libros, stream -> stream
+                .max(Comparator.comparingDouble(Libro::getPrecio)));
+    }
+    
+    /**
+     * Obtiene el libro más caro reduciendo en paralelo los bloques del spliterator de la lista.
+     * La reducción respeta el orden de encuentro, así que ante empates devuelve el mismo libro
+     * que {@link #obtenerLibroMasCaro(List)}. Corre en el pool de la estrategia, si tiene uno.
+     * 
+     * @param libros lista de libros
+     * @return Optional con el libro más caro, o empty si la lista está vacía
+     */
+    public Optional<Libro> obtenerLibroMasCaroEnParalelo(List<Libro> libros) {
+        return estrategia.enPool(() -> libros.parallelStream()
+                .max(Comparator.comparingDouble(Libro::getPrecio)));
+    }
+    
+    /**
+     * Obtiene el libro más caro de un catálogo mantenido, sin recorrerlo.
+     * 
+     * @param catalogo catálogo de libros
+     * @return Optional con el libro más caro, o empty si el catálogo está vacío
+     */
+    public Optional<Libro> obtenerLibroMasCaro(LibroCatalog catalogo) {
+        return catalogo.obtenerMasCaro();
+    }
+    
+    /**
+     * Obtiene los N libros más caros de un catálogo mantenido, de mayor a menor precio.
+     * 
+     * @param catalogo catálogo de libros
+     * @param cantidad cantidad de libros a devolver
+     * @return libros más caros ordenados por precio descendente
+     */
+    public List<Libro> obtenerLibrosMasCaros(LibroCatalog catalogo, int cantidad) {
+        return catalogo.obtenerMasCaros(cantidad);
+    }
+    
+    /**
+     * Busca libros para autocompletar por el comienzo del título o del autor.
+     * 
+     * @param indice índice de búsqueda
+     * @param prefijo texto tipeado
+     * @param limite cantidad máxima de resultados
+     * @return libros encontrados, ordenados por título
+     */
+    public List<Libro> buscarLibrosPorPrefijo(LibroSearchIndex indice, String prefijo, int limite) {
+        return indice.buscarPorPrefijo(prefijo, limite);
+    }
+    
+    /**
+     * Busca libros cuyo título o autor contienen el texto, sin recorrer el catálogo completo.
+     * 
+     * @param indice índice de búsqueda
+     * @param texto texto tipeado
+     * @param limite cantidad máxima de resultados
+     * @return libros encontrados, ordenados por título
+     */
+    public List<Libro> buscarLibrosPorTexto(LibroSearchIndex indice, String texto, int limite) {
+        return indice.buscarPorTexto(texto, limite);
     }
 }
-
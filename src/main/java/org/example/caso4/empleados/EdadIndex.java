@@ -0,0 +1,285 @@
+package org.example.caso4.empleados;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Índice de empleados por edad con una cubeta por cada edad, al estilo counting sort.
+ * Responde "los N más jóvenes", "los N mayores" y rangos de edad recorriendo cubetas en
+ * orden, sin ordenar a todos los empleados, y se mantiene con altas, bajas y cumpleaños.
+ * 
+ * <p>Ante edades iguales conserva el orden de alta, igual que el ordenamiento estable sobre
+ * la lista original. Los empleados se identifican por referencia; para cambiar una edad hay
+ * que usar {@link #actualizarEdad}. No es thread-safe.
+ */
+public class EdadIndex {
+    
+    /** Amplitud máxima del rango de edades, para acotar la cantidad de cubetas. */
+    public static final int MAXIMO_CUBETAS = 1 << 16;
+    
+    /** Cubetas por edad, desde {@code edadMinima}; cada una ordenada por secuencia de alta. */
+    private TreeMap<Long, Empleado>[] cubetas = nuevasCubetas(0);
+    private int edadMinima;
+    private final Map<Empleado, Entrada> porEmpleado = new IdentityHashMap<>();
+    private long siguienteSecuencia;
+    
+    /**
+     * Crea un índice con los empleados indicados, respetando su orden para los empates.
+     * 
+     * @param empleados empleados a indexar
+     * @return índice cargado
+     */
+    public static EdadIndex desde(Collection<Empleado> empleados) {
+        EdadIndex indice = new EdadIndex();
+        empleados.forEach(indice::agregar);
+        return indice;
+    }
+    
+    /**
+     * Selecciona los N empleados más jóvenes de una lista con un counting sort parcial:
+     * cuenta por edad, calcula la edad de corte y ubica a cada seleccionado en su lugar
+     * en una sola pasada más. Ante empates conserva el orden de la lista.
+     * 
+     * @param empleados lista de empleados
+     * @param cantidad cantidad a seleccionar
+     * @return empleados más jóvenes ordenados por edad ascendente
+     */
+    public static List<Empleado> seleccionarMasJovenes(List<Empleado> empleados, int cantidad) {
+        return seleccionar(empleados, cantidad, false);
+    }
+    
+    /**
+     * Selecciona los N empleados mayores de una lista con un counting sort parcial.
+     * Ante empates conserva el orden de la lista.
+     * 
+     * @param empleados lista de empleados
+     * @param cantidad cantidad a seleccionar
+     * @return empleados mayores ordenados por edad descendente
+     */
+    public static List<Empleado> seleccionarMayores(List<Empleado> empleados, int cantidad) {
+        return seleccionar(empleados, cantidad, true);
+    }
+    
+    /**
+     * Agrega un empleado al índice; si ya estaba, no hace nada.
+     * 
+     * @param empleado empleado a agregar
+     * @throws IllegalArgumentException si la edad deja el rango de edades por encima de {@link #MAXIMO_CUBETAS}
+     */
+    public void agregar(Empleado empleado) {
+        if (porEmpleado.containsKey(empleado)) {
+            return;
+        }
+        Entrada entrada = new Entrada(siguienteSecuencia++, empleado.getEdad());
+        cubeta(entrada.edad).put(entrada.secuencia, empleado);
+        porEmpleado.put(empleado, entrada);
+    }
+    
+    /**
+     * Quita un empleado del índice.
+     * 
+     * @param empleado empleado a quitar
+     * @return true si el empleado estaba indexado
+     */
+    public boolean quitar(Empleado empleado) {
+        Entrada entrada = porEmpleado.remove(empleado);
+        if (entrada == null) {
+            return false;
+        }
+        cubetas[entrada.edad - edadMinima].remove(entrada.secuencia);
+        return true;
+    }
+    
+    /**
+     * Cambia la edad de un empleado indexado y lo mueve de cubeta.
+     * Conserva su orden de alta para los desempates.
+     * 
+     * @param empleado empleado indexado
+     * @param edad nueva edad
+     * @return true si el empleado estaba indexado
+     */
+    public boolean actualizarEdad(Empleado empleado, int edad) {
+        Entrada entrada = porEmpleado.get(empleado);
+        if (entrada == null) {
+            return false;
+        }
+        TreeMap<Long, Empleado> destino = cubeta(edad);
+        cubetas[entrada.edad - edadMinima].remove(entrada.secuencia);
+        destino.put(entrada.secuencia, empleado);
+        empleado.setEdad(edad);
+        entrada.edad = edad;
+        return true;
+    }
+    
+    /**
+     * Devuelve la cantidad de empleados indexados.
+     * 
+     * @return cantidad de empleados
+     */
+    public int tamanio() {
+        return porEmpleado.size();
+    }
+    
+    /**
+     * Devuelve los N empleados más jóvenes, de menor a mayor edad.
+     * 
+     * @param cantidad cantidad de empleados
+     * @return empleados más jóvenes
+     */
+    public List<Empleado> masJovenes(int cantidad) {
+        validarCantidad(cantidad);
+        List<Empleado> resultado = new ArrayList<>();
+        for (int i = 0; i < cubetas.length && resultado.size() < cantidad; i++) {
+            agregarHasta(cubetas[i], resultado, cantidad);
+        }
+        return resultado;
+    }
+    
+    /**
+     * Devuelve los N empleados mayores, de mayor a menor edad.
+     * 
+     * @param cantidad cantidad de empleados
+     * @return empleados mayores
+     */
+    public List<Empleado> mayores(int cantidad) {
+        validarCantidad(cantidad);
+        List<Empleado> resultado = new ArrayList<>();
+        for (int i = cubetas.length - 1; i >= 0 && resultado.size() < cantidad; i--) {
+            agregarHasta(cubetas[i], resultado, cantidad);
+        }
+        return resultado;
+    }
+    
+    /**
+     * Devuelve los empleados con edad en [desde, hasta], de menor a mayor edad.
+     * 
+     * @param desde edad mínima inclusiva
+     * @param hasta edad máxima inclusiva
+     * @return empleados del rango
+     */
+    public List<Empleado> entreEdades(int desde, int hasta) {
+        List<Empleado> resultado = new ArrayList<>();
+        int inicio = (int) Math.max(0, (long) desde - edadMinima);
+        int fin = (int) Math.min(cubetas.length - 1L, (long) hasta - edadMinima);
+        for (int i = inicio; i <= fin; i++) {
+            agregarHasta(cubetas[i], resultado, Integer.MAX_VALUE);
+        }
+        return resultado;
+    }
+    
+    private static void agregarHasta(TreeMap<Long, Empleado> cubeta, List<Empleado> resultado, int cantidad) {
+        for (Empleado empleado : cubeta.values()) {
+            if (resultado.size() == cantidad) {
+                return;
+            }
+            resultado.add(empleado);
+        }
+    }
+    
+    /**
+     * Devuelve la cubeta de una edad, ampliando el rango de cubetas si hace falta.
+     */
+    private TreeMap<Long, Empleado> cubeta(int edad) {
+        if (cubetas.length == 0) {
+            edadMinima = edad;
+            cubetas = nuevasCubetas(1);
+        } else if (edad < edadMinima || (long) edad - edadMinima >= cubetas.length) {
+            int nuevaMinima = Math.min(edad, edadMinima);
+            long amplitud = Math.max((long) edad, (long) edadMinima + cubetas.length - 1) - nuevaMinima + 1;
+            if (amplitud > MAXIMO_CUBETAS) {
+                throw new IllegalArgumentException("Rango de edades demasiado amplio para el índice: " + amplitud);
+            }
+            TreeMap<Long, Empleado>[] ampliadas = nuevasCubetas((int) amplitud);
+            System.arraycopy(cubetas, 0, ampliadas, edadMinima - nuevaMinima, cubetas.length);
+            cubetas = ampliadas;
+            edadMinima = nuevaMinima;
+        }
+        return cubetas[edad - edadMinima];
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static TreeMap<Long, Empleado>[] nuevasCubetas(int cantidad) {
+        TreeMap<Long, Empleado>[] nuevas = (TreeMap<Long, Empleado>[]) new TreeMap<?, ?>[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            nuevas[i] = new TreeMap<>();
+        }
+        return nuevas;
+    }
+    
+    private static List<Empleado> seleccionar(List<Empleado> empleados, int cantidad, boolean descendente) {
+        validarCantidad(cantidad);
+        int limite = Math.min(cantidad, empleados.size());
+        if (limite == 0) {
+            return new ArrayList<>();
+        }
+        int minima = Integer.MAX_VALUE;
+        int maxima = Integer.MIN_VALUE;
+        for (Empleado empleado : empleados) {
+            minima = Math.min(minima, empleado.getEdad());
+            maxima = Math.max(maxima, empleado.getEdad());
+        }
+        if ((long) maxima - minima >= MAXIMO_CUBETAS) {
+            // Edades fuera de escala: se vuelve al ordenamiento estable de siempre
+            Comparator<Empleado> orden = Comparator.comparingInt(Empleado::getEdad);
+            return empleados.stream()
+                    .sorted(descendente ? orden.reversed() : orden)
+                    .limit(limite)
+                    .collect(Collectors.toList());
+        }
+        int amplitud = maxima - minima + 1;
+        int[] conteos = new int[amplitud];
+        for (Empleado empleado : empleados) {
+            conteos[posicion(empleado.getEdad(), minima, amplitud, descendente)]++;
+        }
+        // Cubeta de corte: todas las anteriores entran completas y de ella entran solo algunas
+        int corte = 0;
+        int acumulado = 0;
+        while (acumulado + conteos[corte] < limite) {
+            acumulado += conteos[corte++];
+        }
+        int[] siguientes = new int[corte + 1];
+        for (int i = 1; i <= corte; i++) {
+            siguientes[i] = siguientes[i - 1] + conteos[i - 1];
+        }
+        Empleado[] seleccionados = new Empleado[limite];
+        for (Empleado empleado : empleados) {
+            int cubeta = posicion(empleado.getEdad(), minima, amplitud, descendente);
+            if (cubeta < corte || (cubeta == corte && siguientes[corte] < limite)) {
+                seleccionados[siguientes[cubeta]++] = empleado;
+            }
+        }
+        return new ArrayList<>(Arrays.asList(seleccionados));
+    }
+    
+    private static int posicion(int edad, int minima, int amplitud, boolean descendente) {
+        int posicion = edad - minima;
+        return descendente ? amplitud - 1 - posicion : posicion;
+    }
+    
+    private static void validarCantidad(int cantidad) {
+        if (cantidad < 0) {
+            throw new IllegalArgumentException("La cantidad no puede ser negativa: " + cantidad);
+        }
+    }
+    
+    /**
+     * Secuencia de alta y edad con la que está indexado un empleado, para encontrar su
+     * cubeta aunque la edad se haya modificado por fuera.
+     */
+    private static final class Entrada {
+        private final long secuencia;
+        private int edad;
+        
+        private Entrada(long secuencia, int edad) {
+            this.secuencia = secuencia;
+            this.edad = edad;
+        }
+    }
+}
@@ -1,22 +1,52 @@
 package org.example.caso4.empleados;
 
-import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import org.example.comun.Diccionario;
+
 /**
  * Clase que representa un empleado de una empresa.
  * Usa Lombok para generar automáticamente código boilerplate.
+ * El departamento se guarda como la instancia canónica de {@link #DEPARTAMENTOS}, tanto desde el
+ * constructor y el builder como desde el setter, para no repetir copias del mismo texto.
  */
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
-@Builder
 public class Empleado {
+    
+    /** Diccionario compartido de departamentos. */
+    public static final Diccionario DEPARTAMENTOS = new Diccionario();
+    
     private String nombre;
     private String departamento;
     private double salario;
     private int edad;
+    
+    /**
+     * Crea un empleado con todos sus datos; también lo usa el builder.
+     * 
+     * @param nombre nombre del empleado
+     * @param departamento departamento del empleado
+     * @param salario salario del empleado
+     * @param edad edad en años
+     */
+    @Builder
+    public Empleado(String nombre, String departamento, double salario, int edad) {
+        this.nombre = nombre;
+        this.departamento = DEPARTAMENTOS.canonico(departamento);
+        this.salario = salario;
+        this.edad = edad;
+    }
+    
+    /**
+     * Cambia el departamento, guardando la instancia canónica.
+     * 
+     * @param departamento departamento nuevo
+     */
+    public void setDepartamento(String departamento) {
+        this.departamento = DEPARTAMENTOS.canonico(departamento);
+    }
 }
 
@@ -0,0 +1,46 @@
+package org.example.caso4.empleados;
+
+import org.example.comun.FilaCsv;
+import org.example.comun.IngestaCsv;
+
+/**
+ * Formato CSV de empleados: una fila de encabezado y las columnas
+ * {@code nombre}, {@code departamento}, {@code salario}, {@code edad}, en ese orden, separadas por coma.
+ */
+public final class EmpleadoCsv {
+    
+    /** Encabezado del archivo. */
+    public static final String ENCABEZADO = "nombre,departamento,salario,edad";
+    
+    private static final IngestaCsv<Empleado> INGESTA = IngestaCsv.de(EmpleadoCsv::decodificar);
+    
+    private EmpleadoCsv() {
+    }
+    
+    /**
+     * Devuelve la ingesta de empleados con los tamaños por defecto;
+     * se puede ajustar con sus métodos {@code con...}.
+     * 
+     * @return ingesta de empleados
+     */
+    public static IngestaCsv<Empleado> ingesta() {
+        return INGESTA;
+    }
+    
+    /**
+     * Arma un empleado a partir de una fila.
+     * 
+     * @param fila fila del archivo
+     * @return empleado de la fila
+     * @throws IllegalArgumentException si la fila no tiene 4 campos o un número no es válido
+     */
+    public static Empleado decodificar(FilaCsv fila) {
+        fila.exigirCampos(4);
+        return Empleado.builder()
+                .nombre(fila.texto(0))
+                .departamento(fila.categoria(1, Empleado.DEPARTAMENTOS))
+                .salario(fila.decimal(2))
+                .edad(fila.entero(3))
+                .build();
+    }
+}
@@ -0,0 +1,596 @@
+package org.example.caso4.empleados;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.zip.CRC32;
+
+import org.example.comun.Dinero;
+
+/**
+ * Agregados de nómina mantenidos a partir de eventos de RRHH, sin recalcular desde la
+ * lista completa. Cada evento aplica deltas en O(1) a sumas y cantidades por departamento
+ * y globales; mínimos y máximos y el conjunto de salarios altos se ajustan en O(log n).
+ * Los salarios se guardan en centavos, así que las sumas son exactas.
+ * 
+ * <p>Si se abre sobre un directorio, cada evento se agrega a un registro local antes de
+ * aplicarse, y al reabrir se carga la última instantánea y se reaplican solo los eventos
+ * posteriores. No es thread-safe.
+ */
+public class EmpleadoLedger implements Closeable {
+    
+    /** Salario a partir del cual (exclusivo) un empleado entra en el conjunto de salarios altos. */
+    public static final double UMBRAL_SALARIO_ALTO = 2000;
+    
+    static final String ARCHIVO_INSTANTANEA = "instantanea.bin";
+    static final String ARCHIVO_EVENTOS = "eventos.log";
+    
+    private static final int MAGIA_INSTANTANEA = 0x4C454447;
+    private static final int VERSION = 1;
+    private static final byte CONTRATACION = 1;
+    private static final byte BAJA = 2;
+    private static final byte CAMBIO_SALARIO = 3;
+    private static final byte TRASLADO = 4;
+    /** Cada registro del log empieza con la longitud del contenido y su CRC32. */
+    private static final int CABECERA_REGISTRO = 8;
+    /** Cota de la longitud de un registro: tres cadenas UTF de hasta 64 KB y algunos números. */
+    private static final int MAXIMO_REGISTRO = 256 * 1024;
+    
+    private static final long UMBRAL_ALTO_CENTAVOS = Dinero.aCentavos(UMBRAL_SALARIO_ALTO);
+    private static final Comparator<Registro> POR_SALARIO_DESCENDENTE = Comparator
+            .comparingLong((Registro registro) -> registro.centavos).reversed()
+            .thenComparingLong(registro -> registro.secuencia);
+    
+    private final Map<String, Registro> porNombre = new HashMap<>();
+    private final Map<String, Departamento> departamentos = new HashMap<>();
+    private final TreeSet<Registro> salariosAltos = new TreeSet<>(POR_SALARIO_DESCENDENTE);
+    private long totalCentavos;
+    private long siguienteSecuencia;
+    private long ultimoEvento;
+    
+    private final Path directorio;
+    private FileChannel eventos;
+    
+    /**
+     * Crea un ledger vacío en memoria, sin registro de eventos.
+     */
+    public EmpleadoLedger() {
+        this.directorio = null;
+    }
+    
+    private EmpleadoLedger(Path directorio) {
+        this.directorio = directorio;
+    }
+    
+    /**
+     * Abre un ledger persistente: carga la instantánea del directorio si existe, reaplica los
+     * eventos posteriores del registro y deja el registro abierto para agregar.
+     * Un último evento escrito a medias (por ejemplo tras un corte) se descarta.
+     * 
+     * @param directorio directorio con la instantánea y el registro de eventos
+     * @return ledger restaurado
+     * @throws IOException si no se pueden leer o crear los archivos, o si un evento anterior
+     *                     al último está dañado
+     */
+    public static EmpleadoLedger abrir(Path directorio) throws IOException {
+        Files.createDirectories(directorio);
+        EmpleadoLedger ledger = new EmpleadoLedger(directorio);
+        Path instantanea = directorio.resolve(ARCHIVO_INSTANTANEA);
+        if (Files.exists(instantanea)) {
+            ledger.cargarInstantanea(instantanea);
+        }
+        ledger.eventos = FileChannel.open(directorio.resolve(ARCHIVO_EVENTOS),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ledger.reaplicarEventos();
+        } catch (IOException | RuntimeException e) {
+            ledger.close();
+            throw e;
+        }
+        return ledger;
+    }
+    
+    /**
+     * Aplica un evento. Si el ledger es persistente, primero lo agrega al registro y espera
+     * a que esté en disco; si la escritura falla, el registro queda como estaba.
+     * 
+     * @param evento evento de RRHH
+     * @throws IllegalArgumentException si el evento no es válido para el estado actual
+     * @throws IOException si falla la escritura del registro
+     */
+    public void aplicar(EventoEmpleado evento) throws IOException {
+        validar(evento);
+        if (eventos != null) {
+            escribirEvento(ultimoEvento + 1, evento);
+        }
+        aplicarValidado(evento);
+        ultimoEvento++;
+    }
+    
+    /**
+     * Guarda una instantánea del estado y vacía el registro de eventos. La instantánea se
+     * escribe en un archivo temporal y se reemplaza de forma atómica, así que un corte en
+     * el medio deja la instantánea anterior y el registro completo. El registro se vacía
+     * recién cuando el reemplazo está en disco. Requiere un sistema de archivos que permita
+     * abrir el directorio para sincronizarlo, como los de Linux y macOS.
+     * 
+     * @throws IOException si falla la escritura
+     * @throws IllegalStateException si el ledger no es persistente
+     */
+    public void guardarInstantanea() throws IOException {
+        if (eventos == null) {
+            throw new IllegalStateException("El ledger no tiene directorio de persistencia");
+        }
+        Path temporal = directorio.resolve(ARCHIVO_INSTANTANEA + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(canal)));
+            salida.writeInt(MAGIA_INSTANTANEA);
+            salida.writeInt(VERSION);
+            salida.writeLong(ultimoEvento);
+            salida.writeLong(siguienteSecuencia);
+            List<Registro> registros = new ArrayList<>(porNombre.values());
+            registros.sort(Comparator.comparingLong(registro -> registro.secuencia));
+            salida.writeInt(registros.size());
+            for (Registro registro : registros) {
+                salida.writeUTF(registro.nombre);
+                salida.writeUTF(registro.departamento);
+                salida.writeLong(registro.centavos);
+                salida.writeInt(registro.edad);
+                salida.writeLong(registro.secuencia);
+            }
+            salida.flush();
+            // Sin esto el reemplazo atómico puede llegar al disco antes que el contenido,
+            // y un corte dejaría una instantánea vacía en lugar de la anterior
+            canal.force(true);
+        }
+        Files.move(temporal, directorio.resolve(ARCHIVO_INSTANTANEA),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        // El reemplazo es una entrada del directorio: tiene que estar en disco antes de vaciar
+        // el registro, o un corte podría dejar la instantánea anterior con el registro vacío
+        try (FileChannel carpeta = FileChannel.open(directorio, StandardOpenOption.READ)) {
+            carpeta.force(true);
+        }
+        // Los eventos del registro ya están en la instantánea; si el corte llega antes de
+        // truncar, al reabrir se saltean por número
+        eventos.truncate(0);
+        eventos.force(true);
+    }
+    
+    /**
+     * Devuelve la cantidad de empleados activos.
+     * 
+     * @return cantidad de empleados
+     */
+    public int cantidad() {
+        return porNombre.size();
+    }
+    
+    /**
+     * Devuelve la cantidad de eventos aplicados desde el origen del ledger.
+     * 
+     * @return número del último evento aplicado
+     */
+    public long eventosAplicados() {
+        return ultimoEvento;
+    }
+    
+    /**
+     * Devuelve la suma de salarios por departamento, como
+     * {@link EmpleadoService#calcularSalariosPorDepartamento(List)}.
+     * 
+     * @return mapa con departamento y suma total de salarios
+     */
+    public Map<String, Double> salariosPorDepartamento() {
+        Map<String, Double> totales = new HashMap<>();
+        departamentos.forEach((nombre, departamento) -> totales.put(nombre, Dinero.aMonto(departamento.totalCentavos)));
+        return totales;
+    }
+    
+    /**
+     * Devuelve el resumen de un departamento.
+     * 
+     * @param departamento nombre del departamento
+     * @return Optional con el resumen, o empty si no tiene empleados
+     */
+    public Optional<ResumenDepartamento> resumen(String departamento) {
+        Departamento datos = departamentos.get(departamento);
+        if (datos == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new ResumenDepartamento(datos.cantidad, Dinero.aMonto(datos.totalCentavos),
+                Dinero.aMonto(datos.salarios.firstKey()), Dinero.aMonto(datos.salarios.lastKey())));
+    }
+    
+    /**
+     * Devuelve el salario promedio de todos los empleados activos.
+     * 
+     * @return salario promedio, o 0.0 si no hay empleados
+     */
+    public double salarioPromedio() {
+        return porNombre.isEmpty() ? 0.0 : Dinero.aMonto(totalCentavos) / porNombre.size();
+    }
+    
+    /**
+     * Devuelve los empleados con salario mayor a {@link #UMBRAL_SALARIO_ALTO}, ordenados
+     * por salario descendente y, ante empates, por orden de contratación.
+     * 
+     * @return nuevos objetos {@link Empleado} con los datos actuales
+     */
+    public List<Empleado> empleadosSalarioAlto() {
+        List<Empleado> resultado = new ArrayList<>(salariosAltos.size());
+        for (Registro registro : salariosAltos) {
+            resultado.add(registro.aEmpleado());
+        }
+        return resultado;
+    }
+    
+    /**
+     * Devuelve los empleados activos en orden de contratación.
+     * 
+     * @return nuevos objetos {@link Empleado} con los datos actuales
+     */
+    public List<Empleado> empleados() {
+        List<Registro> registros = new ArrayList<>(porNombre.values());
+        registros.sort(Comparator.comparingLong(registro -> registro.secuencia));
+        List<Empleado> resultado = new ArrayList<>(registros.size());
+        for (Registro registro : registros) {
+            resultado.add(registro.aEmpleado());
+        }
+        return resultado;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        if (eventos != null) {
+            eventos.close();
+        }
+    }
+    
+    /**
+     * Resumen de los salarios de un departamento.
+     * 
+     * @param cantidad cantidad de empleados
+     * @param total suma de salarios
+     * @param minimo salario mínimo
+     * @param maximo salario máximo
+     */
+    public record ResumenDepartamento(long cantidad, double total, double minimo, double maximo) {
+        
+        /**
+         * Devuelve el salario promedio del departamento.
+         * 
+         * @return salario promedio
+         */
+        public double promedio() {
+            return total / cantidad;
+        }
+    }
+    
+    private void validar(EventoEmpleado evento) {
+        Objects.requireNonNull(evento, "El evento no puede ser null");
+        Objects.requireNonNull(evento.nombre(), "El nombre no puede ser null");
+        switch (evento) {
+            case EventoEmpleado.Contratacion contratacion -> {
+                if (porNombre.containsKey(contratacion.nombre())) {
+                    throw new IllegalArgumentException("El empleado ya existe: " + contratacion.nombre());
+                }
+                Objects.requireNonNull(contratacion.departamento(), "El departamento no puede ser null");
+                long centavos = Dinero.aCentavos(contratacion.salario());
+                verificarTotales(contratacion.departamento(), 0, centavos);
+            }
+            case EventoEmpleado.Baja baja -> {
+                Registro registro = registro(baja.nombre());
+                verificarTotales(registro.departamento, registro.centavos, 0);
+            }
+            case EventoEmpleado.CambioSalario cambio -> {
+                Registro registro = registro(cambio.nombre());
+                verificarTotales(registro.departamento, registro.centavos, Dinero.aCentavos(cambio.salario()));
+            }
+            case EventoEmpleado.Traslado traslado -> {
+                Registro registro = registro(traslado.nombre());
+                Objects.requireNonNull(traslado.departamento(), "El departamento no puede ser null");
+                verificarTotales(registro.departamento, registro.centavos, 0);
+                verificarTotales(traslado.departamento(), 0, registro.centavos);
+            }
+        }
+    }
+    
+    /**
+     * Verifica que quitar {@code quitados} y sumar {@code agregados} centavos no desborde el
+     * total global ni el del departamento. Se hace antes de escribir el evento, así aplicarlo
+     * después no puede fallar a mitad de camino ni dejar en el registro un evento que no se
+     * podría reaplicar al reabrir.
+     */
+    private void verificarTotales(String departamento, long quitados, long agregados) {
+        Departamento actual = departamentos.get(departamento);
+        try {
+            Dinero.sumar(Math.subtractExact(totalCentavos, quitados), agregados);
+            Dinero.sumar(Math.subtractExact(actual == null ? 0 : actual.totalCentavos, quitados), agregados);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("La suma de salarios quedaría fuera de rango", e);
+        }
+    }
+    
+    private void aplicarValidado(EventoEmpleado evento) {
+        switch (evento) {
+            case EventoEmpleado.Contratacion contratacion -> agregar(new Registro(contratacion.nombre(),
+                    contratacion.departamento(), Dinero.aCentavos(contratacion.salario()), contratacion.edad(),
+                    siguienteSecuencia++));
+            case EventoEmpleado.Baja baja -> quitar(registro(baja.nombre()));
+            case EventoEmpleado.CambioSalario cambio -> {
+                Registro registro = registro(cambio.nombre());
+                quitar(registro);
+                registro.centavos = Dinero.aCentavos(cambio.salario());
+                agregar(registro);
+            }
+            case EventoEmpleado.Traslado traslado -> {
+                Registro registro = registro(traslado.nombre());
+                quitar(registro);
+                registro.departamento = traslado.departamento();
+                agregar(registro);
+            }
+        }
+    }
+    
+    private Registro registro(String nombre) {
+        Registro registro = porNombre.get(nombre);
+        if (registro == null) {
+            throw new IllegalArgumentException("Empleado inexistente: " + nombre);
+        }
+        return registro;
+    }
+    
+    private void agregar(Registro registro) {
+        porNombre.put(registro.nombre, registro);
+        departamentos.computeIfAbsent(registro.departamento, clave -> new Departamento()).agregar(registro.centavos);
+        // validar ya comprobó que las sumas no desbordan
+        totalCentavos += registro.centavos;
+        if (registro.centavos > UMBRAL_ALTO_CENTAVOS) {
+            salariosAltos.add(registro);
+        }
+    }
+    
+    private void quitar(Registro registro) {
+        // Se quita del conjunto antes de cambiar el salario, que es parte de su orden
+        salariosAltos.remove(registro);
+        porNombre.remove(registro.nombre);
+        Departamento departamento = departamentos.get(registro.departamento);
+        departamento.quitar(registro.centavos);
+        if (departamento.cantidad == 0) {
+            departamentos.remove(registro.departamento);
+        }
+        totalCentavos -= registro.centavos;
+    }
+    
+    private void escribirEvento(long numero, EventoEmpleado evento) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream datos = new DataOutputStream(bytes);
+        datos.writeInt(0);
+        datos.writeInt(0);
+        datos.writeLong(numero);
+        switch (evento) {
+            case EventoEmpleado.Contratacion contratacion -> {
+                datos.writeByte(CONTRATACION);
+                datos.writeUTF(contratacion.nombre());
+                datos.writeUTF(contratacion.departamento());
+                datos.writeLong(Dinero.aCentavos(contratacion.salario()));
+                datos.writeInt(contratacion.edad());
+            }
+            case EventoEmpleado.Baja baja -> {
+                datos.writeByte(BAJA);
+                datos.writeUTF(baja.nombre());
+            }
+            case EventoEmpleado.CambioSalario cambio -> {
+                datos.writeByte(CAMBIO_SALARIO);
+                datos.writeUTF(cambio.nombre());
+                datos.writeLong(Dinero.aCentavos(cambio.salario()));
+            }
+            case EventoEmpleado.Traslado traslado -> {
+                datos.writeByte(TRASLADO);
+                datos.writeUTF(traslado.nombre());
+                datos.writeUTF(traslado.departamento());
+            }
+        }
+        ByteBuffer registro = ByteBuffer.wrap(bytes.toByteArray());
+        // La longitud detecta un registro cortado y el CRC, uno con el tamaño en disco pero
+        // no todo su contenido, o dañado después
+        CRC32 crc = new CRC32();
+        crc.update(registro.array(), CABECERA_REGISTRO, registro.capacity() - CABECERA_REGISTRO);
+        registro.putInt(0, registro.capacity() - CABECERA_REGISTRO);
+        registro.putInt(4, (int) crc.getValue());
+        long tamanioPrevio = eventos.size();
+        try {
+            eventos.position(tamanioPrevio);
+            while (registro.hasRemaining()) {
+                eventos.write(registro);
+            }
+            // El evento se aplica recién cuando está en disco; force(false) igual baja el
+            // nuevo tamaño del archivo, que hace falta para leer lo agregado
+            eventos.force(false);
+        } catch (IOException e) {
+            // Un registro a medias en el medio del archivo taparía a los siguientes al reabrir
+            try {
+                eventos.truncate(tamanioPrevio);
+            } catch (IOException suprimida) {
+                e.addSuppressed(suprimida);
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * Reaplica los eventos del registro posteriores a la instantánea. Solo el último registro
+     * puede estar incompleto, porque una escritura fallida se deshace en el momento: ese se
+     * descarta. Un registro dañado antes del final no se saltea, porque se perderían los
+     * eventos válidos que lo siguen.
+     */
+    private void reaplicarEventos() throws IOException {
+        long posicion = 0;
+        long tamanio = eventos.size();
+        ByteBuffer cabecera = ByteBuffer.allocate(CABECERA_REGISTRO);
+        CRC32 crc = new CRC32();
+        while (posicion + CABECERA_REGISTRO <= tamanio) {
+            cabecera.clear();
+            leer(cabecera, posicion);
+            int bytes = cabecera.getInt(0);
+            long fin = posicion + CABECERA_REGISTRO + bytes;
+            if (bytes <= 0 || bytes > MAXIMO_REGISTRO) {
+                // Un corte puede dejar el archivo agrandado con ceros al final; otra cosa es daño
+                if (soloCeros(posicion, tamanio)) {
+                    break;
+                }
+                throw registroDaniado(posicion);
+            }
+            if (fin > tamanio) {
+                break;
+            }
+            ByteBuffer contenido = ByteBuffer.allocate(bytes);
+            leer(contenido, posicion + CABECERA_REGISTRO);
+            crc.reset();
+            crc.update(contenido.array());
+            if ((int) crc.getValue() != cabecera.getInt(4)) {
+                if (fin == tamanio) {
+                    break;
+                }
+                throw registroDaniado(posicion);
+            }
+            DataInputStream datos = new DataInputStream(new ByteArrayInputStream(contenido.array()));
+            long numero = datos.readLong();
+            EventoEmpleado evento = leerEvento(datos);
+            if (numero > ultimoEvento) {
+                aplicarValidado(evento);
+                ultimoEvento = numero;
+            }
+            posicion = fin;
+        }
+        // Descarta un último registro incompleto para que los siguientes queden alineados
+        if (posicion < tamanio) {
+            eventos.truncate(posicion);
+            eventos.force(true);
+        }
+    }
+    
+    private void leer(ByteBuffer destino, long posicion) throws IOException {
+        while (destino.hasRemaining()) {
+            if (eventos.read(destino, posicion + destino.position()) < 0) {
+                throw new EOFException("Fin inesperado del registro de eventos");
+            }
+        }
+    }
+    
+    private boolean soloCeros(long desde, long hasta) throws IOException {
+        ByteBuffer bloque = ByteBuffer.allocate(8192);
+        for (long posicion = desde; posicion < hasta; posicion += bloque.limit()) {
+            bloque.clear().limit((int) Math.min(bloque.capacity(), hasta - posicion));
+            leer(bloque, posicion);
+            for (int i = 0; i < bloque.limit(); i++) {
+                if (bloque.get(i) != 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+    
+    private IOException registroDaniado(long posicion) {
+        return new IOException("Registro de eventos dañado en la posición " + posicion
+                + " de " + directorio.resolve(ARCHIVO_EVENTOS));
+    }
+    
+    private static EventoEmpleado leerEvento(DataInputStream datos) throws IOException {
+        byte tipo = datos.readByte();
+        return switch (tipo) {
+            case CONTRATACION -> new EventoEmpleado.Contratacion(datos.readUTF(), datos.readUTF(),
+                    Dinero.aMonto(datos.readLong()), datos.readInt());
+            case BAJA -> new EventoEmpleado.Baja(datos.readUTF());
+            case CAMBIO_SALARIO -> new EventoEmpleado.CambioSalario(datos.readUTF(), Dinero.aMonto(datos.readLong()));
+            case TRASLADO -> new EventoEmpleado.Traslado(datos.readUTF(), datos.readUTF());
+            default -> throw new IOException("Tipo de evento desconocido en el registro: " + tipo);
+        };
+    }
+    
+    private void cargarInstantanea(Path instantanea) throws IOException {
+        try (DataInputStream entrada = new DataInputStream(new BufferedInputStream(
+                Files.newInputStream(instantanea)))) {
+            if (entrada.readInt() != MAGIA_INSTANTANEA || entrada.readInt() != VERSION) {
+                throw new IOException("Instantánea de nómina inválida: " + instantanea);
+            }
+            ultimoEvento = entrada.readLong();
+            siguienteSecuencia = entrada.readLong();
+            int cantidad = entrada.readInt();
+            for (int i = 0; i < cantidad; i++) {
+                agregar(new Registro(entrada.readUTF(), entrada.readUTF(), entrada.readLong(),
+                        entrada.readInt(), entrada.readLong()));
+            }
+        }
+    }
+    
+    /**
+     * Estado actual de un empleado. El salario y el departamento cambian con los eventos;
+     * la secuencia de contratación desempata el orden.
+     */
+    private static final class Registro {
+        private final String nombre;
+        private String departamento;
+        private long centavos;
+        private final int edad;
+        private final long secuencia;
+        
+        private Registro(String nombre, String departamento, long centavos, int edad, long secuencia) {
+            this.nombre = nombre;
+            this.departamento = departamento;
+            this.centavos = centavos;
+            this.edad = edad;
+            this.secuencia = secuencia;
+        }
+        
+        private Empleado aEmpleado() {
+            return new Empleado(nombre, departamento, Dinero.aMonto(centavos), edad);
+        }
+    }
+    
+    /**
+     * Agregados de un departamento: cantidad y suma en O(1) y los salarios como multiconjunto
+     * ordenado para mínimo y máximo.
+     */
+    private static final class Departamento {
+        private long cantidad;
+        private long totalCentavos;
+        private final TreeMap<Long, Integer> salarios = new TreeMap<>();
+        
+        private void agregar(long centavos) {
+            cantidad++;
+            totalCentavos += centavos;
+            salarios.merge(centavos, 1, Integer::sum);
+        }
+        
+        private void quitar(long centavos) {
+            cantidad--;
+            totalCentavos -= centavos;
+            salarios.computeIfPresent(centavos, (clave, veces) -> veces == 1 ? null : veces - 1);
+        }
+    }
+}
@@ -1,16 +1,58 @@
 package org.example.caso4.empleados;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
 
+import org.example.comun.Dinero;
+import org.example.comun.CacheResultados;
+import org.example.comun.DatosVersionados;
+import org.example.comun.EstrategiaEjecucion;
+import org.example.comun.OrdenIncremental;
+import org.example.comun.TotalesCentavos;
+
 /**
  * Servicio que implementa operaciones funcionales sobre empleados.
  * Demuestra el uso de groupingBy con downstream collectors y operaciones de límite.
+ * Las consultas sobre listas corren según la {@link EstrategiaEjecucion} del servicio.
  */
 public class EmpleadoService {
     
+    private final EstrategiaEjecucion estrategia;
+    private final CacheResultados cache;
+    
+    /**
+     * Crea el servicio con ejecución secuencial.
+     */
+    public EmpleadoService() {
+        this(EstrategiaEjecucion.secuencial());
+    }
+    
+    /**
+     * Crea el servicio con la estrategia de ejecución indicada.
+     * 
+     * @param estrategia estrategia para las consultas sobre listas
+     */
+    public EmpleadoService(EstrategiaEjecucion estrategia) {
+        this(estrategia, CacheResultados.sinCache());
+    }
+    
+    /**
+     * Crea el servicio con la estrategia de ejecución y la cache de resultados indicadas.
+     * La cache solo se usa en las consultas sobre {@link DatosVersionados}.
+     * 
+     * @param estrategia estrategia para las consultas sobre listas
+     * @param cache cache para los resultados de las consultas sobre datos versionados
+     */
+    public EmpleadoService(EstrategiaEjecucion estrategia, CacheResultados cache) {
+        this.estrategia = estrategia;
+        this.cache = cache;
+    }
+    
     /**
      * Lista empleados con salario mayor a 2000, ordenados por salario descendente.
      * 
@@ -18,37 +60,132 @@ public class EmpleadoService {
      * @return lista de empleados con salario alto ordenados
      */
     public List<Empleado> listarEmpleadosSalarioAlto(List<Empleado> empleados) {
-        return empleados.stream()
+        return ordenarEmpleadosSalarioAlto(empleados).aLista();
+    }
+    
+    /**
+     * Versión perezosa de {@link #listarEmpleadosSalarioAlto}: filtra en O(n) y ordena solo
+     * lo que se va pidiendo, así que la primera página de k empleados cuesta O(n + k log k).
+     * El resultado se puede paginar varias veces sin volver a filtrar.
+     * 
+     * @param empleados lista de empleados
+     * @return empleados con salario alto en orden de salario descendente, calculado a demanda
+     */
+    public OrdenIncremental<Empleado> ordenarEmpleadosSalarioAlto(List<Empleado> empleados) {
+        List<Empleado> candidatos = estrategia.ejecutar(empleados, stream -> stream
                 .filter(empleado -> empleado.getSalario() > 2000)
-                .sorted(Comparator.comparingDouble(Empleado::getSalario).reversed())
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
+        return OrdenIncremental.de(candidatos, Comparator.comparingDouble(Empleado::getSalario).reversed());
     }
     
     /**
      * Calcula el salario promedio general de todos los empleados.
+     * Suma en centavos enteros, así que el resultado es el mismo en secuencial o en paralelo.
+     * Cada salario se redondea antes al centavo más cercano, así que las fracciones de centavo
+     * no cuentan.
      * 
      * @param empleados lista de empleados
      * @return salario promedio, o 0.0 si la lista está vacía
+     * @throws IllegalArgumentException si algún salario es NaN, infinito o no cabe en centavos
      */
     public double calcularSalarioPromedio(List<Empleado> empleados) {
-        return empleados.stream()
-                .mapToDouble(Empleado::getSalario)
-                .average()
-                .orElse(0.0);
+        if (empleados.isEmpty()) {
+            return 0.0;
+        }
+        long total = estrategia.ejecutar(empleados, stream -> stream
+                .mapToLong(EmpleadoService::salarioEnCentavos)
+                .reduce(0, Dinero::sumar));
+        return Dinero.aMonto(total) / empleados.size();
     }
     
     /**
      * Agrupa empleados por departamento y calcula la suma de salarios de cada uno.
+     * Suma en centavos enteros, así que los totales son exactos al centavo; cada salario se
+     * redondea antes al centavo más cercano.
      * 
      * @param empleados lista de empleados
      * @return mapa con departamento y suma total de salarios
+     * @throws IllegalArgumentException si algún salario es NaN, infinito o no cabe en centavos
      */
     public Map<String, Double> calcularSalariosPorDepartamento(List<Empleado> empleados) {
-        return empleados.stream()
-                .collect(Collectors.groupingBy(
-                        Empleado::getDepartamento,
-                        Collectors.summingDouble(Empleado::getSalario)
-                ));
+        return totalesPorDepartamento(empleados).enMontos();
+    }
+    
+    /**
+     * Calcula la suma de salarios por departamento sobre datos versionados, reutilizando el
+     * resultado de la cache del servicio mientras los empleados no cambien.
+     * 
+     * @param empleados empleados versionados
+     * @return mapa de solo lectura con departamento y suma total de salarios
+     * @throws IllegalArgumentException si algún salario es NaN, infinito o no cabe en centavos
+     */
+    public Map<String, Double> calcularSalariosPorDepartamento(DatosVersionados<Empleado> empleados) {
+        return cache.obtener("empleados.salariosPorDepartamento", empleados,
+                () -> Map.copyOf(calcularSalariosPorDepartamento(empleados.vista())));
+    }
+    
+    /**
+     * Calcula la suma de salarios por departamento de un archivo CSV (ver {@link EmpleadoCsv})
+     * leído por bloques, sin cargarlo entero. Suma en centavos enteros, igual que sobre la lista.
+     * 
+     * @param archivo archivo CSV de empleados
+     * @return mapa con departamento y suma total de salarios
+     * @throws IOException si falla la lectura o una fila no es válida
+     * @throws IllegalArgumentException si algún salario es NaN, infinito o no cabe en centavos
+     */
+    public Map<String, Double> calcularSalariosPorDepartamento(Path archivo) throws IOException {
+        return EmpleadoCsv.ingesta().recolectar(archivo, Collector.of(
+                TotalesCentavos::new,
+                (totales, empleado) -> totales.agregar(empleado.getDepartamento(), salarioEnCentavos(empleado)),
+                TotalesCentavos::combinar)).enMontos();
+    }
+    
+    /**
+     * Calcula la suma de salarios por departamento en paralelo. El resultado es idéntico
+     * bit a bit al secuencial con cualquier cantidad de hilos. Corre en el pool de la estrategia,
+     * si tiene uno. Cada salario se redondea antes al centavo más cercano.
+     * 
+     * @param empleados lista de empleados
+     * @return mapa con departamento y suma total de salarios
+     * @throws IllegalArgumentException si algún salario es NaN, infinito o no cabe en centavos
+     */
+    public Map<String, Double> calcularSalariosPorDepartamentoEnParalelo(List<Empleado> empleados) {
+        return estrategia.enPool(() -> TotalesCentavos.calcularEnParalelo(empleados, Empleado::getDepartamento,
+                EmpleadoService::salarioEnCentavos)).enMontos();
+    }
+    
+    /**
+     * Calcula la suma exacta de salarios por departamento en centavos, con cada salario
+     * redondeado al centavo más cercano.
+     * 
+     * @param empleados lista de empleados
+     * @return mapa con departamento y suma total de salarios en centavos
+     * @throws IllegalArgumentException si algún salario es NaN, infinito o no cabe en centavos
+     */
+    public Map<String, Long> calcularSalariosPorDepartamentoEnCentavos(List<Empleado> empleados) {
+        return totalesPorDepartamento(empleados).enCentavos();
+    }
+    
+    private TotalesCentavos totalesPorDepartamento(List<Empleado> empleados) {
+        return estrategia.elegir(empleados.size(),
+                () -> TotalesCentavos.calcular(empleados, Empleado::getDepartamento, EmpleadoService::salarioEnCentavos),
+                () -> TotalesCentavos.calcularEnParalelo(empleados, Empleado::getDepartamento,
+                        EmpleadoService::salarioEnCentavos));
+    }
+    
+    /**
+     * Devuelve la suma de salarios por departamento mantenida por un ledger de eventos,
+     * sin recorrer la lista de empleados.
+     * 
+     * @param ledger ledger de nómina
+     * @return mapa con departamento y suma total de salarios
+     */
+    public Map<String, Double> calcularSalariosPorDepartamento(EmpleadoLedger ledger) {
+        return ledger.salariosPorDepartamento();
+    }
+    
+    private static long salarioEnCentavos(Empleado empleado) {
+        return Dinero.aCentavos(empleado.getSalario());
     }
     
     /**
@@ -58,11 +195,47 @@ public class EmpleadoService {
      * @return lista con los nombres de los 2 empleados más jóvenes
      */
     public List<String> obtenerEmpleadosMasJovenes(List<Empleado> empleados) {
-        return empleados.stream()
-                .sorted(Comparator.comparingInt(Empleado::getEdad))
-                .limit(2)
+        return EdadIndex.seleccionarMasJovenes(empleados, 2).stream()
                 .map(Empleado::getNombre)
                 .collect(Collectors.toList());
     }
+    
+    /**
+     * Obtiene los nombres de los N empleados más jóvenes de un índice mantenido por edad.
+     * 
+     * @param indice índice de empleados por edad
+     * @param cantidad cantidad de empleados
+     * @return nombres ordenados por edad ascendente
+     */
+    public List<String> obtenerEmpleadosMasJovenes(EdadIndex indice, int cantidad) {
+        return indice.masJovenes(cantidad).stream()
+                .map(Empleado::getNombre)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Obtiene los nombres de los N empleados mayores de un índice mantenido por edad.
+     * 
+     * @param indice índice de empleados por edad
+     * @param cantidad cantidad de empleados
+     * @return nombres ordenados por edad descendente
+     */
+    public List<String> obtenerEmpleadosMayores(EdadIndex indice, int cantidad) {
+        return indice.mayores(cantidad).stream()
+                .map(Empleado::getNombre)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Lista los empleados con edad entre dos valores inclusive, de menor a mayor edad.
+     * 
+     * @param indice índice de empleados por edad
+     * @param desde edad mínima
+     * @param hasta edad máxima
+     * @return empleados del rango
+     */
+    public List<Empleado> listarEmpleadosPorRangoDeEdad(EdadIndex indice, int desde, int hasta) {
+        return indice.entreEdades(desde, hasta);
+    }
 }
 
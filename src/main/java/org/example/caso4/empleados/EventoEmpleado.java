@@ -0,0 +1,60 @@
+package org.example.caso4.empleados;
+
+/**
+ * Cambio de RRHH que consume {@link EmpleadoLedger}: contratación, baja, cambio de salario
+ * o traslado de departamento. Los empleados se identifican por nombre.
+ */
+public sealed interface EventoEmpleado {
+    
+    /**
+     * Devuelve el nombre del empleado afectado.
+     * 
+     * @return nombre del empleado
+     */
+    String nombre();
+    
+    /**
+     * Alta de un empleado nuevo.
+     * 
+     * @param nombre nombre del empleado
+     * @param departamento departamento inicial
+     * @param salario salario inicial
+     * @param edad edad del empleado
+     */
+    record Contratacion(String nombre, String departamento, double salario, int edad) implements EventoEmpleado {
+        
+        /**
+         * Crea la contratación con los datos de un empleado.
+         * 
+         * @param empleado empleado contratado
+         * @return evento de contratación
+         */
+        public static Contratacion de(Empleado empleado) {
+            return new Contratacion(empleado.getNombre(), empleado.getDepartamento(),
+                    empleado.getSalario(), empleado.getEdad());
+        }
+    }
+    
+    /**
+     * Baja de un empleado.
+     * 
+     * @param nombre nombre del empleado
+     */
+    record Baja(String nombre) implements EventoEmpleado {}
+    
+    /**
+     * Cambio de salario, por ejemplo un aumento.
+     * 
+     * @param nombre nombre del empleado
+     * @param salario nuevo salario
+     */
+    record CambioSalario(String nombre, double salario) implements EventoEmpleado {}
+    
+    /**
+     * Traslado a otro departamento.
+     * 
+     * @param nombre nombre del empleado
+     * @param departamento nuevo departamento
+     */
+    record Traslado(String nombre, String departamento) implements EventoEmpleado {}
+}
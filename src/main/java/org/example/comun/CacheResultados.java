@@ -0,0 +1,472 @@
+package org.example.comun;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Cache de resultados de consultas sobre {@link DatosVersionados}. Cada resultado se guarda
+ * con la versión de los datos con que se calculó: si los datos cambian, la próxima consulta
+ * no lo encuentra, lo descarta y lo vuelve a calcular.
+ * 
+ * <p>Los pedidos simultáneos de una consulta que no está en la cache esperan un único cálculo.
+ * Cuando el peso total supera el máximo se desaloja según la política: {@link Politica#LRU} o
+ * {@link Politica#W_TINY_LFU}, que además de la recencia tiene en cuenta la frecuencia de uso
+ * y resiste mejor los recorridos de consultas que se piden una sola vez.
+ * 
+ * <p>Los resultados guardados se comparten entre quienes los piden, así que deben ser de
+ * solo lectura. Es thread-safe.
+ */
+public final class CacheResultados {
+    
+    /** Política de desalojo. */
+    public enum Politica {
+        /** Desaloja la entrada usada hace más tiempo. */
+        LRU,
+        /**
+         * Ventana LRU chica seguida de un LRU segmentado; una entrada que sale de la ventana
+         * solo entra al segmento principal si se usó más que la que tendría que desalojar.
+         */
+        W_TINY_LFU
+    }
+    
+    /**
+     * Contadores de la cache desde que se creó.
+     * 
+     * @param aciertos consultas respondidas desde la cache
+     * @param fallos consultas que no estaban en la cache, incluidas las que esperaron un cálculo en curso
+     * @param cargas cálculos ejecutados
+     * @param desalojos entradas quitadas por falta de espacio
+     * @param invalidaciones entradas descartadas porque sus datos cambiaron
+     * @param entradas entradas guardadas
+     * @param peso peso total de las entradas guardadas
+     */
+    public record Estadisticas(long aciertos, long fallos, long cargas, long desalojos, long invalidaciones,
+                               long entradas, long peso) {
+        
+        /**
+         * Proporción de consultas respondidas desde la cache.
+         * 
+         * @return tasa de aciertos entre 0 y 1, o 0 si no hubo consultas
+         */
+        public double tasaAciertos() {
+            long total = aciertos + fallos;
+            return total == 0 ? 0.0 : (double) aciertos / total;
+        }
+    }
+    
+    private final Politica politica;
+    private final long pesoMaximo;
+    private final long pesoMaximoVentana;
+    private final long pesoMaximoProtegido;
+    private final ToLongFunction<Object> pesador;
+    
+    private final Map<ClaveConsulta, Nodo> entradas = new HashMap<>();
+    private final Lista ventana = new Lista();
+    private final Lista prueba = new Lista();
+    private final Lista protegido = new Lista();
+    private final Frecuencias frecuencias;
+    private long pesoTotal;
+    
+    private final Map<ClaveCarga, CompletableFuture<Object>> cargasEnCurso = new ConcurrentHashMap<>();
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder cargas = new LongAdder();
+    private long desalojos;
+    private long invalidaciones;
+    
+    private CacheResultados(Politica politica, long pesoMaximo, ToLongFunction<Object> pesador) {
+        if (pesoMaximo < 0) {
+            throw new IllegalArgumentException("El peso máximo no puede ser negativo: " + pesoMaximo);
+        }
+        this.politica = Objects.requireNonNull(politica, "La política no puede ser null");
+        this.pesador = Objects.requireNonNull(pesador, "El pesador no puede ser null");
+        this.pesoMaximo = pesoMaximo;
+        if (politica == Politica.LRU) {
+            this.pesoMaximoVentana = pesoMaximo;
+            this.pesoMaximoProtegido = 0;
+        } else {
+            this.pesoMaximoVentana = Math.max(1, pesoMaximo / 100);
+            this.pesoMaximoProtegido = (pesoMaximo - pesoMaximoVentana) * 4 / 5;
+        }
+        this.frecuencias = politica == Politica.W_TINY_LFU ? new Frecuencias(pesoMaximo) : null;
+    }
+    
+    /**
+     * Cache LRU con una cantidad máxima de entradas.
+     * 
+     * @param maximoEntradas cantidad máxima de resultados guardados
+     * @return cache LRU
+     */
+    public static CacheResultados lru(long maximoEntradas) {
+        return new CacheResultados(Politica.LRU, maximoEntradas, resultado -> 1);
+    }
+    
+    /**
+     * Cache W-TinyLFU con una cantidad máxima de entradas.
+     * 
+     * @param maximoEntradas cantidad máxima de resultados guardados
+     * @return cache W-TinyLFU
+     */
+    public static CacheResultados wTinyLfu(long maximoEntradas) {
+        return new CacheResultados(Politica.W_TINY_LFU, maximoEntradas, resultado -> 1);
+    }
+    
+    /**
+     * Cache con un peso máximo, donde cada resultado pesa lo que indica el pesador.
+     * Un resultado que pesa más que el máximo se devuelve pero no se guarda.
+     * 
+     * @param politica política de desalojo
+     * @param pesoMaximo peso total máximo
+     * @param pesador peso de cada resultado; debe ser positivo
+     * @return cache con límite de peso
+     */
+    public static CacheResultados conPeso(Politica politica, long pesoMaximo, ToLongFunction<Object> pesador) {
+        return new CacheResultados(politica, pesoMaximo, pesador);
+    }
+    
+    /**
+     * Cache que no guarda nada; solo une los cálculos simultáneos de una misma consulta.
+     * 
+     * @return cache vacía
+     */
+    public static CacheResultados sinCache() {
+        return new CacheResultados(Politica.LRU, 0, resultado -> 1);
+    }
+    
+    /**
+     * Pesador que cuenta los elementos de los mapas y colecciones, y 1 para los demás resultados.
+     * 
+     * @param resultado resultado a pesar
+     * @return peso del resultado, al menos 1
+     */
+    public static long pesoPorElementos(Object resultado) {
+        if (resultado instanceof Map<?, ?> mapa) {
+            return Math.max(1, mapa.size());
+        }
+        if (resultado instanceof Collection<?> coleccion) {
+            return Math.max(1, coleccion.size());
+        }
+        return 1;
+    }
+    
+    /**
+     * Devuelve el resultado de una consulta sobre la versión actual de los datos, calculándolo
+     * si no está en la cache. El nombre de la consulta identifica la operación, y con él el tipo
+     * del resultado; los datos los identifica su {@link DatosVersionados#id()}.
+     * 
+     * @param consulta nombre de la consulta
+     * @param datos datos sobre los que corre la consulta
+     * @param calculo cálculo del resultado; no puede devolver null
+     * @param <R> tipo del resultado
+     * @return resultado de la consulta
+     */
+    @SuppressWarnings("unchecked")
+    public <R> R obtener(String consulta, DatosVersionados<?> datos, Supplier<? extends R> calculo) {
+        Objects.requireNonNull(consulta, "La consulta no puede ser null");
+        ClaveCarga clave = new ClaveCarga(new ClaveConsulta(consulta, datos.id()), datos.version());
+        Object guardado = buscar(clave, true);
+        if (guardado != null) {
+            aciertos.increment();
+            return (R) guardado;
+        }
+        fallos.increment();
+        CompletableFuture<Object> propia = new CompletableFuture<>();
+        CompletableFuture<Object> enCurso = cargasEnCurso.putIfAbsent(clave, propia);
+        if (enCurso != null) {
+            return (R) esperar(enCurso);
+        }
+        try {
+            // Otra carga pudo terminar entre la búsqueda y el registro de esta
+            Object resultado = buscar(clave, false);
+            if (resultado == null) {
+                cargas.increment();
+                resultado = Objects.requireNonNull(calculo.get(), "El resultado de la consulta no puede ser null");
+                guardar(clave, resultado);
+            }
+            propia.complete(resultado);
+            return (R) resultado;
+        } catch (RuntimeException | Error error) {
+            propia.completeExceptionally(error);
+            throw error;
+        } finally {
+            cargasEnCurso.remove(clave, propia);
+        }
+    }
+    
+    private static Object esperar(CompletableFuture<Object> carga) {
+        try {
+            return carga.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException error) {
+                throw error;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * Quita todas las entradas, sin contarlas como desalojos.
+     */
+    public synchronized void limpiar() {
+        entradas.clear();
+        ventana.vaciar();
+        prueba.vaciar();
+        protegido.vaciar();
+        pesoTotal = 0;
+    }
+    
+    /**
+     * Devuelve una foto de los contadores.
+     * 
+     * @return estadísticas de la cache
+     */
+    public synchronized Estadisticas estadisticas() {
+        return new Estadisticas(aciertos.sum(), fallos.sum(), cargas.sum(), desalojos, invalidaciones,
+                entradas.size(), pesoTotal);
+    }
+    
+    private synchronized Object buscar(ClaveCarga clave, boolean registrarUso) {
+        if (registrarUso && frecuencias != null) {
+            frecuencias.registrar(clave.consulta());
+        }
+        Nodo nodo = entradas.get(clave.consulta());
+        if (nodo == null) {
+            return null;
+        }
+        if (nodo.version != clave.version()) {
+            if (nodo.version < clave.version()) {
+                quitar(nodo);
+                invalidaciones++;
+            }
+            return null;
+        }
+        usar(nodo);
+        return nodo.resultado;
+    }
+    
+    private synchronized void guardar(ClaveCarga clave, Object resultado) {
+        long peso = pesador.applyAsLong(resultado);
+        if (peso < 1) {
+            throw new IllegalArgumentException("El peso de un resultado debe ser positivo: " + peso);
+        }
+        Nodo anterior = entradas.get(clave.consulta());
+        if (anterior != null) {
+            if (anterior.version > clave.version()) {
+                // Mientras se calculaba, otra carga guardó el resultado de datos más nuevos
+                return;
+            }
+            quitar(anterior);
+            invalidaciones++;
+        }
+        if (peso > pesoMaximo) {
+            return;
+        }
+        Nodo nodo = new Nodo(clave.consulta(), clave.version(), resultado, peso);
+        entradas.put(nodo.clave, nodo);
+        ventana.agregar(nodo);
+        pesoTotal += peso;
+        if (politica == Politica.LRU) {
+            while (pesoTotal > pesoMaximo) {
+                desalojar(ventana.primero());
+            }
+        } else {
+            ajustarWTinyLfu();
+        }
+    }
+    
+    /**
+     * Pasa al segmento de prueba lo que sobra de la ventana y, mientras el peso total supere
+     * el máximo, enfrenta a cada candidato recién salido de la ventana con la víctima del
+     * segmento de prueba: se queda el que tiene más frecuencia estimada.
+     */
+    private void ajustarWTinyLfu() {
+        Nodo candidato = null;
+        while (ventana.peso > pesoMaximoVentana) {
+            Nodo saliente = ventana.primero();
+            mover(saliente, prueba);
+            if (candidato == null) {
+                candidato = saliente;
+            }
+        }
+        while (pesoTotal > pesoMaximo) {
+            Nodo victima = prueba.primero() != null ? prueba.primero() : protegido.primero();
+            if (victima == null) {
+                victima = ventana.primero();
+            }
+            if (candidato == null || candidato == victima || candidato.lista != prueba) {
+                desalojar(victima);
+                continue;
+            }
+            if (frecuencias.estimar(candidato.clave) > frecuencias.estimar(victima.clave)) {
+                desalojar(victima);
+            } else {
+                Nodo siguiente = candidato.siguiente;
+                desalojar(candidato);
+                candidato = siguiente;
+            }
+        }
+    }
+    
+    private void usar(Nodo nodo) {
+        if (nodo.lista == prueba) {
+            mover(nodo, protegido);
+            while (protegido.peso > pesoMaximoProtegido && protegido.primero() != nodo) {
+                mover(protegido.primero(), prueba);
+            }
+        } else {
+            mover(nodo, nodo.lista);
+        }
+    }
+    
+    private void mover(Nodo nodo, Lista destino) {
+        nodo.lista.quitar(nodo);
+        destino.agregar(nodo);
+    }
+    
+    private void desalojar(Nodo nodo) {
+        quitar(nodo);
+        desalojos++;
+    }
+    
+    private void quitar(Nodo nodo) {
+        nodo.lista.quitar(nodo);
+        entradas.remove(nodo.clave);
+        pesoTotal -= nodo.peso;
+    }
+    
+    /** Consulta sobre unos datos, sin importar su versión: hay a lo sumo una entrada por clave. */
+    private record ClaveConsulta(String consulta, long datos) {}
+    
+    /** Consulta sobre una versión de los datos, que identifica una carga. */
+    private record ClaveCarga(ClaveConsulta consulta, long version) {}
+    
+    private static final class Nodo {
+        final ClaveConsulta clave;
+        final long version;
+        final Object resultado;
+        final long peso;
+        Lista lista;
+        Nodo anterior;
+        Nodo siguiente;
+        
+        Nodo(ClaveConsulta clave, long version, Object resultado, long peso) {
+            this.clave = clave;
+            this.version = version;
+            this.resultado = resultado;
+            this.peso = peso;
+        }
+    }
+    
+    /** Lista doblemente enlazada de nodos, del usado hace más tiempo al más reciente. */
+    private static final class Lista {
+        private Nodo cabeza;
+        private Nodo cola;
+        long peso;
+        
+        Nodo primero() {
+            return cabeza;
+        }
+        
+        void agregar(Nodo nodo) {
+            nodo.lista = this;
+            nodo.anterior = cola;
+            nodo.siguiente = null;
+            if (cola == null) {
+                cabeza = nodo;
+            } else {
+                cola.siguiente = nodo;
+            }
+            cola = nodo;
+            peso += nodo.peso;
+        }
+        
+        void quitar(Nodo nodo) {
+            if (nodo.anterior == null) {
+                cabeza = nodo.siguiente;
+            } else {
+                nodo.anterior.siguiente = nodo.siguiente;
+            }
+            if (nodo.siguiente == null) {
+                cola = nodo.anterior;
+            } else {
+                nodo.siguiente.anterior = nodo.anterior;
+            }
+            nodo.anterior = null;
+            nodo.siguiente = null;
+            nodo.lista = null;
+            peso -= nodo.peso;
+        }
+        
+        void vaciar() {
+            cabeza = null;
+            cola = null;
+            peso = 0;
+        }
+    }
+    
+    /**
+     * Estimador de frecuencias Count-Min con cuatro filas de contadores saturados en 15.
+     * Cada tantos registros divide todos los contadores a la mitad, para que la frecuencia
+     * refleje el uso reciente y no el histórico.
+     */
+    private static final class Frecuencias {
+        private static final int FILAS = 4;
+        private static final int MAXIMO = 15;
+        private static final long[] SEMILLAS = {0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL,
+                0x165667B19E3779F9L, 0xD6E8FEB86659FD93L};
+        
+        private final int[] contadores;
+        private final int mascara;
+        private final long registrosPorPeriodo;
+        private long registros;
+        
+        Frecuencias(long capacidad) {
+            // Cuatro contadores por entrada en cada fila bajan las colisiones sin gastar mucha memoria
+            int ancho = Integer.highestOneBit((int) Math.min(1 << 20, Math.max(64, 4 * capacidad)) - 1) << 1;
+            this.contadores = new int[FILAS * ancho];
+            this.mascara = ancho - 1;
+            this.registrosPorPeriodo = 10 * Math.max(16, capacidad);
+        }
+        
+        void registrar(Object clave) {
+            int hash = clave.hashCode();
+            for (int fila = 0; fila < FILAS; fila++) {
+                int indice = indice(hash, fila);
+                if (contadores[indice] < MAXIMO) {
+                    contadores[indice]++;
+                }
+            }
+            if (++registros >= registrosPorPeriodo) {
+                for (int i = 0; i < contadores.length; i++) {
+                    contadores[i] >>>= 1;
+                }
+                registros /= 2;
+            }
+        }
+        
+        int estimar(Object clave) {
+            int hash = clave.hashCode();
+            int minimo = MAXIMO;
+            for (int fila = 0; fila < FILAS; fila++) {
+                minimo = Math.min(minimo, contadores[indice(hash, fila)]);
+            }
+            return minimo;
+        }
+        
+        private int indice(int hash, int fila) {
+            long mezcla = (hash + SEMILLAS[fila]) * SEMILLAS[(fila + 1) % FILAS];
+            return fila * (mascara + 1) + ((int) (mezcla >>> 40) & mascara);
+        }
+    }
+}
@@ -0,0 +1,611 @@
+package org.example.comun;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.DoubleSummaryStatistics;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.function.BiConsumer;
+import java.util.function.DoublePredicate;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+
+/**
+ * Consulta tipada sobre listas de entidades: filtrar, proyectar, ordenar y limitar, terminando
+ * en una lista, un conteo, un agregado o una agrupación. Se arma una vez y se compila en una
+ * {@link Compilada} reutilizable que recorre los datos en un único bucle, sin listas intermedias
+ * entre filtros y proyecciones.
+ * 
+ * <p>Los filtros sobre campos numéricos ({@link #filtrarDouble}, {@link #filtrarInt}) leen el campo
+ * como primitivo, sin encajarlo. Un {@code ordenar} seguido de {@code limitar} se resuelve con un
+ * montículo acotado de tamaño K en lugar de ordenar todo, y un {@code limitar} sin orden corta el
+ * recorrido apenas se completa. El orden es estable, igual que {@code sorted}, así que las
+ * consultas dan los mismos resultados que los pipelines de streams equivalentes.
+ * 
+ * <pre>{@code
+ * ConsultaTipada.Compilada<Empleado, List<Empleado>> salarioAlto = ConsultaTipada.sobre(Empleado.class)
+ *         .filtrarDouble(Empleado::getSalario, salario -> salario > 2000)
+ *         .ordenar(Comparator.comparingDouble(Empleado::getSalario).reversed())
+ *         .aLista();
+ * List<Empleado> resultado = salarioAlto.ejecutar(empleados);
+ * }</pre>
+ * 
+ * @param <T> tipo de las entidades de entrada
+ * @param <R> tipo de los elementos en este punto de la consulta
+ */
+public final class ConsultaTipada<T, R> {
+    
+    /** Límite hasta el cual {@code ordenar + limitar} usa un montículo acotado. */
+    private static final int MAXIMO_MONTICULO = 1 << 20;
+    /** Tamaño de una entrada que no es una {@link Collection}, como un {@code Iterable} perezoso. */
+    private static final int TAMANIO_DESCONOCIDO = -1;
+    
+    private final List<Paso> pasos;
+    
+    private ConsultaTipada(List<Paso> pasos) {
+        this.pasos = pasos;
+    }
+    
+    /**
+     * Empieza una consulta sobre entidades del tipo indicado.
+     * 
+     * @param tipo clase de las entidades, solo para inferir el tipo
+     * @param <T> tipo de las entidades
+     * @return consulta vacía
+     */
+    public static <T> ConsultaTipada<T, T> sobre(Class<T> tipo) {
+        return new ConsultaTipada<>(List.of());
+    }
+    
+    /**
+     * Conserva solo los elementos que cumplen la condición.
+     * 
+     * @param condicion condición a cumplir
+     * @return nueva consulta con el filtro agregado
+     */
+    public ConsultaTipada<T, R> filtrar(Predicate<? super R> condicion) {
+        Objects.requireNonNull(condicion, "La condición no puede ser null");
+        return agregar(new Filtro(elemento -> condicion.test(comoR(elemento))));
+    }
+    
+    /**
+     * Filtra por un campo {@code double} leído como primitivo.
+     * 
+     * @param campo acceso al campo
+     * @param condicion condición sobre el valor del campo
+     * @return nueva consulta con el filtro agregado
+     */
+    public ConsultaTipada<T, R> filtrarDouble(ToDoubleFunction<? super R> campo, DoublePredicate condicion) {
+        return agregar(new Filtro(elemento -> condicion.test(campo.applyAsDouble(comoR(elemento)))));
+    }
+    
+    /**
+     * Filtra por un campo {@code int} leído como primitivo.
+     * 
+     * @param campo acceso al campo
+     * @param condicion condición sobre el valor del campo
+     * @return nueva consulta con el filtro agregado
+     */
+    public ConsultaTipada<T, R> filtrarInt(ToIntFunction<? super R> campo, IntPredicate condicion) {
+        return agregar(new Filtro(elemento -> condicion.test(campo.applyAsInt(comoR(elemento)))));
+    }
+    
+    /**
+     * Transforma cada elemento.
+     * 
+     * @param proyeccion transformación
+     * @param <V> tipo de los elementos proyectados
+     * @return nueva consulta sobre los elementos proyectados
+     */
+    public <V> ConsultaTipada<T, V> proyectar(Function<? super R, ? extends V> proyeccion) {
+        Objects.requireNonNull(proyeccion, "La proyección no puede ser null");
+        List<Paso> nuevos = new ArrayList<>(pasos);
+        nuevos.add(new Proyeccion(elemento -> proyeccion.apply(comoR(elemento))));
+        return new ConsultaTipada<>(List.copyOf(nuevos));
+    }
+    
+    /**
+     * Ordena los elementos de forma estable.
+     * 
+     * @param orden comparador
+     * @return nueva consulta ordenada
+     */
+    @SuppressWarnings("unchecked")
+    public ConsultaTipada<T, R> ordenar(Comparator<? super R> orden) {
+        Objects.requireNonNull(orden, "El orden no puede ser null");
+        return agregar(new Orden((Comparator<Object>) orden));
+    }
+    
+    /**
+     * Conserva a lo sumo la cantidad indicada de elementos.
+     * 
+     * @param cantidad cantidad máxima de elementos
+     * @return nueva consulta limitada
+     */
+    public ConsultaTipada<T, R> limitar(long cantidad) {
+        if (cantidad < 0) {
+            throw new IllegalArgumentException("El límite no puede ser negativo: " + cantidad);
+        }
+        return agregar(new Limite(cantidad));
+    }
+    
+    /**
+     * Compila la consulta para devolver los elementos en una lista.
+     * 
+     * @return consulta compilada
+     */
+    public Compilada<T, List<R>> aLista() {
+        return compilar(() -> new Terminal<>() {
+            private final List<R> lista = new ArrayList<>();
+            
+            @Override
+            public boolean aceptar(Object elemento) {
+                lista.add(comoR(elemento));
+                return true;
+            }
+            
+            @Override
+            public List<R> resultado() {
+                return lista;
+            }
+        });
+    }
+    
+    /**
+     * Compila la consulta para contar los elementos.
+     * 
+     * @return consulta compilada
+     */
+    public Compilada<T, Long> contar() {
+        return compilar(() -> new Terminal<>() {
+            private long cantidad;
+            
+            @Override
+            public boolean aceptar(Object elemento) {
+                cantidad++;
+                return true;
+            }
+            
+            @Override
+            public Long resultado() {
+                return cantidad;
+            }
+        });
+    }
+    
+    /**
+     * Compila la consulta para resumir un campo {@code double}: cantidad, suma compensada,
+     * mínimo, máximo y promedio, con la misma suma que {@code DoubleStream}.
+     * 
+     * @param campo acceso al campo
+     * @return consulta compilada
+     */
+    public Compilada<T, DoubleSummaryStatistics> resumir(ToDoubleFunction<? super R> campo) {
+        return compilar(() -> new Terminal<>() {
+            private final DoubleSummaryStatistics resumen = new DoubleSummaryStatistics();
+            
+            @Override
+            public boolean aceptar(Object elemento) {
+                resumen.accept(campo.applyAsDouble(comoR(elemento)));
+                return true;
+            }
+            
+            @Override
+            public DoubleSummaryStatistics resultado() {
+                return resumen;
+            }
+        });
+    }
+    
+    /**
+     * Compila la consulta para promediar un campo {@code double}.
+     * 
+     * @param campo acceso al campo
+     * @return consulta compilada; devuelve 0.0 si no hay elementos
+     */
+    public Compilada<T, Double> promedio(ToDoubleFunction<? super R> campo) {
+        return resumir(campo).luego(DoubleSummaryStatistics::getAverage);
+    }
+    
+    /**
+     * Compila la consulta para promediar un campo {@code int}, sumando en {@code long}.
+     * 
+     * @param campo acceso al campo
+     * @return consulta compilada; devuelve 0.0 si no hay elementos
+     */
+    public Compilada<T, Double> promedioEntero(ToIntFunction<? super R> campo) {
+        return compilar(() -> new Terminal<>() {
+            private long suma;
+            private long cantidad;
+            
+            @Override
+            public boolean aceptar(Object elemento) {
+                suma += campo.applyAsInt(comoR(elemento));
+                cantidad++;
+                return true;
+            }
+            
+            @Override
+            public Double resultado() {
+                return cantidad == 0 ? 0.0 : (double) suma / cantidad;
+            }
+        });
+    }
+    
+    /**
+     * Compila la consulta para obtener el máximo; ante empates devuelve el primero.
+     * 
+     * @param orden comparador
+     * @return consulta compilada; vacía si no hay elementos
+     */
+    public Compilada<T, Optional<R>> maximo(Comparator<? super R> orden) {
+        return compilar(() -> new Terminal<>() {
+            private R maximo;
+            private boolean hay;
+            
+            @Override
+            public boolean aceptar(Object elemento) {
+                R candidato = comoR(elemento);
+                if (!hay || orden.compare(candidato, maximo) > 0) {
+                    maximo = candidato;
+                    hay = true;
+                }
+                return true;
+            }
+            
+            @Override
+            public Optional<R> resultado() {
+                return hay ? Optional.of(maximo) : Optional.empty();
+            }
+        });
+    }
+    
+    /**
+     * Compila la consulta para agrupar los elementos por clave, en el orden de la consulta.
+     * 
+     * @param clave clave de agrupación; no puede ser null
+     * @param <K> tipo de la clave
+     * @return consulta compilada
+     */
+    public <K> Compilada<T, Map<K, List<R>>> agrupar(Function<? super R, ? extends K> clave) {
+        return compilar(() -> new Terminal<>() {
+            private final Map<K, List<R>> grupos = new HashMap<>();
+            
+            @Override
+            public boolean aceptar(Object elemento) {
+                R valor = comoR(elemento);
+                grupos.computeIfAbsent(claveNoNula(clave, valor), k -> new ArrayList<>()).add(valor);
+                return true;
+            }
+            
+            @Override
+            public Map<K, List<R>> resultado() {
+                return grupos;
+            }
+        });
+    }
+    
+    /**
+     * Compila la consulta para agrupar por clave y agregar cada grupo con un collector.
+     * 
+     * @param clave clave de agrupación; no puede ser null
+     * @param agregado collector aplicado a cada grupo
+     * @param <K> tipo de la clave
+     * @param <A> tipo del acumulador del collector
+     * @param <D> tipo del agregado de cada grupo
+     * @return consulta compilada
+     */
+    public <K, A, D> Compilada<T, Map<K, D>> agrupar(Function<? super R, ? extends K> clave,
+                                                    Collector<? super R, A, D> agregado) {
+        Supplier<A> crear = agregado.supplier();
+        BiConsumer<A, ? super R> acumular = agregado.accumulator();
+        Function<A, D> terminar = agregado.finisher();
+        return compilar(() -> new Terminal<>() {
+            private final Map<K, A> grupos = new HashMap<>();
+            
+            @Override
+            public boolean aceptar(Object elemento) {
+                R valor = comoR(elemento);
+                acumular.accept(grupos.computeIfAbsent(claveNoNula(clave, valor), k -> crear.get()), valor);
+                return true;
+            }
+            
+            @Override
+            public Map<K, D> resultado() {
+                Map<K, D> resultado = new HashMap<>();
+                grupos.forEach((k, acumulador) -> resultado.put(k, terminar.apply(acumulador)));
+                return resultado;
+            }
+        });
+    }
+    
+    /**
+     * Compila la consulta para contar los elementos de cada clave sin encajar un contador por elemento.
+     * 
+     * @param clave clave de agrupación; no puede ser null
+     * @param <K> tipo de la clave
+     * @return consulta compilada
+     */
+    public <K> Compilada<T, Map<K, Long>> contarPor(Function<? super R, ? extends K> clave) {
+        return compilar(() -> new Terminal<>() {
+            private final Map<K, long[]> conteos = new HashMap<>();
+            
+            @Override
+            public boolean aceptar(Object elemento) {
+                conteos.computeIfAbsent(claveNoNula(clave, comoR(elemento)), k -> new long[1])[0]++;
+                return true;
+            }
+            
+            @Override
+            public Map<K, Long> resultado() {
+                Map<K, Long> resultado = new HashMap<>();
+                conteos.forEach((k, conteo) -> resultado.put(k, conteo[0]));
+                return resultado;
+            }
+        });
+    }
+    
+    /**
+     * Compila la consulta para sumar montos exactos en centavos por clave.
+     * 
+     * @param clave clave de agrupación
+     * @param centavos monto en centavos de cada elemento
+     * @return consulta compilada
+     */
+    public Compilada<T, TotalesCentavos> sumarCentavosPor(Function<? super R, String> clave,
+                                                         ToLongFunction<? super R> centavos) {
+        return compilar(() -> new Terminal<>() {
+            private final TotalesCentavos totales = new TotalesCentavos();
+            
+            @Override
+            public boolean aceptar(Object elemento) {
+                R valor = comoR(elemento);
+                totales.agregar(clave.apply(valor), centavos.applyAsLong(valor));
+                return true;
+            }
+            
+            @Override
+            public TotalesCentavos resultado() {
+                return totales;
+            }
+        });
+    }
+    
+    private ConsultaTipada<T, R> agregar(Paso paso) {
+        List<Paso> nuevos = new ArrayList<>(pasos);
+        nuevos.add(paso);
+        return new ConsultaTipada<>(List.copyOf(nuevos));
+    }
+    
+    private <X> Compilada<T, X> compilar(Supplier<Terminal<X>> terminal) {
+        return new Compilada<>(fusionar(pasos), terminal);
+    }
+    
+    /**
+     * Junta filtros y proyecciones consecutivos en un solo paso y convierte {@code ordenar}
+     * seguido de {@code limitar} en una selección de los primeros K.
+     */
+    private static List<Paso> fusionar(List<Paso> pasos) {
+        List<Paso> fusionados = new ArrayList<>();
+        for (Paso paso : pasos) {
+            Paso anterior = fusionados.isEmpty() ? null : fusionados.get(fusionados.size() - 1);
+            Paso combinado = switch (paso) {
+                case Filtro filtro when anterior instanceof Filtro previo ->
+                        new Filtro(previo.condicion().and(filtro.condicion()));
+                case Proyeccion proyeccion when anterior instanceof Proyeccion previa ->
+                        new Proyeccion(previa.funcion().andThen(proyeccion.funcion()));
+                case Limite limite when anterior instanceof Orden orden && limite.cantidad() <= MAXIMO_MONTICULO ->
+                        new Primeros(orden.orden(), (int) limite.cantidad());
+                default -> null;
+            };
+            if (combinado != null) {
+                fusionados.set(fusionados.size() - 1, combinado);
+            } else {
+                fusionados.add(paso);
+            }
+        }
+        return List.copyOf(fusionados);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static <R> R comoR(Object elemento) {
+        return (R) elemento;
+    }
+    
+    private static <R, K> K claveNoNula(Function<? super R, ? extends K> clave, R elemento) {
+        return Objects.requireNonNull(clave.apply(elemento), "La clave de agrupación no puede ser null");
+    }
+    
+    /**
+     * Consulta compilada: se puede ejecutar sobre distintas listas, incluso desde varios hilos,
+     * porque el estado de cada ejecución se crea al ejecutarla.
+     * 
+     * @param <T> tipo de las entidades de entrada
+     * @param <X> tipo del resultado
+     */
+    public static final class Compilada<T, X> {
+        
+        private final List<Paso> pasos;
+        private final Supplier<Terminal<X>> terminal;
+        
+        private Compilada(List<Paso> pasos, Supplier<Terminal<X>> terminal) {
+            this.pasos = pasos;
+            this.terminal = terminal;
+        }
+        
+        /**
+         * Ejecuta la consulta sobre los datos.
+         * 
+         * @param datos entidades a consultar
+         * @return resultado de la consulta
+         */
+        public X ejecutar(Iterable<? extends T> datos) {
+            Terminal<X> fin = terminal.get();
+            Receptor cadena = fin;
+            // Cota de los elementos que llegan a cada paso, para no reservar de más
+            int esperados = datos instanceof Collection<?> coleccion ? coleccion.size() : TAMANIO_DESCONOCIDO;
+            for (int i = pasos.size() - 1; i >= 0; i--) {
+                cadena = receptor(pasos.get(i), cadena, esperados);
+            }
+            if (datos instanceof List<? extends T> lista && datos instanceof RandomAccess) {
+                for (int i = 0, n = lista.size(); i < n && cadena.aceptar(lista.get(i)); i++) {
+                    // El cuerpo está en la condición: aceptar devuelve false cuando no hacen falta más
+                }
+            } else {
+                Iterator<? extends T> iterador = datos.iterator();
+                while (iterador.hasNext() && cadena.aceptar(iterador.next())) {
+                    // Idem
+                }
+            }
+            cadena.terminar();
+            return fin.resultado();
+        }
+        
+        private <Y> Compilada<T, Y> luego(Function<? super X, ? extends Y> transformacion) {
+            return new Compilada<>(pasos, () -> {
+                Terminal<X> original = terminal.get();
+                return new Terminal<>() {
+                    @Override
+                    public boolean aceptar(Object elemento) {
+                        return original.aceptar(elemento);
+                    }
+                    
+                    @Override
+                    public Y resultado() {
+                        return transformacion.apply(original.resultado());
+                    }
+                };
+            });
+        }
+        
+        private static Receptor receptor(Paso paso, Receptor siguiente, int esperados) {
+            return switch (paso) {
+                case Filtro filtro -> new Receptor() {
+                    @Override
+                    public boolean aceptar(Object elemento) {
+                        return !filtro.condicion().test(elemento) || siguiente.aceptar(elemento);
+                    }
+                    
+                    @Override
+                    public void terminar() {
+                        siguiente.terminar();
+                    }
+                };
+                case Proyeccion proyeccion -> new Receptor() {
+                    @Override
+                    public boolean aceptar(Object elemento) {
+                        return siguiente.aceptar(proyeccion.funcion().apply(elemento));
+                    }
+                    
+                    @Override
+                    public void terminar() {
+                        siguiente.terminar();
+                    }
+                };
+                case Limite limite -> new Receptor() {
+                    private long vistos;
+                    
+                    @Override
+                    public boolean aceptar(Object elemento) {
+                        if (vistos >= limite.cantidad()) {
+                            return false;
+                        }
+                        vistos++;
+                        return siguiente.aceptar(elemento) && vistos < limite.cantidad();
+                    }
+                    
+                    @Override
+                    public void terminar() {
+                        siguiente.terminar();
+                    }
+                };
+                case Orden orden -> new Receptor() {
+                    private final List<Object> pendientes = new ArrayList<>();
+                    
+                    @Override
+                    public boolean aceptar(Object elemento) {
+                        pendientes.add(elemento);
+                        return true;
+                    }
+                    
+                    @Override
+                    public void terminar() {
+                        pendientes.sort(orden.orden());
+                        emitir(pendientes, siguiente);
+                    }
+                };
+                case Primeros primeros -> new Receptor() {
+                    // Sin tamaño conocido el montículo crece a medida que recibe elementos
+                    private final TopK.Monticulo<Object> monticulo = esperados == TAMANIO_DESCONOCIDO
+                            ? new TopK.Monticulo<>(primeros.cantidad(), primeros.orden())
+                            : new TopK.Monticulo<>(primeros.cantidad(), primeros.orden(), esperados);
+                    private int posicion;
+                    
+                    @Override
+                    public boolean aceptar(Object elemento) {
+                        monticulo.ofrecer(elemento, posicion++);
+                        return true;
+                    }
+                    
+                    @Override
+                    public void terminar() {
+                        emitir(monticulo.aListaOrdenada(), siguiente);
+                    }
+                };
+            };
+        }
+        
+        private static void emitir(List<Object> elementos, Receptor siguiente) {
+            for (Object elemento : elementos) {
+                if (!siguiente.aceptar(elemento)) {
+                    break;
+                }
+            }
+            siguiente.terminar();
+        }
+    }
+    
+    /** Etapa de una consulta, antes de compilarla. */
+    private sealed interface Paso {}
+    
+    private record Filtro(Predicate<Object> condicion) implements Paso {}
+    
+    private record Proyeccion(Function<Object, Object> funcion) implements Paso {}
+    
+    private record Orden(Comparator<Object> orden) implements Paso {}
+    
+    private record Limite(long cantidad) implements Paso {}
+    
+    /** {@code ordenar} seguido de {@code limitar}, resuelto con un montículo acotado. */
+    private record Primeros(Comparator<Object> orden, int cantidad) implements Paso {}
+    
+    /** Etapa de la cadena de ejecución; {@code aceptar} devuelve false si no hacen falta más elementos. */
+    private interface Receptor {
+        
+        boolean aceptar(Object elemento);
+        
+        void terminar();
+    }
+    
+    /** Final de la cadena, que arma el resultado. */
+    private interface Terminal<X> extends Receptor {
+        
+        X resultado();
+        
+        @Override
+        default void terminar() {
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package org.example.comun;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Mapa de conteo de cadenas a {@code long} con direccionamiento abierto y sondeo lineal.
+ * Guarda los conteos en un arreglo primitivo, así que incrementar no crea objetos, y
+ * guarda el hash de cada clave para comparar enteros antes de llamar a {@code equals}.
+ * 
+ * <p>La primera instancia vista de cada clave queda como canónica: si la fuente repite
+ * la misma instancia, la comparación se resuelve por referencia. No es thread-safe;
+ * para contar en paralelo cada hilo usa su propio contador y después se combinan.
+ */
+public final class ContadorCadenas {
+    
+    /** Tamaño a partir del cual la versión paralela divide la lista en bloques. */
+    public static final int UMBRAL_PARALELO_POR_DEFECTO = 1 << 16;
+    
+    private static final int CAPACIDAD_INICIAL = 16;
+    
+    private String[] claves;
+    private int[] hashes;
+    private long[] conteos;
+    private int tamanio;
+    private int limite;
+    
+    /**
+     * Crea un contador vacío.
+     */
+    public ContadorCadenas() {
+        this(CAPACIDAD_INICIAL);
+    }
+    
+    /**
+     * Crea un contador con lugar para la cantidad de claves esperada sin redimensionar.
+     * 
+     * @param clavesEsperadas cantidad aproximada de claves distintas
+     */
+    public ContadorCadenas(int clavesEsperadas) {
+        if (clavesEsperadas < 0) {
+            throw new IllegalArgumentException("La cantidad de claves no puede ser negativa: " + clavesEsperadas);
+        }
+        int capacidad = Integer.highestOneBit(Math.max(CAPACIDAD_INICIAL, clavesEsperadas) * 2 - 1) << 1;
+        inicializar(capacidad);
+    }
+    
+    /**
+     * Cuenta las claves de una lista en un solo hilo.
+     * 
+     * @param elementos elementos a contar
+     * @param clave función que obtiene la clave de cada elemento; no puede devolver null
+     * @param <T> tipo de los elementos
+     * @return contador cargado
+     */
+    public static <T> ContadorCadenas contar(List<T> elementos, Function<? super T, String> clave) {
+        return contarBloque(elementos, clave, 0, elementos.size());
+    }
+    
+    /**
+     * Cuenta las claves de una lista en paralelo: cada bloque se cuenta en un contador propio
+     * y los parciales se combinan al final. Listas chicas, o sin acceso por índice como una
+     * {@code LinkedList}, se cuentan en un solo hilo.
+     * 
+     * @param elementos elementos a contar
+     * @param clave función que obtiene la clave de cada elemento; no puede devolver null
+     * @param <T> tipo de los elementos
+     * @return contador cargado
+     */
+    public static <T> ContadorCadenas contarEnParalelo(List<T> elementos, Function<? super T, String> clave) {
+        int cantidad = elementos.size();
+        if (cantidad < UMBRAL_PARALELO_POR_DEFECTO || !(elementos instanceof RandomAccess)) {
+            return contar(elementos, clave);
+        }
+        int bloques = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() * 4,
+                cantidad / (UMBRAL_PARALELO_POR_DEFECTO / 4)));
+        return IntStream.range(0, bloques)
+                .parallel()
+                .mapToObj(bloque -> contarBloque(elementos, clave,
+                        (int) ((long) cantidad * bloque / bloques),
+                        (int) ((long) cantidad * (bloque + 1) / bloques)))
+                .reduce(ContadorCadenas::combinar)
+                .orElseGet(ContadorCadenas::new);
+    }
+    
+    private static <T> ContadorCadenas contarBloque(List<T> elementos, Function<? super T, String> clave,
+                                                    int desde, int hasta) {
+        ContadorCadenas contador = new ContadorCadenas();
+        // Se recorre con el iterador, que es O(1) por elemento también en listas enlazadas
+        for (T elemento : elementos.subList(desde, hasta)) {
+            contador.incrementar(clave.apply(elemento));
+        }
+        return contador;
+    }
+    
+    /**
+     * Suma uno al conteo de la clave.
+     * 
+     * @param clave clave a contar
+     */
+    public void incrementar(String clave) {
+        sumar(clave, 1);
+    }
+    
+    /**
+     * Suma una cantidad al conteo de la clave, agregándola si no existía.
+     * 
+     * @param clave clave a contar
+     * @param cantidad cantidad a sumar
+     */
+    public void sumar(String clave, long cantidad) {
+        Objects.requireNonNull(clave, "La clave no puede ser null");
+        sumar(clave, dispersar(clave.hashCode()), cantidad);
+    }
+    
+    /**
+     * Devuelve el conteo de una clave.
+     * 
+     * @param clave clave buscada
+     * @return conteo de la clave, o 0 si no está
+     */
+    public long conteo(String clave) {
+        int posicion = clave == null ? -1 : buscar(clave, dispersar(clave.hashCode()));
+        return posicion < 0 ? 0 : conteos[posicion];
+    }
+    
+    /**
+     * Devuelve la cantidad de claves distintas.
+     * 
+     * @return cantidad de claves
+     */
+    public int tamanio() {
+        return tamanio;
+    }
+    
+    /**
+     * Suma los conteos de otro contador a este, reutilizando los hashes ya calculados.
+     * 
+     * @param otro contador a combinar; no se modifica
+     * @return este contador
+     */
+    public ContadorCadenas combinar(ContadorCadenas otro) {
+        for (int i = 0; i < otro.claves.length; i++) {
+            if (otro.claves[i] != null) {
+                sumar(otro.claves[i], otro.hashes[i], otro.conteos[i]);
+            }
+        }
+        return this;
+    }
+    
+    /**
+     * Vista de solo lectura como {@code Map<String, Long>}. Los valores se encajan recién
+     * al leerlos, y la vista refleja los cambios posteriores del contador.
+     * 
+     * @return mapa de clave a conteo
+     */
+    public Map<String, Long> comoMapa() {
+        return new Vista();
+    }
+    
+    /**
+     * Copia los conteos a un {@link HashMap} nuevo y modificable, como el que devuelve
+     * {@code Collectors.groupingBy(..., counting())}.
+     * 
+     * @return mapa de clave a conteo
+     */
+    public Map<String, Long> aHashMap() {
+        Map<String, Long> mapa = HashMap.newHashMap(tamanio);
+        for (int i = 0; i < claves.length; i++) {
+            if (claves[i] != null) {
+                mapa.put(claves[i], conteos[i]);
+            }
+        }
+        return mapa;
+    }
+    
+    private void sumar(String clave, int hash, long cantidad) {
+        int mascara = claves.length - 1;
+        int posicion = hash & mascara;
+        while (claves[posicion] != null) {
+            if (hashes[posicion] == hash && (claves[posicion] == clave || claves[posicion].equals(clave))) {
+                conteos[posicion] += cantidad;
+                return;
+            }
+            posicion = (posicion + 1) & mascara;
+        }
+        claves[posicion] = clave;
+        hashes[posicion] = hash;
+        conteos[posicion] = cantidad;
+        if (++tamanio > limite) {
+            redimensionar();
+        }
+    }
+    
+    private int buscar(String clave, int hash) {
+        int mascara = claves.length - 1;
+        int posicion = hash & mascara;
+        while (claves[posicion] != null) {
+            if (hashes[posicion] == hash && (claves[posicion] == clave || claves[posicion].equals(clave))) {
+                return posicion;
+            }
+            posicion = (posicion + 1) & mascara;
+        }
+        return -1;
+    }
+    
+    private void redimensionar() {
+        String[] clavesAnteriores = claves;
+        int[] hashesAnteriores = hashes;
+        long[] conteosAnteriores = conteos;
+        inicializar(clavesAnteriores.length * 2);
+        int mascara = claves.length - 1;
+        for (int i = 0; i < clavesAnteriores.length; i++) {
+            if (clavesAnteriores[i] != null) {
+                int posicion = hashesAnteriores[i] & mascara;
+                while (claves[posicion] != null) {
+                    posicion = (posicion + 1) & mascara;
+                }
+                claves[posicion] = clavesAnteriores[i];
+                hashes[posicion] = hashesAnteriores[i];
+                conteos[posicion] = conteosAnteriores[i];
+            }
+        }
+    }
+    
+    private void inicializar(int capacidad) {
+        claves = new String[capacidad];
+        hashes = new int[capacidad];
+        conteos = new long[capacidad];
+        // Factor de carga 0.5: con sondeo lineal mantiene cortas las secuencias de colisión
+        limite = capacidad / 2;
+    }
+    
+    /**
+     * Mezcla los bits altos del hash en los bajos, que son los que elige la máscara.
+     */
+    private static int dispersar(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+    
+    /**
+     * Vista de mapa respaldada por las tablas del contador.
+     */
+    private final class Vista extends AbstractMap<String, Long> {
+        
+        @Override
+        public Long get(Object clave) {
+            int posicion = clave instanceof String texto ? buscar(texto, dispersar(texto.hashCode())) : -1;
+            return posicion < 0 ? null : conteos[posicion];
+        }
+        
+        @Override
+        public boolean containsKey(Object clave) {
+            return clave instanceof String texto && buscar(texto, dispersar(texto.hashCode())) >= 0;
+        }
+        
+        @Override
+        public int size() {
+            return tamanio;
+        }
+        
+        @Override
+        public Set<Entry<String, Long>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, Long>> iterator() {
+                    return new Iterator<>() {
+                        private int siguiente = avanzar(0);
+                        
+                        @Override
+                        public boolean hasNext() {
+                            return siguiente < claves.length;
+                        }
+                        
+                        @Override
+                        public Entry<String, Long> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            Entry<String, Long> entrada = new SimpleImmutableEntry<>(claves[siguiente], conteos[siguiente]);
+                            siguiente = avanzar(siguiente + 1);
+                            return entrada;
+                        }
+                        
+                        private int avanzar(int desde) {
+                            while (desde < claves.length && claves[desde] == null) {
+                                desde++;
+                            }
+                            return desde;
+                        }
+                    };
+                }
+                
+                @Override
+                public int size() {
+                    return tamanio;
+                }
+            };
+        }
+    }
+}
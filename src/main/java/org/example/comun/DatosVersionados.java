@@ -0,0 +1,150 @@
+package org.example.comun;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Lista de entidades con un número de versión que avanza con cada modificación, para que
+ * {@link CacheResultados} sepa si un resultado guardado sigue valiendo sin comparar los datos.
+ * 
+ * <p>Cada instancia tiene además un identificador único, así que dos listas con los mismos
+ * elementos no comparten resultados. Las entidades son mutables: para cambiar una sin sacarla
+ * de la lista hay que usar {@link #modificar}, o avisar con {@link #marcarModificado()} si se
+ * cambió por fuera. Igual que {@link ArrayList}, no es thread-safe para modificarla mientras
+ * se consulta.
+ * 
+ * @param <T> tipo de las entidades
+ */
+public final class DatosVersionados<T> {
+    
+    private static final AtomicLong IDENTIFICADORES = new AtomicLong();
+    
+    private final long id = IDENTIFICADORES.incrementAndGet();
+    private final List<T> elementos;
+    private final List<T> vista;
+    private volatile long version;
+    
+    private DatosVersionados(List<T> elementos) {
+        this.elementos = elementos;
+        this.vista = Collections.unmodifiableList(elementos);
+    }
+    
+    /**
+     * Crea una lista versionada con una copia de los elementos indicados.
+     * 
+     * @param elementos elementos iniciales
+     * @param <T> tipo de las entidades
+     * @return lista versionada en la versión 0
+     */
+    public static <T> DatosVersionados<T> desde(Collection<? extends T> elementos) {
+        return new DatosVersionados<>(new ArrayList<>(elementos));
+    }
+    
+    /**
+     * Devuelve una vista de solo lectura de los elementos, que refleja las modificaciones.
+     * 
+     * @return vista de los elementos
+     */
+    public List<T> vista() {
+        return vista;
+    }
+    
+    /**
+     * Devuelve el identificador único de esta lista.
+     * 
+     * @return identificador
+     */
+    public long id() {
+        return id;
+    }
+    
+    /**
+     * Devuelve la versión actual; cambia con cada modificación.
+     * 
+     * @return versión
+     */
+    public long version() {
+        return version;
+    }
+    
+    /**
+     * Devuelve la cantidad de elementos.
+     * 
+     * @return cantidad de elementos
+     */
+    public int tamanio() {
+        return elementos.size();
+    }
+    
+    /**
+     * Agrega un elemento al final.
+     * 
+     * @param elemento elemento a agregar
+     */
+    public void agregar(T elemento) {
+        elementos.add(elemento);
+        version++;
+    }
+    
+    /**
+     * Agrega varios elementos al final, con un solo cambio de versión.
+     * 
+     * @param nuevos elementos a agregar
+     */
+    public void agregarTodos(Collection<? extends T> nuevos) {
+        if (elementos.addAll(nuevos)) {
+            version++;
+        }
+    }
+    
+    /**
+     * Quita el elemento de la posición indicada.
+     * 
+     * @param posicion posición del elemento
+     * @return elemento quitado
+     */
+    public T quitar(int posicion) {
+        T quitado = elementos.remove(posicion);
+        version++;
+        return quitado;
+    }
+    
+    /**
+     * Reemplaza el elemento de la posición indicada.
+     * 
+     * @param posicion posición del elemento
+     * @param elemento elemento nuevo
+     * @return elemento anterior
+     */
+    public T reemplazar(int posicion, T elemento) {
+        T anterior = elementos.set(posicion, elemento);
+        version++;
+        return anterior;
+    }
+    
+    /**
+     * Modifica en el lugar el elemento de la posición indicada.
+     * 
+     * @param posicion posición del elemento
+     * @param cambio modificación a aplicar, por ejemplo un setter
+     */
+    public void modificar(int posicion, Consumer<? super T> cambio) {
+        try {
+            cambio.accept(elementos.get(posicion));
+        } finally {
+            // Aunque el cambio falle a mitad de camino el elemento pudo quedar modificado
+            version++;
+        }
+    }
+    
+    /**
+     * Avisa que algún elemento se modificó por fuera de esta clase.
+     */
+    public void marcarModificado() {
+        version++;
+    }
+}
@@ -0,0 +1,229 @@
+package org.example.comun;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collector;
+
+/**
+ * Diccionario compartido para campos categóricos de baja cardinalidad, como cursos,
+ * categorías o departamentos. Cada valor distinto recibe una instancia canónica
+ * y un id entero denso, empezando en 0 y en el orden en que aparece por primera vez.
+ * 
+ * <p>Si las entidades guardan la instancia canónica, mil productos de la misma categoría
+ * comparten un único {@link String} en lugar de mil copias, y comparar claves se resuelve
+ * por referencia. Los ids permiten agrupar con acumuladores en un arreglo indexado en lugar
+ * de un mapa de cadenas ({@link #agrupandoPorId}).
+ * 
+ * <p>Los valores nunca se quitan, así que no conviene usarlo para campos como nombres o títulos,
+ * que crecen con la cantidad de entidades. Es thread-safe: las búsquedas no bloquean y solo
+ * el registro de un valor nuevo toma un lock.
+ */
+public final class Diccionario {
+    
+    /** Id que devuelve {@link #buscar} para un valor que no está registrado. */
+    public static final int SIN_ID = -1;
+    
+    private final ConcurrentHashMap<String, Entrada> entradas = new ConcurrentHashMap<>();
+    private volatile String[] valores = new String[16];
+    private volatile int tamanio;
+    
+    /**
+     * Instancia canónica de un valor y su id.
+     */
+    private record Entrada(String valor, int id) {
+    }
+    
+    /**
+     * Devuelve la instancia canónica de un valor, registrándolo si es nuevo.
+     * 
+     * @param valor valor a canonizar; puede ser null
+     * @return instancia canónica igual a {@code valor}, o null si el valor es null
+     */
+    public String canonico(String valor) {
+        return valor == null ? null : entrada(valor).valor();
+    }
+    
+    /**
+     * Devuelve el id de un valor, registrándolo si es nuevo.
+     * 
+     * @param valor valor buscado
+     * @return id del valor, entre 0 y {@link #tamanio()} - 1
+     */
+    public int id(String valor) {
+        Objects.requireNonNull(valor, "El valor no puede ser null");
+        return entrada(valor).id();
+    }
+    
+    /**
+     * Devuelve el id de un valor sin registrarlo.
+     * 
+     * @param valor valor buscado
+     * @return id del valor, o {@link #SIN_ID} si no está registrado
+     */
+    public int buscar(String valor) {
+        Entrada entrada = valor == null ? null : entradas.get(valor);
+        return entrada == null ? SIN_ID : entrada.id();
+    }
+    
+    /**
+     * Devuelve la instancia canónica del valor con el id indicado.
+     * 
+     * @param id id del valor
+     * @return valor canónico
+     * @throws IllegalArgumentException si el id no está registrado
+     */
+    public String valor(int id) {
+        if (id < 0 || id >= tamanio) {
+            throw new IllegalArgumentException("Id fuera del diccionario: " + id + " (tamaño " + tamanio + ")");
+        }
+        return valores[id];
+    }
+    
+    /**
+     * Devuelve la cantidad de valores registrados.
+     * 
+     * @return cantidad de valores distintos
+     */
+    public int tamanio() {
+        return tamanio;
+    }
+    
+    /**
+     * Collector equivalente a {@code Collectors.groupingBy(clave, abajo)} que guarda el
+     * acumulador de cada grupo en un arreglo indexado por el id de la clave. Busca el id de
+     * cada elemento en el diccionario; si la entidad ya lo tiene guardado, conviene
+     * {@link #agrupandoPorId}.
+     * 
+     * @param clave clave de agrupación de cada elemento; no puede devolver null
+     * @param abajo collector aplicado a los elementos de cada grupo
+     * @param <T> tipo de los elementos
+     * @param <A> tipo del acumulador de cada grupo
+     * @param <R> tipo del resultado de cada grupo
+     * @return collector de elementos a mapa de clave canónica a resultado
+     */
+    public <T, A, R> Collector<T, ?, Map<String, R>> agrupando(Function<? super T, String> clave,
+                                                              Collector<? super T, A, R> abajo) {
+        return agrupandoPorId(elemento -> id(clave.apply(elemento)), abajo);
+    }
+    
+    /**
+     * Collector equivalente a {@code Collectors.groupingBy}, para elementos que ya tienen el id
+     * de su clave en este diccionario: el acumulador de cada grupo se toma de un arreglo por
+     * ese id, sin buscar la cadena. Los parciales de un stream paralelo se combinan posición
+     * por posición, porque los ids son los mismos en todos los hilos.
+     * 
+     * @param id id en este diccionario de la clave de cada elemento
+     * @param abajo collector aplicado a los elementos de cada grupo
+     * @param <T> tipo de los elementos
+     * @param <A> tipo del acumulador de cada grupo
+     * @param <R> tipo del resultado de cada grupo
+     * @return collector de elementos a mapa de clave canónica a resultado
+     * @throws NullPointerException al recolectar, si un elemento no tiene clave ({@link #SIN_ID})
+     */
+    public <T, A, R> Collector<T, ?, Map<String, R>> agrupandoPorId(ToIntFunction<? super T> id,
+                                                                   Collector<? super T, A, R> abajo) {
+        Collector.Characteristics[] caracteristicas = abajo.characteristics()
+                .contains(Collector.Characteristics.UNORDERED)
+                ? new Collector.Characteristics[] {Collector.Characteristics.UNORDERED}
+                : new Collector.Characteristics[0];
+        Supplier<A> nuevo = abajo.supplier();
+        BiConsumer<A, ? super T> acumular = abajo.accumulator();
+        BinaryOperator<A> combinar = abajo.combiner();
+        Function<A, R> terminar = abajo.finisher();
+        return Collector.<T, Grupos<A>, Map<String, R>>of(
+                Grupos::new,
+                (grupos, elemento) -> acumular.accept(
+                        grupos.obtener(idValido(id.applyAsInt(elemento)), nuevo), elemento),
+                (grupos, otros) -> grupos.combinar(otros, combinar),
+                grupos -> {
+                    Map<String, R> resultado = HashMap.newHashMap(grupos.cantidad);
+                    for (int i = 0; i < grupos.acumuladores.length; i++) {
+                        A acumulador = grupos.acumulador(i);
+                        if (acumulador != null) {
+                            resultado.put(valor(i), terminar.apply(acumulador));
+                        }
+                    }
+                    return resultado;
+                },
+                caracteristicas);
+    }
+    
+    private static int idValido(int id) {
+        if (id < 0) {
+            throw new NullPointerException("El elemento no tiene clave en el diccionario");
+        }
+        return id;
+    }
+    
+    private Entrada entrada(String valor) {
+        Entrada entrada = entradas.get(valor);
+        return entrada != null ? entrada : entradas.computeIfAbsent(valor, this::registrar);
+    }
+    
+    private synchronized Entrada registrar(String valor) {
+        int id = tamanio;
+        if (id == valores.length) {
+            valores = Arrays.copyOf(valores, id * 2);
+        }
+        valores[id] = valor;
+        // Se publica después de escribir el valor, así valor(id) nunca ve un lugar vacío
+        tamanio = id + 1;
+        return new Entrada(valor, id);
+    }
+    
+    /**
+     * Acumuladores de un {@link #agrupandoPorId}, indexados por id de la clave.
+     */
+    private static final class Grupos<A> {
+        
+        private Object[] acumuladores = new Object[8];
+        private int cantidad;
+        
+        @SuppressWarnings("unchecked")
+        A acumulador(int id) {
+            return (A) acumuladores[id];
+        }
+        
+        A obtener(int id, Supplier<A> nuevo) {
+            asegurarLugar(id);
+            A acumulador = acumulador(id);
+            if (acumulador == null) {
+                acumulador = nuevo.get();
+                acumuladores[id] = acumulador;
+                cantidad++;
+            }
+            return acumulador;
+        }
+        
+        Grupos<A> combinar(Grupos<A> otros, BinaryOperator<A> combinar) {
+            asegurarLugar(otros.acumuladores.length - 1);
+            for (int id = 0; id < otros.acumuladores.length; id++) {
+                A suyo = otros.acumulador(id);
+                if (suyo == null) {
+                    continue;
+                }
+                if (acumuladores[id] == null) {
+                    acumuladores[id] = suyo;
+                    cantidad++;
+                } else {
+                    acumuladores[id] = combinar.apply(acumulador(id), suyo);
+                }
+            }
+            return this;
+        }
+        
+        private void asegurarLugar(int id) {
+            if (id >= acumuladores.length) {
+                acumuladores = Arrays.copyOf(acumuladores, Math.max(acumuladores.length * 2, id + 1));
+            }
+        }
+    }
+}
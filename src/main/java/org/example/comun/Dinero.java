@@ -0,0 +1,55 @@
+package org.example.comun;
+
+/**
+ * Conversión entre montos {@code double} y centavos enteros ({@code long}).
+ * Sumar centavos es exacto y asociativo, así que el resultado no depende del orden
+ * ni de la cantidad de hilos, a diferencia de sumar {@code double}.
+ */
+public final class Dinero {
+    
+    /** Cantidad de centavos en una unidad monetaria. */
+    public static final long CENTAVOS_POR_UNIDAD = 100;
+    
+    /** Mayor monto en centavos que se puede convertir sin perder precisión en un double. */
+    private static final double MAXIMO_CENTAVOS = 1L << 53;
+    
+    private Dinero() {
+    }
+    
+    /**
+     * Convierte un monto a centavos, redondeando al centavo más cercano.
+     * 
+     * @param monto monto en unidades
+     * @return monto en centavos
+     * @throws IllegalArgumentException si el monto no es finito o es demasiado grande
+     */
+    public static long aCentavos(double monto) {
+        double centavos = Math.rint(monto * CENTAVOS_POR_UNIDAD);
+        if (!(Math.abs(centavos) <= MAXIMO_CENTAVOS)) {
+            throw new IllegalArgumentException("Monto fuera de rango para centavos: " + monto);
+        }
+        return (long) centavos;
+    }
+    
+    /**
+     * Convierte centavos a un monto en unidades, con el double más cercano al valor exacto.
+     * 
+     * @param centavos monto en centavos
+     * @return monto en unidades
+     */
+    public static double aMonto(long centavos) {
+        return centavos / (double) CENTAVOS_POR_UNIDAD;
+    }
+    
+    /**
+     * Suma dos montos en centavos detectando el desborde.
+     * 
+     * @param a primer monto en centavos
+     * @param b segundo monto en centavos
+     * @return suma en centavos
+     * @throws ArithmeticException si la suma desborda un long
+     */
+    public static long sumar(long a, long b) {
+        return Math.addExact(a, b);
+    }
+}
@@ -0,0 +1,176 @@
+package org.example.comun;
+
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Decide cómo ejecutan los servicios sus consultas sobre colecciones: en el hilo que llama,
+ * en paralelo sobre el pool común o en paralelo sobre un {@link ForkJoinPool} dedicado, para
+ * que un reporte grande no compita con el resto de la aplicación por el pool común.
+ * 
+ * <p>Las colecciones con menos elementos que el umbral se procesan siempre en secuencial,
+ * porque repartir el trabajo cuesta más que hacerlo. Las consultas que pasan por la estrategia
+ * solo usan operaciones que respetan el orden de encuentro o que son exactas (sumas enteras),
+ * así que el resultado es el mismo que en secuencial.
+ * 
+ * <p>Una estrategia con pool propio ({@link #conParalelismo}) debe cerrarse al dejar de usarla.
+ */
+public final class EstrategiaEjecucion implements AutoCloseable {
+    
+    /** Tamaño por defecto a partir del cual conviene paralelizar. */
+    public static final int UMBRAL_POR_DEFECTO = 1 << 13;
+    
+    private static final EstrategiaEjecucion SECUENCIAL = new EstrategiaEjecucion(false, null, false, Integer.MAX_VALUE);
+    
+    private final boolean paralela;
+    /** Pool donde corren las consultas paralelas, o null para el pool común. */
+    private final ForkJoinPool pool;
+    private final boolean poolPropio;
+    private final int umbral;
+    
+    private EstrategiaEjecucion(boolean paralela, ForkJoinPool pool, boolean poolPropio, int umbral) {
+        if (umbral < 1) {
+            throw new IllegalArgumentException("El umbral debe ser positivo: " + umbral);
+        }
+        this.paralela = paralela;
+        this.pool = pool;
+        this.poolPropio = poolPropio;
+        this.umbral = umbral;
+    }
+    
+    /**
+     * Estrategia que procesa todo en el hilo que llama.
+     * 
+     * @return estrategia secuencial
+     */
+    public static EstrategiaEjecucion secuencial() {
+        return SECUENCIAL;
+    }
+    
+    /**
+     * Estrategia paralela sobre el pool común con el umbral por defecto.
+     * 
+     * @return estrategia paralela
+     */
+    public static EstrategiaEjecucion paralela() {
+        return paralela(UMBRAL_POR_DEFECTO);
+    }
+    
+    /**
+     * Estrategia paralela sobre el pool común.
+     * 
+     * @param umbral tamaño mínimo para paralelizar
+     * @return estrategia paralela
+     */
+    public static EstrategiaEjecucion paralela(int umbral) {
+        return new EstrategiaEjecucion(true, null, false, umbral);
+    }
+    
+    /**
+     * Estrategia paralela sobre un pool existente. El pool no se cierra con la estrategia.
+     * 
+     * @param pool pool donde corren las consultas
+     * @param umbral tamaño mínimo para paralelizar
+     * @return estrategia paralela
+     */
+    public static EstrategiaEjecucion conPool(ForkJoinPool pool, int umbral) {
+        if (pool == null) {
+            throw new IllegalArgumentException("El pool no puede ser null");
+        }
+        return new EstrategiaEjecucion(true, pool, false, umbral);
+    }
+    
+    /**
+     * Estrategia paralela sobre un pool propio con la cantidad de hilos indicada.
+     * El pool se cierra con {@link #close()}.
+     * 
+     * @param paralelismo cantidad de hilos del pool
+     * @param umbral tamaño mínimo para paralelizar
+     * @return estrategia paralela
+     */
+    public static EstrategiaEjecucion conParalelismo(int paralelismo, int umbral) {
+        if (paralelismo < 1) {
+            throw new IllegalArgumentException("El paralelismo debe ser positivo: " + paralelismo);
+        }
+        return new EstrategiaEjecucion(true, new ForkJoinPool(paralelismo), true, umbral);
+    }
+    
+    /**
+     * Indica si una colección de este tamaño se procesaría en paralelo.
+     * 
+     * @param tamanio cantidad de elementos
+     * @return true si se paraleliza
+     */
+    public boolean esParalela(int tamanio) {
+        return paralela && tamanio >= umbral;
+    }
+    
+    /**
+     * Devuelve el tamaño mínimo para paralelizar.
+     * 
+     * @return umbral, o {@link Integer#MAX_VALUE} si la estrategia es secuencial
+     */
+    public int umbral() {
+        return paralela ? umbral : Integer.MAX_VALUE;
+    }
+    
+    /**
+     * Ejecuta una consulta de streams sobre una colección, con un stream secuencial o paralelo
+     * según el tamaño, y en el pool de la estrategia.
+     * 
+     * @param datos colección a consultar
+     * @param consulta pipeline a aplicar sobre el stream
+     * @param <T> tipo de los elementos
+     * @param <R> tipo del resultado
+     * @return resultado de la consulta
+     */
+    public <T, R> R ejecutar(Collection<T> datos, Function<? super Stream<T>, R> consulta) {
+        if (!esParalela(datos.size())) {
+            return consulta.apply(datos.stream());
+        }
+        return enPool(() -> consulta.apply(datos.parallelStream()));
+    }
+    
+    /**
+     * Elige entre una implementación secuencial y una paralela según el tamaño, y corre la
+     * paralela en el pool de la estrategia. Ambas deben devolver el mismo resultado.
+     * 
+     * @param tamanio cantidad de elementos a procesar
+     * @param secuencial implementación secuencial
+     * @param enParalelo implementación paralela
+     * @param <R> tipo del resultado
+     * @return resultado de la implementación elegida
+     */
+    public <R> R elegir(int tamanio, Supplier<R> secuencial, Supplier<R> enParalelo) {
+        return esParalela(tamanio) ? enPool(enParalelo) : secuencial.get();
+    }
+    
+    /**
+     * Corre una tarea dentro del pool de la estrategia, de modo que los streams paralelos
+     * y las tareas fork/join que lance usen ese pool. Sin pool propio corre en el hilo actual.
+     * 
+     * @param tarea tarea a ejecutar
+     * @param <R> tipo del resultado
+     * @return resultado de la tarea
+     */
+    public <R> R enPool(Supplier<R> tarea) {
+        if (pool == null || ForkJoinTask.getPool() == pool) {
+            return tarea.get();
+        }
+        return pool.submit(tarea::get).join();
+    }
+    
+    /**
+     * Cierra el pool si la estrategia lo creó; las demás estrategias no hacen nada.
+     */
+    @Override
+    public void close() {
+        if (poolPropio) {
+            pool.close();
+        }
+    }
+}
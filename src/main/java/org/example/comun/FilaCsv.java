@@ -0,0 +1,338 @@
+package org.example.comun;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Fila de un archivo CSV tal como está en el buffer de lectura de {@link IngestaCsv}: solo
+ * guarda dónde empieza y termina cada campo. Los campos numéricos se interpretan directamente
+ * desde los bytes, sin crear un {@link String}; solo {@link #texto} crea uno.
+ * 
+ * <p>La instancia y sus bytes se reutilizan para la fila siguiente, así que solo vale mientras
+ * se decodifica la fila actual. Lo que sí se conserva entre filas es una tabla de bytes a ids
+ * por cada {@link Diccionario} usado en {@link #categoria}, para no decodificar otra vez los
+ * valores categóricos que se repiten.
+ */
+public final class FilaCsv {
+    
+    /** Potencias de 10 representables exactamente como double. */
+    private static final double[] POTENCIAS_DE_10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    
+    private byte[] datos;
+    private int[] inicios = new int[8];
+    private int[] fines = new int[8];
+    private boolean[] conComillasEscapadas = new boolean[8];
+    private int campos;
+    private long numero;
+    private Categorias[] categorias = new Categorias[0];
+    
+    FilaCsv() {
+    }
+    
+    void reiniciar(byte[] datos, long numero) {
+        this.datos = datos;
+        this.numero = numero;
+        this.campos = 0;
+    }
+    
+    void agregarCampo(int inicio, int fin, boolean comillasEscapadas) {
+        if (campos == inicios.length) {
+            inicios = Arrays.copyOf(inicios, campos * 2);
+            fines = Arrays.copyOf(fines, campos * 2);
+            conComillasEscapadas = Arrays.copyOf(conComillasEscapadas, campos * 2);
+        }
+        inicios[campos] = inicio;
+        fines[campos] = fin;
+        conComillasEscapadas[campos] = comillasEscapadas;
+        campos++;
+    }
+    
+    /**
+     * Indica si la fila es una línea en blanco.
+     */
+    boolean enBlanco() {
+        return campos == 1 && inicios[0] == fines[0] && (inicios[0] == 0 || datos[inicios[0] - 1] != '"');
+    }
+    
+    /**
+     * Devuelve el número de fila en el archivo, empezando en 1 y contando el encabezado.
+     * 
+     * @return número de fila
+     */
+    public long numero() {
+        return numero;
+    }
+    
+    /**
+     * Devuelve la cantidad de campos de la fila.
+     * 
+     * @return cantidad de campos
+     */
+    public int cantidadCampos() {
+        return campos;
+    }
+    
+    /**
+     * Verifica que la fila tenga la cantidad de campos esperada.
+     * 
+     * @param esperados cantidad de campos esperada
+     * @throws IllegalArgumentException si la fila tiene otra cantidad de campos
+     */
+    public void exigirCampos(int esperados) {
+        if (campos != esperados) {
+            throw new IllegalArgumentException("Se esperaban " + esperados + " campos y hay " + campos);
+        }
+    }
+    
+    /**
+     * Decodifica un campo como texto UTF-8, quitando las comillas que lo rodean.
+     * 
+     * @param campo índice del campo
+     * @return texto del campo
+     */
+    public String texto(int campo) {
+        verificar(campo);
+        String texto = new String(datos, inicios[campo], fines[campo] - inicios[campo], StandardCharsets.UTF_8);
+        return conComillasEscapadas[campo] ? texto.replace("\"\"", "\"") : texto;
+    }
+    
+    /**
+     * Devuelve la instancia canónica de un campo categórico. Si los mismos bytes ya aparecieron
+     * en una fila anterior de esta lectura, el valor sale de la tabla sin crear un {@link String}.
+     * 
+     * @param campo índice del campo
+     * @param diccionario diccionario del campo
+     * @return valor canónico del campo
+     */
+    public String categoria(int campo, Diccionario diccionario) {
+        return diccionario.valor(idCategoria(campo, diccionario));
+    }
+    
+    /**
+     * Devuelve el id de un campo categórico en el diccionario, registrándolo si es nuevo.
+     * 
+     * @param campo índice del campo
+     * @param diccionario diccionario del campo
+     * @return id del valor del campo
+     */
+    public int idCategoria(int campo, Diccionario diccionario) {
+        verificar(campo);
+        Categorias tabla = categorias(diccionario);
+        int inicio = inicios[campo];
+        int fin = fines[campo];
+        int hash = 1;
+        for (int i = inicio; i < fin; i++) {
+            hash = 31 * hash + datos[i];
+        }
+        hash ^= hash >>> 16;
+        int id = tabla.buscar(datos, inicio, fin, hash);
+        if (id == Diccionario.SIN_ID) {
+            id = diccionario.id(texto(campo));
+            tabla.agregar(Arrays.copyOfRange(datos, inicio, fin), hash, id);
+        }
+        return id;
+    }
+    
+    private Categorias categorias(Diccionario diccionario) {
+        for (Categorias tabla : categorias) {
+            if (tabla.diccionario == diccionario) {
+                return tabla;
+            }
+        }
+        Categorias tabla = new Categorias(diccionario);
+        categorias = Arrays.copyOf(categorias, categorias.length + 1);
+        categorias[categorias.length - 1] = tabla;
+        return tabla;
+    }
+    
+    /**
+     * Interpreta un campo como {@code int}.
+     * 
+     * @param campo índice del campo
+     * @return valor del campo
+     * @throws NumberFormatException si el campo no es un entero o no entra en un int
+     */
+    public int entero(int campo) {
+        long valor = enteroLargo(campo);
+        if (valor != (int) valor) {
+            throw new NumberFormatException("El campo " + campo + " no entra en un int: " + valor);
+        }
+        return (int) valor;
+    }
+    
+    /**
+     * Interpreta un campo como {@code long}.
+     * 
+     * @param campo índice del campo
+     * @return valor del campo
+     * @throws NumberFormatException si el campo no es un entero o no entra en un long
+     */
+    public long enteroLargo(int campo) {
+        verificar(campo);
+        int i = inicios[campo];
+        int fin = fines[campo];
+        boolean negativo = i < fin && datos[i] == '-';
+        if (i < fin && (negativo || datos[i] == '+')) {
+            i++;
+        }
+        if (i == fin) {
+            throw noNumerico(campo);
+        }
+        // Se acumula en negativo para poder representar Long.MIN_VALUE
+        long valor = 0;
+        for (; i < fin; i++) {
+            int digito = datos[i] - '0';
+            if (digito < 0 || digito > 9) {
+                throw noNumerico(campo);
+            }
+            if (valor < (Long.MIN_VALUE + digito) / 10) {
+                throw new NumberFormatException("El campo " + campo + " no entra en un long: " + texto(campo));
+            }
+            valor = valor * 10 - digito;
+        }
+        if (!negativo && valor == Long.MIN_VALUE) {
+            throw new NumberFormatException("El campo " + campo + " no entra en un long: " + texto(campo));
+        }
+        return negativo ? valor : -valor;
+    }
+    
+    /**
+     * Interpreta un campo como {@code double}, con el mismo resultado que {@link Double#parseDouble}.
+     * Los números de hasta 15 dígitos significativos y exponente decimal chico, que son casi
+     * todos los montos y notas, se calculan desde los bytes con una sola multiplicación o división
+     * exacta; el resto se delega en {@link Double#parseDouble}.
+     * 
+     * @param campo índice del campo
+     * @return valor del campo
+     * @throws NumberFormatException si el campo no es un número
+     */
+    public double decimal(int campo) {
+        verificar(campo);
+        int i = inicios[campo];
+        int fin = fines[campo];
+        boolean negativo = i < fin && datos[i] == '-';
+        if (i < fin && (negativo || datos[i] == '+')) {
+            i++;
+        }
+        long mantisa = 0;
+        int digitos = 0;
+        int significativos = 0;
+        int exponente = 0;
+        for (; i < fin && esDigito(datos[i]); i++, digitos++) {
+            if (mantisa != 0 || datos[i] != '0') {
+                mantisa = mantisa * 10 + (datos[i] - '0');
+                significativos++;
+            }
+        }
+        if (i < fin && datos[i] == '.') {
+            for (i++; i < fin && esDigito(datos[i]); i++, digitos++) {
+                if (mantisa != 0 || datos[i] != '0') {
+                    mantisa = mantisa * 10 + (datos[i] - '0');
+                    significativos++;
+                }
+                exponente--;
+            }
+        }
+        if (digitos > 0 && i < fin && (datos[i] == 'e' || datos[i] == 'E') && fin - i <= 5) {
+            int j = i + 1;
+            boolean exponenteNegativo = j < fin && datos[j] == '-';
+            if (j < fin && (exponenteNegativo || datos[j] == '+')) {
+                j++;
+            }
+            int explicito = 0;
+            int inicioExponente = j;
+            for (; j < fin && esDigito(datos[j]); j++) {
+                explicito = explicito * 10 + (datos[j] - '0');
+            }
+            if (j > inicioExponente) {
+                exponente += exponenteNegativo ? -explicito : explicito;
+                i = j;
+            }
+        }
+        if (digitos == 0 || i != fin || significativos > 15 || exponente < -22 || exponente > 22) {
+            // Formatos poco comunes o que necesitan redondeo fino: se crea el String solo en este caso
+            return Double.parseDouble(texto(campo).trim());
+        }
+        // Mantisa y potencia son exactas, así que el resultado queda bien redondeado
+        double valor = exponente >= 0 ? mantisa * POTENCIAS_DE_10[exponente] : mantisa / POTENCIAS_DE_10[-exponente];
+        return negativo ? -valor : valor;
+    }
+    
+    private static boolean esDigito(byte b) {
+        return b >= '0' && b <= '9';
+    }
+    
+    private void verificar(int campo) {
+        if (campo < 0 || campo >= campos) {
+            throw new IllegalArgumentException("La fila no tiene el campo " + campo + ": tiene " + campos);
+        }
+    }
+    
+    private NumberFormatException noNumerico(int campo) {
+        return new NumberFormatException("El campo " + campo + " no es un número: \"" + texto(campo) + "\"");
+    }
+    
+    /**
+     * Tabla de bytes crudos de un campo a id en un diccionario, con direccionamiento abierto.
+     * Se llena hasta {@link #MAXIMO} valores; si el campo resulta tener más, el resto se
+     * decodifica siempre.
+     */
+    private static final class Categorias {
+        
+        private static final int MAXIMO = 1 << 12;
+        
+        private final Diccionario diccionario;
+        private byte[][] claves = new byte[16][];
+        private int[] hashes = new int[16];
+        private int[] ids = new int[16];
+        private int tamanio;
+        
+        Categorias(Diccionario diccionario) {
+            this.diccionario = diccionario;
+        }
+        
+        int buscar(byte[] datos, int inicio, int fin, int hash) {
+            int mascara = claves.length - 1;
+            for (int i = hash & mascara; claves[i] != null; i = (i + 1) & mascara) {
+                if (hashes[i] == hash && Arrays.equals(claves[i], 0, claves[i].length, datos, inicio, fin)) {
+                    return ids[i];
+                }
+            }
+            return Diccionario.SIN_ID;
+        }
+        
+        void agregar(byte[] clave, int hash, int id) {
+            if (tamanio == MAXIMO) {
+                return;
+            }
+            if (++tamanio > claves.length / 2) {
+                byte[][] clavesAnteriores = claves;
+                int[] hashesAnteriores = hashes;
+                int[] idsAnteriores = ids;
+                claves = new byte[clavesAnteriores.length * 2][];
+                hashes = new int[claves.length];
+                ids = new int[claves.length];
+                for (int i = 0; i < clavesAnteriores.length; i++) {
+                    if (clavesAnteriores[i] != null) {
+                        ubicar(clavesAnteriores[i], hashesAnteriores[i], idsAnteriores[i]);
+                    }
+                }
+            }
+            ubicar(clave, hash, id);
+        }
+        
+        private void ubicar(byte[] clave, int hash, int id) {
+            int mascara = claves.length - 1;
+            int i = hash & mascara;
+            while (claves[i] != null) {
+                i = (i + 1) & mascara;
+            }
+            claves[i] = clave;
+            hashes[i] = hash;
+            ids[i] = id;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.comun;
+
+/**
+ * Formatea valores {@code double} exactamente como {@link Double#toString(double)} pero
+ * escribiendo los dígitos en un arreglo de bytes ASCII, sin crear objetos intermedios.
+ * 
+ * <p>El camino rápido cubre los valores que {@code Double.toString} escribe sin exponente
+ * (entre 10<sup>-3</sup> y 10<sup>7</sup>) y que tienen hasta 15 dígitos significativos,
+ * que es el caso habitual de precios y salarios. Para el resto se delega en
+ * {@code Double.toString}, por lo que la salida es siempre idéntica.
+ */
+public final class FormatoDouble {
+    
+    /** Cantidad máxima de bytes que puede ocupar un valor formateado. */
+    public static final int LONGITUD_MAXIMA = 32;
+    
+    private static final int MAXIMOS_DECIMALES = 15;
+    private static final long LIMITE_DIGITOS = 1_000_000_000_000_000L;
+    private static final double[] POTENCIAS = new double[MAXIMOS_DECIMALES + 1];
+    private static final long[] POTENCIAS_ENTERAS = new long[MAXIMOS_DECIMALES + 1];
+    
+    static {
+        double potencia = 1.0;
+        long potenciaEntera = 1L;
+        for (int i = 0; i <= MAXIMOS_DECIMALES; i++) {
+            POTENCIAS[i] = potencia;
+            POTENCIAS_ENTERAS[i] = potenciaEntera;
+            potencia *= 10.0;
+            potenciaEntera *= 10L;
+        }
+    }
+    
+    private FormatoDouble() {
+    }
+    
+    /**
+     * Escribe el valor en {@code destino} a partir de {@code posicion}.
+     * 
+     * @param valor valor a formatear
+     * @param destino arreglo con al menos {@link #LONGITUD_MAXIMA} bytes libres desde la posición
+     * @param posicion primera posición a escribir
+     * @return posición siguiente al último byte escrito
+     */
+    public static int escribir(double valor, byte[] destino, int posicion) {
+        double absoluto = Math.abs(valor);
+        if (absoluto >= 1e-3 && absoluto < 1e7) {
+            for (int decimales = 1; decimales <= MAXIMOS_DECIMALES; decimales++) {
+                long mantisa = Math.round(absoluto * POTENCIAS[decimales]);
+                if (mantisa >= LIMITE_DIGITOS) {
+                    break;
+                }
+                // La división de dos doubles exactos redondea igual que parsear el decimal
+                if (mantisa / POTENCIAS[decimales] == absoluto) {
+                    if (valor < 0) {
+                        destino[posicion++] = '-';
+                    }
+                    return escribirDecimal(mantisa, decimales, destino, posicion);
+                }
+            }
+        } else if (valor == 0.0 && Double.doubleToRawLongBits(valor) == 0L) {
+            destino[posicion++] = '0';
+            destino[posicion++] = '.';
+            destino[posicion++] = '0';
+            return posicion;
+        }
+        String texto = Double.toString(valor);
+        for (int i = 0; i < texto.length(); i++) {
+            destino[posicion++] = (byte) texto.charAt(i);
+        }
+        return posicion;
+    }
+    
+    private static int escribirDecimal(long mantisa, int decimales, byte[] destino, int posicion) {
+        long entero = mantisa / POTENCIAS_ENTERAS[decimales];
+        long fraccion = mantisa % POTENCIAS_ENTERAS[decimales];
+        posicion = escribirEntero(entero, destino, posicion);
+        destino[posicion++] = '.';
+        for (int i = decimales - 1; i >= 0; i--) {
+            destino[posicion + i] = (byte) ('0' + fraccion % 10);
+            fraccion /= 10;
+        }
+        return posicion + decimales;
+    }
+    
+    private static int escribirEntero(long valor, byte[] destino, int posicion) {
+        int digitos = 1;
+        for (long resto = valor / 10; resto != 0; resto /= 10) {
+            digitos++;
+        }
+        for (int i = digitos - 1; i >= 0; i--) {
+            destino[posicion + i] = (byte) ('0' + valor % 10);
+            valor /= 10;
+        }
+        return posicion + digitos;
+    }
+}
@@ -0,0 +1,401 @@
+package org.example.comun;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+/**
+ * Lectura de archivos CSV en bloques de tamaño fijo, para agregar archivos de varios GB sin
+ * cargarlos enteros. Un hilo virtual lee el archivo con NIO sobre un único buffer de bytes
+ * reutilizable, decodifica cada fila con un {@link FilaCsv} (los números se interpretan desde
+ * los bytes) y entrega bloques de entidades a una cola acotada; el hilo que llama los consume.
+ * Si el consumo es más lento que la lectura, la cola se llena y la lectura espera, así que en
+ * memoria hay a lo sumo {@code bloquesEnVuelo + 2} bloques, sin importar el tamaño del archivo.
+ * 
+ * <p>Admite campos entre comillas dobles, con separadores, saltos de línea y comillas escapadas
+ * ({@code ""}) adentro, y finales de línea {@code \n} o {@code \r\n}. Las líneas en blanco se
+ * ignoran. El texto se decodifica como UTF-8. Una fila no puede ocupar más que el buffer.
+ * 
+ * <p>Es inmutable: los métodos {@code con...} devuelven una copia con el cambio.
+ * 
+ * @param <T> tipo de las entidades decodificadas
+ */
+public final class IngestaCsv<T> {
+    
+    /** Filas por bloque por defecto. */
+    public static final int TAMANIO_BLOQUE_POR_DEFECTO = 1 << 12;
+    
+    /** Tamaño por defecto del buffer de lectura, en bytes. */
+    public static final int TAMANIO_BUFFER_POR_DEFECTO = 1 << 16;
+    
+    /** Bloques decodificados que pueden esperar en la cola por defecto. */
+    public static final int BLOQUES_EN_VUELO_POR_DEFECTO = 2;
+    
+    /** Marca de fin en la cola de bloques. */
+    private static final Object FIN = new Object();
+    
+    private final Function<FilaCsv, ? extends T> decodificador;
+    private final int tamanioBloque;
+    private final int tamanioBuffer;
+    private final int bloquesEnVuelo;
+    private final byte separador;
+    private final boolean conEncabezado;
+    
+    private IngestaCsv(Function<FilaCsv, ? extends T> decodificador, int tamanioBloque, int tamanioBuffer,
+                       int bloquesEnVuelo, byte separador, boolean conEncabezado) {
+        this.decodificador = decodificador;
+        this.tamanioBloque = tamanioBloque;
+        this.tamanioBuffer = tamanioBuffer;
+        this.bloquesEnVuelo = bloquesEnVuelo;
+        this.separador = separador;
+        this.conEncabezado = conEncabezado;
+    }
+    
+    /**
+     * Crea una ingesta con separador coma, una fila de encabezado y los tamaños por defecto.
+     * 
+     * @param decodificador arma una entidad a partir de una fila; puede lanzar
+     *                      {@link IllegalArgumentException} si la fila no es válida
+     * @param <T> tipo de las entidades
+     * @return ingesta configurada
+     */
+    public static <T> IngestaCsv<T> de(Function<FilaCsv, ? extends T> decodificador) {
+        Objects.requireNonNull(decodificador, "El decodificador no puede ser null");
+        return new IngestaCsv<>(decodificador, TAMANIO_BLOQUE_POR_DEFECTO, TAMANIO_BUFFER_POR_DEFECTO,
+                BLOQUES_EN_VUELO_POR_DEFECTO, (byte) ',', true);
+    }
+    
+    /**
+     * Cambia la cantidad de filas por bloque.
+     * 
+     * @param filas filas por bloque
+     * @return copia con el cambio
+     */
+    public IngestaCsv<T> conTamanioBloque(int filas) {
+        exigirPositivo(filas, "El tamaño de bloque");
+        return new IngestaCsv<>(decodificador, filas, tamanioBuffer, bloquesEnVuelo, separador, conEncabezado);
+    }
+    
+    /**
+     * Cambia el tamaño del buffer de lectura, que es también el largo máximo de una fila.
+     * 
+     * @param bytes tamaño del buffer
+     * @return copia con el cambio
+     */
+    public IngestaCsv<T> conTamanioBuffer(int bytes) {
+        exigirPositivo(bytes, "El tamaño del buffer");
+        return new IngestaCsv<>(decodificador, tamanioBloque, bytes, bloquesEnVuelo, separador, conEncabezado);
+    }
+    
+    /**
+     * Cambia cuántos bloques decodificados pueden esperar a ser consumidos.
+     * 
+     * @param bloques bloques en la cola
+     * @return copia con el cambio
+     */
+    public IngestaCsv<T> conBloquesEnVuelo(int bloques) {
+        exigirPositivo(bloques, "La cantidad de bloques en vuelo");
+        return new IngestaCsv<>(decodificador, tamanioBloque, tamanioBuffer, bloques, separador, conEncabezado);
+    }
+    
+    /**
+     * Cambia el separador de campos.
+     * 
+     * @param separador separador ASCII, distinto de comillas y saltos de línea
+     * @return copia con el cambio
+     */
+    public IngestaCsv<T> conSeparador(char separador) {
+        if (separador > 0x7F || separador == '"' || separador == '\n' || separador == '\r') {
+            throw new IllegalArgumentException("Separador no admitido: " + separador);
+        }
+        return new IngestaCsv<>(decodificador, tamanioBloque, tamanioBuffer, bloquesEnVuelo, (byte) separador,
+                conEncabezado);
+    }
+    
+    /**
+     * Indica que el archivo no tiene fila de encabezado.
+     * 
+     * @return copia con el cambio
+     */
+    public IngestaCsv<T> sinEncabezado() {
+        return new IngestaCsv<>(decodificador, tamanioBloque, tamanioBuffer, bloquesEnVuelo, separador, false);
+    }
+    
+    /**
+     * Lee un archivo y entrega sus entidades en bloques, en el orden del archivo.
+     * 
+     * @param archivo archivo CSV
+     * @param consumidor recibe cada bloque en el hilo que llama; no debería guardarlos
+     * @throws IOException si falla la lectura o una fila no se puede decodificar
+     */
+    public void procesar(Path archivo, Consumer<? super List<T>> consumidor) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            procesar(canal, consumidor);
+        }
+    }
+    
+    /**
+     * Lee un canal hasta el final y entrega sus entidades en bloques, en el orden del canal.
+     * El canal no se cierra, salvo que la lectura se interrumpa por un error del consumidor.
+     * 
+     * @param canal canal a leer
+     * @param consumidor recibe cada bloque en el hilo que llama; no debería guardarlos
+     * @throws IOException si falla la lectura o una fila no se puede decodificar
+     */
+    @SuppressWarnings("unchecked")
+    public void procesar(ReadableByteChannel canal, Consumer<? super List<T>> consumidor) throws IOException {
+        BlockingQueue<Object> cola = new ArrayBlockingQueue<>(bloquesEnVuelo);
+        Thread lector = Thread.ofVirtual().name("ingesta-csv").start(() -> leer(canal, cola));
+        boolean terminado = false;
+        try {
+            while (true) {
+                Object siguiente = cola.take();
+                if (siguiente == FIN) {
+                    terminado = true;
+                    return;
+                }
+                if (siguiente instanceof Falla falla) {
+                    terminado = true;
+                    throw falla.relanzable();
+                }
+                consumidor.accept((List<T>) siguiente);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Se interrumpió la lectura del CSV");
+        } finally {
+            if (!terminado) {
+                lector.interrupt();
+            }
+            esperar(lector);
+        }
+    }
+    
+    /**
+     * Agrega todas las entidades de un archivo con un collector, bloque por bloque y en el orden
+     * del archivo, así que el resultado es el mismo que con un stream secuencial sobre la lista.
+     * 
+     * @param archivo archivo CSV
+     * @param collector collector a aplicar
+     * @param <A> tipo del acumulador
+     * @param <R> tipo del resultado
+     * @return resultado del collector
+     * @throws IOException si falla la lectura o una fila no se puede decodificar
+     */
+    public <A, R> R recolectar(Path archivo, Collector<? super T, A, R> collector) throws IOException {
+        A acumulador = collector.supplier().get();
+        BiConsumer<A, ? super T> acumular = collector.accumulator();
+        procesar(archivo, bloque -> {
+            for (T elemento : bloque) {
+                acumular.accept(acumulador, elemento);
+            }
+        });
+        return collector.finisher().apply(acumulador);
+    }
+    
+    /**
+     * Cuerpo del hilo lector: decodifica bloques y los encola, terminando con {@link #FIN} o una {@link Falla}.
+     */
+    private void leer(ReadableByteChannel canal, BlockingQueue<Object> cola) {
+        try {
+            Lector lector = new Lector(canal);
+            FilaCsv fila = new FilaCsv();
+            if (conEncabezado) {
+                lector.siguiente(fila);
+            }
+            List<T> bloque = new ArrayList<>(tamanioBloque);
+            while (lector.siguiente(fila)) {
+                bloque.add(decodificar(fila));
+                if (bloque.size() == tamanioBloque) {
+                    cola.put(bloque);
+                    bloque = new ArrayList<>(tamanioBloque);
+                }
+            }
+            if (!bloque.isEmpty()) {
+                cola.put(bloque);
+            }
+            cola.put(FIN);
+        } catch (InterruptedException e) {
+            // El consumidor dejó de leer: no queda nadie para recibir más bloques
+        } catch (Throwable error) {
+            try {
+                cola.put(new Falla(error));
+            } catch (InterruptedException e) {
+                // Idem
+            }
+        }
+    }
+    
+    private T decodificar(FilaCsv fila) throws IOException {
+        try {
+            return decodificador.apply(fila);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Fila " + fila.numero() + " inválida: " + e.getMessage(), e);
+        }
+    }
+    
+    private static void esperar(Thread lector) throws InterruptedIOException {
+        try {
+            lector.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Se interrumpió la espera del lector del CSV");
+        }
+    }
+    
+    private static void exigirPositivo(int valor, String nombre) {
+        if (valor < 1) {
+            throw new IllegalArgumentException(nombre + " debe ser positivo: " + valor);
+        }
+    }
+    
+    /** Error del hilo lector, que se relanza en el hilo que consume. */
+    private record Falla(Throwable error) {
+        
+        IOException relanzable() {
+            if (error instanceof Error grave) {
+                throw grave;
+            }
+            if (error instanceof IOException e) {
+                return new IOException(e.getMessage(), e);
+            }
+            if (error instanceof UncheckedIOException e) {
+                return new IOException(e.getMessage(), e.getCause());
+            }
+            return new IOException("Falló la lectura del CSV", error);
+        }
+    }
+    
+    /**
+     * Separa las filas del canal sobre un buffer fijo. Cada fila se busca a partir de su inicio;
+     * si el buffer se termina antes que la fila, se mueve la parte leída al principio, se lee más
+     * y se vuelve a buscar.
+     */
+    private final class Lector {
+        private final ReadableByteChannel canal;
+        private final ByteBuffer buffer = ByteBuffer.allocate(tamanioBuffer);
+        private final byte[] datos = buffer.array();
+        private int posicion;
+        private int limite;
+        private boolean finDeCanal;
+        private long filas;
+        
+        private Lector(ReadableByteChannel canal) {
+            this.canal = canal;
+        }
+        
+        boolean siguiente(FilaCsv fila) throws IOException {
+            while (true) {
+                if (posicion == limite && finDeCanal) {
+                    return false;
+                }
+                int fin = posicion < limite ? separar(fila) : -1;
+                if (fin >= 0) {
+                    posicion = fin;
+                    if (!fila.enBlanco()) {
+                        return true;
+                    }
+                } else {
+                    if (posicion == 0 && limite == datos.length) {
+                        throw new IOException("La fila " + (filas + 1) + " no entra en el buffer de "
+                                + datos.length + " bytes");
+                    }
+                    llenar();
+                }
+            }
+        }
+        
+        private void llenar() throws IOException {
+            System.arraycopy(datos, posicion, datos, 0, limite - posicion);
+            limite -= posicion;
+            posicion = 0;
+            buffer.clear().position(limite);
+            int leidos = canal.read(buffer);
+            if (leidos < 0) {
+                finDeCanal = true;
+            } else {
+                limite += leidos;
+            }
+        }
+        
+        /**
+         * Separa los campos de la fila que empieza en {@code posicion}.
+         * 
+         * @return posición siguiente al fin de la fila, o -1 si hace falta leer más
+         */
+        private int separar(FilaCsv fila) throws IOException {
+            fila.reiniciar(datos, filas + 1);
+            int i = posicion;
+            while (true) {
+                if (i < limite && datos[i] == '"') {
+                    int inicio = ++i;
+                    boolean escapadas = false;
+                    while (true) {
+                        if (i >= limite) {
+                            if (finDeCanal) {
+                                throw new IOException("La fila " + (filas + 1) + " tiene comillas sin cerrar");
+                            }
+                            return -1;
+                        }
+                        if (datos[i] == '"') {
+                            if (i + 1 >= limite && !finDeCanal) {
+                                return -1;
+                            }
+                            if (i + 1 < limite && datos[i + 1] == '"') {
+                                escapadas = true;
+                                i += 2;
+                                continue;
+                            }
+                            fila.agregarCampo(inicio, i, escapadas);
+                            i++;
+                            break;
+                        }
+                        i++;
+                    }
+                } else {
+                    int inicio = i;
+                    while (i < limite && datos[i] != separador && datos[i] != '\n' && datos[i] != '\r') {
+                        i++;
+                    }
+                    fila.agregarCampo(inicio, i, false);
+                }
+                if (i >= limite) {
+                    if (!finDeCanal) {
+                        return -1;
+                    }
+                    filas++;
+                    return i;
+                }
+                byte actual = datos[i];
+                if (actual == separador) {
+                    i++;
+                } else if (actual == '\n') {
+                    filas++;
+                    return i + 1;
+                } else if (actual == '\r') {
+                    if (i + 1 >= limite && !finDeCanal) {
+                        return -1;
+                    }
+                    filas++;
+                    return i + 1 < limite && datos[i + 1] == '\n' ? i + 2 : i + 1;
+                } else {
+                    throw new IOException("La fila " + (filas + 1) + " tiene texto después de cerrar comillas");
+                }
+            }
+        }
+    }
+}
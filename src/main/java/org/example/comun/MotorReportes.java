@@ -0,0 +1,239 @@
+package org.example.comun;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Ejecuta lotes de consultas independientes a los servicios, cada una en su propio hilo virtual,
+ * con un plazo por lote. Las consultas con la misma clave que ya están en curso (de este lote o
+ * de otro) no se vuelven a calcular: se espera el mismo resultado.
+ * 
+ * <p>{@link #ejecutar} no vuelve hasta que todas las consultas del lote terminan o vence el plazo.
+ * Al vencer, el lote deja de esperar pero los cálculos siguen hasta terminar, porque interrumpir
+ * un hilo no detiene un cálculo en CPU. Mientras tanto siguen registrados, así que un lote
+ * posterior con la misma clave se suma al cálculo que ya corre en lugar de lanzar otro, y nunca
+ * hay más de un cálculo por clave. Se usa un executor de hilos virtuales en lugar de {@code StructuredTaskScope}
+ * porque en Java 21 sigue siendo una API preview.
+ */
+public final class MotorReportes implements AutoCloseable {
+    
+    private final ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, EnCurso> enCurso = new ConcurrentHashMap<>();
+    
+    /**
+     * Consulta a ejecutar. Dos consultas con la misma clave deben calcular lo mismo, así que la
+     * clave tiene que identificar tanto la operación como los datos sobre los que corre.
+     * 
+     * @param clave identificador de la consulta
+     * @param calculo cálculo a ejecutar
+     * @param <R> tipo del resultado
+     */
+    public record Consulta<R>(String clave, Supplier<R> calculo) {
+        
+        public Consulta {
+            Objects.requireNonNull(clave, "La clave no puede ser null");
+            Objects.requireNonNull(calculo, "El cálculo no puede ser null");
+        }
+    }
+    
+    /** Estado final de una consulta dentro de un lote. */
+    public enum Estado {
+        /** Terminó y tiene resultado. */
+        COMPLETA,
+        /** Terminó lanzando una excepción. */
+        FALLIDA,
+        /** No terminó antes del plazo del lote. */
+        VENCIDA
+    }
+    
+    /**
+     * Cálculo en curso compartido por los lotes que lo pidieron. {@code interesados} solo se
+     * modifica dentro de operaciones atómicas del mapa {@code enCurso}.
+     */
+    private static final class EnCurso {
+        final CompletableFuture<Object> resultado = new CompletableFuture<>();
+        int interesados;
+    }
+    
+    /**
+     * Ejecuta un lote de consultas y espera a que terminen o a que venza el plazo.
+     * 
+     * @param consultas consultas del lote
+     * @param plazo tiempo máximo de espera del lote
+     * @return resultados del lote
+     * @throws InterruptedException si se interrumpe el hilo mientras espera
+     */
+    public ResultadoLote ejecutar(Collection<? extends Consulta<?>> consultas, Duration plazo)
+            throws InterruptedException {
+        if (hilos.isShutdown()) {
+            throw new IllegalStateException("El motor de reportes está cerrado");
+        }
+        Map<String, EnCurso> lote = new LinkedHashMap<>();
+        for (Consulta<?> consulta : consultas) {
+            lote.computeIfAbsent(consulta.clave(), clave -> suscribir(consulta));
+        }
+        long limite = System.nanoTime() + plazo.toNanos();
+        try {
+            for (EnCurso calculo : lote.values()) {
+                esperar(calculo.resultado, limite - System.nanoTime());
+            }
+            return new ResultadoLote(lote);
+        } finally {
+            lote.forEach(this::desuscribir);
+        }
+    }
+    
+    private EnCurso suscribir(Consulta<?> consulta) {
+        return enCurso.compute(consulta.clave(), (clave, existente) -> {
+            EnCurso calculo = existente;
+            if (calculo == null) {
+                EnCurso nuevo = new EnCurso();
+                hilos.execute(() -> calcular(clave, nuevo, consulta.calculo()));
+                calculo = nuevo;
+            }
+            calculo.interesados++;
+            return calculo;
+        });
+    }
+    
+    private void calcular(String clave, EnCurso calculo, Supplier<?> tarea) {
+        try {
+            Object valor = tarea.get();
+            // Se quita antes de completar para que un pedido posterior al resultado lo recalcule
+            enCurso.remove(clave, calculo);
+            calculo.resultado.complete(valor);
+        } catch (Throwable error) {
+            enCurso.remove(clave, calculo);
+            calculo.resultado.completeExceptionally(error);
+        }
+    }
+    
+    private void desuscribir(String clave, EnCurso calculo) {
+        // Aunque no quede nadie esperando, el cálculo sigue en el mapa hasta que termina
+        // (lo quita calcular), así un lote posterior con la misma clave se suma a él
+        enCurso.computeIfPresent(clave, (k, actual) -> {
+            if (actual == calculo) {
+                actual.interesados--;
+            }
+            return actual;
+        });
+    }
+    
+    private static void esperar(CompletableFuture<Object> resultado, long nanos) throws InterruptedException {
+        try {
+            resultado.get(Math.max(0, nanos), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException | CancellationException | TimeoutException e) {
+            // El estado queda registrado en el futuro y lo informa el resultado del lote
+        }
+    }
+    
+    /**
+     * Devuelve la cantidad de cálculos distintos en curso, incluidos los que ya no espera
+     * ningún lote.
+     * 
+     * @return cálculos en curso
+     */
+    public int consultasEnCurso() {
+        return enCurso.size();
+    }
+    
+    /**
+     * Devuelve cuántos lotes esperan el cálculo en curso de una clave.
+     */
+    int interesados(String clave) {
+        int[] interesados = new int[1];
+        enCurso.computeIfPresent(clave, (k, calculo) -> {
+            interesados[0] = calculo.interesados;
+            return calculo;
+        });
+        return interesados[0];
+    }
+    
+    /**
+     * Cierra el motor esperando los cálculos que siguen en curso.
+     */
+    @Override
+    public void close() {
+        hilos.close();
+    }
+    
+    /**
+     * Resultados de un lote, por clave de consulta, tal como estaban al vencer el plazo.
+     */
+    public static final class ResultadoLote {
+        
+        private final Map<String, Estado> estados = new LinkedHashMap<>();
+        private final Map<String, Object> valores = new HashMap<>();
+        private final Map<String, Throwable> errores = new HashMap<>();
+        
+        private ResultadoLote(Map<String, EnCurso> lote) {
+            lote.forEach((clave, calculo) -> {
+                CompletableFuture<Object> resultado = calculo.resultado;
+                if (!resultado.isDone() || resultado.isCancelled()) {
+                    estados.put(clave, Estado.VENCIDA);
+                } else if (resultado.isCompletedExceptionally()) {
+                    estados.put(clave, Estado.FALLIDA);
+                    errores.put(clave, resultado.exceptionNow());
+                } else {
+                    estados.put(clave, Estado.COMPLETA);
+                    valores.put(clave, resultado.resultNow());
+                }
+            });
+        }
+        
+        /**
+         * Devuelve el estado de una consulta del lote.
+         * 
+         * @param consulta consulta del lote
+         * @return estado final
+         */
+        public Estado estado(Consulta<?> consulta) {
+            Estado estado = estados.get(consulta.clave());
+            if (estado == null) {
+                throw new IllegalArgumentException("La consulta no pertenece al lote: " + consulta.clave());
+            }
+            return estado;
+        }
+        
+        /**
+         * Indica si todas las consultas del lote terminaron con resultado.
+         * 
+         * @return true si ninguna falló ni venció
+         */
+        public boolean completo() {
+            return valores.size() == estados.size();
+        }
+        
+        /**
+         * Devuelve el resultado de una consulta del lote.
+         * 
+         * @param consulta consulta del lote
+         * @param <R> tipo del resultado
+         * @return resultado de la consulta
+         * @throws IllegalStateException si la consulta falló o no terminó antes del plazo
+         */
+        @SuppressWarnings("unchecked")
+        public <R> R obtener(Consulta<R> consulta) {
+            return switch (estado(consulta)) {
+                case COMPLETA -> (R) valores.get(consulta.clave());
+                case FALLIDA -> throw new IllegalStateException("La consulta " + consulta.clave() + " falló",
+                        errores.get(consulta.clave()));
+                case VENCIDA -> throw new IllegalStateException(
+                        "La consulta " + consulta.clave() + " no terminó antes del plazo");
+            };
+        }
+    }
+}
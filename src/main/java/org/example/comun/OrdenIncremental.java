@@ -0,0 +1,249 @@
+package org.example.comun;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Resultado ordenado perezoso basado en quicksort incremental: cada vez que se pide el
+ * siguiente elemento, se particiona solo el tramo que lo contiene. Obtener los primeros k
+ * cuesta O(n + k log k) esperado en lugar de ordenar todo, y las páginas siguientes se
+ * calculan recién cuando se piden, reutilizando las particiones ya hechas. Si se pide hasta
+ * el final, lo que falta se ordena de una vez con un ordenamiento estable y adaptativo.
+ * 
+ * <p>Ante elementos equivalentes conserva el orden de la lista original, igual que
+ * {@code sorted(orden)}. El resultado se puede consultar varias veces; no es thread-safe.
+ * 
+ * @param <T> tipo de los elementos
+ */
+public final class OrdenIncremental<T> implements Iterable<T> {
+    
+    /** Tramos más chicos que esto se ordenan por inserción en lugar de particionar. */
+    private static final int TRAMO_INSERCION = 16;
+    
+    private final Object[] elementos;
+    private final int[] posiciones;
+    private final Comparator<? super T> orden;
+    /** Límites de tramos pendientes; el tope es el fin del tramo que contiene a {@code ordenados}. */
+    private int[] pila = new int[32];
+    private int altoPila;
+    /** Cantidad de elementos del principio que ya están en su lugar definitivo. */
+    private int ordenados;
+    
+    private OrdenIncremental(List<? extends T> lista, Comparator<? super T> orden) {
+        this.elementos = lista.toArray();
+        this.posiciones = new int[elementos.length];
+        for (int i = 0; i < posiciones.length; i++) {
+            posiciones[i] = i;
+        }
+        this.orden = orden;
+        pila[altoPila++] = elementos.length;
+    }
+    
+    /**
+     * Prepara el resultado ordenado de una lista sin ordenarla todavía. La lista se copia,
+     * así que cambios posteriores no afectan al resultado.
+     * 
+     * @param lista elementos a ordenar
+     * @param orden comparador del resultado
+     * @param <T> tipo de los elementos
+     * @return resultado perezoso
+     */
+    public static <T> OrdenIncremental<T> de(List<? extends T> lista, Comparator<? super T> orden) {
+        return new OrdenIncremental<>(lista, orden);
+    }
+    
+    /**
+     * Devuelve la cantidad total de elementos del resultado.
+     * 
+     * @return cantidad de elementos
+     */
+    public int tamanio() {
+        return elementos.length;
+    }
+    
+    /**
+     * Devuelve el elemento en una posición del orden, ordenando solo lo necesario.
+     * 
+     * @param indice posición en el resultado ordenado
+     * @return elemento en esa posición
+     */
+    public T obtener(int indice) {
+        if (indice < 0 || indice >= elementos.length) {
+            throw new IndexOutOfBoundsException("Índice fuera de rango: " + indice);
+        }
+        asegurarOrdenados(indice + 1);
+        return elemento(indice);
+    }
+    
+    /**
+     * Devuelve una página del resultado ordenado.
+     * 
+     * @param desde cantidad de elementos a saltear
+     * @param cantidad tamaño máximo de la página
+     * @return elementos de la página
+     */
+    public List<T> pagina(int desde, int cantidad) {
+        if (desde < 0 || cantidad < 0) {
+            throw new IllegalArgumentException("desde y cantidad no pueden ser negativos");
+        }
+        int hasta = (int) Math.min(elementos.length, (long) desde + cantidad);
+        List<T> pagina = new ArrayList<>(Math.max(0, hasta - desde));
+        if (desde < hasta) {
+            asegurarOrdenados(hasta);
+            for (int i = desde; i < hasta; i++) {
+                pagina.add(elemento(i));
+            }
+        }
+        return pagina;
+    }
+    
+    /**
+     * Devuelve el resultado completo ordenado.
+     * 
+     * @return lista con todos los elementos en orden
+     */
+    public List<T> aLista() {
+        return pagina(0, elementos.length);
+    }
+    
+    /**
+     * Iterador perezoso desde el principio del resultado.
+     * 
+     * @return iterador en orden
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private int siguiente;
+            
+            @Override
+            public boolean hasNext() {
+                return siguiente < elementos.length;
+            }
+            
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return obtener(siguiente++);
+            }
+        };
+    }
+    
+    /**
+     * Deja en su lugar definitivo los primeros {@code cantidad} elementos.
+     */
+    private void asegurarOrdenados(int cantidad) {
+        if (cantidad == elementos.length && ordenados < cantidad) {
+            ordenarResto();
+            return;
+        }
+        while (ordenados < cantidad) {
+            int fin = pila[altoPila - 1];
+            if (fin - ordenados <= TRAMO_INSERCION) {
+                ordenarPorInsercion(ordenados, fin);
+                altoPila--;
+                ordenados = fin;
+            } else {
+                apilar(particionar(ordenados, fin));
+            }
+        }
+    }
+    
+    /**
+     * Ordena de una vez todo lo que falta con {@link Arrays#sort}, que es estable y aprovecha
+     * tramos ya ordenados en la entrada, en lugar de seguir particionando. Antes devuelve el
+     * tramo al orden de la lista original, que las particiones pueden haber alterado.
+     */
+    @SuppressWarnings("unchecked")
+    private void ordenarResto() {
+        int[] lugar = new int[elementos.length];
+        Arrays.fill(lugar, -1);
+        for (int i = ordenados; i < elementos.length; i++) {
+            lugar[posiciones[i]] = i;
+        }
+        Object[] resto = new Object[elementos.length - ordenados];
+        int siguiente = 0;
+        for (int posicion = 0; posicion < lugar.length; posicion++) {
+            if (lugar[posicion] >= 0) {
+                resto[siguiente++] = elementos[lugar[posicion]];
+            }
+        }
+        Arrays.sort((T[]) resto, orden);
+        System.arraycopy(resto, 0, elementos, ordenados, resto.length);
+        // Ya no quedan tramos por particionar, así que las posiciones no se vuelven a consultar
+        ordenados = elementos.length;
+        altoPila = 0;
+    }
+    
+    private void apilar(int limite) {
+        if (altoPila == pila.length) {
+            pila = Arrays.copyOf(pila, pila.length * 2);
+        }
+        pila[altoPila++] = limite;
+    }
+    
+    /**
+     * Particiona [desde, hasta) alrededor de la mediana de tres y devuelve la posición final
+     * del pivote: a su izquierda quedan los menores y a su derecha los mayores.
+     */
+    private int particionar(int desde, int hasta) {
+        int medio = (desde + hasta) >>> 1;
+        int ultimo = hasta - 1;
+        if (comparar(medio, desde) < 0) {
+            intercambiar(medio, desde);
+        }
+        if (comparar(ultimo, desde) < 0) {
+            intercambiar(ultimo, desde);
+        }
+        if (comparar(ultimo, medio) < 0) {
+            intercambiar(ultimo, medio);
+        }
+        // La mediana queda en medio; se usa el último lugar para el pivote durante el barrido
+        intercambiar(medio, ultimo);
+        int limite = desde;
+        for (int i = desde; i < ultimo; i++) {
+            if (comparar(i, ultimo) < 0) {
+                intercambiar(i, limite++);
+            }
+        }
+        intercambiar(limite, ultimo);
+        return limite;
+    }
+    
+    private void ordenarPorInsercion(int desde, int hasta) {
+        for (int i = desde + 1; i < hasta; i++) {
+            for (int j = i; j > desde && comparar(j, j - 1) < 0; j--) {
+                intercambiar(j, j - 1);
+            }
+        }
+    }
+    
+    /**
+     * Compara por el orden pedido y, ante empates, por la posición original, así que
+     * nunca hay dos elementos equivalentes y el resultado es estable.
+     */
+    private int comparar(int a, int b) {
+        int resultado = orden.compare(elemento(a), elemento(b));
+        return resultado != 0 ? resultado : Integer.compare(posiciones[a], posiciones[b]);
+    }
+    
+    private void intercambiar(int a, int b) {
+        Object elemento = elementos[a];
+        elementos[a] = elementos[b];
+        elementos[b] = elemento;
+        int posicion = posiciones[a];
+        posiciones[a] = posiciones[b];
+        posiciones[b] = posicion;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private T elemento(int indice) {
+        return (T) elementos[indice];
+    }
+}
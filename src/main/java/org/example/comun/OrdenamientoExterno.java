@@ -0,0 +1,375 @@
+package org.example.comun;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+/**
+ * Ordenamiento externo de cadenas para entradas que no entran en memoria.
+ * Acumula cadenas hasta agotar un presupuesto de memoria, ordena cada tramo y lo vuelca
+ * a un archivo temporal, y devuelve un iterador que mezcla los tramos de forma perezosa.
+ * Si la entrada entra en el presupuesto, se ordena en memoria sin tocar disco.
+ * 
+ * <p>Los tramos se guardan con codificación por prefijo: cada cadena guarda cuántos
+ * caracteres comparte con la anterior y solo los bytes UTF-8 del resto. El orden es el
+ * natural de {@link String}, igual que {@code Stream.sorted()}.
+ */
+public final class OrdenamientoExterno {
+    
+    /** Presupuesto de memoria por defecto para acumular un tramo, en bytes. */
+    public static final long PRESUPUESTO_POR_DEFECTO = 64L * 1024 * 1024;
+    
+    /** Cantidad máxima de tramos que se abren a la vez en una mezcla. */
+    static final int TRAMOS_POR_MEZCLA = 64;
+    
+    private static final int TAMANIO_BUFFER = 16 * 1024;
+    
+    private final long presupuestoBytes;
+    private final Path directorio;
+    
+    /**
+     * Crea un ordenador con el presupuesto por defecto y el directorio temporal del sistema.
+     */
+    public OrdenamientoExterno() {
+        this(PRESUPUESTO_POR_DEFECTO, Path.of(System.getProperty("java.io.tmpdir")));
+    }
+    
+    /**
+     * Crea un ordenador con un presupuesto de memoria y un directorio para los tramos.
+     * 
+     * @param presupuestoBytes memoria aproximada que puede ocupar un tramo antes de volcarse
+     * @param directorio directorio donde se crean los archivos temporales
+     */
+    public OrdenamientoExterno(long presupuestoBytes, Path directorio) {
+        if (presupuestoBytes <= 0) {
+            throw new IllegalArgumentException("El presupuesto debe ser positivo: " + presupuestoBytes);
+        }
+        this.presupuestoBytes = presupuestoBytes;
+        this.directorio = Objects.requireNonNull(directorio, "El directorio no puede ser null");
+    }
+    
+    /**
+     * Consume la entrada y devuelve sus cadenas ordenadas. Los tramos en disco se borran
+     * al agotar el iterador o al cerrarlo.
+     * 
+     * @param cadenas cadenas a ordenar; ninguna puede ser null
+     * @return iterador perezoso sobre las cadenas ordenadas
+     * @throws IOException si falla la escritura de un tramo
+     */
+    public IteradorOrdenado ordenar(Iterator<String> cadenas) throws IOException {
+        List<String> tramo = new ArrayList<>();
+        List<Path> archivos = new ArrayList<>();
+        try {
+            long ocupado = 0;
+            while (cadenas.hasNext()) {
+                String cadena = Objects.requireNonNull(cadenas.next(), "No se pueden ordenar cadenas null");
+                tramo.add(cadena);
+                ocupado += tamanioEstimado(cadena);
+                if (ocupado >= presupuestoBytes) {
+                    archivos.add(volcar(tramo));
+                    tramo.clear();
+                    ocupado = 0;
+                }
+            }
+            if (archivos.isEmpty()) {
+                Collections.sort(tramo);
+                return new IteradorOrdenado(tramo.iterator(), List.of());
+            }
+            if (!tramo.isEmpty()) {
+                archivos.add(volcar(tramo));
+                tramo.clear();
+            }
+            while (archivos.size() > TRAMOS_POR_MEZCLA) {
+                archivos = reducirTramos(archivos);
+            }
+            return new IteradorOrdenado(new Mezcla(archivos), archivos);
+        } catch (IOException | RuntimeException e) {
+            borrar(archivos);
+            throw e;
+        }
+    }
+    
+    /**
+     * Memoria aproximada de una cadena en un ArrayList: referencia, cabecera y contenido.
+     */
+    private static long tamanioEstimado(String cadena) {
+        return 48 + 2L * cadena.length();
+    }
+    
+    private Path volcar(List<String> tramo) throws IOException {
+        Collections.sort(tramo);
+        return escribirTramo(tramo.iterator());
+    }
+    
+    private Path escribirTramo(Iterator<String> ordenadas) throws IOException {
+        Path archivo = Files.createTempFile(directorio, "orden-", ".tramo");
+        try (EscritorTramo escritor = new EscritorTramo(Files.newOutputStream(archivo))) {
+            while (ordenadas.hasNext()) {
+                escritor.escribir(ordenadas.next());
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(archivo);
+            throw e;
+        }
+        return archivo;
+    }
+    
+    /**
+     * Mezcla los tramos de a grupos para no abrir más de {@link #TRAMOS_POR_MEZCLA} a la vez.
+     */
+    private List<Path> reducirTramos(List<Path> archivos) throws IOException {
+        List<Path> reducidos = new ArrayList<>();
+        try {
+            for (int desde = 0; desde < archivos.size(); desde += TRAMOS_POR_MEZCLA) {
+                List<Path> grupo = archivos.subList(desde, Math.min(archivos.size(), desde + TRAMOS_POR_MEZCLA));
+                try (Mezcla mezcla = new Mezcla(grupo)) {
+                    reducidos.add(escribirTramo(mezcla));
+                }
+            }
+        } catch (UncheckedIOException e) {
+            borrar(reducidos);
+            throw e.getCause();
+        } catch (IOException | RuntimeException e) {
+            borrar(reducidos);
+            throw e;
+        }
+        borrar(archivos);
+        return reducidos;
+    }
+    
+    private static void borrar(List<Path> archivos) {
+        for (Path archivo : archivos) {
+            try {
+                Files.deleteIfExists(archivo);
+            } catch (IOException e) {
+                // Es un archivo temporal; si no se puede borrar queda para el sistema
+            }
+        }
+    }
+    
+    /**
+     * Iterador sobre el resultado ordenado. Cerrarlo antes de agotarlo libera los archivos
+     * temporales; los errores de lectura se informan como {@link UncheckedIOException}.
+     */
+    public static final class IteradorOrdenado implements Iterator<String>, Closeable {
+        
+        private final Iterator<String> origen;
+        private final List<Path> archivos;
+        private boolean cerrado;
+        
+        private IteradorOrdenado(Iterator<String> origen, List<Path> archivos) {
+            this.origen = origen;
+            this.archivos = archivos;
+        }
+        
+        /**
+         * Indica si el resultado se está leyendo de tramos en disco.
+         * 
+         * @return true si se usó el modo externo
+         */
+        public boolean esExterno() {
+            return !archivos.isEmpty();
+        }
+        
+        @Override
+        public boolean hasNext() {
+            if (cerrado) {
+                return false;
+            }
+            if (!origen.hasNext()) {
+                close();
+                return false;
+            }
+            return true;
+        }
+        
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return origen.next();
+        }
+        
+        @Override
+        public void close() {
+            if (!cerrado) {
+                cerrado = true;
+                if (origen instanceof Mezcla mezcla) {
+                    mezcla.close();
+                }
+                borrar(archivos);
+            }
+        }
+    }
+    
+    /**
+     * Mezcla de k tramos ordenados con una cola de prioridad sobre la cadena actual de cada uno.
+     */
+    private static final class Mezcla implements Iterator<String>, Closeable {
+        
+        private final PriorityQueue<LectorTramo> cola = new PriorityQueue<>(
+                (a, b) -> a.actual.compareTo(b.actual));
+        private final List<LectorTramo> lectores = new ArrayList<>();
+        
+        private Mezcla(List<Path> archivos) throws IOException {
+            try {
+                for (Path archivo : archivos) {
+                    LectorTramo lector = new LectorTramo(Files.newInputStream(archivo));
+                    lectores.add(lector);
+                    if (lector.avanzar()) {
+                        cola.add(lector);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return !cola.isEmpty();
+        }
+        
+        @Override
+        public String next() {
+            LectorTramo lector = cola.poll();
+            if (lector == null) {
+                throw new NoSuchElementException();
+            }
+            String cadena = lector.actual;
+            try {
+                if (lector.avanzar()) {
+                    cola.add(lector);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return cadena;
+        }
+        
+        @Override
+        public void close() {
+            for (LectorTramo lector : lectores) {
+                try {
+                    lector.entrada.close();
+                } catch (IOException e) {
+                    // Solo se estaba leyendo; no hay datos que perder
+                }
+            }
+        }
+    }
+    
+    /**
+     * Escritura de un tramo con codificación por prefijo respecto de la cadena anterior.
+     */
+    private static final class EscritorTramo implements Closeable {
+        
+        private final DataOutputStream salida;
+        private String anterior = "";
+        
+        private EscritorTramo(OutputStream salida) {
+            this.salida = new DataOutputStream(new BufferedOutputStream(salida, TAMANIO_BUFFER));
+        }
+        
+        private void escribir(String cadena) throws IOException {
+            int comun = prefijoComun(anterior, cadena);
+            byte[] resto = cadena.substring(comun).getBytes(StandardCharsets.UTF_8);
+            escribirVarint(comun);
+            escribirVarint(resto.length);
+            salida.write(resto);
+            anterior = cadena;
+        }
+        
+        private void escribirVarint(int valor) throws IOException {
+            while ((valor & ~0x7F) != 0) {
+                salida.write((valor & 0x7F) | 0x80);
+                valor >>>= 7;
+            }
+            salida.write(valor);
+        }
+        
+        /**
+         * Largo del prefijo común, sin partir un par surrogate para que el resto
+         * se pueda codificar en UTF-8 sin pérdidas.
+         */
+        private static int prefijoComun(String a, String b) {
+            int limite = Math.min(a.length(), b.length());
+            int comun = 0;
+            while (comun < limite && a.charAt(comun) == b.charAt(comun)) {
+                comun++;
+            }
+            if (comun > 0 && Character.isHighSurrogate(b.charAt(comun - 1))) {
+                comun--;
+            }
+            return comun;
+        }
+        
+        @Override
+        public void close() throws IOException {
+            salida.close();
+        }
+    }
+    
+    /**
+     * Lectura secuencial de un tramo codificado por prefijo.
+     */
+    private static final class LectorTramo {
+        
+        private final DataInputStream entrada;
+        private byte[] bytes = new byte[64];
+        private String actual = "";
+        
+        private LectorTramo(InputStream entrada) {
+            this.entrada = new DataInputStream(new BufferedInputStream(entrada, TAMANIO_BUFFER));
+        }
+        
+        private boolean avanzar() throws IOException {
+            int primero = entrada.read();
+            if (primero < 0) {
+                return false;
+            }
+            int comun = leerVarint(primero);
+            int longitud = leerVarint(entrada.readUnsignedByte());
+            if (bytes.length < longitud) {
+                bytes = new byte[Math.max(longitud, bytes.length * 2)];
+            }
+            entrada.readFully(bytes, 0, longitud);
+            actual = actual.substring(0, comun) + new String(bytes, 0, longitud, StandardCharsets.UTF_8);
+            return true;
+        }
+        
+        private int leerVarint(int primero) throws IOException {
+            int valor = primero & 0x7F;
+            int desplazamiento = 7;
+            int leido = primero;
+            while ((leido & 0x80) != 0) {
+                leido = entrada.read();
+                if (leido < 0) {
+                    throw new EOFException("Tramo truncado");
+                }
+                valor |= (leido & 0x7F) << desplazamiento;
+                desplazamiento += 7;
+            }
+            return valor;
+        }
+    }
+}
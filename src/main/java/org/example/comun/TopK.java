@@ -0,0 +1,236 @@
+package org.example.comun;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.stream.IntStream;
+
+/**
+ * Motor de selección de los K primeros elementos según un comparador.
+ * Usa un montículo acotado de tamaño K en lugar de ordenar la colección completa,
+ * y para listas grandes procesa bloques en paralelo y combina los montículos parciales.
+ *
+ * <p>Respeta el mismo desempate que {@code sorted(orden).limit(k)}: ante elementos
+ * equivalentes conserva el orden de encuentro de la lista original.
+ *
+ * @param <T> tipo de los elementos a seleccionar
+ */
+public final class TopK<T> {
+    
+    /** Tamaño a partir del cual se usa la versión paralela por defecto. */
+    public static final int UMBRAL_PARALELO_POR_DEFECTO = 1 << 16;
+    
+    private final int k;
+    private final Comparator<? super T> orden;
+    private final int umbralParalelo;
+    
+    /**
+     * Crea un motor top-K con el umbral paralelo por defecto.
+     *
+     * @param k cantidad de elementos a seleccionar
+     * @param orden comparador; los primeros según este orden son los seleccionados
+     */
+    public TopK(int k, Comparator<? super T> orden) {
+        this(k, orden, UMBRAL_PARALELO_POR_DEFECTO);
+    }
+    
+    /**
+     * Crea un motor top-K configurando el tamaño mínimo para procesar en paralelo.
+     *
+     * @param k cantidad de elementos a seleccionar
+     * @param orden comparador; los primeros según este orden son los seleccionados
+     * @param umbralParalelo tamaño de lista a partir del cual se divide en bloques paralelos
+     */
+    public TopK(int k, Comparator<? super T> orden, int umbralParalelo) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k no puede ser negativo: " + k);
+        }
+        if (umbralParalelo < 1) {
+            throw new IllegalArgumentException("El umbral paralelo debe ser positivo: " + umbralParalelo);
+        }
+        this.k = k;
+        this.orden = orden;
+        this.umbralParalelo = umbralParalelo;
+    }
+    
+    /**
+     * Selecciona los K primeros elementos de la lista, ya ordenados.
+     *
+     * @param elementos lista de elementos
+     * @return lista con a lo sumo K elementos en el orden del comparador
+     */
+    public List<T> seleccionar(List<? extends T> elementos) {
+        if (k == 0 || elementos.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (elementos.size() >= umbralParalelo) {
+            return seleccionarEnParalelo(elementos);
+        }
+        Monticulo<T> monticulo = new Monticulo<>(k, orden, elementos.size());
+        int indice = 0;
+        for (T elemento : elementos) {
+            monticulo.ofrecer(elemento, indice++);
+        }
+        return monticulo.aListaOrdenada();
+    }
+    
+    /**
+     * Selecciona los K primeros elementos dividiendo la lista en bloques que se procesan
+     * en paralelo; cada bloque arma su propio montículo y luego se combinan.
+     *
+     * @param elementos lista de elementos
+     * @return lista con a lo sumo K elementos en el orden del comparador
+     */
+    public List<T> seleccionarEnParalelo(List<? extends T> elementos) {
+        if (k == 0 || elementos.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<? extends T> datos = elementos instanceof RandomAccess ? elementos : new ArrayList<>(elementos);
+        int total = datos.size();
+        int bloques = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() * 4, total / Math.max(k, 1024)));
+        int tamanioBloque = (total + bloques - 1) / bloques;
+        
+        return IntStream.range(0, bloques)
+                .parallel()
+                .mapToObj(bloque -> {
+                    int desde = bloque * tamanioBloque;
+                    int hasta = Math.min(total, desde + tamanioBloque);
+                    Monticulo<T> monticulo = new Monticulo<>(k, orden, hasta - desde);
+                    for (int i = desde; i < hasta; i++) {
+                        monticulo.ofrecer(datos.get(i), i);
+                    }
+                    return monticulo;
+                })
+                .reduce(Monticulo::combinar)
+                .map(Monticulo::aListaOrdenada)
+                .orElseGet(ArrayList::new);
+    }
+    
+    /**
+     * Montículo acotado cuya raíz es el peor elemento retenido, de modo que cada
+     * candidato se descarta o reemplaza a la raíz en O(log K).
+     * Guarda la posición original de cada elemento para desempatar de forma estable.
+     * Los arreglos empiezan con el tamaño esperado y crecen hasta la capacidad a medida que
+     * llegan elementos, así que un K enorme no reserva memoria que no se va a usar.
+     */
+    static final class Monticulo<T> {
+        
+        private static final int CAPACIDAD_INICIAL = 16;
+        
+        private final int capacidad;
+        private final Comparator<? super T> orden;
+        private Object[] elementos;
+        private int[] posiciones;
+        private int tamanio;
+        
+        Monticulo(int capacidad, Comparator<? super T> orden) {
+            this(capacidad, orden, CAPACIDAD_INICIAL);
+        }
+        
+        Monticulo(int capacidad, Comparator<? super T> orden, int esperados) {
+            this.capacidad = capacidad;
+            this.orden = orden;
+            int inicial = Math.max(0, Math.min(capacidad, esperados));
+            this.elementos = new Object[inicial];
+            this.posiciones = new int[inicial];
+        }
+        
+        void ofrecer(T elemento, int posicion) {
+            if (tamanio < capacidad) {
+                if (tamanio == elementos.length) {
+                    crecer();
+                }
+                elementos[tamanio] = elemento;
+                posiciones[tamanio] = posicion;
+                subir(tamanio++);
+            } else if (capacidad > 0 && comparar(elemento, posicion, 0) < 0) {
+                elementos[0] = elemento;
+                posiciones[0] = posicion;
+                bajar(0);
+            }
+        }
+        
+        @SuppressWarnings("unchecked")
+        Monticulo<T> combinar(Monticulo<T> otro) {
+            Monticulo<T> mayor = tamanio >= otro.tamanio ? this : otro;
+            Monticulo<T> menor = mayor == this ? otro : this;
+            for (int i = 0; i < menor.tamanio; i++) {
+                mayor.ofrecer((T) menor.elementos[i], menor.posiciones[i]);
+            }
+            return mayor;
+        }
+        
+        @SuppressWarnings("unchecked")
+        List<T> aListaOrdenada() {
+            Integer[] indices = new Integer[tamanio];
+            for (int i = 0; i < tamanio; i++) {
+                indices[i] = i;
+            }
+            Arrays.sort(indices, (a, b) -> comparar((T) elementos[a], posiciones[a], b));
+            List<T> resultado = new ArrayList<>(tamanio);
+            for (Integer i : indices) {
+                resultado.add((T) elementos[i]);
+            }
+            return resultado;
+        }
+        
+        /**
+         * Compara un candidato contra la entrada {@code j} del montículo.
+         * Negativo significa que el candidato va antes (es mejor) que la entrada.
+         */
+        @SuppressWarnings("unchecked")
+        private int comparar(T elemento, int posicion, int j) {
+            int resultado = orden.compare(elemento, (T) elementos[j]);
+            return resultado != 0 ? resultado : Integer.compare(posicion, posiciones[j]);
+        }
+        
+        @SuppressWarnings("unchecked")
+        private void subir(int i) {
+            while (i > 0) {
+                int padre = (i - 1) >>> 1;
+                if (comparar((T) elementos[i], posiciones[i], padre) <= 0) {
+                    return;
+                }
+                intercambiar(i, padre);
+                i = padre;
+            }
+        }
+        
+        @SuppressWarnings("unchecked")
+        private void bajar(int i) {
+            while (true) {
+                int izquierdo = 2 * i + 1;
+                if (izquierdo >= tamanio) {
+                    return;
+                }
+                int peor = izquierdo;
+                int derecho = izquierdo + 1;
+                if (derecho < tamanio && comparar((T) elementos[derecho], posiciones[derecho], izquierdo) > 0) {
+                    peor = derecho;
+                }
+                if (comparar((T) elementos[i], posiciones[i], peor) >= 0) {
+                    return;
+                }
+                intercambiar(i, peor);
+                i = peor;
+            }
+        }
+        
+        private void crecer() {
+            int nueva = (int) Math.min(capacidad, Math.max(CAPACIDAD_INICIAL, elementos.length * 2L));
+            elementos = Arrays.copyOf(elementos, nueva);
+            posiciones = Arrays.copyOf(posiciones, nueva);
+        }
+        
+        private void intercambiar(int a, int b) {
+            Object elemento = elementos[a];
+            elementos[a] = elementos[b];
+            elementos[b] = elemento;
+            int posicion = posiciones[a];
+            posiciones[a] = posiciones[b];
+            posiciones[b] = posicion;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package org.example.comun;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Totales en centavos agrupados por clave, acumulados en celdas {@code long[]} mutables
+ * en lugar de un {@code Double} encajado por elemento.
+ * 
+ * <p>Como la suma de enteros es asociativa, la versión paralela da exactamente el mismo
+ * resultado con cualquier cantidad de hilos. No es thread-safe; en paralelo cada bloque
+ * usa su propia instancia y después se combinan.
+ */
+public final class TotalesCentavos {
+    
+    /** Tamaño a partir del cual la versión paralela divide la lista en bloques. */
+    public static final int UMBRAL_PARALELO_POR_DEFECTO = 1 << 14;
+    
+    /** Por clave: {total en centavos, cantidad}. */
+    private final Map<String, long[]> porClave = new HashMap<>();
+    
+    /**
+     * Calcula los totales recorriendo la lista en un solo hilo.
+     * 
+     * @param elementos elementos a sumar
+     * @param clave clave de agrupación de cada elemento
+     * @param centavos monto en centavos de cada elemento
+     * @param <T> tipo de los elementos
+     * @return totales por clave
+     */
+    public static <T> TotalesCentavos calcular(List<T> elementos, Function<? super T, String> clave,
+                                               ToLongFunction<? super T> centavos) {
+        return calcularBloque(elementos, clave, centavos, 0, elementos.size());
+    }
+    
+    /**
+     * Calcula los totales en paralelo por bloques y combina los parciales.
+     * El resultado es idéntico al de {@link #calcular}.
+     * 
+     * @param elementos elementos a sumar
+     * @param clave clave de agrupación de cada elemento
+     * @param centavos monto en centavos de cada elemento
+     * @param <T> tipo de los elementos
+     * @return totales por clave
+     */
+    public static <T> TotalesCentavos calcularEnParalelo(List<T> elementos, Function<? super T, String> clave,
+                                                         ToLongFunction<? super T> centavos) {
+        int cantidad = elementos.size();
+        if (cantidad < UMBRAL_PARALELO_POR_DEFECTO) {
+            return calcular(elementos, clave, centavos);
+        }
+        int bloques = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() * 4,
+                cantidad / (UMBRAL_PARALELO_POR_DEFECTO / 4)));
+        return IntStream.range(0, bloques)
+                .parallel()
+                .mapToObj(bloque -> calcularBloque(elementos, clave, centavos,
+                        (int) ((long) cantidad * bloque / bloques),
+                        (int) ((long) cantidad * (bloque + 1) / bloques)))
+                .reduce(TotalesCentavos::combinar)
+                .orElseGet(TotalesCentavos::new);
+    }
+    
+    private static <T> TotalesCentavos calcularBloque(List<T> elementos, Function<? super T, String> clave,
+                                                      ToLongFunction<? super T> centavos, int desde, int hasta) {
+        TotalesCentavos totales = new TotalesCentavos();
+        for (int i = desde; i < hasta; i++) {
+            T elemento = elementos.get(i);
+            totales.agregar(clave.apply(elemento), centavos.applyAsLong(elemento));
+        }
+        return totales;
+    }
+    
+    /**
+     * Suma un monto al total de una clave.
+     * 
+     * @param clave clave de agrupación
+     * @param centavos monto en centavos
+     * @throws ArithmeticException si el total desborda un long
+     */
+    public void agregar(String clave, long centavos) {
+        long[] celda = porClave.computeIfAbsent(Objects.requireNonNull(clave, "La clave no puede ser null"),
+                k -> new long[2]);
+        celda[0] = Dinero.sumar(celda[0], centavos);
+        celda[1]++;
+    }
+    
+    /**
+     * Suma los totales de otra instancia a esta.
+     * 
+     * @param otros totales a combinar; no se modifican
+     * @return esta instancia
+     */
+    public TotalesCentavos combinar(TotalesCentavos otros) {
+        otros.porClave.forEach((clave, celda) -> {
+            long[] propia = porClave.computeIfAbsent(clave, k -> new long[2]);
+            propia[0] = Dinero.sumar(propia[0], celda[0]);
+            propia[1] += celda[1];
+        });
+        return this;
+    }
+    
+    /**
+     * Devuelve el total en centavos de una clave.
+     * 
+     * @param clave clave de agrupación
+     * @return total en centavos, o 0 si la clave no existe
+     */
+    public long total(String clave) {
+        long[] celda = porClave.get(clave);
+        return celda == null ? 0 : celda[0];
+    }
+    
+    /**
+     * Devuelve la cantidad de elementos sumados para una clave.
+     * 
+     * @param clave clave de agrupación
+     * @return cantidad de elementos, o 0 si la clave no existe
+     */
+    public long cantidad(String clave) {
+        long[] celda = porClave.get(clave);
+        return celda == null ? 0 : celda[1];
+    }
+    
+    /**
+     * Devuelve los totales por clave en centavos.
+     * 
+     * @return mapa con clave y total en centavos
+     */
+    public Map<String, Long> enCentavos() {
+        Map<String, Long> totales = new HashMap<>();
+        porClave.forEach((clave, celda) -> totales.put(clave, celda[0]));
+        return totales;
+    }
+    
+    /**
+     * Devuelve los totales por clave convertidos a montos.
+     * 
+     * @return mapa con clave y total en unidades
+     */
+    public Map<String, Double> enMontos() {
+        Map<String, Double> totales = new HashMap<>();
+        porClave.forEach((clave, celda) -> totales.put(clave, Dinero.aMonto(celda[0])));
+        return totales;
+    }
+}
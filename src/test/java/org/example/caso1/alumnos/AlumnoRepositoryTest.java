@@ -0,0 +1,147 @@
+package org.example.caso1.alumnos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests para verificar el repositorio de alumnos mantenido incrementalmente.
+ */
+class AlumnoRepositoryTest {
+    
+    private AlumnoService service;
+    private List<Alumno> alumnos;
+    private AlumnoRepository repositorio;
+    
+    @BeforeEach
+    void setUp() {
+        service = new AlumnoService();
+        alumnos = Arrays.asList(
+                Alumno.builder().nombre("Juan Pérez").nota(8.5).curso("1A").build(),
+                Alumno.builder().nombre("María García").nota(9.2).curso("1A").build(),
+                Alumno.builder().nombre("Carlos López").nota(6.5).curso("1B").build(),
+                Alumno.builder().nombre("Ana Martínez").nota(7.8).curso("1A").build(),
+                Alumno.builder().nombre("Pedro Rodríguez").nota(5.5).curso("1B").build(),
+                Alumno.builder().nombre("Laura Fernández").nota(9.5).curso("1C").build()
+        );
+        repositorio = new AlumnoRepository(alumnos);
+    }
+    
+    @Test
+    void testLecturasCoincidenConElServicio() {
+        assertEquals(service.agruparPorCurso(alumnos), service.agruparPorCurso(repositorio));
+        assertEquals(service.obtenerAprobadosOrdenados(alumnos), service.obtenerAprobadosOrdenados(repositorio));
+        assertEquals(service.calcularPromedioGeneral(alumnos), service.calcularPromedioGeneral(repositorio), 1e-9);
+    }
+    
+    @Test
+    void testActualizarNotaMueveAlumnoEntreAprobados() {
+        assertTrue(repositorio.actualizarNota("Carlos López", 7.5));
+        assertTrue(repositorio.actualizarNota("Juan Pérez", 4.0));
+        
+        List<String> aprobados = repositorio.obtenerAprobadosOrdenados();
+        
+        assertTrue(aprobados.contains("CARLOS LÓPEZ"));
+        assertFalse(aprobados.contains("JUAN PÉREZ"));
+        assertEquals(7.5, repositorio.buscar("Carlos López").orElseThrow().getNota());
+        assertEquals((7.5 - 6.5 + 4.0 - 8.5 + 47.0) / 6, repositorio.calcularPromedioGeneral(), 1e-9);
+    }
+    
+    @Test
+    void testEliminarYAgregarActualizanGruposYPromedios() {
+        assertTrue(repositorio.eliminar("Laura Fernández"));
+        assertFalse(repositorio.eliminar("Laura Fernández"));
+        repositorio.agregar(Alumno.builder().nombre("Mateo Ruiz").nota(7.0).curso("1B").build());
+        
+        Map<String, List<Alumno>> grupos = repositorio.agruparPorCurso();
+        
+        assertFalse(grupos.containsKey("1C"));
+        assertEquals(3, grupos.get("1B").size());
+        assertEquals((6.5 + 5.5 + 7.0) / 3, repositorio.calcularPromedioCurso("1B"), 1e-9);
+    }
+    
+    @Test
+    void testVistaSeReutilizaMientrasNoHayCambios() {
+        Map<String, List<Alumno>> primera = repositorio.agruparPorCurso();
+        
+        assertSame(primera, repositorio.agruparPorCurso());
+        
+        repositorio.actualizarNota("Ana Martínez", 9.9);
+        
+        // La vista anterior no se modifica: es una instantánea consistente
+        assertEquals(7.8, primera.get("1A").get(2).getNota());
+        assertEquals(9.9, repositorio.agruparPorCurso().get("1A").get(2).getNota());
+    }
+    
+    @Test
+    void testCambiarUnAlumnoDevueltoNoAlteraElRepositorio() {
+        double promedio = repositorio.calcularPromedioGeneral();
+        
+        repositorio.buscar("Ana Martínez").orElseThrow().setNota(1.0);
+        repositorio.agruparPorCurso().get("1A").get(2).setCurso("9Z");
+        
+        assertEquals(7.8, repositorio.buscar("Ana Martínez").orElseThrow().getNota());
+        assertEquals("1A", repositorio.buscar("Ana Martínez").orElseThrow().getCurso());
+        assertEquals(promedio, repositorio.calcularPromedioGeneral());
+        assertTrue(repositorio.obtenerAprobadosOrdenados().contains("ANA MARTÍNEZ"));
+    }
+    
+    @Test
+    void testNombresRepetidosSeRechazan() {
+        List<Alumno> repetidos = List.of(new Alumno("Ana", 9, "A"), new Alumno("Ana", 3, "B"));
+        
+        assertThrows(IllegalArgumentException.class, () -> new AlumnoRepository(repetidos));
+    }
+    
+    @Test
+    void testMuchasActualizacionesNoAcumulanErrorDeRedondeo() {
+        Random random = new Random(42);
+        List<String> nombres = alumnos.stream().map(Alumno::getNombre).toList();
+        for (int i = 0; i < 1_000_000; i++) {
+            repositorio.actualizarNota(nombres.get(random.nextInt(nombres.size())), random.nextInt(101) / 10.0);
+        }
+        List<Alumno> actuales = nombres.stream().map(nombre -> repositorio.buscar(nombre).orElseThrow()).toList();
+        
+        assertEquals(service.calcularPromedioGeneral(actuales), repositorio.calcularPromedioGeneral());
+        assertEquals(service.agruparPorCurso(actuales).get("1A").stream().mapToDouble(Alumno::getNota).sum() / 3,
+                repositorio.calcularPromedioCurso("1A"));
+    }
+    
+    @Test
+    void testEscriturasConcurrentes() throws InterruptedException {
+        AlumnoRepository concurrente = new AlumnoRepository();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int hilo = 0; hilo < 4; hilo++) {
+            int base = hilo * 1_000;
+            executor.submit(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    concurrente.agregar(new Alumno("A" + (base + i), 8.0, "C" + (i % 5)));
+                    concurrente.agruparPorCurso();
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        
+        List<Alumno> todos = new ArrayList<>();
+        concurrente.agruparPorCurso().values().forEach(todos::addAll);
+        
+        assertEquals(4_000, todos.size());
+        assertEquals(4_000, concurrente.obtenerAprobadosOrdenados().size());
+        assertEquals(8.0, concurrente.calcularPromedioGeneral(), 1e-9);
+    }
+}
@@ -4,10 +4,13 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 
+import org.example.comun.EstrategiaEjecucion;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -129,5 +132,70 @@ class AlumnoServiceTest {
         // Debe devolver solo 2 alumnos si no hay más
         assertEquals(2, top3.size());
     }
+    
+    @Test
+    void testObtenerTopConEmpatesConservaOrdenOriginal() {
+        List<Alumno> empatados = Arrays.asList(
+                Alumno.builder().nombre("Primero").nota(9.0).curso("1A").build(),
+                Alumno.builder().nombre("Segundo").nota(9.0).curso("1B").build(),
+                Alumno.builder().nombre("Tercero").nota(9.0).curso("1C").build(),
+                Alumno.builder().nombre("Cuarto").nota(9.5).curso("1A").build()
+        );
+        
+        List<Alumno> top3 = service.obtenerTop3Promedios(empatados);
+        
+        // El de mayor nota primero y luego los empatados en su orden original
+        assertEquals("Cuarto", top3.get(0).getNombre());
+        assertEquals("Primero", top3.get(1).getNombre());
+        assertEquals("Segundo", top3.get(2).getNombre());
+    }
+    
+    @Test
+    void testObtenerTopConKYComparadorArbitrario() {
+        List<Alumno> peores = service.obtenerTop(alumnos, 2, Comparator.comparingDouble(Alumno::getNota));
+        
+        assertEquals(2, peores.size());
+        assertEquals("Pedro Rodríguez", peores.get(0).getNombre());
+        assertEquals("Lucas Torres", peores.get(1).getNombre());
+    }
+    
+    @Test
+    void testCalcularPercentilPorCurso() {
+        Map<String, Double> medianas = service.calcularPercentilPorCurso(alumnos, 50);
+        Map<String, Double> p90 = service.calcularPercentilPorCurso(alumnos, 90);
+        
+        // 1A: 6.0, 7.8, 8.5, 8.8, 9.2 -> mediana 8.5
+        assertEquals(8.5, medianas.get("1A"), 1e-9);
+        // 1B: 5.5, 6.5, 7.0, 7.5 -> mediana (6.5 + 7.0) / 2
+        assertEquals(6.75, medianas.get("1B"), 1e-9);
+        // 1C: 8.0, 9.5, 9.8 -> p90 entre 9.5 y 9.8
+        assertEquals(9.74, p90.get("1C"), 1e-9);
+    }
+    
+    @Test
+    void testHistogramaNotasConStreamParalelo() {
+        HistogramaNotas histograma = alumnos.parallelStream().collect(service.histogramaNotas());
+        
+        assertEquals(12, histograma.cantidad());
+        assertEquals(2, histograma.distribucion()[6]);
+        assertEquals(3, histograma.distribucion()[9]);
+    }
+    
+    @Test
+    void testEstrategiaParalelaDaLosMismosResultadosQueLaSecuencial() {
+        List<Alumno> muchos = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            muchos.addAll(alumnos);
+        }
+        
+        try (EstrategiaEjecucion estrategia = EstrategiaEjecucion.conParalelismo(3, 64)) {
+            AlumnoService paralelo = new AlumnoService(estrategia);
+            
+            assertEquals(service.obtenerAprobadosOrdenados(muchos), paralelo.obtenerAprobadosOrdenados(muchos));
+            assertEquals(service.agruparPorCurso(muchos), paralelo.agruparPorCurso(muchos));
+            assertEquals(service.obtenerTop(muchos, 40, AlumnoService.POR_NOTA_DESCENDENTE),
+                    paralelo.obtenerTop(muchos, 40, AlumnoService.POR_NOTA_DESCENDENTE));
+            assertEquals(service.calcularPercentilPorCurso(muchos, 90), paralelo.calcularPercentilPorCurso(muchos, 90));
+        }
+    }
 }
-
@@ -0,0 +1,94 @@
+package org.example.caso1.alumnos;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests para verificar las operaciones sobre la representación columnar de alumnos.
+ */
+class AlumnoTableTest {
+    
+    private AlumnoService service;
+    private List<Alumno> alumnos;
+    
+    @BeforeEach
+    void setUp() {
+        service = new AlumnoService();
+        Random random = new Random(7);
+        alumnos = new ArrayList<>();
+        for (int i = 0; i < 1_003; i++) {
+            // Notas con un decimal para forzar empates y valores justo en 7.0
+            double nota = Math.round(random.nextDouble() * 100) / 10.0;
+            alumnos.add(new Alumno("Alumno " + i, nota, "C" + random.nextInt(6)));
+        }
+    }
+    
+    @Test
+    void testConversionIdaYVuelta() {
+        AlumnoTable tabla = AlumnoTable.desde(alumnos);
+        
+        assertEquals(alumnos.size(), tabla.tamanio());
+        assertEquals(6, tabla.cantidadCursos());
+        assertEquals(alumnos, tabla.aLista());
+    }
+    
+    @Test
+    void testOperacionesCoincidenConLasDeLista() {
+        AlumnoTable tabla = AlumnoTable.desde(alumnos);
+        
+        assertEquals(service.obtenerAprobadosOrdenados(alumnos), service.obtenerAprobadosOrdenados(tabla));
+        assertEquals(service.calcularPromedioGeneral(alumnos), service.calcularPromedioGeneral(tabla), 1e-9);
+        assertEquals(service.agruparPorCurso(alumnos), service.agruparPorCurso(tabla));
+        assertEquals(service.obtenerTop3Promedios(alumnos), service.obtenerTop3Promedios(tabla));
+        assertEquals(service.obtenerAprobadosOrdenados(alumnos).size(), service.contarAprobados(tabla));
+    }
+    
+    @Test
+    void testTablaVaciaYChica() {
+        AlumnoTable vacia = AlumnoTable.desde(List.of());
+        List<Alumno> dos = Arrays.asList(
+                Alumno.builder().nombre("Alumno 1").nota(8.0).curso("1A").build(),
+                Alumno.builder().nombre("Alumno 2").nota(8.0).curso("1A").build()
+        );
+        
+        assertEquals(0.0, service.calcularPromedioGeneral(vacia));
+        assertEquals(0, service.obtenerTop3Promedios(vacia).size());
+        assertEquals(dos, service.obtenerTop3Promedios(AlumnoTable.desde(dos)));
+    }
+    
+    @Test
+    void testKernelEscalarYActivoCoinciden() {
+        double[] notas = AlumnoTable.desde(alumnos).columnaNotas();
+        NotasKernel escalar = new NotasKernelEscalar();
+        int[] esperado = new int[notas.length];
+        int[] obtenido = new int[notas.length];
+        
+        assertEquals(escalar.sumar(notas), NotasKernel.ACTIVO.sumar(notas));
+        assertEquals(escalar.contarMayoresOIguales(notas, 7.0), NotasKernel.ACTIVO.contarMayoresOIguales(notas, 7.0));
+        assertEquals(escalar.filtrarMayoresOIguales(notas, 7.0, esperado),
+                NotasKernel.ACTIVO.filtrarMayoresOIguales(notas, 7.0, obtenido));
+        assertArrayEquals(esperado, obtenido);
+    }
+    
+    @Test
+    void testSumaCompensadaIdenticaEntreKernels() {
+        // Valores grandes que se cancelan entre notas chicas: una suma directa pierde las chicas
+        // y un resto final que no completa una vuelta de carriles
+        double[] notas = new double[1_031];
+        for (int i = 0; i < notas.length; i++) {
+            notas[i] = i % 2 == 0 || i >= 1_028 ? 0.1 : (i % 4 == 1 ? 1e17 : -1e17);
+        }
+        double esperado = 0.1 * 517;
+        
+        assertEquals(esperado, new NotasKernelEscalar().sumar(notas), 1e-12);
+        assertEquals(new NotasKernelEscalar().sumar(notas), NotasKernel.ACTIVO.sumar(notas));
+    }
+}
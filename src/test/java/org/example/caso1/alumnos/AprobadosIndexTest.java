@@ -0,0 +1,104 @@
+package org.example.caso1.alumnos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests para verificar el índice ordenado de alumnos aprobados.
+ */
+class AprobadosIndexTest {
+    
+    private AprobadosIndex indice;
+    
+    @BeforeEach
+    void setUp() {
+        indice = new AprobadosIndex();
+        Arrays.asList(
+                Alumno.builder().nombre("Mateo Ruiz").nota(7.5).curso("1B").build(),
+                Alumno.builder().nombre("Ana Martínez").nota(7.8).curso("1A").build(),
+                Alumno.builder().nombre("Pedro Rodríguez").nota(5.5).curso("1B").build(),
+                Alumno.builder().nombre("Laura Fernández").nota(9.5).curso("1C").build(),
+                Alumno.builder().nombre("Diego Sánchez").nota(7.0).curso("1B").build(),
+                Alumno.builder().nombre("Pablo Díaz").nota(8.0).curso("1C").build(),
+                Alumno.builder().nombre("María García").nota(9.2).curso("1A").build()
+        ).forEach(indice::registrar);
+    }
+    
+    @Test
+    void testSoloIndexaAprobadosEnOrden() {
+        assertEquals(List.of("ANA MARTÍNEZ", "DIEGO SÁNCHEZ", "LAURA FERNÁNDEZ", "MARÍA GARCÍA",
+                "MATEO RUIZ", "PABLO DÍAZ"), indice.todos());
+    }
+    
+    @Test
+    void testCambiosDeNotaQueCruzanElUmbral() {
+        assertTrue(indice.registrar(new Alumno("Pedro Rodríguez", 7.0, "1B")));
+        assertTrue(indice.registrar(new Alumno("Ana Martínez", 6.9, "1A")));
+        // Sigue aprobado: el índice no cambia
+        assertFalse(indice.registrar(new Alumno("Mateo Ruiz", 9.0, "1B")));
+        
+        assertTrue(indice.todos().contains("PEDRO RODRÍGUEZ"));
+        assertFalse(indice.todos().contains("ANA MARTÍNEZ"));
+        assertEquals(6, indice.cantidad());
+    }
+    
+    @Test
+    void testPaginasYCursor() {
+        assertEquals(List.of("LAURA FERNÁNDEZ", "MARÍA GARCÍA"), indice.pagina(2, 2));
+        assertEquals(List.of(), indice.pagina(10, 2));
+        
+        List<String> recorridos = new ArrayList<>();
+        List<String> pagina = indice.siguientes(null, 4);
+        while (!pagina.isEmpty()) {
+            recorridos.addAll(pagina);
+            pagina = indice.siguientes(pagina.get(pagina.size() - 1), 4);
+        }
+        assertEquals(indice.todos(), recorridos);
+    }
+    
+    @Test
+    void testRangoDeIniciales() {
+        assertEquals(List.of("MARÍA GARCÍA", "MATEO RUIZ", "PABLO DÍAZ"), indice.rango("m", "Q"));
+        assertEquals(List.of(), indice.rango("Q", "M"));
+    }
+    
+    @Test
+    void testMayusculasNoDependenDelLocaleDeLaJvm() {
+        Locale original = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.forLanguageTag("tr"));
+            indice.registrar(new Alumno("iris", 8.0, "1A"));
+            
+            assertTrue(indice.todos().contains("IRIS"));
+            assertEquals(List.of("IRIS"), new AlumnoService().obtenerAprobadosOrdenados(
+                    List.of(new Alumno("iris", 8.0, "1A"))));
+        } finally {
+            Locale.setDefault(original);
+        }
+    }
+    
+    @Test
+    void testRepositorioExponePaginasYRangos() {
+        AlumnoRepository repositorio = new AlumnoRepository(List.of(
+                new Alumno("Zoe", 9.0, "1A"),
+                new Alumno("Bruno", 8.0, "1A"),
+                new Alumno("Nadia", 7.0, "1B")
+        ));
+        
+        assertEquals(List.of("NADIA", "ZOE"), repositorio.obtenerAprobadosPagina(1, 5));
+        assertEquals(List.of("NADIA"), repositorio.obtenerAprobadosEntre("M", "Q"));
+        
+        repositorio.actualizarNota("Nadia", 3.0);
+        
+        assertEquals(List.of("BRUNO", "ZOE"), repositorio.obtenerAprobadosOrdenados());
+    }
+}
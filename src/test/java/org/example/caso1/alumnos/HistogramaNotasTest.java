@@ -0,0 +1,79 @@
+package org.example.caso1.alumnos;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests para verificar el histograma de notas y sus percentiles.
+ */
+class HistogramaNotasTest {
+    
+    /** Percentil por interpolación lineal sobre un arreglo ordenado, como referencia. */
+    private double percentilOrdenando(double[] notas, double p) {
+        double[] ordenadas = notas.clone();
+        Arrays.sort(ordenadas);
+        double rango = (ordenadas.length - 1) * p / 100.0;
+        int inferior = (int) Math.floor(rango);
+        int superior = Math.min(inferior + 1, ordenadas.length - 1);
+        return ordenadas[inferior] + (ordenadas[superior] - ordenadas[inferior]) * (rango - inferior);
+    }
+    
+    @Test
+    void testPercentilesCoincidenConOrdenar() {
+        Random random = new Random(3);
+        double[] notas = new double[10_001];
+        HistogramaNotas histograma = new HistogramaNotas();
+        for (int i = 0; i < notas.length; i++) {
+            notas[i] = random.nextInt(1_001) / 100.0;
+            histograma.agregar(notas[i]);
+        }
+        
+        for (double p : new double[]{0, 10, 25, 50, 90, 99, 100}) {
+            assertEquals(percentilOrdenando(notas, p), histograma.percentil(p), 1e-9);
+        }
+    }
+    
+    @Test
+    void testMedianaConCantidadPar() {
+        HistogramaNotas histograma = new HistogramaNotas();
+        for (double nota : new double[]{9.0, 6.0, 7.5, 8.0}) {
+            histograma.agregar(nota);
+        }
+        
+        assertEquals(7.75, histograma.mediana(), 1e-9);
+    }
+    
+    @Test
+    void testCombinarEquivaleAUnaSolaPasada() {
+        HistogramaNotas completo = new HistogramaNotas();
+        HistogramaNotas primeraMitad = new HistogramaNotas();
+        HistogramaNotas segundaMitad = new HistogramaNotas();
+        for (int i = 0; i <= 100; i++) {
+            double nota = i / 10.0;
+            completo.agregar(nota);
+            (i % 2 == 0 ? primeraMitad : segundaMitad).agregar(nota);
+        }
+        
+        HistogramaNotas combinado = primeraMitad.combinar(segundaMitad);
+        
+        assertEquals(completo.cantidad(), combinado.cantidad());
+        assertEquals(completo.percentil(90), combinado.percentil(90));
+        assertArrayEquals(new long[]{10, 10, 10, 10, 10, 10, 10, 10, 10, 11}, combinado.distribucion());
+    }
+    
+    @Test
+    void testValoresFueraDeRango() {
+        HistogramaNotas histograma = new HistogramaNotas();
+        
+        assertEquals(0.0, histograma.mediana());
+        assertThrows(IllegalArgumentException.class, () -> histograma.agregar(10.5));
+        assertThrows(IllegalArgumentException.class, () -> histograma.agregar(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> histograma.percentil(101));
+    }
+}
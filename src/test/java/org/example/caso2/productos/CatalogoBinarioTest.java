@@ -0,0 +1,110 @@
+package org.example.caso2.productos;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests para verificar que el catálogo binario mapeado da los mismos resultados que la lista.
+ */
+class CatalogoBinarioTest {
+    
+    @TempDir
+    Path directorio;
+    
+    private ProductoService service;
+    private List<Producto> productos;
+    private CatalogoBinario catalogo;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        service = new ProductoService();
+        Random random = new Random(10);
+        productos = new ArrayList<>();
+        String[] categorias = {"Electrónica", "Hogar", "Jardín", "Niños"};
+        for (int i = 0; i < 5_000; i++) {
+            productos.add(new Producto("Producto-ñ-" + i, categorias[random.nextInt(categorias.length)],
+                    random.nextInt(30_000) / 100.0, random.nextInt(500)));
+        }
+        Path archivo = directorio.resolve("productos.cat");
+        CatalogoBinario.escribir(productos, archivo);
+        catalogo = CatalogoBinario.abrir(archivo);
+    }
+    
+    @Test
+    void testLeeLasMismasFilas() {
+        assertEquals(productos.size(), catalogo.tamanio());
+        assertEquals(4, catalogo.cantidadCategorias());
+        for (int i = 0; i < productos.size(); i++) {
+            assertEquals(productos.get(i), catalogo.producto(i));
+        }
+    }
+    
+    @Test
+    void testOperacionesCoincidenConLaLista() {
+        assertEquals(service.listarProductosCarosOrdenados(productos), service.listarProductosCarosOrdenados(catalogo));
+        assertEquals(service.calcularStockPorCategoria(productos), service.calcularStockPorCategoria(catalogo));
+        assertEquals(service.calcularPrecioPromedioGeneral(productos), service.calcularPrecioPromedioGeneral(catalogo));
+        assertEquals(service.generarReporteProductos(productos), service.generarReporteProductos(catalogo));
+        
+        Map<String, Double> esperados = service.calcularPrecioPromedioPorCategoria(productos);
+        assertEquals(esperados, service.calcularPrecioPromedioPorCategoria(catalogo));
+    }
+    
+    @Test
+    void testReporteDelCatalogoPorBloques() throws IOException {
+        productos.add(new Producto("Nombre largo ñ ".repeat(20), "Hogar", 10.5, 1));
+        Path archivo = directorio.resolve("largo.cat");
+        CatalogoBinario.escribir(productos, archivo);
+        CatalogoBinario conNombreLargo = CatalogoBinario.abrir(archivo);
+        byte[] esperado = service.generarReporteProductos(productos).getBytes(StandardCharsets.UTF_8);
+        
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        // Bloques más chicos que el nombre largo, para que se copie en partes
+        assertEquals(esperado.length, new ReporteProductosWriter(64).escribir(conNombreLargo, salida));
+        assertArrayEquals(esperado, salida.toByteArray());
+        
+        Path reporte = directorio.resolve("reporte.txt");
+        try (FileChannel canal = FileChannel.open(reporte, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            service.generarReporteProductos(conNombreLargo, canal);
+        }
+        assertArrayEquals(esperado, Files.readAllBytes(reporte));
+    }
+    
+    @Test
+    void testCatalogoVacio() throws IOException {
+        Path archivo = directorio.resolve("vacio.cat");
+        CatalogoBinario.escribir(List.of(), archivo);
+        CatalogoBinario vacio = CatalogoBinario.abrir(archivo);
+        
+        assertEquals(0, vacio.tamanio());
+        assertTrue(service.listarProductosCarosOrdenados(vacio).isEmpty());
+        assertEquals("", service.generarReporteProductos(vacio));
+        assertEquals(0.0, service.calcularPrecioPromedioGeneral(vacio));
+    }
+    
+    @Test
+    void testArchivoInvalido() throws IOException {
+        Path archivo = directorio.resolve("otro.bin");
+        Files.write(archivo, new byte[128]);
+        
+        assertThrows(IOException.class, () -> CatalogoBinario.abrir(archivo));
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.caso2.productos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests para verificar las estadísticas por categoría calculadas en una sola pasada.
+ */
+class CategoriaStatsTest {
+    
+    private List<Producto> productos;
+    
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(21);
+        productos = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            productos.add(new Producto("P" + i, "C" + random.nextInt(12),
+                    random.nextDouble() * 1_000, random.nextInt(500)));
+        }
+    }
+    
+    @Test
+    void testVistasCoincidenConLosCollectorsOriginales() {
+        CategoriaStats stats = CategoriaStats.calcular(productos);
+        
+        assertEquals(productos.stream().collect(Collectors.groupingBy(
+                Producto::getCategoria, Collectors.summingInt(Producto::getStock))), stats.stockPorCategoria());
+        assertEquals(productos.stream().collect(Collectors.groupingBy(
+                Producto::getCategoria, Collectors.averagingDouble(Producto::getPrecio))), stats.precioPromedioPorCategoria());
+        assertEquals(productos.stream().mapToDouble(Producto::getPrecio).average().orElse(0.0),
+                stats.getPrecioPromedioGeneral());
+    }
+    
+    @Test
+    void testParaleloCoincideConSecuencial() {
+        CategoriaStats secuencial = CategoriaStats.calcular(productos);
+        CategoriaStats paralelo = CategoriaStats.calcularEnParalelo(productos);
+        
+        assertEquals(secuencial.stockPorCategoria(), paralelo.stockPorCategoria());
+        assertEquals(secuencial.getGeneral().getCantidad(), paralelo.getGeneral().getCantidad());
+        assertEquals(secuencial.getGeneral().getPrecioMaximo(), paralelo.getGeneral().getPrecioMaximo());
+        secuencial.precioPromedioPorCategoria().forEach((categoria, promedio) ->
+                assertEquals(promedio, paralelo.precioPromedioPorCategoria().get(categoria), 1e-9));
+    }
+    
+    @Test
+    void testMinimoMaximoYCantidadPorCategoria() {
+        List<Producto> pocos = List.of(
+                new Producto("A", "Ropa", 45.0, 100),
+                new Producto("B", "Ropa", 120.0, 40),
+                new Producto("C", "Alimentos", 15.0, 200)
+        );
+        
+        Map<String, CategoriaStats.Estadisticas> porCategoria = CategoriaStats.calcular(pocos).getPorCategoria();
+        
+        assertEquals(2, porCategoria.get("Ropa").getCantidad());
+        assertEquals(140, porCategoria.get("Ropa").getStockTotal());
+        assertEquals(45.0, porCategoria.get("Ropa").getPrecioMinimo());
+        assertEquals(120.0, porCategoria.get("Ropa").getPrecioMaximo());
+        assertEquals(165.0, porCategoria.get("Ropa").getSumaPrecios());
+        assertEquals(0.0, CategoriaStats.calcular(List.of()).getPrecioPromedioGeneral());
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.caso2.productos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests para verificar el inventario con contadores de stock concurrentes.
+ */
+class InventarioStockTest {
+    
+    private List<Producto> productos;
+    private InventarioStock inventario;
+    
+    @BeforeEach
+    void setUp() {
+        productos = List.of(
+                Producto.builder().nombre("Laptop").categoria("Electrónica").precio(1200.0).stock(15).build(),
+                Producto.builder().nombre("Mouse").categoria("Electrónica").precio(25.0).stock(50).build(),
+                Producto.builder().nombre("Camisa").categoria("Ropa").precio(45.0).stock(100).build(),
+                Producto.builder().nombre("Arroz").categoria("Alimentos").precio(15.0).stock(200).build()
+        );
+        inventario = InventarioStock.desde(productos);
+    }
+    
+    @Test
+    void testStockInicialCoincideConElServicio() {
+        ProductoService service = new ProductoService();
+        
+        assertEquals(service.calcularStockTotalPorCategoria(productos), service.calcularStockPorCategoria(inventario));
+        assertEquals(65, inventario.stockDeCategoria("Electrónica"));
+        assertEquals(0, inventario.stockDeCategoria("Juguetes"));
+    }
+    
+    @Test
+    void testMovimientosConcurrentes() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int hilo = 0; hilo < 8; hilo++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    inventario.aplicarDelta("Laptop", 1);
+                    inventario.aplicarDelta("Camisa", -1);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        
+        assertEquals(15 + 80_000, inventario.stockDeProducto("Laptop"));
+        assertEquals(100 - 80_000, inventario.stockDeProducto("Camisa"));
+        assertEquals(65 + 80_000, inventario.stockPorCategoria().get("Electrónica"));
+    }
+    
+    @Test
+    void testTotalesNoDesbordan() {
+        inventario.aplicarDelta("Arroz", Integer.MAX_VALUE);
+        inventario.aplicarDelta("Arroz", Integer.MAX_VALUE);
+        
+        Map<String, Long> stock = inventario.stockPorCategoria();
+        
+        assertEquals(200L + 2L * Integer.MAX_VALUE, stock.get("Alimentos"));
+    }
+    
+    @Test
+    void testProductoDesconocidoOEnOtraCategoria() {
+        assertThrows(IllegalArgumentException.class, () -> inventario.aplicarDelta("Teclado", 1));
+        assertThrows(IllegalArgumentException.class, () -> inventario.registrar(
+                Producto.builder().nombre("Laptop").categoria("Ropa").precio(1.0).stock(1).build()));
+    }
+}
@@ -0,0 +1,129 @@
+package org.example.caso2.productos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests para verificar el índice de precios y sus consultas por rango.
+ */
+class PrecioIndexTest {
+    
+    private List<Producto> productos;
+    private PrecioIndex indice;
+    
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(8);
+        productos = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            // Precios enteros para que haya muchos empates
+            productos.add(new Producto("P" + i, "C" + (i % 5), random.nextInt(300), i));
+        }
+        indice = PrecioIndex.desde(productos);
+    }
+    
+    private List<Producto> filtrarYOrdenar(double desde, double hasta) {
+        return productos.stream()
+                .filter(producto -> producto.getPrecio() > desde && producto.getPrecio() <= hasta)
+                .sorted(Comparator.comparingDouble(Producto::getPrecio).reversed())
+                .collect(Collectors.toList());
+    }
+    
+    @Test
+    void testRangosCoincidenConFiltrarYOrdenar() {
+        assertEquals(filtrarYOrdenar(100, Double.POSITIVE_INFINITY), indice.listarMayoresA(100));
+        assertEquals(filtrarYOrdenar(50, 120), indice.listarEntre(50, 120));
+        assertEquals(filtrarYOrdenar(-1, 0), indice.listarEntre(-1, 0));
+        assertTrue(indice.listarEntre(120, 50).isEmpty());
+    }
+    
+    @Test
+    void testPaginas() {
+        List<Producto> completo = indice.listarEntre(10, 200);
+        
+        assertEquals(completo.subList(0, 50), indice.pagina(10, 200, 0, 50));
+        assertEquals(completo.subList(50, 100), indice.pagina(10, 200, 50, 50));
+        assertTrue(indice.pagina(10, 200, completo.size(), 50).isEmpty());
+    }
+    
+    @Test
+    void testActualizarPrecioYQuitar() {
+        Producto producto = productos.get(0);
+        
+        assertTrue(indice.actualizarPrecio(producto, 1_000));
+        assertEquals(producto, indice.listarMayoresA(500).get(0));
+        assertEquals(1_000, producto.getPrecio());
+        
+        assertTrue(indice.quitar(producto));
+        assertFalse(indice.quitar(producto));
+        assertFalse(indice.actualizarPrecio(producto, 5));
+        assertEquals(productos.size() - 1, indice.tamanio());
+        assertTrue(indice.listarMayoresA(500).isEmpty());
+    }
+    
+    @Test
+    void testLaMismaInstanciaPuedeEstarVariasVeces() {
+        Producto producto = new Producto("Repetido", "C", 150, 1);
+        List<Producto> conRepetidos = new ArrayList<>(productos);
+        conRepetidos.add(producto);
+        conRepetidos.add(producto);
+        PrecioIndex repetidos = PrecioIndex.desde(conRepetidos);
+        repetidos.agregar(producto);
+        conRepetidos.add(producto);
+        
+        assertEquals(new ProductoService().listarProductosCarosOrdenados(conRepetidos), repetidos.listarMayoresA(100));
+        assertEquals(3, repetidos.listarEntre(149, 150).stream().filter(p -> p == producto).count());
+        
+        assertTrue(repetidos.actualizarPrecio(producto, 400));
+        assertEquals(List.of(producto, producto, producto), repetidos.listarMayoresA(300));
+        assertTrue(repetidos.quitar(producto));
+        assertEquals(List.of(producto, producto), repetidos.listarMayoresA(300));
+    }
+    
+    @Test
+    void testAltasBajasYCambiosAlAzarMantienenElOrden() {
+        Random random = new Random(11);
+        PrecioIndex vacio = new PrecioIndex();
+        List<Producto> esperados = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            int operacion = random.nextInt(10);
+            if (operacion < 6 || esperados.isEmpty()) {
+                Producto producto = new Producto("N" + i, "C", random.nextInt(500), 1);
+                vacio.agregar(producto);
+                esperados.add(producto);
+            } else if (operacion < 8) {
+                assertTrue(vacio.quitar(esperados.remove(random.nextInt(esperados.size()))));
+            } else {
+                Producto producto = esperados.get(random.nextInt(esperados.size()));
+                vacio.actualizarPrecio(producto, random.nextInt(500));
+            }
+        }
+        List<Producto> ordenados = new ArrayList<>(esperados);
+        ordenados.sort(Comparator.comparingDouble(Producto::getPrecio).reversed());
+        
+        assertEquals(esperados.size(), vacio.tamanio());
+        // Entre precios iguales el orden depende de las altas; se comparan solo los precios
+        assertEquals(ordenados.stream().map(Producto::getPrecio).toList(),
+                vacio.listarEntre(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY).stream()
+                        .map(Producto::getPrecio).toList());
+        assertEquals(vacio.listarEntre(100, 400).subList(300, 500), vacio.pagina(100, 400, 300, 200));
+    }
+    
+    @Test
+    void testServicioConUmbralArbitrario() {
+        ProductoService service = new ProductoService();
+        
+        assertEquals(filtrarYOrdenar(250, Double.POSITIVE_INFINITY), service.listarProductosCarosOrdenados(productos, 250));
+        assertEquals(service.listarProductosCarosOrdenados(productos), service.listarProductosCarosOrdenados(indice));
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.caso2.productos;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests para verificar que el reporte por bloques es idéntico al reporte en String.
+ */
+class ReporteProductosWriterTest {
+    
+    private ProductoService service;
+    private List<Producto> productos;
+    
+    @BeforeEach
+    void setUp() {
+        service = new ProductoService();
+        Random random = new Random(11);
+        productos = new ArrayList<>(Arrays.asList(
+                Producto.builder().nombre("Pantalón").categoria("Ropa").precio(65.0).stock(80).build(),
+                Producto.builder().nombre("Café ☕ 😀").categoria("Alimentos").precio(0.1 + 0.2).stock(5).build(),
+                Producto.builder().nombre(null).categoria("Otros").precio(-3.5).stock(1).build(),
+                Producto.builder().nombre("Satélite").categoria("Otros").precio(1.0E9).stock(1).build(),
+                Producto.builder().nombre("Tornillo").categoria("Ferretería").precio(0.0005).stock(1).build()
+        ));
+        for (int i = 0; i < 5_000; i++) {
+            double precio = random.nextBoolean() ? random.nextInt(10_000_000) / 100.0 : random.nextDouble() * 1_000;
+            productos.add(new Producto("Producto " + i, "C" + (i % 7), precio, i));
+        }
+    }
+    
+    @Test
+    void testOutputStreamYCanalSonIdenticosAlString() throws IOException {
+        byte[] esperado = service.generarReporteProductos(productos).getBytes(StandardCharsets.UTF_8);
+        
+        for (int tamanio : new int[]{36, 100, 4_096}) {
+            ReporteProductosWriter escritor = new ReporteProductosWriter(tamanio);
+            ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            ByteArrayOutputStream canal = new ByteArrayOutputStream();
+            
+            assertEquals(esperado.length, escritor.escribir(productos, stream));
+            escritor.escribir(productos, Channels.newChannel(canal));
+            
+            assertArrayEquals(esperado, stream.toByteArray());
+            assertArrayEquals(esperado, canal.toByteArray());
+        }
+    }
+    
+    @Test
+    void testWriterEsIdenticoAlString() throws IOException {
+        String esperado = service.generarReporteProductos(productos);
+        StringWriter writer = new StringWriter();
+        
+        assertEquals(esperado.length(), new ReporteProductosWriter(40).escribir(productos, writer));
+        assertEquals(esperado, writer.toString());
+    }
+    
+    @Test
+    void testOverloadsDelServicio() throws IOException {
+        List<Producto> pocos = productos.subList(0, 3);
+        StringWriter writer = new StringWriter();
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        
+        service.generarReporteProductos(pocos, writer);
+        service.generarReporteProductos(pocos, stream);
+        
+        assertEquals(service.generarReporteProductos(pocos), writer.toString());
+        assertEquals(service.generarReporteProductos(pocos), stream.toString(StandardCharsets.UTF_8));
+    }
+    
+    @Test
+    void testListaVacia() throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        
+        assertEquals(0, new ReporteProductosWriter().escribir(List.of(), stream));
+        assertEquals(0, stream.size());
+    }
+}
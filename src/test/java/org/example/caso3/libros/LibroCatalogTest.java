@@ -0,0 +1,104 @@
+package org.example.caso3.libros;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests para verificar el catálogo de libros con montículo indexado por precio.
+ */
+class LibroCatalogTest {
+    
+    private LibroService service;
+    private List<Libro> libros;
+    private LibroCatalog catalogo;
+    
+    @BeforeEach
+    void setUp() {
+        service = new LibroService();
+        Random random = new Random(12);
+        libros = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            // Precios enteros para que haya muchos empates
+            libros.add(new Libro("Libro " + i, "Autor " + (i % 40), 100 + i % 500, random.nextInt(200)));
+        }
+        catalogo = LibroCatalog.desde(libros);
+    }
+    
+    private List<Libro> ordenarPorPrecio(List<Libro> lista, int cantidad) {
+        return lista.stream()
+                .sorted(Comparator.comparingDouble(Libro::getPrecio).reversed())
+                .limit(cantidad)
+                .collect(Collectors.toList());
+    }
+    
+    private void assertMismosLibros(List<Libro> esperados, List<Libro> obtenidos) {
+        assertEquals(esperados.size(), obtenidos.size());
+        for (int i = 0; i < esperados.size(); i++) {
+            assertSame(esperados.get(i), obtenidos.get(i));
+        }
+    }
+    
+    @Test
+    void testMasCaroYTopCoincidenConLaLista() {
+        assertSame(service.obtenerLibroMasCaro(libros).orElseThrow(), service.obtenerLibroMasCaro(catalogo).orElseThrow());
+        for (int cantidad : new int[]{0, 1, 10, 250, 5_000}) {
+            assertMismosLibros(ordenarPorPrecio(libros, cantidad), service.obtenerLibrosMasCaros(catalogo, cantidad));
+        }
+    }
+    
+    @Test
+    void testActualizacionesYBajasAleatorias() {
+        Random random = new Random(21);
+        List<Libro> vigentes = new ArrayList<>(libros);
+        for (int i = 0; i < 2_000; i++) {
+            Libro libro = vigentes.get(random.nextInt(vigentes.size()));
+            if (i % 5 == 0) {
+                assertTrue(catalogo.quitar(libro));
+                vigentes.remove(libro);
+            } else {
+                assertTrue(catalogo.actualizarPrecio(libro, random.nextInt(300)));
+            }
+        }
+        
+        assertEquals(vigentes.size(), catalogo.tamanio());
+        assertMismosLibros(ordenarPorPrecio(vigentes, 100), catalogo.obtenerMasCaros(100));
+        assertSame(service.obtenerLibroMasCaro(vigentes).orElseThrow(), catalogo.obtenerMasCaro().orElseThrow());
+    }
+    
+    @Test
+    void testLibroDesconocidoYCatalogoVacio() {
+        LibroCatalog vacio = new LibroCatalog();
+        Libro libro = libros.get(0);
+        
+        assertFalse(vacio.quitar(libro));
+        assertFalse(vacio.actualizarPrecio(libro, 10));
+        assertTrue(vacio.obtenerMasCaro().isEmpty());
+        assertTrue(vacio.obtenerMasCaros(5).isEmpty());
+        
+        vacio.agregar(libro);
+        vacio.agregar(libro);
+        assertEquals(1, vacio.tamanio());
+    }
+    
+    @Test
+    void testParaleloCoincideConSecuencial() {
+        List<Libro> muchos = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            muchos.addAll(libros);
+        }
+        
+        assertSame(service.obtenerLibroMasCaro(muchos).orElseThrow(), service.obtenerLibroMasCaroEnParalelo(muchos).orElseThrow());
+        assertTrue(service.obtenerLibroMasCaroEnParalelo(List.of()).isEmpty());
+    }
+}
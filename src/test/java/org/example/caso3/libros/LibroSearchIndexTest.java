@@ -0,0 +1,92 @@
+package org.example.caso3.libros;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests para verificar las búsquedas por prefijo y subcadena del índice de libros.
+ */
+class LibroSearchIndexTest {
+    
+    private static final String[] PALABRAS = {"Cien", "años", "Soledad", "Quijote", "Principito", "Anillos",
+            "Señor", "Cólera", "amor", "Granja", "Muerte", "Crónica"};
+    
+    private List<Libro> libros;
+    private LibroSearchIndex indice;
+    
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(14);
+        libros = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            String titulo = PALABRAS[random.nextInt(PALABRAS.length)] + " " + PALABRAS[random.nextInt(PALABRAS.length)];
+            libros.add(new Libro(titulo, "Autor " + random.nextInt(200), 100 + i % 400, 10 + i % 50));
+        }
+        indice = LibroSearchIndex.desde(libros);
+    }
+    
+    private List<Libro> filtrar(List<Libro> lista, Predicate<String> condicion, int limite) {
+        return lista.stream()
+                .filter(libro -> condicion.test(libro.getTitulo().toLowerCase(Locale.ROOT))
+                        || condicion.test(libro.getAutor().toLowerCase(Locale.ROOT)))
+                .sorted(Comparator.comparing(Libro::getTitulo))
+                .limit(limite)
+                .collect(Collectors.toList());
+    }
+    
+    @Test
+    void testPrefijoCoincideConFiltrar() {
+        for (String prefijo : new String[]{"", "c", "Cr", "señor q", "autor 1", "zzz"}) {
+            String buscado = prefijo.toLowerCase(Locale.ROOT);
+            assertEquals(filtrar(libros, texto -> texto.startsWith(buscado), 25), indice.buscarPorPrefijo(prefijo, 25));
+        }
+    }
+    
+    @Test
+    void testSubcadenaCoincideConContains() {
+        for (String texto : new String[]{"", "a", "ño", "ole", "ANILLOS", "r 17", "ita gr", "xyz"}) {
+            String buscado = texto.toLowerCase(Locale.ROOT);
+            assertEquals(filtrar(libros, valor -> valor.contains(buscado), 40), indice.buscarPorTexto(texto, 40));
+        }
+    }
+    
+    @Test
+    void testAltasYBajasIncrementales() {
+        List<Libro> vigentes = new ArrayList<>(libros.subList(1_000, libros.size()));
+        for (Libro libro : libros.subList(0, 1_000)) {
+            assertTrue(indice.quitar(libro));
+        }
+        Libro nuevo = new Libro("Rayuela", "Julio Cortázar", 600, 40);
+        indice.agregar(nuevo);
+        vigentes.add(nuevo);
+        
+        assertFalse(indice.quitar(libros.get(0)));
+        assertEquals(vigentes.size(), indice.tamanio());
+        assertEquals(List.of(nuevo), indice.buscarPorTexto("cortá", 10));
+        assertEquals(filtrar(vigentes, valor -> valor.contains("sol"), 30), indice.buscarPorTexto("sol", 30));
+        assertEquals(filtrar(vigentes, valor -> valor.startsWith("an"), 30), indice.buscarPorPrefijo("An", 30));
+    }
+    
+    @Test
+    void testEstadisticas() {
+        LibroSearchIndex.Estadisticas estadisticas = indice.estadisticas();
+        
+        assertEquals(libros.size(), estadisticas.libros());
+        assertTrue(estadisticas.ngramas() > 0);
+        assertTrue(estadisticas.referencias() >= estadisticas.ngramas());
+        assertTrue(estadisticas.bytesEstimados() > 0);
+        assertTrue(estadisticas.nanosAltas() > 0);
+    }
+}
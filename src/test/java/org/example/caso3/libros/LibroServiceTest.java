@@ -4,19 +4,27 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import org.example.comun.OrdenamientoExterno;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * Tests para verificar operaciones funcionales sobre libros.
  */
 class LibroServiceTest {
     
+    @TempDir
+    Path directorio;
+    
     private LibroService service;
     private List<Libro> libros;
     
@@ -60,6 +68,21 @@ class LibroServiceTest {
         assertFalse(titulosLargos.contains("Rebelión en la Granja")); // 144 páginas
     }
     
+    @Test
+    void testListarTitulosLibrosLargosExternoCoincideConEnMemoria() throws IOException {
+        List<Libro> muchos = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            Libro libro = libros.get(i % libros.size());
+            muchos.add(new Libro(libro.getTitulo() + " " + i, libro.getAutor(), libro.getPaginas(), libro.getPrecio()));
+        }
+        OrdenamientoExterno ordenamiento = new OrdenamientoExterno(16 * 1024, directorio);
+        
+        List<String> titulos = new ArrayList<>();
+        service.listarTitulosLibrosLargos(muchos.iterator(), ordenamiento).forEachRemaining(titulos::add);
+        
+        assertEquals(service.listarTitulosLibrosLargos(muchos), titulos);
+    }
+    
     @Test
     void testCalcularPromedioPaginas() {
         double promedio = service.calcularPromedioPaginas(libros);
@@ -90,6 +113,22 @@ class LibroServiceTest {
         assertEquals(1, librosPorAutor.get("J.R.R. Tolkien"));
     }
     
+    @Test
+    void testContarLibrosPorAutorEnParaleloCoincideConSecuencial() {
+        List<Libro> muchos = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            muchos.add(libros.get(i % libros.size()));
+        }
+        
+        Map<String, Long> esperado = service.contarLibrosPorAutor(muchos);
+        
+        assertEquals(esperado, service.contarLibrosPorAutorEnParalelo(muchos));
+        // Como con groupingBy, el llamador puede seguir acumulando sobre el mapa devuelto
+        esperado.merge("Autor nuevo", 1L, Long::sum);
+        assertEquals(1L, esperado.get("Autor nuevo"));
+        assertEquals(60_000L, esperado.get("Gabriel García Márquez"));
+    }
+    
     @Test
     void testObtenerLibroMasCaro() {
         Optional<Libro> libroMasCaro = service.obtenerLibroMasCaro(libros);
@@ -0,0 +1,104 @@
+package org.example.caso4.empleados;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests para verificar el índice de empleados por edad y la selección por counting sort.
+ */
+class EdadIndexTest {
+    
+    private static final Comparator<Empleado> POR_EDAD = Comparator.comparingInt(Empleado::getEdad);
+    
+    private List<Empleado> empleados;
+    
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(15);
+        empleados = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            empleados.add(new Empleado("E" + i, "D" + (i % 4), 1000 + i, 18 + random.nextInt(50)));
+        }
+    }
+    
+    private List<Empleado> ordenar(List<Empleado> lista, Comparator<Empleado> orden, int cantidad) {
+        return lista.stream().sorted(orden).limit(cantidad).collect(Collectors.toList());
+    }
+    
+    private void assertMismosEmpleados(List<Empleado> esperados, List<Empleado> obtenidos) {
+        assertEquals(esperados.size(), obtenidos.size());
+        for (int i = 0; i < esperados.size(); i++) {
+            assertSame(esperados.get(i), obtenidos.get(i));
+        }
+    }
+    
+    @Test
+    void testSeleccionCoincideConOrdenamientoEstable() {
+        for (int cantidad : new int[]{0, 1, 2, 37, 500, 5_000}) {
+            assertMismosEmpleados(ordenar(empleados, POR_EDAD, cantidad), EdadIndex.seleccionarMasJovenes(empleados, cantidad));
+            assertMismosEmpleados(ordenar(empleados, POR_EDAD.reversed(), cantidad), EdadIndex.seleccionarMayores(empleados, cantidad));
+        }
+        
+        List<Empleado> fueraDeEscala = new ArrayList<>(empleados);
+        fueraDeEscala.add(new Empleado("X", "D0", 1, Integer.MAX_VALUE));
+        assertMismosEmpleados(ordenar(fueraDeEscala, POR_EDAD.reversed(), 3), EdadIndex.seleccionarMayores(fueraDeEscala, 3));
+    }
+    
+    @Test
+    void testIndiceCoincideConOrdenamientoEstable() {
+        EdadIndex indice = EdadIndex.desde(empleados);
+        
+        assertEquals(empleados.size(), indice.tamanio());
+        assertMismosEmpleados(ordenar(empleados, POR_EDAD, 25), indice.masJovenes(25));
+        assertMismosEmpleados(ordenar(empleados, POR_EDAD.reversed(), 25), indice.mayores(25));
+        assertMismosEmpleados(empleados.stream().filter(e -> e.getEdad() >= 30 && e.getEdad() <= 40).sorted(POR_EDAD)
+                .collect(Collectors.toList()), indice.entreEdades(30, 40));
+        assertTrue(indice.entreEdades(100, 200).isEmpty());
+        assertTrue(indice.entreEdades(40, 30).isEmpty());
+    }
+    
+    @Test
+    void testAltasBajasYCumpleanios() {
+        EdadIndex indice = EdadIndex.desde(empleados);
+        Random random = new Random(51);
+        List<Empleado> vigentes = new ArrayList<>(empleados);
+        for (int i = 0; i < 1_000; i++) {
+            Empleado empleado = vigentes.get(random.nextInt(vigentes.size()));
+            if (i % 4 == 0) {
+                assertTrue(indice.quitar(empleado));
+                vigentes.remove(empleado);
+            } else {
+                assertTrue(indice.actualizarEdad(empleado, empleado.getEdad() + 1));
+            }
+        }
+        Empleado nuevo = new Empleado("Nuevo", "D1", 900, 5);
+        indice.agregar(nuevo);
+        vigentes.add(nuevo);
+        
+        assertSame(nuevo, indice.masJovenes(1).get(0));
+        assertMismosEmpleados(ordenar(vigentes, POR_EDAD, 40), indice.masJovenes(40));
+        assertMismosEmpleados(ordenar(vigentes, POR_EDAD.reversed(), 40), indice.mayores(40));
+        assertFalse(indice.quitar(new Empleado("Otro", "D1", 1, 30)));
+    }
+    
+    @Test
+    void testRangoDemasiadoAmplio() {
+        EdadIndex indice = new EdadIndex();
+        indice.agregar(new Empleado("A", "D", 1, 0));
+        
+        assertThrows(IllegalArgumentException.class, () -> indice.agregar(new Empleado("B", "D", 1, Integer.MAX_VALUE)));
+        assertEquals(1, indice.tamanio());
+    }
+}
@@ -0,0 +1,224 @@
+package org.example.caso4.empleados;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests para verificar los agregados de nómina por eventos y su persistencia.
+ */
+class EmpleadoLedgerTest {
+    
+    @TempDir
+    Path directorio;
+    
+    private final EmpleadoService service = new EmpleadoService();
+    
+    /**
+     * Aplica eventos aleatorios al ledger y a una lista de referencia.
+     */
+    private void aplicarEventos(EmpleadoLedger ledger, List<Empleado> referencia, int cantidad, long semilla)
+            throws IOException {
+        Random random = new Random(semilla);
+        for (int i = 0; i < cantidad; i++) {
+            int tipo = referencia.isEmpty() ? 0 : random.nextInt(4);
+            if (tipo == 0) {
+                Empleado nuevo = new Empleado("E" + semilla + "-" + i, "D" + random.nextInt(5),
+                        (100_000 + random.nextInt(400_000)) / 100.0, 20 + random.nextInt(40));
+                ledger.aplicar(EventoEmpleado.Contratacion.de(nuevo));
+                referencia.add(nuevo);
+                continue;
+            }
+            Empleado empleado = referencia.get(random.nextInt(referencia.size()));
+            switch (tipo) {
+                case 1 -> {
+                    ledger.aplicar(new EventoEmpleado.Baja(empleado.getNombre()));
+                    referencia.remove(empleado);
+                }
+                case 2 -> {
+                    double salario = (100_000 + random.nextInt(400_000)) / 100.0;
+                    ledger.aplicar(new EventoEmpleado.CambioSalario(empleado.getNombre(), salario));
+                    empleado.setSalario(salario);
+                }
+                default -> {
+                    String departamento = "D" + random.nextInt(5);
+                    ledger.aplicar(new EventoEmpleado.Traslado(empleado.getNombre(), departamento));
+                    empleado.setDepartamento(departamento);
+                }
+            }
+        }
+    }
+    
+    private void assertCoincide(List<Empleado> referencia, EmpleadoLedger ledger) {
+        assertEquals(service.calcularSalariosPorDepartamento(referencia), service.calcularSalariosPorDepartamento(ledger));
+        assertEquals(service.calcularSalarioPromedio(referencia), ledger.salarioPromedio());
+        assertEquals(service.listarEmpleadosSalarioAlto(referencia), ledger.empleadosSalarioAlto());
+        assertEquals(referencia.size(), ledger.cantidad());
+    }
+    
+    @Test
+    void testAgregadosCoincidenConRecalcular() throws IOException {
+        List<Empleado> referencia = new ArrayList<>();
+        try (EmpleadoLedger ledger = new EmpleadoLedger()) {
+            aplicarEventos(ledger, referencia, 5_000, 1);
+            
+            assertCoincide(referencia, ledger);
+            EmpleadoLedger.ResumenDepartamento resumen = ledger.resumen("D1").orElseThrow();
+            List<Double> salarios = referencia.stream().filter(e -> e.getDepartamento().equals("D1"))
+                    .map(Empleado::getSalario).sorted().toList();
+            assertEquals(salarios.size(), resumen.cantidad());
+            assertEquals(salarios.get(0), resumen.minimo());
+            assertEquals(salarios.get(salarios.size() - 1), resumen.maximo());
+            assertTrue(ledger.resumen("Inexistente").isEmpty());
+        }
+    }
+    
+    @Test
+    void testReabrirDesdeInstantaneaYRegistro() throws IOException {
+        List<Empleado> referencia = new ArrayList<>();
+        try (EmpleadoLedger ledger = EmpleadoLedger.abrir(directorio)) {
+            aplicarEventos(ledger, referencia, 2_000, 2);
+            ledger.guardarInstantanea();
+            aplicarEventos(ledger, referencia, 1_000, 3);
+        }
+        
+        try (EmpleadoLedger reabierto = EmpleadoLedger.abrir(directorio)) {
+            assertEquals(3_000, reabierto.eventosAplicados());
+            assertCoincide(referencia, reabierto);
+            assertEquals(referencia, reabierto.empleados());
+            
+            aplicarEventos(reabierto, referencia, 500, 4);
+        }
+        
+        try (EmpleadoLedger reabierto = EmpleadoLedger.abrir(directorio)) {
+            assertCoincide(referencia, reabierto);
+        }
+    }
+    
+    @Test
+    void testDescartaUnEventoIncompleto() throws IOException {
+        List<Empleado> referencia = new ArrayList<>();
+        try (EmpleadoLedger ledger = EmpleadoLedger.abrir(directorio)) {
+            aplicarEventos(ledger, referencia, 100, 5);
+        }
+        try (FileChannel registro = FileChannel.open(directorio.resolve(EmpleadoLedger.ARCHIVO_EVENTOS),
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            registro.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 40, 1, 2}));
+        }
+        
+        try (EmpleadoLedger reabierto = EmpleadoLedger.abrir(directorio)) {
+            assertEquals(100, reabierto.eventosAplicados());
+            assertCoincide(referencia, reabierto);
+            aplicarEventos(reabierto, referencia, 10, 6);
+        }
+        try (EmpleadoLedger reabierto = EmpleadoLedger.abrir(directorio)) {
+            assertEquals(110, reabierto.eventosAplicados());
+            assertCoincide(referencia, reabierto);
+        }
+    }
+    
+    @Test
+    void testDescartaUnUltimoEventoConContenidoIncompleto() throws IOException {
+        List<Empleado> referencia = new ArrayList<>();
+        try (EmpleadoLedger ledger = EmpleadoLedger.abrir(directorio)) {
+            aplicarEventos(ledger, referencia, 20, 7);
+            ledger.aplicar(new EventoEmpleado.Contratacion("Último", "IT", 1_000, 30));
+        }
+        Path archivo = directorio.resolve(EmpleadoLedger.ARCHIVO_EVENTOS);
+        byte[] bytes = Files.readAllBytes(archivo);
+        // El tamaño llegó al disco pero no el final del contenido
+        bytes[bytes.length - 1] ^= 0x55;
+        Files.write(archivo, bytes);
+        
+        try (EmpleadoLedger reabierto = EmpleadoLedger.abrir(directorio)) {
+            assertEquals(20, reabierto.eventosAplicados());
+            assertCoincide(referencia, reabierto);
+        }
+    }
+    
+    @Test
+    void testUnEventoDaniadoEnElMedioNoSeDescartaEnSilencio() throws IOException {
+        try (EmpleadoLedger ledger = EmpleadoLedger.abrir(directorio)) {
+            aplicarEventos(ledger, new ArrayList<>(), 20, 8);
+        }
+        Path archivo = directorio.resolve(EmpleadoLedger.ARCHIVO_EVENTOS);
+        byte[] original = Files.readAllBytes(archivo);
+        
+        byte[] contenidoDaniado = original.clone();
+        contenidoDaniado[12] ^= 0x55;
+        Files.write(archivo, contenidoDaniado);
+        assertThrows(IOException.class, () -> EmpleadoLedger.abrir(directorio).close());
+        
+        byte[] longitudDaniada = original.clone();
+        longitudDaniada[0] = 0;
+        longitudDaniada[1] = 0;
+        longitudDaniada[2] = 0;
+        longitudDaniada[3] = 0;
+        Files.write(archivo, longitudDaniada);
+        assertThrows(IOException.class, () -> EmpleadoLedger.abrir(directorio).close());
+        // El registro no se trunca al fallar
+        assertEquals(original.length, Files.size(archivo));
+    }
+    
+    @Test
+    void testEventosInvalidosNoSeRegistran() throws IOException {
+        try (EmpleadoLedger ledger = EmpleadoLedger.abrir(directorio)) {
+            ledger.aplicar(new EventoEmpleado.Contratacion("Ana", "IT", 3000, 30));
+            long tamanio = Files.size(directorio.resolve(EmpleadoLedger.ARCHIVO_EVENTOS));
+            
+            assertThrows(IllegalArgumentException.class, () -> ledger.aplicar(new EventoEmpleado.Contratacion("Ana", "IT", 1, 1)));
+            assertThrows(IllegalArgumentException.class, () -> ledger.aplicar(new EventoEmpleado.Baja("Beto")));
+            assertThrows(IllegalArgumentException.class, () -> ledger.aplicar(new EventoEmpleado.CambioSalario("Ana", Double.NaN)));
+            
+            assertEquals(tamanio, Files.size(directorio.resolve(EmpleadoLedger.ARCHIVO_EVENTOS)));
+            assertEquals(1, ledger.eventosAplicados());
+        }
+        assertThrows(IllegalStateException.class, () -> new EmpleadoLedger().guardarInstantanea());
+    }
+    
+    @Test
+    void testUnTotalQueDesbordaSeRechazaSinRegistrarElEvento() throws IOException {
+        // Cerca del máximo convertible a centavos: unos mil sueldos así desbordan un long
+        double sueldo = 90_000_000_000_000.0;
+        int contratados = 0;
+        try (EmpleadoLedger ledger = EmpleadoLedger.abrir(directorio)) {
+            boolean desborda = false;
+            while (!desborda) {
+                try {
+                    ledger.aplicar(new EventoEmpleado.Contratacion("Empleado " + contratados, "IT", sueldo, 30));
+                    contratados++;
+                } catch (IllegalArgumentException e) {
+                    desborda = true;
+                }
+            }
+            long tamanio = Files.size(directorio.resolve(EmpleadoLedger.ARCHIVO_EVENTOS));
+            
+            assertThrows(IllegalArgumentException.class,
+                    () -> ledger.aplicar(new EventoEmpleado.Contratacion("Otro", "Ventas", sueldo, 30)));
+            assertEquals(tamanio, Files.size(directorio.resolve(EmpleadoLedger.ARCHIVO_EVENTOS)));
+            assertEquals(contratados, ledger.cantidad());
+            assertEquals(contratados, ledger.eventosAplicados());
+            
+            // Con lugar otra vez, los eventos siguientes se numeran sin huecos ni repetidos
+            ledger.aplicar(new EventoEmpleado.Baja("Empleado 0"));
+            ledger.aplicar(new EventoEmpleado.Contratacion("Otro", "Ventas", sueldo, 30));
+        }
+        try (EmpleadoLedger reabierto = EmpleadoLedger.abrir(directorio)) {
+            assertEquals(contratados + 2L, reabierto.eventosAplicados());
+            assertEquals(contratados, reabierto.cantidad());
+        }
+    }
+}
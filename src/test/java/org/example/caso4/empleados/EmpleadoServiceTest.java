@@ -2,12 +2,19 @@ package org.example.caso4.empleados;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
+import org.example.comun.CacheResultados;
+import org.example.comun.DatosVersionados;
+import org.example.comun.EstrategiaEjecucion;
+import org.example.comun.OrdenIncremental;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -86,6 +93,19 @@ class EmpleadoServiceTest {
         assertEquals(0.0, promedio);
     }
     
+    @Test
+    void testSalariosSeRedondeanAlCentavoYLosNoFinitosSeRechazan() {
+        List<Empleado> conFracciones = List.of(
+                new Empleado("Ana", "IT", 1000.004, 30),
+                new Empleado("Luis", "IT", 1000.004, 40));
+        List<Empleado> conNaN = List.of(new Empleado("Eva", "IT", Double.NaN, 30));
+        
+        assertEquals(1000.0, service.calcularSalarioPromedio(conFracciones));
+        assertEquals(2000.0, service.calcularSalariosPorDepartamento(conFracciones).get("IT"));
+        assertThrows(IllegalArgumentException.class, () -> service.calcularSalarioPromedio(conNaN));
+        assertThrows(IllegalArgumentException.class, () -> service.calcularSalariosPorDepartamento(conNaN));
+    }
+    
     @Test
     void testCalcularSalariosPorDepartamento() {
         Map<String, Double> salariosPorDepartamento = service.calcularSalariosPorDepartamento(empleados);
@@ -107,6 +127,29 @@ class EmpleadoServiceTest {
         assertEquals(8300.0, salariosPorDepartamento.get("Finanzas"), 0.01);
     }
     
+    @Test
+    void testSalariosPorDepartamentoParaleloEsExacto() {
+        List<Empleado> muchos = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            Empleado empleado = empleados.get(i % empleados.size());
+            // Salarios con centavos que en double no suman exacto
+            muchos.add(new Empleado(empleado.getNombre(), empleado.getDepartamento(), empleado.getSalario() + 0.1 * (i % 10), 30));
+        }
+        
+        Map<String, Double> secuencial = service.calcularSalariosPorDepartamento(muchos);
+        Map<String, Long> centavos = service.calcularSalariosPorDepartamentoEnCentavos(muchos);
+        
+        assertEquals(secuencial, service.calcularSalariosPorDepartamentoEnParalelo(muchos));
+        assertEquals(centavos.get("IT") / 100.0, secuencial.get("IT"));
+        long esperadoIt = 0;
+        for (Empleado empleado : muchos) {
+            if (empleado.getDepartamento().equals("IT")) {
+                esperadoIt += Math.round(empleado.getSalario() * 100);
+            }
+        }
+        assertEquals(esperadoIt, centavos.get("IT"));
+    }
+    
     @Test
     void testObtenerEmpleadosMasJovenes() {
         List<String> empleadosMasJovenes = service.obtenerEmpleadosMasJovenes(empleados);
@@ -132,6 +175,16 @@ class EmpleadoServiceTest {
         assertEquals("Empleado 1", empleadosMasJovenes.get(0));
     }
     
+    @Test
+    void testOrdenarEmpleadosSalarioAltoPaginaComoLaListaCompleta() {
+        List<Empleado> completa = service.listarEmpleadosSalarioAlto(empleados);
+        OrdenIncremental<Empleado> orden = service.ordenarEmpleadosSalarioAlto(empleados);
+        
+        assertEquals(completa.subList(0, 3), orden.pagina(0, 3));
+        assertEquals(completa.subList(3, 11), orden.pagina(3, 20));
+        assertEquals(completa, orden.aLista());
+    }
+    
     @Test
     void testCalcularSalariosPorDepartamentoVerificaCollector() {
         // Test adicional para verificar que el collector suma correctamente
@@ -146,5 +199,38 @@ class EmpleadoServiceTest {
         assertEquals(2500.0, salarios.get("IT"), 0.01);
         assertEquals(2000.0, salarios.get("Ventas"), 0.01);
     }
+    
+    @Test
+    void testEstrategiaParalelaDaLosMismosResultadosQueLaSecuencial() {
+        List<Empleado> muchos = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            muchos.addAll(empleados);
+        }
+        
+        try (EstrategiaEjecucion estrategia = EstrategiaEjecucion.conParalelismo(3, 64)) {
+            EmpleadoService paralelo = new EmpleadoService(estrategia);
+            
+            assertEquals(service.listarEmpleadosSalarioAlto(muchos), paralelo.listarEmpleadosSalarioAlto(muchos));
+            assertEquals(service.calcularSalarioPromedio(muchos), paralelo.calcularSalarioPromedio(muchos));
+            assertEquals(service.calcularSalariosPorDepartamento(muchos), paralelo.calcularSalariosPorDepartamento(muchos));
+            assertEquals(service.calcularSalariosPorDepartamentoEnCentavos(muchos),
+                    paralelo.calcularSalariosPorDepartamentoEnCentavos(muchos));
+        }
+    }
+    
+    @Test
+    void testSalariosPorDepartamentoConCacheSeRecalculanAlCambiarLosDatos() {
+        CacheResultados cache = CacheResultados.lru(10);
+        EmpleadoService conCache = new EmpleadoService(EstrategiaEjecucion.secuencial(), cache);
+        DatosVersionados<Empleado> versionados = DatosVersionados.desde(empleados);
+        
+        Map<String, Double> salarios = conCache.calcularSalariosPorDepartamento(versionados);
+        assertEquals(service.calcularSalariosPorDepartamento(empleados), salarios);
+        assertSame(salarios, conCache.calcularSalariosPorDepartamento(versionados));
+        
+        versionados.modificar(0, empleado -> empleado.setSalario(empleado.getSalario() + 100));
+        assertEquals(salarios.get("IT") + 100, conCache.calcularSalariosPorDepartamento(versionados).get("IT"), 0.001);
+        assertEquals(1, cache.estadisticas().aciertos());
+        assertEquals(1, cache.estadisticas().invalidaciones());
+    }
 }
-
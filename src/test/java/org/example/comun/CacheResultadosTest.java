@@ -0,0 +1,184 @@
+package org.example.comun;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.example.caso2.productos.Producto;
+import org.example.caso2.productos.ProductoService;
+import org.example.caso3.libros.Libro;
+import org.example.caso3.libros.LibroService;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests para verificar la cache de resultados versionados.
+ */
+class CacheResultadosTest {
+    
+    private final AtomicInteger calculos = new AtomicInteger();
+    
+    private Integer contar(DatosVersionados<String> datos) {
+        calculos.incrementAndGet();
+        return datos.tamanio();
+    }
+    
+    @Test
+    void testModificarLosDatosInvalidaElResultado() {
+        CacheResultados cache = CacheResultados.lru(10);
+        DatosVersionados<String> datos = DatosVersionados.desde(List.of("a", "b"));
+        
+        assertEquals(2, cache.<Integer>obtener("tamanio", datos, () -> contar(datos)));
+        assertEquals(2, cache.<Integer>obtener("tamanio", datos, () -> contar(datos)));
+        datos.agregar("c");
+        assertEquals(3, cache.<Integer>obtener("tamanio", datos, () -> contar(datos)));
+        
+        // Otros datos con los mismos elementos no comparten resultados
+        DatosVersionados<String> otros = DatosVersionados.desde(datos.vista());
+        assertEquals(3, cache.<Integer>obtener("tamanio", otros, () -> contar(otros)));
+        
+        CacheResultados.Estadisticas estadisticas = cache.estadisticas();
+        assertEquals(3, calculos.get());
+        assertEquals(1, estadisticas.aciertos());
+        assertEquals(3, estadisticas.fallos());
+        assertEquals(1, estadisticas.invalidaciones());
+        assertEquals(2, estadisticas.entradas());
+        assertEquals(0.25, estadisticas.tasaAciertos());
+    }
+    
+    @Test
+    void testFallosSimultaneosCalculanUnaSolaVez() throws Exception {
+        CacheResultados cache = CacheResultados.wTinyLfu(10);
+        DatosVersionados<String> datos = DatosVersionados.desde(List.of("a"));
+        CountDownLatch empezo = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        
+        try (ExecutorService clientes = Executors.newFixedThreadPool(8)) {
+            List<Future<Integer>> pedidos = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                pedidos.add(clientes.submit(() -> cache.<Integer>obtener("lenta", datos, () -> {
+                    empezo.countDown();
+                    try {
+                        liberar.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return contar(datos);
+                })));
+            }
+            empezo.await();
+            while (cache.estadisticas().fallos() < 8) {
+                Thread.onSpinWait();
+            }
+            liberar.countDown();
+            for (Future<Integer> pedido : pedidos) {
+                assertEquals(1, pedido.get());
+            }
+        }
+        
+        assertEquals(1, calculos.get());
+        assertEquals(1, cache.estadisticas().cargas());
+    }
+    
+    @Test
+    void testUnErrorSePropagaYNoSeGuarda() {
+        CacheResultados cache = CacheResultados.lru(10);
+        DatosVersionados<String> datos = DatosVersionados.desde(List.of());
+        
+        assertThrows(IllegalStateException.class, () -> cache.obtener("falla", datos, () -> {
+            throw new IllegalStateException("error");
+        }));
+        assertEquals(0, cache.<Integer>obtener("falla", datos, () -> contar(datos)));
+        assertEquals(1, cache.estadisticas().entradas());
+    }
+    
+    @Test
+    void testLruDesalojaLaMenosReciente() {
+        CacheResultados cache = CacheResultados.lru(2);
+        DatosVersionados<String> datos = DatosVersionados.desde(List.of("a"));
+        
+        cache.obtener("a", datos, () -> contar(datos));
+        cache.obtener("b", datos, () -> contar(datos));
+        cache.obtener("a", datos, () -> contar(datos));
+        cache.obtener("c", datos, () -> contar(datos));
+        cache.obtener("a", datos, () -> contar(datos));
+        cache.obtener("b", datos, () -> contar(datos));
+        
+        assertEquals(4, calculos.get());
+        assertEquals(2, cache.estadisticas().desalojos());
+    }
+    
+    @Test
+    void testWTinyLfuConservaLasConsultasFrecuentesAnteUnRecorrido() {
+        CacheResultados lru = CacheResultados.lru(100);
+        CacheResultados wTinyLfu = CacheResultados.wTinyLfu(100);
+        DatosVersionados<String> datos = DatosVersionados.desde(List.of("a"));
+        
+        for (CacheResultados cache : List.of(lru, wTinyLfu)) {
+            for (int ronda = 0; ronda < 20; ronda++) {
+                for (int i = 0; i < 50; i++) {
+                    cache.obtener("frecuente" + i, datos, () -> 1);
+                }
+                // Consultas que se piden una sola vez y alcanzan para llenar la cache
+                for (int i = 0; i < 100; i++) {
+                    cache.obtener("unica" + ronda + "-" + i, datos, () -> 1);
+                }
+            }
+        }
+        
+        assertEquals(0.0, lru.estadisticas().tasaAciertos());
+        assertTrue(wTinyLfu.estadisticas().tasaAciertos() > 0.25);
+        assertEquals(100, wTinyLfu.estadisticas().entradas());
+    }
+    
+    @Test
+    void testPesoMaximo() {
+        CacheResultados cache = CacheResultados.conPeso(CacheResultados.Politica.LRU, 10,
+                CacheResultados::pesoPorElementos);
+        DatosVersionados<String> datos = DatosVersionados.desde(List.of("a"));
+        
+        cache.obtener("seis", datos, () -> List.of(1, 2, 3, 4, 5, 6));
+        cache.obtener("cuatro", datos, () -> List.of(1, 2, 3, 4));
+        assertEquals(10, cache.estadisticas().peso());
+        cache.obtener("uno", datos, () -> List.of(1));
+        assertEquals(5, cache.estadisticas().peso());
+        // Un resultado más pesado que el máximo se devuelve pero no se guarda
+        assertEquals(11, cache.<List<Integer>>obtener("once", datos, () -> new ArrayList<>(List.of(
+                1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11))).size());
+        assertEquals(2, cache.estadisticas().entradas());
+        assertThrows(IllegalArgumentException.class, () -> CacheResultados.lru(-1));
+    }
+    
+    @Test
+    void testServiciosConCache() {
+        CacheResultados cache = CacheResultados.wTinyLfu(100);
+        DatosVersionados<Producto> productos = DatosVersionados.desde(List.of(
+                Producto.builder().nombre("Mouse").categoria("Electrónica").precio(20).stock(5).build(),
+                Producto.builder().nombre("Silla").categoria("Hogar").precio(150).stock(2).build()));
+        DatosVersionados<Libro> libros = DatosVersionados.desde(List.of(
+                Libro.builder().titulo("Ficciones").autor("Borges").paginas(200).precio(30).build()));
+        ProductoService productoService = new ProductoService(EstrategiaEjecucion.secuencial(), cache);
+        LibroService libroService = new LibroService(EstrategiaEjecucion.secuencial(), cache);
+        
+        Map<String, Integer> stock = productoService.calcularStockPorCategoria(productos);
+        assertSame(stock, productoService.calcularStockPorCategoria(productos));
+        assertEquals(Map.of("Electrónica", 5, "Hogar", 2), stock);
+        productos.modificar(0, producto -> producto.setStock(7));
+        assertEquals(Map.of("Electrónica", 7, "Hogar", 2), productoService.calcularStockPorCategoria(productos));
+        
+        assertEquals(Map.of("Borges", 1L), libroService.contarLibrosPorAutor(libros));
+        libros.agregar(Libro.builder().titulo("El Aleph").autor("Borges").paginas(150).precio(25).build());
+        assertEquals(Map.of("Borges", 2L), libroService.contarLibrosPorAutor(libros));
+        assertEquals(1, cache.estadisticas().aciertos());
+        assertEquals(2, cache.estadisticas().entradas());
+    }
+}
@@ -0,0 +1,194 @@
+package org.example.comun;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.example.caso1.alumnos.Alumno;
+import org.example.caso1.alumnos.AlumnoService;
+import org.example.caso1.alumnos.AprobadosIndex;
+import org.example.caso2.productos.Producto;
+import org.example.caso2.productos.ProductoService;
+import org.example.caso3.libros.Libro;
+import org.example.caso3.libros.LibroService;
+import org.example.caso4.empleados.Empleado;
+import org.example.caso4.empleados.EmpleadoService;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests para verificar que las consultas tipadas reproducen los métodos de los servicios.
+ */
+class ConsultaTipadaTest {
+    
+    private static final int CANTIDAD = 5_000;
+    
+    private final Random random = new Random(42);
+    
+    private List<Alumno> alumnos() {
+        List<Alumno> alumnos = new ArrayList<>();
+        for (int i = 0; i < CANTIDAD; i++) {
+            alumnos.add(Alumno.builder().nombre("Alumno " + random.nextInt(CANTIDAD))
+                    .nota(random.nextInt(101) / 10.0).curso("Curso " + random.nextInt(12)).build());
+        }
+        return alumnos;
+    }
+    
+    private List<Libro> libros() {
+        List<Libro> libros = new ArrayList<>();
+        for (int i = 0; i < CANTIDAD; i++) {
+            libros.add(Libro.builder().titulo("Libro " + random.nextInt(CANTIDAD)).autor("Autor " + random.nextInt(300))
+                    .paginas(50 + random.nextInt(600)).precio(random.nextInt(10_000) / 100.0).build());
+        }
+        return libros;
+    }
+    
+    private List<Empleado> empleados() {
+        List<Empleado> empleados = new ArrayList<>();
+        for (int i = 0; i < CANTIDAD; i++) {
+            empleados.add(Empleado.builder().nombre("Empleado " + i).departamento("Depto " + random.nextInt(20))
+                    .salario(1000 + random.nextInt(400_000) / 100.0).edad(20 + random.nextInt(45)).build());
+        }
+        return empleados;
+    }
+    
+    @Test
+    void testReproduceConsultasDeAlumnos() {
+        List<Alumno> alumnos = alumnos();
+        AlumnoService service = new AlumnoService();
+        
+        List<String> aprobados = ConsultaTipada.sobre(Alumno.class)
+                .filtrarDouble(Alumno::getNota, AprobadosIndex::aprueba)
+                .proyectar(alumno -> AprobadosIndex.clave(alumno.getNombre()))
+                .ordenar(Comparator.naturalOrder())
+                .aLista()
+                .ejecutar(alumnos);
+        List<Alumno> top3 = ConsultaTipada.sobre(Alumno.class)
+                .ordenar(AlumnoService.POR_NOTA_DESCENDENTE)
+                .limitar(3)
+                .aLista()
+                .ejecutar(alumnos);
+        
+        assertEquals(service.obtenerAprobadosOrdenados(alumnos), aprobados);
+        assertEquals(service.calcularPromedioGeneral(alumnos),
+                ConsultaTipada.sobre(Alumno.class).promedio(Alumno::getNota).ejecutar(alumnos));
+        assertEquals(service.agruparPorCurso(alumnos),
+                ConsultaTipada.sobre(Alumno.class).agrupar(Alumno::getCurso).ejecutar(alumnos));
+        assertEquals(service.obtenerTop3Promedios(alumnos), top3);
+    }
+    
+    @Test
+    void testReproduceConsultasDeProductosYLibros() {
+        List<Producto> productos = new ArrayList<>();
+        for (int i = 0; i < CANTIDAD; i++) {
+            productos.add(Producto.builder().nombre("Producto " + i).categoria("Categoría " + random.nextInt(8))
+                    .precio(random.nextInt(30_000) / 100.0).stock(random.nextInt(50)).build());
+        }
+        List<Libro> libros = libros();
+        LibroService libroService = new LibroService();
+        
+        List<Producto> caros = ConsultaTipada.sobre(Producto.class)
+                .filtrarDouble(Producto::getPrecio, precio -> precio > 100)
+                .ordenar(Comparator.comparingDouble(Producto::getPrecio).reversed())
+                .aLista()
+                .ejecutar(productos);
+        List<String> titulosLargos = ConsultaTipada.sobre(Libro.class)
+                .filtrarInt(Libro::getPaginas, paginas -> paginas > 300)
+                .proyectar(Libro::getTitulo)
+                .ordenar(Comparator.naturalOrder())
+                .aLista()
+                .ejecutar(libros);
+        
+        assertEquals(new ProductoService().listarProductosCarosOrdenados(productos), caros);
+        assertEquals(libroService.listarTitulosLibrosLargos(libros), titulosLargos);
+        assertEquals(libroService.calcularPromedioPaginas(libros),
+                ConsultaTipada.sobre(Libro.class).promedioEntero(Libro::getPaginas).ejecutar(libros));
+        assertEquals(libroService.contarLibrosPorAutor(libros),
+                ConsultaTipada.sobre(Libro.class).contarPor(Libro::getAutor).ejecutar(libros));
+        assertEquals(libroService.obtenerLibroMasCaro(libros),
+                ConsultaTipada.sobre(Libro.class).maximo(Comparator.comparingDouble(Libro::getPrecio)).ejecutar(libros));
+    }
+    
+    @Test
+    void testReproduceConsultasDeEmpleados() {
+        List<Empleado> empleados = empleados();
+        EmpleadoService service = new EmpleadoService();
+        
+        List<Empleado> salarioAlto = ConsultaTipada.sobre(Empleado.class)
+                .filtrarDouble(Empleado::getSalario, salario -> salario > 2000)
+                .ordenar(Comparator.comparingDouble(Empleado::getSalario).reversed())
+                .aLista()
+                .ejecutar(empleados);
+        List<String> masJovenes = ConsultaTipada.sobre(Empleado.class)
+                .ordenar(Comparator.comparingInt(Empleado::getEdad))
+                .limitar(2)
+                .proyectar(Empleado::getNombre)
+                .aLista()
+                .ejecutar(empleados);
+        
+        assertEquals(service.listarEmpleadosSalarioAlto(empleados), salarioAlto);
+        assertEquals(service.calcularSalariosPorDepartamento(empleados), ConsultaTipada.sobre(Empleado.class)
+                .sumarCentavosPor(Empleado::getDepartamento, empleado -> Dinero.aCentavos(empleado.getSalario()))
+                .ejecutar(empleados)
+                .enMontos());
+        assertEquals(service.obtenerEmpleadosMasJovenes(empleados), masJovenes);
+    }
+    
+    @Test
+    void testLimitarSinOrdenCortaElRecorrido() {
+        List<Libro> libros = libros();
+        AtomicInteger evaluados = new AtomicInteger();
+        
+        List<Libro> primeros = ConsultaTipada.sobre(Libro.class)
+                .filtrar(libro -> evaluados.incrementAndGet() > 0 && libro.getPaginas() > 300)
+                .limitar(5)
+                .aLista()
+                .ejecutar(new LinkedList<>(libros));
+        
+        List<Libro> esperado = libros.stream().filter(libro -> libro.getPaginas() > 300).limit(5)
+                .collect(Collectors.toList());
+        assertEquals(esperado, primeros);
+        assertTrue(evaluados.get() < CANTIDAD);
+        assertEquals(0L, ConsultaTipada.sobre(Libro.class).limitar(0).contar().ejecutar(libros));
+    }
+    
+    @Test
+    void testOrdenarYLimitarEsEstableConEmpates() {
+        List<Empleado> empleados = empleados();
+        Comparator<Empleado> porDecada = Comparator.comparingInt(empleado -> empleado.getEdad() / 10);
+        
+        for (int limite : new int[]{0, 1, 7, 100, CANTIDAD + 1, 1 << 20}) {
+            List<Empleado> esperado = empleados.stream().sorted(porDecada).limit(limite).collect(Collectors.toList());
+            ConsultaTipada.Compilada<Empleado, List<Empleado>> consulta = ConsultaTipada.sobre(Empleado.class)
+                    .ordenar(porDecada).limitar(limite).aLista();
+            
+            assertEquals(esperado, consulta.ejecutar(empleados));
+            // Sin tamaño conocido, el montículo crece con los datos en lugar de reservar el límite
+            Iterable<Empleado> perezoso = empleados::iterator;
+            assertEquals(esperado, consulta.ejecutar(perezoso));
+        }
+    }
+    
+    @Test
+    void testLaConsultaCompiladaSeReutilizaYValidaArgumentos() {
+        List<Empleado> empleados = empleados();
+        ConsultaTipada.Compilada<Empleado, Long> contarMayores = ConsultaTipada.sobre(Empleado.class)
+                .filtrarInt(Empleado::getEdad, edad -> edad >= 40)
+                .contar();
+        long esperado = empleados.stream().filter(empleado -> empleado.getEdad() >= 40).count();
+        
+        assertEquals(esperado, contarMayores.ejecutar(empleados));
+        assertEquals(esperado, contarMayores.ejecutar(empleados));
+        assertEquals(0L, contarMayores.ejecutar(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> ConsultaTipada.sobre(Empleado.class).limitar(-1));
+        assertThrows(NullPointerException.class, () -> ConsultaTipada.sobre(Empleado.class)
+                .agrupar(empleado -> (String) null).ejecutar(empleados));
+    }
+}
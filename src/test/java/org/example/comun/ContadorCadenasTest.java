@@ -0,0 +1,89 @@
+package org.example.comun;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests para verificar el contador primitivo de cadenas y su vista como mapa.
+ */
+class ContadorCadenasTest {
+    
+    private List<String> generar(int cantidad, int distintas) {
+        Random random = new Random(11);
+        List<String> claves = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            // Se crean instancias nuevas para no depender de la comparación por referencia
+            claves.add(new String("autor-" + random.nextInt(distintas)));
+        }
+        return claves;
+    }
+    
+    private Map<String, Long> contarConStreams(List<String> claves) {
+        return claves.stream().collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+    }
+    
+    @Test
+    void testCoincideConGroupingByCounting() {
+        List<String> claves = generar(50_000, 3_000);
+        ContadorCadenas contador = ContadorCadenas.contar(claves, Function.identity());
+        
+        assertEquals(contarConStreams(claves), contador.comoMapa());
+        assertEquals(contarConStreams(claves).size(), contador.tamanio());
+    }
+    
+    @Test
+    void testParaleloCoincideConSecuencial() {
+        List<String> claves = generar(300_000, 20_000);
+        
+        assertEquals(contarConStreams(claves), ContadorCadenas.contarEnParalelo(claves, Function.identity()).comoMapa());
+        // Una lista enlazada se recorre con su iterador en lugar de por índice
+        assertEquals(contarConStreams(claves),
+                ContadorCadenas.contarEnParalelo(new LinkedList<>(claves), Function.identity()).comoMapa());
+    }
+    
+    @Test
+    void testCombinarYSumar() {
+        ContadorCadenas primero = new ContadorCadenas();
+        primero.incrementar("a");
+        primero.sumar("b", 5);
+        ContadorCadenas segundo = new ContadorCadenas(1);
+        segundo.sumar("b", 2);
+        segundo.incrementar("c");
+        
+        primero.combinar(segundo);
+        
+        assertEquals(1, primero.conteo("a"));
+        assertEquals(7, primero.conteo("b"));
+        assertEquals(1, primero.conteo("c"));
+        assertEquals(0, primero.conteo("d"));
+        assertEquals(3, primero.tamanio());
+    }
+    
+    @Test
+    void testVistaDeSoloLectura() {
+        ContadorCadenas contador = new ContadorCadenas();
+        contador.incrementar("a");
+        Map<String, Long> vista = contador.comoMapa();
+        
+        assertNull(vista.get("x"));
+        assertNull(vista.get(42));
+        assertFalse(vista.containsKey("x"));
+        assertThrows(UnsupportedOperationException.class, () -> vista.put("b", 1L));
+        
+        contador.incrementar("a");
+        assertEquals(2L, vista.get("a"));
+        assertThrows(NullPointerException.class, () -> contador.incrementar(null));
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.comun;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.example.caso1.alumnos.Alumno;
+import org.example.caso2.productos.Producto;
+import org.example.caso4.empleados.Empleado;
+import org.example.caso4.empleados.EmpleadoCsv;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests para verificar el diccionario de valores categóricos.
+ */
+class DiccionarioTest {
+    
+    @TempDir
+    Path directorio;
+    
+    @Test
+    void testIdsDensosEInstanciasCanonicas() {
+        Diccionario diccionario = new Diccionario();
+        String copia = new String("Hogar");
+        
+        assertEquals(0, diccionario.id("Electrónica"));
+        assertEquals(1, diccionario.id("Hogar"));
+        assertEquals(0, diccionario.id(new String("Electrónica")));
+        assertSame(diccionario.valor(1), diccionario.canonico(copia));
+        assertNotSame(copia, diccionario.canonico(copia));
+        assertNull(diccionario.canonico(null));
+        assertEquals(Diccionario.SIN_ID, diccionario.buscar("Juguetes"));
+        assertEquals(2, diccionario.tamanio());
+        assertThrows(IllegalArgumentException.class, () -> diccionario.valor(2));
+        assertThrows(NullPointerException.class, () -> diccionario.id(null));
+    }
+    
+    @Test
+    void testRegistroConcurrente() {
+        Diccionario diccionario = new Diccionario();
+        
+        List<Integer> ids = IntStream.range(0, 100_000).parallel()
+                .mapToObj(i -> diccionario.id("valor " + (i % 1_000)))
+                .toList();
+        
+        assertEquals(1_000, diccionario.tamanio());
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals("valor " + (i % 1_000), diccionario.valor(ids.get(i)));
+        }
+    }
+    
+    @Test
+    void testLasEntidadesGuardanLaInstanciaCanonica() {
+        Alumno alumno = new Alumno("Ana", 8, new String("1A"));
+        Alumno otro = Alumno.builder().nombre("Juan").nota(6).curso(new String("1A")).build();
+        Producto producto = Producto.builder().nombre("Mouse").categoria(new String("Electrónica")).build();
+        Empleado empleado = new Empleado("Luis", "Ventas", 1_000, 30);
+        empleado.setDepartamento(new String("IT"));
+        
+        assertSame(alumno.getCurso(), otro.getCurso());
+        assertEquals(Alumno.CURSOS.id("1A"), alumno.getCursoId());
+        assertSame(Producto.CATEGORIAS.canonico("Electrónica"), producto.getCategoria());
+        assertSame(Empleado.DEPARTAMENTOS.canonico("IT"), empleado.getDepartamento());
+        assertEquals(new Alumno("Ana", 8, "1A"), alumno);
+    }
+    
+    @Test
+    void testAgrupandoEquivaleAGroupingBy() {
+        Diccionario diccionario = new Diccionario();
+        Random random = new Random(42);
+        List<String> palabras = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            palabras.add("clave " + random.nextInt(200) + " " + i);
+        }
+        
+        Map<String, List<String>> esperado = palabras.stream()
+                .collect(Collectors.groupingBy(palabra -> palabra.substring(0, palabra.lastIndexOf(' '))));
+        
+        assertEquals(esperado, palabras.stream()
+                .collect(diccionario.agrupando(palabra -> palabra.substring(0, palabra.lastIndexOf(' ')),
+                        Collectors.toList())));
+        // En paralelo cada lista conserva el orden de la original
+        assertEquals(esperado, palabras.parallelStream()
+                .collect(diccionario.agrupando(palabra -> palabra.substring(0, palabra.lastIndexOf(' ')),
+                        Collectors.toList())));
+        assertEquals(Map.of(), List.<String>of().stream()
+                .collect(diccionario.agrupando(palabra -> palabra, Collectors.counting())));
+    }
+    
+    @Test
+    void testAgrupandoPorIdUsaElIdGuardadoEnLaEntidad() {
+        Alumno alumno = new Alumno("Ana", 8, "2B");
+        Alumno sinCurso = new Alumno("Juan", 6, null);
+        
+        alumno.setCurso(new String("3C"));
+        
+        assertSame(Alumno.CURSOS.canonico("3C"), alumno.getCurso());
+        assertEquals(Alumno.CURSOS.id("3C"), alumno.getCursoId());
+        assertEquals(Diccionario.SIN_ID, sinCurso.getCursoId());
+        assertEquals(Diccionario.SIN_ID, new Alumno().getCursoId());
+        assertEquals(Map.of("3C", List.of(alumno)), List.of(alumno).stream()
+                .collect(Alumno.CURSOS.agrupandoPorId(Alumno::getCursoId, Collectors.toList())));
+        assertThrows(NullPointerException.class, () -> List.of(alumno, sinCurso).stream()
+                .collect(Alumno.CURSOS.agrupandoPorId(Alumno::getCursoId, Collectors.counting())));
+    }
+    
+    @Test
+    void testLaIngestaResuelveCategoriasDesdeLosBytes() throws IOException {
+        StringBuilder csv = new StringBuilder(EmpleadoCsv.ENCABEZADO).append('\n');
+        for (int i = 0; i < 1_000; i++) {
+            csv.append("Empleado ").append(i).append(',')
+                    .append(i % 3 == 0 ? "\"I+D, \"\"Labs\"\"\"" : "Depto " + (i % 5)).append(',')
+                    .append(1_000 + i).append(',').append(20 + i % 40).append('\n');
+        }
+        Path archivo = Files.writeString(directorio.resolve("empleados.csv"), csv, StandardCharsets.UTF_8);
+        List<Empleado> empleados = new ArrayList<>();
+        
+        EmpleadoCsv.ingesta().conTamanioBuffer(256).procesar(archivo, empleados::addAll);
+        
+        assertEquals(1_000, empleados.size());
+        for (int i = 0; i < empleados.size(); i++) {
+            String esperado = i % 3 == 0 ? "I+D, \"Labs\"" : "Depto " + (i % 5);
+            assertSame(Empleado.DEPARTAMENTOS.canonico(esperado), empleados.get(i).getDepartamento());
+        }
+    }
+}
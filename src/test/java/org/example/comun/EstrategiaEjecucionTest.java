@@ -0,0 +1,91 @@
+package org.example.comun;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests para verificar las estrategias de ejecución secuencial y paralela.
+ */
+class EstrategiaEjecucionTest {
+    
+    private List<Integer> generar(int cantidad) {
+        Random random = new Random(42);
+        List<Integer> numeros = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            numeros.add(random.nextInt(1_000));
+        }
+        return numeros;
+    }
+    
+    @Test
+    void testResultadosIgualesAlSecuencialConCualquierEstrategia() {
+        List<Integer> numeros = generar(50_000);
+        Function<Stream<Integer>, List<Integer>> ordenar = stream -> stream
+                .filter(n -> n % 3 != 0)
+                .sorted()
+                .collect(Collectors.toList());
+        Function<Stream<Integer>, Map<Integer, List<Integer>>> agrupar = stream -> stream
+                .collect(Collectors.groupingBy(n -> n % 10));
+        
+        EstrategiaEjecucion secuencial = EstrategiaEjecucion.secuencial();
+        try (EstrategiaEjecucion dedicada = EstrategiaEjecucion.conParalelismo(3, 1_000)) {
+            for (EstrategiaEjecucion estrategia : List.of(EstrategiaEjecucion.paralela(1), dedicada)) {
+                assertEquals(secuencial.ejecutar(numeros, ordenar), estrategia.ejecutar(numeros, ordenar));
+                assertEquals(secuencial.ejecutar(numeros, agrupar), estrategia.ejecutar(numeros, agrupar));
+            }
+        }
+    }
+    
+    @Test
+    void testPoolDedicadoEjecutaLasConsultasYDebajoDelUmbralNo() {
+        try (ForkJoinPool pool = new ForkJoinPool(2)) {
+            EstrategiaEjecucion estrategia = EstrategiaEjecucion.conPool(pool, 100);
+            
+            assertSame(pool, estrategia.ejecutar(generar(100), stream -> ForkJoinTask.getPool()));
+            assertNull(estrategia.ejecutar(generar(99), stream -> ForkJoinTask.getPool()));
+            assertSame(pool, estrategia.elegir(500, () -> null, ForkJoinTask::getPool));
+            assertTrue(estrategia.esParalela(100));
+            assertFalse(estrategia.esParalela(99));
+        }
+    }
+    
+    @Test
+    void testCerrarSoloApagaElPoolPropio() {
+        try (ForkJoinPool externo = new ForkJoinPool(1)) {
+            EstrategiaEjecucion.conPool(externo, 10).close();
+            assertFalse(externo.isShutdown());
+        }
+        
+        EstrategiaEjecucion propia = EstrategiaEjecucion.conParalelismo(1, 10);
+        ForkJoinPool pool = propia.enPool(ForkJoinTask::getPool);
+        propia.close();
+        assertTrue(pool.isShutdown());
+    }
+    
+    @Test
+    void testSecuencialNuncaParalelizaYArgumentosInvalidos() {
+        EstrategiaEjecucion secuencial = EstrategiaEjecucion.secuencial();
+        
+        assertFalse(secuencial.esParalela(Integer.MAX_VALUE - 1));
+        assertEquals(Integer.MAX_VALUE, secuencial.umbral());
+        assertThrows(IllegalArgumentException.class, () -> EstrategiaEjecucion.paralela(0));
+        assertThrows(IllegalArgumentException.class, () -> EstrategiaEjecucion.conParalelismo(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> EstrategiaEjecucion.conPool(null, 10));
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.comun;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests para verificar que el formateo sin objetos coincide con Double.toString.
+ */
+class FormatoDoubleTest {
+    
+    private String formatear(double valor) {
+        byte[] destino = new byte[FormatoDouble.LONGITUD_MAXIMA];
+        int fin = FormatoDouble.escribir(valor, destino, 0);
+        return new String(destino, 0, fin, StandardCharsets.US_ASCII);
+    }
+    
+    @Test
+    void testCasosEspeciales() {
+        for (double valor : new double[]{0.0, -0.0, 1.0, 100.0, 0.001, 9_999_999.99, 1e7, 0.1 + 0.2,
+                Double.NaN, Double.NEGATIVE_INFINITY, Double.MIN_VALUE, Double.MAX_VALUE, -1234.5}) {
+            assertEquals(Double.toString(valor), formatear(valor));
+        }
+    }
+    
+    @Test
+    void testValoresAleatorios() {
+        Random random = new Random(5);
+        for (int i = 0; i < 200_000; i++) {
+            double precio = random.nextInt(100_000_000) / 100.0;
+            double cualquiera = random.nextDouble() * Math.pow(10, random.nextInt(12) - 4);
+            double bits = Double.longBitsToDouble(random.nextLong());
+            
+            assertEquals(Double.toString(precio), formatear(precio));
+            assertEquals(Double.toString(cualquiera), formatear(cualquiera));
+            assertEquals(Double.toString(bits), formatear(bits));
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package org.example.comun;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.example.caso1.alumnos.Alumno;
+import org.example.caso1.alumnos.AlumnoCsv;
+import org.example.caso1.alumnos.AlumnoService;
+import org.example.caso1.alumnos.HistogramaNotas;
+import org.example.caso2.productos.Producto;
+import org.example.caso2.productos.ProductoCsv;
+import org.example.caso2.productos.ProductoService;
+import org.example.caso3.libros.Libro;
+import org.example.caso3.libros.LibroCsv;
+import org.example.caso3.libros.LibroService;
+import org.example.caso4.empleados.Empleado;
+import org.example.caso4.empleados.EmpleadoCsv;
+import org.example.caso4.empleados.EmpleadoService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests para verificar la lectura de CSV por bloques.
+ */
+class IngestaCsvTest {
+    
+    @TempDir
+    Path directorio;
+    
+    private final Random random = new Random(42);
+    
+    private Path escribir(String nombre, String contenido) throws IOException {
+        return Files.writeString(directorio.resolve(nombre), contenido, StandardCharsets.UTF_8);
+    }
+    
+    private static <T> List<T> leer(IngestaCsv<T> ingesta, Path archivo) throws IOException {
+        List<T> todos = new ArrayList<>();
+        ingesta.procesar(archivo, todos::addAll);
+        return todos;
+    }
+    
+    @Test
+    void testComillasFinesDeLineaYLineasEnBlanco() throws IOException {
+        Path archivo = escribir("alumnos.csv", "nombre,nota,curso\r\n"
+                + "\"Pérez, Juan\",8.5,1A\r\n"
+                + "\r\n"
+                + "\"Ana \"\"la Rápida\"\" López\",-0.25,\"1\nB\"\n"
+                + "Ñandú,1e1,1C");
+        
+        List<Alumno> alumnos = leer(AlumnoCsv.ingesta(), archivo);
+        
+        assertEquals(List.of(
+                new Alumno("Pérez, Juan", 8.5, "1A"),
+                new Alumno("Ana \"la Rápida\" López", -0.25, "1\nB"),
+                new Alumno("Ñandú", 10.0, "1C")), alumnos);
+    }
+    
+    @Test
+    void testBloquesDeTamanioFijoConFilasQueCruzanElBuffer() throws IOException {
+        StringBuilder csv = new StringBuilder(LibroCsv.ENCABEZADO).append('\n');
+        List<Libro> esperados = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            Libro libro = new Libro("Título " + i + " " + "x".repeat(random.nextInt(40)), "Autor " + (i % 7),
+                    random.nextInt(900), random.nextInt(100_000) / 100.0);
+            esperados.add(libro);
+            csv.append(libro.getTitulo()).append(',').append(libro.getAutor()).append(',')
+                    .append(libro.getPaginas()).append(',').append(libro.getPrecio()).append('\n');
+        }
+        Path archivo = escribir("libros.csv", csv.toString());
+        List<Integer> tamanios = new ArrayList<>();
+        List<Libro> leidos = new ArrayList<>();
+        
+        // Un buffer de 128 bytes obliga a rearmar casi todas las filas
+        LibroCsv.ingesta().conTamanioBuffer(128).conTamanioBloque(128).procesar(archivo, bloque -> {
+            tamanios.add(bloque.size());
+            leidos.addAll(bloque);
+        });
+        
+        assertEquals(esperados, leidos);
+        assertEquals(8, tamanios.size());
+        assertTrue(tamanios.subList(0, 7).stream().allMatch(tamanio -> tamanio == 128));
+        assertEquals(1_000 - 7 * 128, tamanios.get(7));
+    }
+    
+    @Test
+    void testLosDecimalesCoincidenConParseDouble() throws IOException {
+        List<String> textos = new ArrayList<>(List.of("0", "-0.0", "+3", ".5", "5.", "1e-5", "2.5E+3", "123456789012345",
+                "1234567890123456789", "0.1", "9007199254740993", "4.9e-324", "1.7976931348623157e308", "NaN",
+                "-Infinity", "0.000000000000000000000001", "1e23"));
+        for (int i = 0; i < 2_000; i++) {
+            textos.add(String.format(Locale.ROOT, "%." + random.nextInt(8) + "f", random.nextDouble() * 1e6));
+            textos.add(Double.toString(random.nextGaussian() * Math.pow(10, random.nextInt(40) - 20)));
+        }
+        Path archivo = escribir("decimales.csv", String.join("\n", textos));
+        
+        List<Double> leidos = leer(IngestaCsv.de(fila -> fila.decimal(0)).sinEncabezado(), archivo);
+        
+        for (int i = 0; i < textos.size(); i++) {
+            assertEquals(Double.parseDouble(textos.get(i)), leidos.get(i), textos.get(i));
+        }
+    }
+    
+    @Test
+    void testLaColaAcotadaFrenaLaLectura() throws IOException {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            csv.append(i).append('\n');
+        }
+        Path archivo = escribir("numeros.csv", csv.toString());
+        AtomicInteger decodificadas = new AtomicInteger();
+        AtomicInteger consumidas = new AtomicInteger();
+        AtomicInteger maximoAdelanto = new AtomicInteger();
+        IngestaCsv<Integer> ingesta = IngestaCsv.de(fila -> {
+            decodificadas.incrementAndGet();
+            return fila.entero(0);
+        }).sinEncabezado().conTamanioBloque(100).conBloquesEnVuelo(2);
+        long[] suma = new long[1];
+        
+        ingesta.procesar(archivo, bloque -> {
+            maximoAdelanto.accumulateAndGet(decodificadas.get() - consumidas.get(), Math::max);
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            bloque.forEach(numero -> suma[0] += numero);
+            consumidas.addAndGet(bloque.size());
+        });
+        
+        assertEquals(10_000L * 9_999 / 2, suma[0]);
+        // El bloque en curso, los dos de la cola y el que se está armando
+        assertTrue(maximoAdelanto.get() <= 4 * 100, "adelanto " + maximoAdelanto.get());
+    }
+    
+    @Test
+    void testErroresDeFormatoYDelConsumidor() throws IOException {
+        Path archivo = escribir("productos.csv", ProductoCsv.ENCABEZADO + "\nMouse,Electrónica,20,5\nSilla,Hogar,caro,2\n");
+        Path largo = escribir("largo.csv", "x".repeat(100) + "\n");
+        Path sinCerrar = escribir("comillas.csv", "\"abc\n");
+        
+        IOException formato = assertThrows(IOException.class, () -> leer(ProductoCsv.ingesta(), archivo));
+        assertTrue(formato.getMessage().contains("Fila 3"), formato.getMessage());
+        assertThrows(IOException.class, () -> leer(IngestaCsv.de(fila -> fila.texto(0)).sinEncabezado()
+                .conTamanioBuffer(32), largo));
+        assertThrows(IOException.class, () -> leer(IngestaCsv.de(fila -> fila.texto(0)).sinEncabezado(), sinCerrar));
+        assertThrows(IllegalStateException.class, () -> ProductoCsv.ingesta().conTamanioBloque(1)
+                .procesar(archivo, bloque -> {
+                    throw new IllegalStateException("consumidor");
+                }));
+    }
+    
+    @Test
+    void testLosServiciosDanLoMismoDesdeArchivoQueDesdeLista() throws IOException {
+        List<Alumno> alumnos = new ArrayList<>();
+        List<Producto> productos = new ArrayList<>();
+        List<Libro> libros = new ArrayList<>();
+        List<Empleado> empleados = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            alumnos.add(new Alumno("Alumno " + i, random.nextInt(101) / 10.0, "Curso " + random.nextInt(6)));
+            productos.add(new Producto("Producto " + i, "Categoría " + random.nextInt(9),
+                    random.nextInt(50_000) / 100.0, random.nextInt(100)));
+            libros.add(new Libro("Libro " + i, "Autor " + random.nextInt(40), 50 + random.nextInt(800),
+                    random.nextInt(10_000) / 100.0));
+            empleados.add(new Empleado("Empleado " + i, "Depto " + random.nextInt(12),
+                    1_000 + random.nextInt(500_000) / 100.0, 20 + random.nextInt(45)));
+        }
+        Path archivoAlumnos = escribirCsv("alumnos.csv", AlumnoCsv.ENCABEZADO, alumnos,
+                a -> a.getNombre() + "," + a.getNota() + "," + a.getCurso());
+        Path archivoProductos = escribirCsv("productos.csv", ProductoCsv.ENCABEZADO, productos,
+                p -> p.getNombre() + "," + p.getCategoria() + "," + p.getPrecio() + "," + p.getStock());
+        Path archivoLibros = escribirCsv("libros.csv", LibroCsv.ENCABEZADO, libros,
+                l -> l.getTitulo() + "," + l.getAutor() + "," + l.getPaginas() + "," + l.getPrecio());
+        Path archivoEmpleados = escribirCsv("empleados.csv", EmpleadoCsv.ENCABEZADO, empleados,
+                e -> e.getNombre() + "," + e.getDepartamento() + "," + e.getSalario() + "," + e.getEdad());
+        AlumnoService alumnoService = new AlumnoService();
+        LibroService libroService = new LibroService();
+        
+        assertEquals(alumnoService.calcularPromedioGeneral(alumnos), alumnoService.calcularPromedioGeneral(archivoAlumnos));
+        Map<String, HistogramaNotas> histogramas = alumnoService.calcularHistogramasPorCurso(archivoAlumnos);
+        assertEquals(alumnoService.calcularHistogramasPorCurso(alumnos).keySet(), histogramas.keySet());
+        alumnoService.calcularHistogramasPorCurso(alumnos).forEach((curso, histograma) -> assertArrayEquals(
+                histograma.distribucion(), histogramas.get(curso).distribucion()));
+        assertEquals(new ProductoService().calcularStockPorCategoria(productos),
+                new ProductoService().calcularStockPorCategoria(archivoProductos));
+        assertEquals(libroService.contarLibrosPorAutor(libros), libroService.contarLibrosPorAutor(archivoLibros));
+        assertEquals(libroService.calcularPromedioPaginas(libros), libroService.calcularPromedioPaginas(archivoLibros));
+        assertEquals(new EmpleadoService().calcularSalariosPorDepartamento(empleados),
+                new EmpleadoService().calcularSalariosPorDepartamento(archivoEmpleados));
+    }
+    
+    private <T> Path escribirCsv(String nombre, String encabezado, List<T> elementos, Function<T, String> fila)
+            throws IOException {
+        StringBuilder csv = new StringBuilder(encabezado).append('\n');
+        elementos.forEach(elemento -> csv.append(fila.apply(elemento)).append('\n'));
+        return escribir(nombre, csv.toString());
+    }
+}
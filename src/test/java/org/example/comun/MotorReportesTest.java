@@ -0,0 +1,145 @@
+package org.example.comun;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.example.caso1.alumnos.Alumno;
+import org.example.caso1.alumnos.AlumnoService;
+import org.example.caso2.productos.Producto;
+import org.example.caso2.productos.ProductoService;
+import org.example.comun.MotorReportes.Consulta;
+import org.example.comun.MotorReportes.Estado;
+import org.example.comun.MotorReportes.ResultadoLote;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests para verificar el motor de lotes de consultas sobre hilos virtuales.
+ */
+class MotorReportesTest {
+    
+    private final MotorReportes motor = new MotorReportes();
+    
+    @AfterEach
+    void cerrar() {
+        motor.close();
+    }
+    
+    @Test
+    void testLoteDeConsultasDeVariosServicios() throws InterruptedException {
+        List<Alumno> alumnos = List.of(
+                Alumno.builder().nombre("Juan").nota(8.0).curso("1A").build(),
+                Alumno.builder().nombre("Ana").nota(6.0).curso("1B").build());
+        List<Producto> productos = List.of(
+                Producto.builder().nombre("Mouse").categoria("Electrónica").precio(20).stock(5).build(),
+                Producto.builder().nombre("Silla").categoria("Hogar").precio(150).stock(2).build());
+        AlumnoService alumnoService = new AlumnoService();
+        ProductoService productoService = new ProductoService();
+        Consulta<Double> promedio = new Consulta<>("alumnos.promedio",
+                () -> alumnoService.calcularPromedioGeneral(alumnos));
+        Consulta<Map<String, Integer>> stock = new Consulta<>("productos.stock",
+                () -> productoService.calcularStockPorCategoria(productos));
+        
+        ResultadoLote resultado = motor.ejecutar(List.of(promedio, stock), Duration.ofSeconds(5));
+        
+        assertTrue(resultado.completo());
+        assertEquals(7.0, resultado.obtener(promedio));
+        assertEquals(Map.of("Electrónica", 5, "Hogar", 2), resultado.obtener(stock));
+        assertEquals(0, motor.consultasEnCurso());
+    }
+    
+    @Test
+    void testConsultasIgualesEnCursoSeCalculanUnaSolaVez() throws Exception {
+        AtomicInteger calculos = new AtomicInteger();
+        CountDownLatch liberar = new CountDownLatch(1);
+        Consulta<Integer> lenta = new Consulta<>("lenta", () -> {
+            calculos.incrementAndGet();
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 42;
+        });
+        
+        try (ExecutorService clientes = Executors.newFixedThreadPool(4)) {
+            List<Future<ResultadoLote>> lotes = List.of(
+                    clientes.submit(() -> motor.ejecutar(List.of(lenta, lenta), Duration.ofSeconds(10))),
+                    clientes.submit(() -> motor.ejecutar(List.of(lenta), Duration.ofSeconds(10))),
+                    clientes.submit(() -> motor.ejecutar(List.of(lenta), Duration.ofSeconds(10))));
+            // Se libera el cálculo recién cuando los tres lotes están suscritos a él
+            while (motor.interesados("lenta") < 3) {
+                TimeUnit.MILLISECONDS.sleep(1);
+            }
+            liberar.countDown();
+            
+            for (Future<ResultadoLote> lote : lotes) {
+                assertEquals(42, lote.get().obtener(lenta));
+            }
+        }
+        assertEquals(1, calculos.get());
+    }
+    
+    @Test
+    void testPlazoVencidoDejaElCalculoEnCursoParaLotesPosteriores() throws InterruptedException {
+        CountDownLatch liberar = new CountDownLatch(1);
+        AtomicInteger ejecuciones = new AtomicInteger();
+        Consulta<String> lenta = new Consulta<>("lenta", () -> {
+            ejecuciones.incrementAndGet();
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "listo";
+        });
+        Consulta<String> rapida = new Consulta<>("rapida", () -> "listo");
+        
+        ResultadoLote primero = motor.ejecutar(List.of(lenta, rapida), Duration.ofMillis(50));
+        
+        assertFalse(primero.completo());
+        assertSame(Estado.VENCIDA, primero.estado(lenta));
+        assertEquals("listo", primero.obtener(rapida));
+        assertThrows(IllegalStateException.class, () -> primero.obtener(lenta));
+        // Nadie lo espera, pero sigue registrado hasta terminar
+        assertEquals(1, motor.consultasEnCurso());
+        assertEquals(0, motor.interesados("lenta"));
+        
+        ResultadoLote segundo = motor.ejecutar(List.of(lenta), Duration.ofMillis(50));
+        
+        assertSame(Estado.VENCIDA, segundo.estado(lenta));
+        liberar.countDown();
+        motor.close();
+        assertEquals(1, ejecuciones.get());
+        assertEquals(0, motor.consultasEnCurso());
+    }
+    
+    @Test
+    void testConsultaFallidaYConsultaAjenaAlLote() throws InterruptedException {
+        Consulta<Integer> fallida = new Consulta<>("fallida", () -> {
+            throw new ArithmeticException("división por cero");
+        });
+        
+        ResultadoLote resultado = motor.ejecutar(List.of(fallida), Duration.ofSeconds(5));
+        
+        assertSame(Estado.FALLIDA, resultado.estado(fallida));
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> resultado.obtener(fallida));
+        assertInstanceOf(ArithmeticException.class, error.getCause());
+        assertThrows(IllegalArgumentException.class,
+                () -> resultado.estado(new Consulta<>("otra", () -> 1)));
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.comun;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests para verificar el ordenamiento incremental perezoso.
+ */
+class OrdenIncrementalTest {
+    
+    /** Par valor/identificador para detectar si se respeta el orden de encuentro. */
+    private record Item(int valor, int id) {}
+    
+    private static final Comparator<Item> ORDEN = Comparator.comparingInt(Item::valor).reversed();
+    
+    private List<Item> generar(int cantidad, int rango) {
+        Random random = new Random(42);
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            items.add(new Item(random.nextInt(rango), i));
+        }
+        return items;
+    }
+    
+    @Test
+    void testCoincideConSortedIncluyendoEmpates() {
+        for (int rango : new int[]{3, 100, 1_000_000}) {
+            List<Item> items = generar(5_000, rango);
+            List<Item> esperado = items.stream().sorted(ORDEN).collect(Collectors.toList());
+            
+            assertEquals(esperado, OrdenIncremental.de(items, ORDEN).aLista());
+        }
+    }
+    
+    @Test
+    void testElResultadoCompletoAprovechaUnaEntradaYaOrdenada() {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            items.add(new Item(100_000 - i / 2, i));
+        }
+        int[] comparaciones = new int[1];
+        Comparator<Item> contando = (a, b) -> {
+            comparaciones[0]++;
+            return ORDEN.compare(a, b);
+        };
+        
+        assertEquals(items, OrdenIncremental.de(items, contando).aLista());
+        // Un tramo ya ordenado se reconoce en una pasada, sin particionar
+        assertTrue(comparaciones[0] < items.size(), "comparaciones: " + comparaciones[0]);
+    }
+    
+    @Test
+    void testPaginasSeCalculanADemandaYSePuedenReutilizar() {
+        List<Item> items = generar(2_000, 40);
+        List<Item> esperado = items.stream().sorted(ORDEN).collect(Collectors.toList());
+        OrdenIncremental<Item> orden = OrdenIncremental.de(items, ORDEN);
+        
+        // Páginas fuera de orden y repetidas sobre el mismo resultado
+        assertEquals(esperado.subList(500, 550), orden.pagina(500, 50));
+        assertEquals(esperado.subList(0, 10), orden.pagina(0, 10));
+        assertEquals(esperado.subList(500, 550), orden.pagina(500, 50));
+        assertEquals(esperado.subList(1_990, 2_000), orden.pagina(1_990, 100));
+        assertTrue(orden.pagina(2_000, 10).isEmpty());
+        assertEquals(esperado.get(777), orden.obtener(777));
+        assertEquals(2_000, orden.tamanio());
+    }
+    
+    @Test
+    void testIteradorRecorreEnOrdenYNoDependeDeLaListaOriginal() {
+        List<Item> items = generar(300, 10);
+        List<Item> esperado = items.stream().sorted(ORDEN).collect(Collectors.toList());
+        OrdenIncremental<Item> orden = OrdenIncremental.de(items, ORDEN);
+        items.clear();
+        
+        List<Item> recorrido = new ArrayList<>();
+        Iterator<Item> iterador = orden.iterator();
+        while (iterador.hasNext()) {
+            recorrido.add(iterador.next());
+        }
+        
+        assertEquals(esperado, recorrido);
+        assertFalse(iterador.hasNext());
+        assertThrows(NoSuchElementException.class, iterador::next);
+    }
+    
+    @Test
+    void testListaVaciaYArgumentosInvalidos() {
+        OrdenIncremental<Item> orden = OrdenIncremental.de(List.of(), ORDEN);
+        
+        assertTrue(orden.aLista().isEmpty());
+        assertFalse(orden.iterator().hasNext());
+        assertThrows(IllegalArgumentException.class, () -> orden.pagina(-1, 5));
+        assertThrows(IndexOutOfBoundsException.class, () -> orden.obtener(0));
+    }
+}
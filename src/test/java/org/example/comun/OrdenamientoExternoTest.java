@@ -0,0 +1,89 @@
+package org.example.comun;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests para verificar el ordenamiento externo por tramos.
+ */
+class OrdenamientoExternoTest {
+    
+    @TempDir
+    Path directorio;
+    
+    private List<String> generar(int cantidad) {
+        Random random = new Random(13);
+        String[] prefijos = {"El ", "La ", "Historia de ", "Ñandú ", "Über ", "😀 ", ""};
+        List<String> cadenas = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            cadenas.add(prefijos[random.nextInt(prefijos.length)] + random.nextInt(cantidad / 2));
+        }
+        return cadenas;
+    }
+    
+    private List<String> leer(OrdenamientoExterno.IteradorOrdenado iterador) {
+        List<String> resultado = new ArrayList<>();
+        iterador.forEachRemaining(resultado::add);
+        return resultado;
+    }
+    
+    private long archivosTemporales() throws IOException {
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            return archivos.count();
+        }
+    }
+    
+    @Test
+    void testEntradaChicaSeOrdenaEnMemoria() throws IOException {
+        List<String> cadenas = generar(1_000);
+        OrdenamientoExterno.IteradorOrdenado iterador = new OrdenamientoExterno(1 << 20, directorio).ordenar(cadenas.iterator());
+        
+        assertFalse(iterador.esExterno());
+        assertEquals(cadenas.stream().sorted().collect(Collectors.toList()), leer(iterador));
+        assertEquals(0, archivosTemporales());
+    }
+    
+    @Test
+    void testEntradaGrandeSeMezclaDesdeDisco() throws IOException {
+        List<String> cadenas = generar(40_000);
+        // Presupuesto chico para forzar más tramos que TRAMOS_POR_MEZCLA y una mezcla intermedia
+        OrdenamientoExterno.IteradorOrdenado iterador = new OrdenamientoExterno(8 * 1024, directorio).ordenar(cadenas.iterator());
+        
+        assertTrue(iterador.esExterno());
+        assertTrue(archivosTemporales() <= OrdenamientoExterno.TRAMOS_POR_MEZCLA);
+        assertEquals(cadenas.stream().sorted().collect(Collectors.toList()), leer(iterador));
+        assertEquals(0, archivosTemporales());
+    }
+    
+    @Test
+    void testCerrarAntesDeAgotarBorraLosTramos() throws IOException {
+        List<String> cadenas = generar(5_000);
+        try (OrdenamientoExterno.IteradorOrdenado iterador = new OrdenamientoExterno(4 * 1024, directorio).ordenar(cadenas.iterator())) {
+            assertEquals(cadenas.stream().sorted().findFirst().orElseThrow(), iterador.next());
+        }
+        
+        assertEquals(0, archivosTemporales());
+    }
+    
+    @Test
+    void testValidaciones() {
+        assertThrows(IllegalArgumentException.class, () -> new OrdenamientoExterno(0, directorio));
+        assertThrows(NullPointerException.class,
+                () -> new OrdenamientoExterno(1, directorio).ordenar(Arrays.asList("a", null).iterator()));
+    }
+}
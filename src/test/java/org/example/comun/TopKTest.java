@@ -0,0 +1,80 @@
+package org.example.comun;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests para verificar el motor de selección top-K.
+ */
+class TopKTest {
+    
+    /** Par valor/identificador para detectar si se respeta el orden de encuentro. */
+    private record Item(int valor, int id) {}
+    
+    private List<Item> generar(int cantidad, int rango) {
+        Random random = new Random(42);
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            items.add(new Item(random.nextInt(rango), i));
+        }
+        return items;
+    }
+    
+    @Test
+    void testCoincideConSortedLimitIncluyendoEmpates() {
+        List<Item> items = generar(5_000, 50);
+        Comparator<Item> orden = Comparator.comparingInt(Item::valor).reversed();
+        
+        for (int k : new int[]{1, 3, 17, 200}) {
+            List<Item> esperado = items.stream().sorted(orden).limit(k).collect(Collectors.toList());
+            
+            assertEquals(esperado, new TopK<Item>(k, orden).seleccionar(items));
+        }
+    }
+    
+    @Test
+    void testVersionParalelaCoincideConSecuencial() {
+        List<Item> items = generar(200_000, 1_000);
+        Comparator<Item> orden = Comparator.comparingInt(Item::valor);
+        
+        List<Item> secuencial = new TopK<Item>(100, orden, Integer.MAX_VALUE).seleccionar(items);
+        List<Item> paralelo = new TopK<Item>(100, orden, 1).seleccionar(items);
+        
+        assertEquals(secuencial, paralelo);
+        assertEquals(items.stream().sorted(orden).limit(100).collect(Collectors.toList()), paralelo);
+    }
+    
+    @Test
+    void testKMayorQueLaLista() {
+        List<Item> items = generar(5, 3);
+        
+        assertEquals(5, new TopK<Item>(10, Comparator.comparingInt(Item::valor)).seleccionar(items).size());
+    }
+    
+    @Test
+    void testKEnormeNoReservaMemoriaDeMas() {
+        List<Item> items = generar(100_000, 1_000);
+        Comparator<Item> orden = Comparator.comparingInt(Item::valor);
+        List<Item> esperado = items.stream().sorted(orden).collect(Collectors.toList());
+        
+        assertEquals(List.of(items.get(0)), new TopK<Item>(Integer.MAX_VALUE, orden).seleccionar(items.subList(0, 1)));
+        assertEquals(esperado, new TopK<Item>(Integer.MAX_VALUE, orden, 1).seleccionar(items));
+        assertEquals(esperado, new TopK<Item>(200_000_000, orden).seleccionar(items));
+    }
+    
+    @Test
+    void testKCeroYListaVacia() {
+        assertTrue(new TopK<Item>(0, Comparator.comparingInt(Item::valor)).seleccionar(generar(10, 5)).isEmpty());
+        assertTrue(new TopK<Item>(3, Comparator.comparingInt(Item::valor)).seleccionar(List.of()).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new TopK<Item>(-1, Comparator.comparingInt(Item::valor)));
+    }
+}
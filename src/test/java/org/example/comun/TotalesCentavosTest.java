@@ -0,0 +1,73 @@
+package org.example.comun;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests para verificar la conversión a centavos y los totales exactos por clave.
+ */
+class TotalesCentavosTest {
+    
+    /** Monto en centavos con su clave de agrupación. */
+    private record Movimiento(String clave, long centavos) {}
+    
+    @Test
+    void testConversionDeMontos() {
+        assertEquals(123456, Dinero.aCentavos(1234.56));
+        assertEquals(-1999, Dinero.aCentavos(-19.99));
+        assertEquals(10, Dinero.aCentavos(0.1));
+        assertEquals(0.3, Dinero.aMonto(Dinero.aCentavos(0.1) + Dinero.aCentavos(0.2)));
+        assertThrows(IllegalArgumentException.class, () -> Dinero.aCentavos(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> Dinero.aCentavos(1e300));
+        assertThrows(ArithmeticException.class, () -> Dinero.sumar(Long.MAX_VALUE, 1));
+    }
+    
+    @Test
+    void testParaleloIdenticoConCualquierCantidadDeHilos() throws Exception {
+        Random random = new Random(16);
+        List<Movimiento> movimientos = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            movimientos.add(new Movimiento("D" + random.nextInt(30), random.nextInt(1_000_000_00)));
+        }
+        Map<String, Long> secuencial = TotalesCentavos.calcular(movimientos, Movimiento::clave, Movimiento::centavos)
+                .enCentavos();
+        
+        for (int hilos : new int[]{1, 2, 3, 8}) {
+            ForkJoinPool pool = new ForkJoinPool(hilos);
+            try {
+                Map<String, Long> paralelo = pool.submit(() -> TotalesCentavos
+                        .calcularEnParalelo(movimientos, Movimiento::clave, Movimiento::centavos)
+                        .enCentavos()).get();
+                assertEquals(secuencial, paralelo);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+    
+    @Test
+    void testTotalesYCantidades() {
+        TotalesCentavos totales = new TotalesCentavos();
+        totales.agregar("A", 150);
+        totales.agregar("A", 250);
+        TotalesCentavos otros = new TotalesCentavos();
+        otros.agregar("A", 1);
+        otros.agregar("B", 99);
+        
+        totales.combinar(otros);
+        
+        assertEquals(401, totales.total("A"));
+        assertEquals(3, totales.cantidad("A"));
+        assertEquals(0.99, totales.enMontos().get("B"));
+        assertEquals(0, totales.total("C"));
+        assertThrows(NullPointerException.class, () -> totales.agregar(null, 1));
+    }
+}